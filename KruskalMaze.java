@@ -2,23 +2,63 @@
 //
 // - Press "B" to search the maze with breadth-first search
 // - Press "D" to search the maze with depth-first search
+// - Press "A" to search the maze with A* search
+// - Press "T" to search the maze with breadth-first search from both ends at once
+// - Press "W" to walk through the maze with the right hand on the wall, and "M"
+//   to walk it marking each passage walked through by Tremaux's rules
+// - Press "J" to switch B, D and A between searching every cell and searching
+//   only the junctions, with the dead-end branches off the way pruned
 // - Press "R" to reset the maze to the same maze you just completed
 // - Press "N" to create a new maze
 // - Press "H" to create a new horizontally-biased maze
 // - Press "V" to create a new vertically-biased maze
 // - Press "P" to pause the game while traversing through the maze
+// - Press "=" or "-" to search twice or half as many cells each tick, and "0" to
+//   search as many cells as fit in each tick
+// - Press "1" through "6" to create a new maze with Kruskal's algorithm, Prim's
+//   algorithm, a recursive backtracker, Wilson's algorithm, the Aldous-Broder
+//   algorithm or Eller's algorithm
+// - Press "7" to create a new maze that is generated in chunks as it is needed
+// - Press the arrow keys to scroll around a maze generated in chunks, which is
+//   drawn one view of it at a time
+// - Press "[" or "]" to create a new maze biased further toward horizontal or
+//   vertical corridors, and "F" to switch the bias between a uniform, radial and
+//   diagonal field
+//
+// Searches and new mazes are worked on in the background, with their progress
+// shown under the search mode, and picking another one stops the one before.
 //
 // When you complete the maze, it should return the total number of vertices searched, 
 // the number of vertices in the correct path, and the wrong steps taken when traversing 
 // through the maze. It should also return the total time taken to complete the maze.
 
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.Deque;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Random;
 import java.util.LinkedList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
 
 import tester.*;
 import javalib.impworld.*;
@@ -115,7 +155,7 @@ class Edge {
   // define a custom hashCode for this Edge
   @Override
   public int hashCode() {
-    return this.weight * 100000000 + this.from.hashCode() + this.to.hashCode();
+    return 31 * (31 * this.weight + this.from.hashCode()) + this.to.hashCode();
   }
 
   // override equals method for Edge to check if this Edge is the same as the
@@ -155,1478 +195,8098 @@ class EdgesByWeight implements Comparator<Edge> {
   }
 }
 
-// Represents a mutable collection of items
-interface ICollection<T> {
-
-  // Is this collection empty?
-  boolean isEmpty();
+// to represent a growable list of Edges between the cells of a maze, each
+// packed into a long holding its weight in the upper 32 bits and, in the lower
+// 32 bits, the index of the cell it extends from shifted left past a bit that
+// says whether it goes right or down
+// Edge objects are only made as views on demand
+class EdgeList {
 
-  // EFFECT: adds the item to the collection
-  void add(T item);
+  // direction of an Edge to the right neighbor of its cell
+  static final int RIGHT = 0;
 
-  // Returns the first item of the collection
-  // EFFECT: removes that first item
-  T remove();
-}
+  // direction of an Edge to the bottom neighbor of its cell
+  static final int DOWN = 1;
 
-// to represent a FIFO list
-class Stack<T> implements ICollection<T> {
+  // the packed Edges, only the first size of which are in use
+  long[] packed;
 
-  // to store items in this Stack
-  Deque<T> contents;
+  // number of Edges in this EdgeList
+  int size;
 
-  // constructor for an empty Stack
-  Stack() {
-    this.contents = new LinkedList<T>();
+  // constructor for an empty EdgeList with room for the given number of Edges
+  EdgeList(int capacity) {
+    this.packed = new long[capacity];
+    this.size = 0;
   }
 
-  // convenience constructor for this Stack that takes in a list of items
-  Stack(LinkedList<T> contents) {
-    this.contents = contents;
+  // returns the given Edge packed into a long
+  static long pack(int weight, int cell, int direction) {
+    return ((long) weight << 32) | ((long) cell << 1) | direction;
   }
 
-  // returns true if this Stack is empty
-  public boolean isEmpty() {
-    return this.contents.isEmpty();
+  // returns the weight of the given packed Edge
+  static int weightOf(long edge) {
+    return (int) (edge >>> 32);
   }
 
-  // adds the given item to the top of the Stack
-  public void add(T item) {
-    this.contents.addFirst(item);
+  // returns the index of the cell the given packed Edge extends from
+  static int cellOf(long edge) {
+    return (int) ((edge & 0xFFFFFFFFL) >>> 1);
   }
 
-  // returns the first item of this Stack
-  // EFFECT: removes the first item
-  public T remove() {
-    return this.contents.removeFirst();
+  // returns the direction of the given packed Edge
+  static int directionOf(long edge) {
+    return (int) (edge & 1);
   }
-}
-
-// to represent a LIFO list
-class Queue<T> implements ICollection<T> {
 
-  // to store items in this Queue
-  Deque<T> contents;
-
-  // constructor for an empty Queue
-  Queue() {
-    this.contents = new LinkedList<T>();
+  // returns the index of the cell the given packed Edge connects to in a maze
+  // with rows of the given length
+  static int otherOf(long edge, int length) {
+    if (directionOf(edge) == RIGHT) {
+      return cellOf(edge) + 1;
+    }
+    else {
+      return cellOf(edge) + length;
+    }
   }
 
-  // convenience constructor for this Queue that takes in a list of items
-  Queue(LinkedList<T> contents) {
-    this.contents = contents;
+  // returns every Edge of a maze of the given size packed with weight 0, in a
+  // random order drawn from the given Random with a Fisher-Yates shuffle
+  static long[] shuffledEdges(int length, int width, Random rand) {
+    long[] order = new long[(length - 1) * width + length * (width - 1)];
+    int count = 0;
+    for (int cell = 0; cell < length * width; cell++) {
+      if (cell % length < length - 1) {
+        order[count] = pack(0, cell, RIGHT);
+        count++;
+      }
+      if (cell / length < width - 1) {
+        order[count] = pack(0, cell, DOWN);
+        count++;
+      }
+    }
+    for (int i = order.length - 1; i > 0; i--) {
+      int j = rand.nextInt(i + 1);
+      long swap = order[i];
+      order[i] = order[j];
+      order[j] = swap;
+    }
+    return order;
   }
 
-  // returns true if this Stack is empty
-  public boolean isEmpty() {
-    return this.contents.isEmpty();
+  // returns the number of Edges in this EdgeList
+  int size() {
+    return this.size;
   }
 
-  // adds the given item to the end of this Queue
-  public void add(T item) {
-    this.contents.addLast(item);
+  // returns the packed Edge at the given index
+  long get(int i) {
+    return this.packed[i];
   }
 
-  // returns the first item of this Stack
-  // EFFECT: removes the first item
-  public T remove() {
-    return this.contents.removeFirst();
+  // returns the weight of the Edge at the given index
+  int weight(int i) {
+    return weightOf(this.packed[i]);
   }
-}
-
-// to represent a maze
-class MazeWorld extends World {
-
-  // used to keep track of how much time has passed
-  int time;
-
-  // to display game title
-  TextImage title = new TextImage("Prepare to Be A-mazed", 20, FontStyle.BOLD, Color.BLACK);
 
-  // to display game instructions
-  TextImage instructions1 = new TextImage("Press B to search the maze with breadth-first search",
-      10, Color.BLACK);
-
-  // to display more game instructions
-  TextImage instructions2 = new TextImage("and D to search the maze with depth-first search.", 10,
-      Color.BLACK);
+  // returns the index of the cell the Edge at the given index extends from
+  int cell(int i) {
+    return cellOf(this.packed[i]);
+  }
 
-  // to display game reset instructions
-  TextImage resetInfo = new TextImage("Press R to reset the game, N to create a new maze,", 10,
-      Color.BLACK);
+  // returns the direction of the Edge at the given index
+  int direction(int i) {
+    return directionOf(this.packed[i]);
+  }
 
-  // to display more game reset instructions
-  TextImage resetInfo2 = new TextImage("H to create a new horizontally-biased maze,", 10,
-      Color.BLACK);
+  // EFFECT: adds the given packed Edge to the end of this EdgeList
+  void add(long edge) {
+    if (this.size == this.packed.length) {
+      this.packed = Arrays.copyOf(this.packed, Math.max(8, this.packed.length * 2));
+    }
+    this.packed[this.size] = edge;
+    this.size++;
+  }
 
-  // to display even more game reset instructions
-  TextImage resetInfo3 = new TextImage("or V to create a new vertically-biased maze.", 10,
-      Color.BLACK);
+  // EFFECT: adds the Edge with the given weight from the given cell in the given
+  // direction to the end of this EdgeList
+  void add(int weight, int cell, int direction) {
+    this.add(pack(weight, cell, direction));
+  }
 
-  // to display which search is currently being used
-  TextImage mode = new TextImage("", 15, Color.BLACK);
+  // returns true if the given packed Edge is in this EdgeList
+  boolean contains(long edge) {
+    for (int i = 0; i < this.size; i++) {
+      if (this.packed[i] == edge) {
+        return true;
+      }
+    }
+    return false;
+  }
 
-  // to display whether or not the game is currently paused
-  TextImage pause = new TextImage("", 15, Color.BLACK);
+  // returns an Edge view of the Edge at the given index between the vertices of
+  // the given maze
+  Edge toEdge(int i, ArrayList<ArrayList<Vertex>> maze) {
+    int length = maze.get(0).size();
+    int cell = this.cell(i);
+    int other = otherOf(this.packed[i], length);
+    return new Edge(this.weight(i), maze.get(cell / length).get(cell % length),
+        maze.get(other / length).get(other % length));
+  }
 
-  // length of the maze
-  int length;
+  // returns Edge views of all the Edges in this EdgeList between the vertices of
+  // the given maze
+  ArrayList<Edge> toEdges(ArrayList<ArrayList<Vertex>> maze) {
+    ArrayList<Edge> views = new ArrayList<Edge>(this.size);
+    for (int i = 0; i < this.size; i++) {
+      views.add(this.toEdge(i, maze));
+    }
+    return views;
+  }
+}
 
-  // width of the maze
-  int width;
+// to represent a maze whose cells are numbered y * length + x with longs, so it
+// can have more cells than an int can number
+interface ILongMaze {
 
-  // to randomly assign edge weights
-  Random rand;
+  // returns the mask of the directions the cell with the given number has no
+  // wall in, as IMaze openDirections(int) does
+  int openDirections(long cell);
+}
 
-  // to represent all the spaces in the maze
-  ArrayList<ArrayList<Vertex>> maze;
+// to represent the walls of a maze that can be asked about one cell at a time
+// by its int number, with any cells past the range of an int reached only
+// through ILongMaze openDirections(long)
+interface IMaze extends ILongMaze {
 
-  // to represent all the Edges between vertices in the maze
-  ArrayList<Edge> edges;
+  // returns true if there is no wall in the given direction (EdgeList.RIGHT or
+  // EdgeList.DOWN) from the given cell
+  boolean isOpen(int cell, int direction);
 
-  // to associate each Vertex in the maze with a representative element Vertex
-  HashMap<Vertex, Vertex> representatives;
+  // returns a mask of the directions the given cell has no wall in, with bit 0
+  // for right, bit 1 for down, bit 2 for left and bit 3 for up, the same order
+  // as the sides of AMazeGenerator neighbor(int, int, int, int)
+  int openDirections(int cell);
 
-  // to represent minimum spanning tree for the maze
-  ArrayList<Edge> mst;
+  // returns this maze with the open directions of every cell worked out ahead of
+  // time if that is worth doing, or this maze itself if it is not
+  IMaze indexed();
+}
 
-  // to draw the game
-  WorldScene scene;
+// to represent the open directions of every cell of a maze worked out once, so
+// a search finds all of a cell's neighbors with a single lookup
+// each cell gets the four bit mask IMaze openDirections(int) returns, packed
+// two cells to a byte
+class DirectionIndex implements IMaze {
+
+  // the masks, the mask of a cell is in the low four bits of masks[cell / 2] for
+  // an even cell and the high four bits for an odd one
+  byte[] masks;
+
+  // constructor for the DirectionIndex of the given maze with the given number
+  // of cells
+  DirectionIndex(IMaze maze, int cells) {
+    this.masks = new byte[(cells + 1) / 2];
+    for (int cell = 0; cell < cells; cell++) {
+      this.masks[cell >>> 1] |= maze.openDirections(cell) << ((cell & 1) << 2);
+    }
+  }
 
-  // to indicate whether or not the maze is currently being searched
-  boolean searching;
+  // returns true if there is no wall in the given direction (EdgeList.RIGHT or
+  // EdgeList.DOWN) from the given cell
+  public boolean isOpen(int cell, int direction) {
+    return ((this.openDirections(cell) >>> direction) & 1) == 1;
+  }
 
-  // to indicate whether or not the search is paused
-  boolean paused;
+  // returns the open directions of the given cell
+  public int openDirections(int cell) {
+    return (this.masks[cell >>> 1] >>> ((cell & 1) << 2)) & 15;
+  }
 
-  // to indicate whether or not the maze solution has been found
-  boolean finished;
+  // returns the open directions of the cell with the given number, which fits in
+  // an int
+  public int openDirections(long cell) {
+    return this.openDirections((int) cell);
+  }
 
-  // to keep track of which vertices still have to be searched
-  ICollection<Vertex> worklist;
+  // returns this DirectionIndex, which is already indexed
+  public IMaze indexed() {
+    return this;
+  }
+}
 
-  // to keep track of which vertices have already been searched
-  Deque<Vertex> alreadySeen;
+// to represent the walls of a maze with two bits per cell, one for the wall on
+// its right and one for the wall below it, packed 32 cells to a long
+// cells are identified by their dense index y * length + x, and the walls on
+// the right and bottom border of the maze are always up
+class WallGrid implements IMaze {
 
-  // to keep track of which vertices that have already been searched need to be
-  // colored
-  Deque<Vertex> alreadySeen2;
+  // length of the maze
+  int length;
 
-  // to keep track of vertices and edges needed to reconstruct the correct path
-  HashMap<Vertex, Edge> cameFromEdge;
+  // width of the maze
+  int width;
 
-  // to represent the correct path from the start of the maze to the end
-  ArrayList<Vertex> path;
+  // the wall bits, bit 2 * (cell % 32) + direction of bits[cell / 32] is set
+  // while the wall in that direction from that cell is up
+  long[] bits;
 
-  // to keep track of which vertices in the correct path need to be colored
-  ArrayList<Vertex> path2;
+  // to update single longs of the wall bits atomically
+  static final VarHandle BITS = MethodHandles.arrayElementVarHandle(long[].class);
 
-  // constructor for this MazeWorld
-  MazeWorld(int length, int width) {
+  // constructor for a WallGrid of the given size with every wall up
+  WallGrid(int length, int width) {
     this.length = length;
     this.width = width;
-    this.rand = new Random();
-    this.maze = new ArrayList<ArrayList<Vertex>>();
-    this.edges = new ArrayList<Edge>();
-    this.representatives = new HashMap<Vertex, Vertex>();
-    this.scene = new WorldScene(220 + 20 * this.length, 220 + 20 * this.width);
-    this.generateMaze();
-    this.assignEdges();
-    this.mst = this.kruskal();
-    this.time = 0;
-    this.searching = false;
-    this.paused = false;
-    this.finished = false;
-    this.alreadySeen = new LinkedList<Vertex>();
-    this.alreadySeen2 = new LinkedList<Vertex>();
-    this.cameFromEdge = new HashMap<Vertex, Edge>();
-    this.path = new ArrayList<Vertex>();
-    this.path2 = new ArrayList<Vertex>();
+    this.bits = new long[(int) (((long) length * width + 31) / 32)];
+    Arrays.fill(this.bits, -1L);
   }
 
-  // constructor for this MazeWorld with seeded random for testing
-  MazeWorld(int length, int width, Random rand) {
-    this.length = length;
-    this.width = width;
-    this.rand = rand;
-    this.maze = new ArrayList<ArrayList<Vertex>>();
-    this.edges = new ArrayList<Edge>();
-    this.representatives = new HashMap<Vertex, Vertex>();
-    this.scene = new WorldScene(220 + 20 * this.length, 220 + 20 * this.width);
-    this.generateMaze();
-    this.assignEdges();
-    this.mst = this.kruskal();
-    this.time = 0;
-    this.searching = false;
-    this.paused = false;
-    this.finished = false;
-    this.alreadySeen = new LinkedList<Vertex>();
-    this.alreadySeen2 = new LinkedList<Vertex>();
-    this.cameFromEdge = new HashMap<Vertex, Edge>();
-    this.path = new ArrayList<Vertex>();
-    this.path2 = new ArrayList<Vertex>();
+  // returns true if there is no wall in the given direction (EdgeList.RIGHT or
+  // EdgeList.DOWN) from the given cell
+  public boolean isOpen(int cell, int direction) {
+    return (this.bits[cell >>> 5] & (1L << (((cell & 31) << 1) + direction))) == 0;
   }
 
-  // EFFECT: fills this MazeWorld's board with vertices and
-  // associates each Vertex with itself in this MazeWorld's representatives
-  // HashMap
-  void generateMaze() {
-    for (int i = 0; i < this.width; i++) {
-      this.maze.add(i, new ArrayList<Vertex>());
-      for (int j = 0; j < this.length; j++) {
-        if (i == 0 && j == 0) {
-          this.maze.get(i).add(new Vertex(j, i, Color.GREEN));
-          this.representatives.put(this.maze.get(i).get(j), this.maze.get(i).get(j));
-        }
-        else if (i == this.width - 1 && j == this.length - 1) {
-          this.maze.get(i).add(new Vertex(j, i, Color.RED));
-          this.representatives.put(this.maze.get(i).get(j), this.maze.get(i).get(j));
-        }
-        else {
-          this.maze.get(i).add(new Vertex(j, i));
-          this.representatives.put(this.maze.get(i).get(j), this.maze.get(i).get(j));
-        }
-      }
+  // returns the open directions of the given cell
+  // the right wall of the last cell of a row is always up, so the cell before
+  // the first cell of a row never looks open to the left
+  public int openDirections(int cell) {
+    int mask = (int) (~this.bits[cell >>> 5] >>> ((cell & 31) << 1)) & 3;
+    if (cell > 0 && this.isOpen(cell - 1, EdgeList.RIGHT)) {
+      mask |= 4;
+    }
+    if (cell >= this.length && this.isOpen(cell - this.length, EdgeList.DOWN)) {
+      mask |= 8;
     }
+    return mask;
   }
 
-  // EFFECT: adds Edges of unique weights connecting this MazeWorld's vertices
-  // to their bottom and right neighbors if they have them
-  void assignEdges() {
-    ArrayList<Integer> weights = new ArrayList<Integer>();
-    for (int a = 0; a < this.length * (this.width - 1) + (this.length - 1) * this.width; a++) {
-      weights.add(a);
-    }
-    for (int i = 0; i < this.width; i++) {
-      for (int j = 0; j < this.length; j++) {
-        if (j < this.length - 1) {
-          int idx = this.rand.nextInt(weights.size());
-          Edge r = new Edge(weights.get(idx), this.maze.get(i).get(j), this.maze.get(i).get(j + 1));
-          weights.remove(idx);
-          this.edges.add(r);
-        }
-        if (i < this.width - 1) {
-          int idx = this.rand.nextInt(weights.size());
-          Edge b = new Edge(weights.get(idx), this.maze.get(i).get(j), this.maze.get(i + 1).get(j));
-          weights.remove(idx);
-          this.edges.add(b);
-        }
-      }
-    }
+  // returns the open directions of the cell with the given number, which fits in
+  // an int
+  public int openDirections(long cell) {
+    return this.openDirections((int) cell);
   }
 
-  // EFFECT: adds Edges of unique weights connecting this MazeWorld's vertices
-  // to their bottom and right neighbors if they have them
-  // if the given boolean is true,
-  // gives horizontal Edges lower weights so they have a better chance of getting
-  // added to the MST
-  // therefore constructing a maze with a preference for horizontal corridors
-  // if the given boolean is false,
-  // gives vertical Edges lower weights so they have a better chance of getting
-  // added to the MST
-  // therefore constructing a maze with a preference for vertical corridors
-  void assignEdgesBias(boolean bias) {
-    ArrayList<Integer> weights1 = new ArrayList<Integer>();
-    ArrayList<Integer> weights2 = new ArrayList<Integer>();
+  // returns a DirectionIndex of this WallGrid
+  public IMaze indexed() {
+    return new DirectionIndex(this, this.length * this.width);
+  }
 
-    if (bias) {
-      for (int a = 0; a < (this.length - 1) * this.width; a++) {
-        weights1.add(a);
-      }
-      for (int a = (this.length - 1) * this.width; a < this.length * (this.width - 1)
-          + (this.length - 1) * this.width; a++) {
-        weights2.add(a);
-      }
-      for (int i = 0; i < this.width; i++) {
-        for (int j = 0; j < this.length; j++) {
-          if (j < this.length - 1) {
-            int idx = this.rand.nextInt(weights1.size());
-            Edge r = new Edge(weights1.get(idx), this.maze.get(i).get(j),
-                this.maze.get(i).get(j + 1));
-            weights1.remove(idx);
-            this.edges.add(r);
-          }
-          if (i < this.width - 1) {
-            int idx = this.rand.nextInt(weights2.size());
-            Edge b = new Edge(weights2.get(idx), this.maze.get(i).get(j),
-                this.maze.get(i + 1).get(j));
-            weights2.remove(idx);
-            this.edges.add(b);
-          }
-        }
-      }
-    }
-    else {
-      for (int a = 0; a < (this.width - 1) * this.length; a++) {
-        weights1.add(a);
-      }
-      for (int a = (this.width - 1) * this.length; a < this.length * (this.width - 1)
-          + (this.length - 1) * this.width; a++) {
-        weights2.add(a);
-      }
-      for (int i = 0; i < this.width; i++) {
-        for (int j = 0; j < this.length; j++) {
-          if (j < this.length - 1) {
-            int idx = this.rand.nextInt(weights2.size());
-            Edge r = new Edge(weights2.get(idx), this.maze.get(i).get(j),
-                this.maze.get(i).get(j + 1));
-            weights2.remove(idx);
-            this.edges.add(r);
-          }
-          if (i < this.width - 1) {
-            int idx = this.rand.nextInt(weights1.size());
-            Edge b = new Edge(weights1.get(idx), this.maze.get(i).get(j),
-                this.maze.get(i + 1).get(j));
-            weights1.remove(idx);
-            this.edges.add(b);
-          }
-        }
-      }
-    }
+  // returns true if the given packed Edge is a passage through this WallGrid
+  boolean isOpen(long edge) {
+    return this.isOpen(EdgeList.cellOf(edge), EdgeList.directionOf(edge));
   }
 
-  // trace the given Vertex through this MazeWorld's HashMap of representatives
-  // to find and return the Vertex it ultimately points to
-  Vertex find(Vertex v, ArrayList<Vertex> checked) {
-    if (checked.contains(v)) {
-      return v;
+  // returns true if the two given cells are neighbors with no wall between them
+  boolean connected(int a, int b) {
+    if (a > b) {
+      return this.connected(b, a);
+    }
+    else if (b == a + 1 && b % this.length != 0) {
+      return this.isOpen(a, EdgeList.RIGHT);
+    }
+    else if (b == a + this.length) {
+      return this.isOpen(a, EdgeList.DOWN);
     }
     else {
-      if (v.equals(this.representatives.get(v))) {
-        return v;
-      }
-      else {
-        checked.add(v);
-        return this.find(this.representatives.get(v), checked);
-      }
+      return false;
     }
   }
 
-  // EFFECT: sets the value of one representative’s representative to the other
-  void union(Vertex that, Vertex another) {
-    this.representatives.put(this.find(another, new ArrayList<Vertex>()),
-        this.find(that, new ArrayList<Vertex>()));
+  // EFFECT: takes down the wall in the given direction from the given cell
+  void open(int cell, int direction) {
+    this.bits[cell >>> 5] &= ~(1L << (((cell & 31) << 1) + direction));
   }
 
-  // returns a minimum spanning tree using Kruskal's algorithm on this MazeWorld's
-  // maze
-  // EFFECT: unions all of the vertices in this MazeWorld to the same
-  // representative group
-  ArrayList<Edge> kruskal() {
-    ArrayList<Edge> worklistEdges = new ArrayList<Edge>(this.edges);
-    worklistEdges.sort(new EdgesByWeight());
-    ArrayList<Edge> edgesInTree = new ArrayList<Edge>();
-    while (edgesInTree.size() < this.length * this.width - 1) {
-      for (Edge e : worklistEdges) {
-        if (!this.find(e.getFrom(), new ArrayList<Vertex>())
-            .equals(this.find(e.getTo(), new ArrayList<Vertex>()))) {
-          edgesInTree.add(e);
-          this.union(e.getFrom(), e.getTo());
-        }
-      }
-    }
-    return edgesInTree;
+  // EFFECT: takes down the wall the given packed Edge passes through
+  void open(long edge) {
+    this.open(EdgeList.cellOf(edge), EdgeList.directionOf(edge));
   }
 
-  // returns String representation of the elapsed time
-  public String getTime() {
-    if (!this.finished) {
-      return "Time Elapsed: " + Integer.toString(this.time / 20);
+  // EFFECT: takes down the wall in the given direction from the given cell
+  // without losing the walls other threads take down at the same time in the
+  // same long
+  void openConcurrently(int cell, int direction) {
+    BITS.getAndBitwiseAnd(this.bits, cell >>> 5, ~(1L << (((cell & 31) << 1) + direction)));
+  }
+
+  // EFFECT: takes down the wall between the two given neighboring cells
+  void openBetween(int a, int b) {
+    if (Math.abs(a - b) == this.length) {
+      this.open(Math.min(a, b), EdgeList.DOWN);
     }
     else {
-      return "Total Time Taken: " + Integer.toString(this.time / 20);
+      this.open(Math.min(a, b), EdgeList.RIGHT);
     }
   }
+}
 
-  // returns WorldScene with all of this MazeWorld's vertices and information
-  // drawn on it
-  public WorldScene makeScene() {
-    WorldScene scene = new WorldScene(220 + 20 * this.length, 220 + 20 * this.width);
-    scene.placeImageXY(this.title, (220 + 20 * this.length) / 2, 12);
-    scene.placeImageXY(this.instructions1, (220 + 20 * this.length) / 2, 30);
-    scene.placeImageXY(this.instructions2, (220 + 20 * this.length) / 2, 40);
-    scene.placeImageXY(this.resetInfo, (220 + 20 * this.length) / 2, (220 + 20 * this.width) - 30);
-    scene.placeImageXY(this.resetInfo2, (220 + 20 * this.length) / 2, (220 + 20 * this.width) - 20);
-    scene.placeImageXY(this.resetInfo3, (220 + 20 * this.length) / 2, (220 + 20 * this.width) - 10);
-    TextImage timer = new TextImage(this.getTime(), 15, Color.BLACK);
-    scene.placeImageXY(timer, (220 + 20 * this.length) / 2, (220 + 20 * this.width) - 50);
-    scene.placeImageXY(this.mode, (220 + 20 * this.length) / 2, 60);
-    if (this.searching) {
-      scene.placeImageXY(this.pause, (200 + 20 * this.length) / 2, 80);
-    }
+// to represent which way corridors are pushed at each point of a biased maze
+interface IBiasField {
 
-    if (this.finished) {
-      TextImage soFar = new TextImage("Total Vertices Searched: " + this.alreadySeen.size(), 15,
-          Color.BLACK);
-      scene.placeImageXY(soFar, (220 + 20 * this.length) / 2, (220 + 20 * this.width) - 100);
-      TextImage stats = new TextImage("The correct path is " + this.path.size() + " vertices long",
-          15, Color.BLACK);
-      scene.placeImageXY(stats, (220 + 20 * this.length) / 2, (220 + 20 * this.width) - 85);
-      TextImage stats2 = new TextImage(
-          (this.alreadySeen.size() - this.path.size()) + " wrong steps were taken", 15,
-          Color.BLACK);
-      scene.placeImageXY(stats2, (220 + 20 * this.length) / 2, (220 + 20 * this.width) - 70);
+  // returns how closely the direction this field calls horizontal at the given
+  // point of a maze of the given size lines up with the maze's own horizontal,
+  // from 0 when it is vertical there to 1 when it is horizontal
+  double alignment(double x, double y, int length, int width);
+
+  // returns the name of this field to show in the game
+  String name();
+
+  // returns the field the "f" key switches to from this one
+  IBiasField next();
+}
+
+// to represent a field that is horizontal everywhere
+class UniformField implements IBiasField {
+
+  // returns 1, this field is horizontal everywhere
+  public double alignment(double x, double y, int length, int width) {
+    return 1;
+  }
+
+  // returns the name of this field
+  public String name() {
+    return "uniform";
+  }
+
+  // returns the field after this one
+  public IBiasField next() {
+    return new RadialField();
+  }
+}
+
+// to represent a field whose horizontal points away from the middle of the
+// maze, so a horizontal bias makes spokes and a vertical bias makes rings
+class RadialField implements IBiasField {
+
+  // returns the squared cosine of the angle between the maze's horizontal and
+  // the line from the middle of the maze to the given point
+  public double alignment(double x, double y, int length, int width) {
+    double dx = x - (length - 1) / 2.0;
+    double dy = y - (width - 1) / 2.0;
+    if (dx == 0 && dy == 0) {
+      return 0.5;
     }
     else {
-      TextImage soFar = new TextImage("Vertices searched so far: " + this.alreadySeen.size(), 15,
-          Color.BLACK);
-      scene.placeImageXY(soFar, (220 + 20 * this.length) / 2, (220 + 20 * this.width) - 100);
+      return dx * dx / (dx * dx + dy * dy);
     }
+  }
 
-    for (ArrayList<Vertex> row : this.maze) {
-      for (Vertex v : row) {
-        v.drawVertex(scene);
-      }
+  // returns the name of this field
+  public String name() {
+    return "radial";
+  }
+
+  // returns the field after this one
+  public IBiasField next() {
+    return new DiagonalField();
+  }
+}
+
+// to represent a field that turns from horizontal in the top left corner of
+// the maze to vertical in the bottom right corner
+class DiagonalField implements IBiasField {
+
+  // returns how far the given point is from the bottom right corner along the
+  // diagonal, from 1 in the top left corner to 0 in the bottom right one
+  public double alignment(double x, double y, int length, int width) {
+    return 1 - (x / Math.max(length - 1, 1) + y / Math.max(width - 1, 1)) / 2;
+  }
+
+  // returns the name of this field
+  public String name() {
+    return "diagonal";
+  }
+
+  // returns the field after this one
+  public IBiasField next() {
+    return new UniformField();
+  }
+}
+
+// to represent Edge weights worked out from a seed and the Edge's index alone,
+// so any Edge's weight can be found again in constant time without storing it,
+// and the weights come out the same however many threads work them out
+// the weights are a shuffle of 0 through size - 1: the index is run through a
+// Feistel network keyed by SplitMix64 hashes of the seed, over the smallest
+// power of four that holds every index, and run through again until it lands
+// below size, and running the rounds backwards undoes it, giving the Edge with
+// each weight
+class CounterWeights {
+
+  // number of rounds of the Feistel network
+  static final int ROUNDS = 4;
+
+  // the seed the round keys are hashed from
+  long seed;
+
+  // the number of weights, and the number of Edges
+  int size;
+
+  // the number of bits in each half of a value run through the network
+  int halfBits;
+
+  // the lowest halfBits bits
+  long mask;
+
+  // constructor for this CounterWeights
+  CounterWeights(long seed, int size) {
+    this.seed = seed;
+    this.size = size;
+    int bits = 64 - Long.numberOfLeadingZeros(Math.max(size - 1, 1));
+    this.halfBits = (bits + 1) / 2;
+    this.mask = (1L << this.halfBits) - 1;
+  }
+
+  // returns the weight of the Edge with the given index
+  int weight(int index) {
+    long value = this.encrypt(index);
+    while (value >= this.size) {
+      value = this.encrypt(value);
     }
-    for (Edge e : this.edges) {
-      if (!this.mst.contains(e)) {
-        e.getFrom().drawWallBetween(e.getTo(), scene);
-      }
+    return (int) value;
+  }
+
+  // returns the index of the Edge with the given weight
+  int indexOf(int weight) {
+    long value = this.decrypt(weight);
+    while (value >= this.size) {
+      value = this.decrypt(value);
     }
+    return (int) value;
+  }
 
-    if (this.alreadySeen2.size() != 0) {
-      Vertex v = this.alreadySeen2.removeFirst();
-      v.changeColor(Color.CYAN);
+  // returns the given value run forwards through the rounds of the network
+  long encrypt(long value) {
+    long left = value >>> this.halfBits;
+    long right = value & this.mask;
+    for (int round = 0; round < CounterWeights.ROUNDS; round++) {
+      long next = left ^ this.roundKey(round, right);
+      left = right;
+      right = next;
     }
+    return (left << this.halfBits) | right;
+  }
 
-    if (this.path2.size() != 0) {
-      Vertex v = this.path2.remove(0);
-      v.changeColor(Color.BLUE);
+  // returns the given value run backwards through the rounds of the network
+  long decrypt(long value) {
+    long left = value >>> this.halfBits;
+    long right = value & this.mask;
+    for (int round = CounterWeights.ROUNDS - 1; round >= 0; round--) {
+      long previous = right ^ this.roundKey(round, left);
+      right = left;
+      left = previous;
     }
+    return (left << this.halfBits) | right;
+  }
 
-    return scene;
+  // returns the bits mixed into one half of a value in the given round, from
+  // the other half
+  long roundKey(int round, long half) {
+    return CounterWeights.mix(this.seed + (((long) round << 32) | half) * 0x9E3779B97F4A7C15L)
+        & this.mask;
   }
 
-  // ticks the clock and updates this MazeWorld
-  public void onTick() {
+  // returns the SplitMix64 hash of the given value
+  static long mix(long z) {
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+}
 
-    if (!this.paused) {
-      if (this.searching) {
+// to represent a parallel build of a minimum spanning tree with Filter-Kruskal:
+// the packed Edges are split around a pivot weight, the light half is built
+// first, and the heavy half is filtered down to the Edges whose cells are still
+// in different groups before it is built, with the splitting and filtering
+// spread across a ForkJoinPool
+// the tree is the same as the one kruskal() builds for the same weights
+class FilterKruskal {
 
-        this.time++;
+  // ranges at most this long are sorted and scanned on one thread
+  static final int SEQUENTIAL_THRESHOLD = 1 << 16;
 
-        if (!this.worklist.isEmpty()) {
-          Vertex next = this.worklist.remove();
-          if (this.alreadySeen.contains(next)) {
-            // do nothing: we've already seen this one
-          }
-          else if (next.equals(this.maze.get(this.width - 1).get(this.length - 1))) {
-            this.alreadySeen.add(next);
-            this.alreadySeen2.add(next);
-            this.searching = false;
-            this.finished = true;
-            this.reconstruct(this.maze.get(0).get(0), next);
-          }
-          else {
-            // add all the neighbors of next to the worklist for further processing
-            for (Edge e : this.mst) {
-              if (e.getFrom().equals(next) && !this.alreadySeen.contains(e.getTo())) {
-                this.worklist.add(e.getTo());
-                this.cameFromEdge.put(e.getTo(), e);
-              }
-              else if (e.getTo().equals(next) && !this.alreadySeen.contains(e.getFrom())) {
-                this.worklist.add(e.getFrom());
-                this.cameFromEdge.put(e.getFrom(), new Edge(
-                    e.getTo().hashCode() + e.getFrom().hashCode(), e.getTo(), e.getFrom()));
-              }
-            }
-            this.alreadySeen.addFirst(next);
-            this.alreadySeen2.addFirst(next);
-          }
+  // ranges at most this long are split on one thread
+  static final int SPLIT_THRESHOLD = 1 << 16;
+
+  // number of chunks each thread of the pool gets when a range is split
+  static final int CHUNKS_PER_THREAD = 4;
+
+  // the pool the splitting and filtering runs on
+  ForkJoinPool pool;
+
+  // length of the maze
+  int length;
+
+  // the groups of cells joined so far
+  UnionFind sets;
+
+  // the walls left standing so far
+  WallGrid walls;
+
+  // the Edges of the tree so far
+  EdgeList tree;
+
+  // the number of Edges in a finished tree
+  int treeSize;
+
+  // scratch space for splitting ranges of Edges
+  long[] buffer;
+
+  // when filtering, Edges are kept if their cells are still in different groups,
+  // otherwise they are kept if their weight is at most this pivot
+  boolean filtering;
+
+  // the weight Edges are split around when not filtering
+  int pivot;
+
+  // constructor for a FilterKruskal that builds the tree of a maze of the given
+  // size on the given pool
+  FilterKruskal(ForkJoinPool pool, int length, int width) {
+    this.pool = pool;
+    this.length = length;
+    this.sets = new UnionFind(length * width);
+    this.walls = new WallGrid(length, width);
+    this.treeSize = length * width - 1;
+    this.tree = new EdgeList(Math.max(this.treeSize, 0));
+  }
+
+  // returns the minimum spanning tree of the given packed Edges, in weight order
+  // EFFECT: reorders the given Edges, and unions the groups and takes down the
+  // walls of this FilterKruskal along the Edges of the tree
+  EdgeList run(long[] edges) {
+    this.buffer = new long[edges.length];
+    this.build(edges, 0, edges.length);
+    this.buffer = null;
+    return this.tree;
+  }
+
+  // EFFECT: adds the Edges of the tree among the given range of Edges to the
+  // tree of this FilterKruskal, in weight order
+  void build(long[] edges, int lo, int hi) {
+    if (this.tree.size() == this.treeSize || lo >= hi) {
+      return;
+    }
+    if (hi - lo <= SEQUENTIAL_THRESHOLD) {
+      Arrays.sort(edges, lo, hi);
+      for (int i = lo; i < hi && this.tree.size() < this.treeSize; i++) {
+        if (this.sets.union(EdgeList.cellOf(edges[i]), EdgeList.otherOf(edges[i], this.length))) {
+          this.tree.add(edges[i]);
+          this.walls.open(edges[i]);
         }
       }
     }
+    else {
+      this.filtering = false;
+      this.pivot = this.choosePivot(edges, lo, hi);
+      int mid = this.split(edges, lo, hi);
+      this.build(edges, lo, mid);
+      if (this.tree.size() < this.treeSize) {
+        this.filtering = true;
+        this.build(edges, mid, this.split(edges, mid, hi));
+      }
+    }
   }
 
-  // EFFECT: resets game fields for new mazes or searches
-  public void reset() {
-    this.time = 0;
-    this.alreadySeen = new LinkedList<Vertex>();
-    this.alreadySeen2 = new LinkedList<Vertex>();
-    this.cameFromEdge = new HashMap<Vertex, Edge>();
-    this.path = new ArrayList<Vertex>();
-    this.path2 = new ArrayList<Vertex>();
-    this.paused = false;
-    this.pause = new TextImage("", 15, Color.BLACK);
+  // returns the median weight of an evenly spaced sample of the given range of
+  // Edges, which is less than the largest weight in the range
+  int choosePivot(long[] edges, int lo, int hi) {
+    int[] sample = new int[31];
+    for (int k = 0; k < sample.length; k++) {
+      sample[k] = EdgeList.weightOf(edges[lo + (int) ((long) (hi - lo) * k / sample.length)]);
+    }
+    Arrays.sort(sample);
+    return sample[sample.length / 2];
   }
 
-  // EFFECT: resets game fields for new mazes
-  public void newMaze() {
-    this.rand = new Random();
-    this.maze = new ArrayList<ArrayList<Vertex>>();
-    this.edges = new ArrayList<Edge>();
-    this.representatives = new HashMap<Vertex, Vertex>();
-    this.scene = new WorldScene(220 + 20 * this.length, 220 + 20 * this.width);
-    this.generateMaze();
-    this.mode = new TextImage("", 15, Color.BLACK);
-    this.searching = false;
-    this.finished = false;
-    this.paused = false;
-    this.pause = new TextImage("", 15, Color.BLACK);
+  // returns true if the given Edge belongs in the front part of a split
+  // no sets are merged while splitting, so filtering looks up roots without
+  // shortening paths, and the pool's threads never write to the same parents
+  boolean keeps(long edge) {
+    if (this.filtering) {
+      return this.sets.root(EdgeList.cellOf(edge)) != this.sets
+          .root(EdgeList.otherOf(edge, this.length));
+    }
+    else {
+      return EdgeList.weightOf(edge) <= this.pivot;
+    }
   }
 
-  // EFFECT: handles key input
-  public void onKeyEvent(String key) {
-    // EFFECT: resets the board
-    if (key.equals("r")) {
-      this.reset();
-      this.mode = new TextImage("", 15, Color.BLACK);
-      this.searching = false;
-      this.finished = false;
-      for (ArrayList<Vertex> row : this.maze) {
-        for (Vertex v : row) {
-          v.changeColor(Color.GRAY);
-        }
-      }
-      this.maze.get(0).get(0).changeColor(Color.GREEN);
-      this.maze.get(this.width - 1).get(this.length - 1).changeColor(Color.RED);
+  // returns the end of the front part after moving the Edges the given range
+  // keeps to its front, followed by the rest when not filtering
+  // EFFECT: reorders the given range, dropping the Edges not kept when filtering
+  int split(long[] edges, int lo, int hi) {
+    int chunks = 1;
+    if (hi - lo > SPLIT_THRESHOLD) {
+      chunks = this.pool.getParallelism() * CHUNKS_PER_THREAD;
     }
-    // EFFECT: resets the game (initializes all fields) and creates a new board
-    else if (key.equals("n")) {
-      this.reset();
-      this.newMaze();
-      this.assignEdges();
-      this.mst = this.kruskal();
+    int chunkSize = (hi - lo + chunks - 1) / chunks;
+    chunks = (hi - lo + chunkSize - 1) / chunkSize;
+    int[] kept = new int[chunks];
+    this.pool.invoke(new EdgeSplitTask(this, edges, lo, hi, chunkSize, 0, chunks, kept, null));
+
+    int[] starts = new int[2 * chunks];
+    int keptSoFar = lo;
+    for (int c = 0; c < chunks; c++) {
+      starts[2 * c] = keptSoFar;
+      keptSoFar += kept[c];
     }
-    // EFFECT: resets the game (initializes all fields) and creates a new
-    // horizontally-biased board
-    else if (key.equals("h")) {
-      this.reset();
-      this.newMaze();
-      this.assignEdgesBias(true);
-      this.mst = this.kruskal();
+    int restSoFar = keptSoFar;
+    for (int c = 0; c < chunks; c++) {
+      starts[2 * c + 1] = restSoFar;
+      restSoFar += Math.min(chunkSize, hi - lo - c * chunkSize) - kept[c];
     }
-    // EFFECT: resets the game (initializes all fields) and creates a new
-    // vertically-biased board
-    else if (key.equals("v")) {
-      this.reset();
-      this.newMaze();
-      this.assignEdgesBias(false);
-      this.mst = this.kruskal();
+    this.pool.invoke(new EdgeSplitTask(this, edges, lo, hi, chunkSize, 0, chunks, kept, starts));
+
+    if (this.filtering) {
+      System.arraycopy(this.buffer, lo, edges, lo, keptSoFar - lo);
     }
-    // EFFECT: starts breadth-first search on the maze
-    // can switch modes mid-search or after the maze has been solved
-    else if (key.equals("b")) {
-      this.reset();
-      this.mode = new TextImage("currently using breadth-first search", 15, Color.BLACK);
-      this.scene = new WorldScene(220 + 20 * this.length, 220 + 20 * this.width);
-      this.searching = true;
-      this.finished = false;
-      this.worklist = new Queue<Vertex>();
-      this.worklist.add(this.maze.get(0).get(0));
-      this.cameFromEdge.put(this.maze.get(0).get(0),
-          new Edge(2 * this.maze.get(0).get(0).hashCode(), this.maze.get(0).get(0),
-              this.maze.get(0).get(0)));
-      for (ArrayList<Vertex> row : this.maze) {
-        for (Vertex v : row) {
-          v.changeColor(Color.GRAY);
-        }
-      }
-      this.maze.get(0).get(0).changeColor(Color.GREEN);
-      this.maze.get(this.width - 1).get(this.length - 1).changeColor(Color.RED);
+    else {
+      System.arraycopy(this.buffer, lo, edges, lo, hi - lo);
     }
-    // EFFECT: starts depth-first search on the maze
-    // can switch modes mid-search or after the maze has been solved
-    else if (key.equals("d")) {
-      this.reset();
-      this.mode = new TextImage("currently using depth-first search", 15, Color.BLACK);
-      this.scene = new WorldScene(220 + 20 * this.length, 220 + 20 * this.width);
-      this.searching = true;
-      this.finished = false;
-      this.worklist = new Stack<Vertex>();
-      this.worklist.add(this.maze.get(0).get(0));
-      this.cameFromEdge.put(this.maze.get(0).get(0),
-          new Edge(2 * this.maze.get(0).get(0).hashCode(), this.maze.get(0).get(0),
-              this.maze.get(0).get(0)));
-      for (ArrayList<Vertex> row : this.maze) {
-        for (Vertex v : row) {
-          v.changeColor(Color.GRAY);
-        }
-      }
-      this.maze.get(0).get(0).changeColor(Color.GREEN);
-      this.maze.get(this.width - 1).get(this.length - 1).changeColor(Color.RED);
+    return keptSoFar;
+  }
+}
+
+// to represent one pass of a FilterKruskal split over a run of chunks of a range
+// of packed Edges: without starts it moves the Edges each chunk keeps to the
+// front of the chunk and counts them, with starts it copies each chunk's kept
+// Edges and, when not filtering, the rest into the FilterKruskal's buffer from
+// the given positions on
+@SuppressWarnings("serial")
+class EdgeSplitTask extends RecursiveAction {
+
+  // the FilterKruskal deciding which Edges are kept
+  FilterKruskal owner;
+
+  // the Edges being split
+  long[] edges;
+
+  // start of the range being split
+  int lo;
+
+  // end of the range being split
+  int hi;
+
+  // the number of Edges in every chunk but the last
+  int chunkSize;
+
+  // first chunk this task handles
+  int firstChunk;
+
+  // one past the last chunk this task handles
+  int lastChunk;
+
+  // the number of Edges kept by each chunk
+  int[] kept;
+
+  // where each chunk's kept Edges and other Edges go, or null when counting
+  int[] starts;
+
+  // constructor for this EdgeSplitTask
+  EdgeSplitTask(FilterKruskal owner, long[] edges, int lo, int hi, int chunkSize,
+      int firstChunk, int lastChunk, int[] kept, int[] starts) {
+    this.owner = owner;
+    this.edges = edges;
+    this.lo = lo;
+    this.hi = hi;
+    this.chunkSize = chunkSize;
+    this.firstChunk = firstChunk;
+    this.lastChunk = lastChunk;
+    this.kept = kept;
+    this.starts = starts;
+  }
+
+  // EFFECT: counts or copies the Edges of this task's chunks, splitting the
+  // chunks between two subtasks while there is more than one
+  protected void compute() {
+    if (this.lastChunk - this.firstChunk > 1) {
+      int mid = (this.firstChunk + this.lastChunk) >>> 1;
+      invokeAll(
+          new EdgeSplitTask(this.owner, this.edges, this.lo, this.hi, this.chunkSize,
+              this.firstChunk, mid, this.kept, this.starts),
+          new EdgeSplitTask(this.owner, this.edges, this.lo, this.hi, this.chunkSize, mid,
+              this.lastChunk, this.kept, this.starts));
     }
-    // EFFECT: pauses and unpauses a search if one is in progress
-    else if (key.equals("p")) {
-      if (this.searching) {
-        if (!this.paused) {
-          this.paused = true;
-          this.pause = new TextImage("the search is paused", 15, Color.BLACK);
+    else {
+      int from = this.lo + this.firstChunk * this.chunkSize;
+      int to = Math.min(from + this.chunkSize, this.hi);
+      if (this.starts == null) {
+        int keptEnd = from;
+        for (int i = from; i < to; i++) {
+          if (this.owner.keeps(this.edges[i])) {
+            long swap = this.edges[keptEnd];
+            this.edges[keptEnd] = this.edges[i];
+            this.edges[i] = swap;
+            keptEnd++;
+          }
         }
-        else {
-          this.paused = false;
-          this.pause = new TextImage("", 15, Color.BLACK);
+        this.kept[this.firstChunk] = keptEnd - from;
+      }
+      else {
+        int keptEnd = from + this.kept[this.firstChunk];
+        System.arraycopy(this.edges, from, this.owner.buffer, this.starts[2 * this.firstChunk],
+            keptEnd - from);
+        if (!this.owner.filtering) {
+          System.arraycopy(this.edges, keptEnd, this.owner.buffer,
+              this.starts[2 * this.firstChunk + 1], to - keptEnd);
         }
       }
     }
   }
+}
+
+// to represent filling a range of a MazeWorld's packed Edges with their
+// CounterWeights, split in half between two subtasks while it is long
+@SuppressWarnings("serial")
+class EdgeFillTask extends RecursiveAction {
+
+  // ranges at most this long are filled on one thread
+  static final int THRESHOLD = 1 << 16;
+
+  // the MazeWorld whose Edges are filled
+  MazeWorld world;
+
+  // the weights of the Edges
+  CounterWeights weights;
+
+  // first index this task fills
+  int lo;
+
+  // one past the last index this task fills
+  int hi;
+
+  // constructor for this EdgeFillTask
+  EdgeFillTask(MazeWorld world, CounterWeights weights, int lo, int hi) {
+    this.world = world;
+    this.weights = weights;
+    this.lo = lo;
+    this.hi = hi;
+  }
 
-  // EFFECT: reconstructs the correct path through the maze from the cameFromEdge
-  // HashMap and adds it to the ArrayList<Vertex> path
-  void reconstruct(Vertex from, Vertex to) {
-    this.path.add(to);
-    this.path2.add(to);
-    Vertex next = this.cameFromEdge.get(to).getFrom();
-    while (!this.path.contains(from)) {
-      this.path.add(0, next);
-      this.path2.add(0, next);
-      next = this.cameFromEdge.get(next).getFrom();
+  // EFFECT: fills this task's range of the world's packed Edges
+  protected void compute() {
+    if (this.hi - this.lo > EdgeFillTask.THRESHOLD) {
+      int mid = (this.lo + this.hi) >>> 1;
+      invokeAll(new EdgeFillTask(this.world, this.weights, this.lo, mid),
+          new EdgeFillTask(this.world, this.weights, mid, this.hi));
+    }
+    else {
+      for (int i = this.lo; i < this.hi; i++) {
+        long edge = this.world.edgeAtIndex(i);
+        this.world.edges.packed[i] = EdgeList.pack(this.weights.weight(i),
+            EdgeList.cellOf(edge), EdgeList.directionOf(edge));
+      }
     }
   }
 }
 
-// examples and tests for mazes
-class ExamplesMaze {
-  EdgesByWeight ebw;
-  Vertex v1;
-  Vertex v2;
-  Vertex v3;
-  Vertex v4;
-  Vertex v5;
-  Vertex v6;
-  Vertex v7;
-  Vertex v8;
-  Vertex v9;
-  Vertex v99;
-  Edge e1;
-  Edge e2;
-  Edge e3;
-  Edge e4;
-  Edge e5;
-  Edge e6;
-  Edge e7;
-  Edge e8;
-  Edge e9;
-  Edge e10;
-  Edge e11;
-  Edge e12;
-  MazeWorld mw;
-  MazeWorld mw1;
-  MazeWorld mw2;
-  MazeWorld mwRect;
-  ArrayList<Edge> mwKruskal;
-  Stack<Integer> intStack;
-  Queue<Integer> intQueue;
-  LinkedList<Integer> intStackList;
-  LinkedList<Integer> intQueueList;
-  Stack<Vertex> vertexStack;
-  Queue<Vertex> vertexQueue;
-  LinkedList<Vertex> vertexStackList;
-  LinkedList<Vertex> vertexQueueList;
-  WorldScene scene;
-  WorldScene scene2;
-  WorldScene scene3;
+// to represent a maze generated one row at a time with Eller's algorithm,
+// keeping only the set each cell of the current row belongs to, so mazes can be
+// far taller than could ever be held in memory
+// each row comes out as wall bits in the same layout as WallGrid, 32 cells to a
+// long, starting over at bit 0 of a new long for every row
+class EllerRows {
 
-  // initialize example data
-  void initData() {
-    this.ebw = new EdgesByWeight();
+  // number of cells in each row
+  int length;
 
-    // v1-v9 represent the vertices of a 3x3 grid
-    this.v1 = new Vertex(0, 0, Color.GREEN);
-    this.v2 = new Vertex(1, 0);
-    this.v3 = new Vertex(2, 0);
-    this.v4 = new Vertex(0, 1);
-    this.v5 = new Vertex(1, 1);
-    this.v6 = new Vertex(2, 1);
-    this.v7 = new Vertex(0, 2);
-    this.v8 = new Vertex(1, 2);
-    this.v9 = new Vertex(2, 2, Color.RED);
+  // number of rows in the maze
+  long rows;
 
-    this.v99 = new Vertex(99, 99);
+  // number of rows handed out so far
+  long row;
 
-    // e1-e12 represent the edges in mw
-    this.e1 = new Edge(11, this.v1, this.v2);
-    this.e2 = new Edge(1, this.v1, this.v4);
-    this.e3 = new Edge(5, this.v2, this.v3);
-    this.e4 = new Edge(7, this.v2, this.v5);
-    this.e5 = new Edge(4, this.v3, this.v6);
-    this.e6 = new Edge(0, this.v4, this.v5);
-    this.e7 = new Edge(9, this.v4, this.v7);
-    this.e8 = new Edge(3, this.v5, this.v6);
-    this.e9 = new Edge(6, this.v5, this.v8);
-    this.e10 = new Edge(2, this.v6, this.v9);
-    this.e11 = new Edge(10, this.v7, this.v8);
-    this.e12 = new Edge(8, this.v8, this.v9);
+  // to randomly join cells and carve down
+  Random rand;
 
-    // example MazeWorld with 3x3 grid (seeded for testing)
-    this.mw = new MazeWorld(3, 3, new Random(5));
+  // chance of joining two neighboring cells of different sets in a row
+  double joinChance;
 
-    // example MazeWorld with 1x1 grid (seeded for testing)
-    this.mw1 = new MazeWorld(1, 1, new Random(6));
+  // chance of carving down from each cell, on top of the one carving every set
+  // needs to stay connected to the rows below
+  double downChance;
 
-    // example MazeWorld with 2x2 grid (seeded for testing)
-    this.mw2 = new MazeWorld(2, 2, new Random(7));
+  // the set each cell of the current row belongs to, numbered below length
+  int[] sets;
 
-    // example MazeWorld with 8x16 grid
-    this.mwRect = new MazeWorld(8, 16);
+  // to join the sets of the current row
+  UnionFind groups;
 
-    // ArrayList of edges in the mw MST
-    this.mwKruskal = new ArrayList<Edge>(
-        Arrays.asList(this.e6, this.e2, this.e10, this.e8, this.e5, this.e3, this.e9, this.e7));
+  // scratch space for the next row's sets
+  int[] nextSets;
 
-    // Stack and Queue of Integers
-    this.intStack = new Stack<Integer>();
-    this.intQueue = new Queue<Integer>();
+  // number of cells seen so far in the set rooted at each cell
+  int[] members;
 
-    // contents of a Stack and Queue of Integers
-    this.intStackList = new LinkedList<Integer>(Arrays.asList(1, 2, 3));
-    this.intQueueList = new LinkedList<Integer>(Arrays.asList(3, 2, 1));
+  // a cell chosen uniformly at random from each set so far
+  int[] picks;
 
-    // Stack and Queue of vertices
-    this.vertexStack = new Stack<Vertex>();
-    this.vertexQueue = new Queue<Vertex>();
+  // whether each set has carved down yet
+  boolean[] carved;
 
-    // contents of a Stack and Queue of vertices
-    this.vertexStackList = new LinkedList<Vertex>(Arrays.asList(this.v1, this.v2, this.v3));
-    this.vertexQueueList = new LinkedList<Vertex>(Arrays.asList(this.v3, this.v2, this.v1));
+  // whether each cell of the current row carves down
+  boolean[] down;
 
-    this.scene = new WorldScene(280, 280);
-    this.scene2 = new WorldScene(280, 280);
-    this.scene3 = new WorldScene(240, 240);
+  // the wall bits of the row handed out last
+  long[] walls;
+
+  // constructor for EllerRows with no bias
+  EllerRows(int length, long rows, Random rand) {
+    this(length, rows, rand, 0.5, 0.5);
   }
 
-  // test bigBang
-  void testBigBang(Tester t) {
-    this.initData();
-    this.mw.bigBang(280, 280, 0.05);
-    this.mw1.bigBang(240, 240, 0.05);
-    this.mw2.bigBang(260, 260, 0.05);
-    MazeWorld ex = new MazeWorld(50, 60, new Random(9));
-    ex.bigBang(1220, 1420, 0.05);
+  // convenience constructor for EllerRows that prefers horizontal corridors if
+  // the given boolean is true and vertical corridors if it is false
+  EllerRows(int length, long rows, Random rand, boolean bias) {
+    this(length, rows, rand, bias ? 0.8 : 0.2, bias ? 0.1 : 0.8);
   }
 
-  // test EdgesByWeight Comparator compare(Edge, Edge) method
-  void testEdgesByWeightComparator(Tester t) {
-    this.initData();
-    t.checkExpect(this.ebw.compare(this.e1, this.e3), 6);
+  // constructor for EllerRows with the given chances of joining and carving down
+  EllerRows(int length, long rows, Random rand, double joinChance, double downChance) {
+    this.length = length;
+    this.rows = rows;
+    this.row = 0;
+    this.rand = rand;
+    this.joinChance = joinChance;
+    this.downChance = downChance;
+    this.sets = new int[length];
+    this.groups = new UnionFind(length);
+    this.nextSets = new int[length];
+    this.members = new int[length];
+    this.picks = new int[length];
+    this.carved = new boolean[length];
+    this.down = new boolean[length];
+    this.walls = new long[(length + 31) / 32];
+    for (int x = 0; x < length; x++) {
+      this.sets[x] = x;
+    }
   }
 
-  // test ArrayList sort using the EdgesByWeight comparator
-  // ArrayLists of Edges are always made up of unique weights
-  void testEdgesByWeightSort(Tester t) {
-    this.initData();
+  // returns true if there are rows left to hand out
+  boolean hasNext() {
+    return this.row < this.rows;
+  }
 
-    ArrayList<Edge> toSort1 = new ArrayList<Edge>(Arrays.asList(new Edge(23, this.v1, this.v2),
-        new Edge(19, this.v3, this.v6), new Edge(16, this.v9, this.v5)));
-    ArrayList<Edge> toSort2 = new ArrayList<Edge>(Arrays.asList(new Edge(16, this.v1, this.v2),
-        new Edge(23, this.v3, this.v6), new Edge(19, this.v9, this.v5)));
-    ArrayList<Edge> sorted1 = new ArrayList<Edge>(Arrays.asList(new Edge(16, this.v9, this.v5),
-        new Edge(19, this.v3, this.v6), new Edge(23, this.v1, this.v2)));
-    ArrayList<Edge> sorted2 = new ArrayList<Edge>(Arrays.asList(new Edge(16, this.v1, this.v2),
-        new Edge(19, this.v9, this.v5), new Edge(23, this.v3, this.v6)));
+  // returns the wall bits of the next row, which are overwritten by the
+  // following call
+  // EFFECT: moves on to the next row
+  long[] nextRow() {
+    Arrays.fill(this.walls, -1L);
+    this.groups.reset();
+    boolean last = this.row == this.rows - 1;
+
+    for (int x = 0; x < this.length - 1; x++) {
+      if (this.groups.find(this.sets[x]) != this.groups.find(this.sets[x + 1])
+          && (last || this.rand.nextDouble() < this.joinChance)) {
+        this.groups.union(this.sets[x], this.sets[x + 1]);
+        this.open(x, EdgeList.RIGHT);
+      }
+    }
 
-    toSort1.sort(this.ebw);
-    toSort2.sort(this.ebw);
+    if (!last) {
+      this.carveDown();
+    }
+    this.row++;
+    return this.walls;
+  }
 
-    t.checkExpect(toSort1, sorted1);
-    t.checkExpect(toSort2, sorted2);
+  // EFFECT: carves down from at least one cell of every set of the current row
+  // and numbers the sets of the next row
+  void carveDown() {
+    for (int x = 0; x < this.length; x++) {
+      int root = this.groups.find(this.sets[x]);
+      this.members[root]++;
+      if (this.rand.nextInt(this.members[root]) == 0) {
+        this.picks[root] = x;
+      }
+      if (this.rand.nextDouble() < this.downChance) {
+        this.down[x] = true;
+        this.carved[root] = true;
+      }
+    }
+
+    int nextSet = 0;
+    for (int x = 0; x < this.length; x++) {
+      int root = this.groups.find(this.sets[x]);
+      if (!this.carved[root]) {
+        this.down[this.picks[root]] = true;
+        this.carved[root] = true;
+      }
+      // members is reused to number the sets carried down into the next row
+      this.members[root] = -1;
+    }
+    for (int x = 0; x < this.length; x++) {
+      if (this.down[x]) {
+        int root = this.groups.find(this.sets[x]);
+        if (this.members[root] < 0) {
+          this.members[root] = nextSet;
+          nextSet++;
+        }
+        this.nextSets[x] = this.members[root];
+        this.open(x, EdgeList.DOWN);
+      }
+    }
+    for (int x = 0; x < this.length; x++) {
+      if (!this.down[x]) {
+        this.nextSets[x] = nextSet;
+        nextSet++;
+      }
+    }
+
+    int[] swap = this.sets;
+    this.sets = this.nextSets;
+    this.nextSets = swap;
+    Arrays.fill(this.members, 0);
+    Arrays.fill(this.carved, false);
+    Arrays.fill(this.down, false);
   }
 
-  // test Vertex hashCode() method
-  void testVertexHashCode(Tester t) {
-    this.initData();
-    t.checkExpect(this.v1.hashCode(), 0);
-    t.checkExpect(this.v99.hashCode(), 990099);
+  // EFFECT: takes down the wall in the given direction from the given cell of
+  // the current row
+  void open(int x, int direction) {
+    this.walls[x >>> 5] &= ~(1L << (((x & 31) << 1) + direction));
   }
 
-  // test Vertex equals(Object) method
-  void testVertexEquals(Tester t) {
-    this.initData();
-    Vertex alsoV1 = new Vertex(0, 0);
-    t.checkExpect(this.mw.maze.get(0).get(0).equals(this.mw.maze.get(0).get(0)), true);
-    t.checkExpect(this.mw.maze.get(0).get(0).equals(this.v1), true);
-    t.checkExpect(this.mw.maze.get(0).get(0).equals(alsoV1), true);
-    t.checkExpect(this.mw.maze.get(0).get(0).equals(this.mw.maze.get(0).get(2)), false);
-    t.checkExpect(this.v1.equals(this.mw.maze.get(0).get(0)), true);
-    t.checkExpect(this.v1.equals(this.v1), true);
-    t.checkExpect(alsoV1.equals(alsoV1), true);
-    t.checkExpect(this.v1.equals(alsoV1), true);
-    t.checkExpect(alsoV1.equals(this.v1), true);
-    t.checkExpect(this.v2.equals(new Vertex(1, 0)), true);
-    t.checkExpect(this.v2.equals(this.v1), false);
-    t.checkExpect(this.v2.equals(this.e1), false);
+  // EFFECT: takes down the walls of the given grid, which must have as many rows
+  // as are left, one row at a time
+  void fill(WallGrid grid) {
+    while (this.hasNext()) {
+      int start = (int) this.row * this.length;
+      long[] bits = this.nextRow();
+      for (int x = 0; x < this.length; x++) {
+        for (int direction = EdgeList.RIGHT; direction <= EdgeList.DOWN; direction++) {
+          if ((bits[x >>> 5] & (1L << (((x & 31) << 1) + direction))) == 0) {
+            grid.open(start + x, direction);
+          }
+        }
+      }
+    }
   }
 
-  // test Vertex drawVertex(WorldScene) method
-  void testDrawVertex(Tester t) {
-    this.initData();
+  // EFFECT: writes the wall bits of every row left to the given stream, each row
+  // as (length + 31) / 32 big-endian longs
+  void writeTo(OutputStream out) throws IOException {
+    DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out, 1 << 16));
+    while (this.hasNext()) {
+      for (long word : this.nextRow()) {
+        data.writeLong(word);
+      }
+    }
+    data.flush();
+  }
+}
 
-    t.checkExpect(this.scene, this.scene2);
+// to represent a way of building a perfect maze, one where every cell can reach
+// every other cell along exactly one path
+interface IMazeGenerator {
 
-    this.v1.drawVertex(this.scene);
-    this.scene2.placeImageXY(new RectangleImage(20, 20, OutlineMode.SOLID, Color.GREEN), 120, 120);
+  // returns the walls of a new perfect maze with the given number of columns
+  // and rows, making every random choice with the given Random
+  WallGrid generate(int length, int width, Random rand);
+}
 
-    t.checkExpect(this.scene, this.scene2);
+// to represent the helpers shared by the maze generators that walk from cell
+// to cell
+abstract class AMazeGenerator implements IMazeGenerator {
 
-    this.v2.drawVertex(this.scene);
-    this.scene2.placeImageXY(new RectangleImage(20, 20, OutlineMode.SOLID, Color.GRAY), 140, 120);
+  // returns the neighbor of the given cell on the given side (0 right, 1 down,
+  // 2 left, 3 up) of a maze of the given size, or -1 if that side is the border
+  int neighbor(int cell, int side, int length, int width) {
+    if (side == 0) {
+      return cell % length < length - 1 ? cell + 1 : -1;
+    }
+    else if (side == 1) {
+      return cell / length < width - 1 ? cell + length : -1;
+    }
+    else if (side == 2) {
+      return cell % length > 0 ? cell - 1 : -1;
+    }
+    else {
+      return cell >= length ? cell - length : -1;
+    }
+  }
 
-    t.checkExpect(this.scene, this.scene2);
+  // returns a neighbor of the given cell of a maze of the given size chosen
+  // uniformly at random
+  int randomNeighbor(int cell, int length, int width, Random rand) {
+    int count = 0;
+    for (int side = 0; side < 4; side++) {
+      if (this.neighbor(cell, side, length, width) >= 0) {
+        count++;
+      }
+    }
+    int pick = rand.nextInt(count);
+    for (int side = 0; side < 4; side++) {
+      int next = this.neighbor(cell, side, length, width);
+      if (next >= 0) {
+        if (pick == 0) {
+          return next;
+        }
+        pick--;
+      }
+    }
+    return -1;
   }
+}
 
-  // test Vertex drawWallBetween(Vertex, WorldScene) method
-  void testDrawWallBetween(Tester t) {
-    this.initData();
+// to represent building a maze with Kruskal's algorithm, taking the walls in a
+// random order and knocking down each one that joins two separate groups
+class KruskalGenerator extends AMazeGenerator {
+
+  // returns the walls of a new perfect maze built with Kruskal's algorithm
+  public WallGrid generate(int length, int width, Random rand) {
+    long[] order = EdgeList.shuffledEdges(length, width, rand);
+
+    WallGrid walls = new WallGrid(length, width);
+    UnionFind sets = new UnionFind(length * width);
+    int joined = 0;
+    for (int i = 0; i < order.length && joined < length * width - 1; i++) {
+      if (sets.union(EdgeList.cellOf(order[i]), EdgeList.otherOf(order[i], length))) {
+        walls.open(order[i]);
+        joined++;
+      }
+    }
+    return walls;
+  }
+}
 
-    t.checkExpect(this.scene, this.scene2);
+// to represent building a maze with Prim's algorithm, growing one tree from a
+// random cell by always knocking down the lightest wall on its edge, with the
+// walls kept as packed Edges of random weight in a LongHeap
+class PrimGenerator extends AMazeGenerator {
+
+  // returns the walls of a new perfect maze built with Prim's algorithm
+  public WallGrid generate(int length, int width, Random rand) {
+    WallGrid walls = new WallGrid(length, width);
+    boolean[] inTree = new boolean[length * width];
+    LongHeap frontier = new LongHeap(4 * (length + width));
+    this.addCell(rand.nextInt(length * width), inTree, frontier, length, width, rand);
+
+    while (!frontier.isEmpty()) {
+      long edge = frontier.remove();
+      int a = EdgeList.cellOf(edge);
+      int b = EdgeList.otherOf(edge, length);
+      if (!inTree[a] || !inTree[b]) {
+        walls.open(edge);
+        this.addCell(inTree[a] ? b : a, inTree, frontier, length, width, rand);
+      }
+    }
+    return walls;
+  }
 
-    this.v1.drawWallBetween(this.v2, this.scene);
-    this.scene2.placeImageXY(new RectangleImage(2, 20, OutlineMode.SOLID, Color.BLACK), 130, 120);
+  // EFFECT: adds the given cell to the tree and the walls between it and its
+  // neighbors outside the tree to the frontier, each with a random weight
+  void addCell(int cell, boolean[] inTree, LongHeap frontier, int length, int width,
+      Random rand) {
+    inTree[cell] = true;
+    for (int side = 0; side < 4; side++) {
+      int next = this.neighbor(cell, side, length, width);
+      if (next >= 0 && !inTree[next]) {
+        int low = Math.min(cell, next);
+        int direction = side % 2 == 0 ? EdgeList.RIGHT : EdgeList.DOWN;
+        frontier.add(EdgeList.pack(rand.nextInt() >>> 1, low, direction));
+      }
+    }
+  }
+}
 
-    t.checkExpect(this.scene, this.scene2);
+// to represent building a maze with an iterative recursive backtracker: walk to
+// a random unvisited neighbor while there is one and back up when there is not,
+// keeping the walk on an int stack
+class BacktrackerGenerator extends AMazeGenerator {
+
+  // returns the walls of a new perfect maze built by backtracking
+  public WallGrid generate(int length, int width, Random rand) {
+    WallGrid walls = new WallGrid(length, width);
+    boolean[] visited = new boolean[length * width];
+    int[] stack = new int[length * width];
+    int[] choices = new int[4];
+    int top = 0;
+    stack[0] = rand.nextInt(length * width);
+    visited[stack[0]] = true;
+
+    while (top >= 0) {
+      int cell = stack[top];
+      int count = 0;
+      for (int side = 0; side < 4; side++) {
+        int next = this.neighbor(cell, side, length, width);
+        if (next >= 0 && !visited[next]) {
+          choices[count] = next;
+          count++;
+        }
+      }
+      if (count == 0) {
+        top--;
+      }
+      else {
+        int next = choices[rand.nextInt(count)];
+        walls.openBetween(cell, next);
+        visited[next] = true;
+        top++;
+        stack[top] = next;
+      }
+    }
+    return walls;
+  }
+}
 
-    this.v1.drawWallBetween(this.v4, this.scene);
-    this.scene2.placeImageXY(new RectangleImage(20, 2, OutlineMode.SOLID, Color.BLACK), 120, 130);
+// to represent building a maze with Wilson's algorithm: from each cell outside
+// the tree, take a random walk until it hits the tree and add the walk with its
+// loops erased, which picks every possible maze with the same chance
+class WilsonGenerator extends AMazeGenerator {
+
+  // returns the walls of a new perfect maze built with Wilson's algorithm
+  public WallGrid generate(int length, int width, Random rand) {
+    WallGrid walls = new WallGrid(length, width);
+    boolean[] inTree = new boolean[length * width];
+    // the cell the walk last moved to from each cell, so coming back to a cell
+    // and leaving it another way erases the loop in between
+    int[] next = new int[length * width];
+    inTree[rand.nextInt(length * width)] = true;
+
+    for (int start = 0; start < length * width; start++) {
+      int cell = start;
+      while (!inTree[cell]) {
+        next[cell] = this.randomNeighbor(cell, length, width, rand);
+        cell = next[cell];
+      }
+      cell = start;
+      while (!inTree[cell]) {
+        inTree[cell] = true;
+        walls.openBetween(cell, next[cell]);
+        cell = next[cell];
+      }
+    }
+    return walls;
+  }
+}
 
-    t.checkExpect(this.scene, this.scene2);
+// to represent building a maze with the Aldous-Broder algorithm: take one
+// random walk until every cell has been visited, knocking down the wall into
+// each cell the first time the walk reaches it
+class AldousBroderGenerator extends AMazeGenerator {
+
+  // returns the walls of a new perfect maze built with the Aldous-Broder
+  // algorithm
+  public WallGrid generate(int length, int width, Random rand) {
+    WallGrid walls = new WallGrid(length, width);
+    boolean[] visited = new boolean[length * width];
+    int cell = rand.nextInt(length * width);
+    visited[cell] = true;
+    int remaining = length * width - 1;
+
+    while (remaining > 0) {
+      int next = this.randomNeighbor(cell, length, width, rand);
+      if (!visited[next]) {
+        walls.openBetween(cell, next);
+        visited[next] = true;
+        remaining--;
+      }
+      cell = next;
+    }
+    return walls;
+  }
+}
 
-    this.v3.drawWallBetween(this.v6, this.scene);
-    this.scene2.placeImageXY(new RectangleImage(20, 2, OutlineMode.SOLID, Color.BLACK), 160, 130);
+// to represent building a maze one row at a time with EllerRows
+class EllerGenerator implements IMazeGenerator {
 
-    t.checkExpect(this.scene, this.scene2);
+  // returns the walls of a new perfect maze built with Eller's algorithm
+  public WallGrid generate(int length, int width, Random rand) {
+    WallGrid walls = new WallGrid(length, width);
+    new EllerRows(length, width, rand).fill(walls);
+    return walls;
+  }
+}
 
-    this.v5.drawWallBetween(this.v9, this.scene);
-    this.scene2.placeImageXY(new RectangleImage(2, 20, OutlineMode.SOLID, Color.BLACK), 150, 140);
+// to represent building a giant maze in square tiles: a Kruskal tree is built
+// inside every tile at once on a ForkJoinPool, and then Kruskal's algorithm is
+// run once more over the borders between tiles, opening one door at a random
+// spot along each border it picks, to join the tiles into a single perfect maze
+// every tile draws from its own Random seeded from the maze's seed and its
+// index, so the maze is the same however many threads build it
+class TiledGenerator implements IMazeGenerator {
+
+  // the pool the tiles are built on
+  ForkJoinPool pool;
+
+  // the number of cells along each side of a tile, the tiles on the right and
+  // bottom borders may be smaller
+  int tileSize;
+
+  // constructor for this TiledGenerator
+  TiledGenerator(ForkJoinPool pool, int tileSize) {
+    this.pool = pool;
+    this.tileSize = tileSize;
+  }
 
-    t.checkExpect(this.scene, this.scene2);
+  // returns the walls of a new perfect maze built tile by tile
+  public WallGrid generate(int length, int width, Random rand) {
+    WallGrid walls = new WallGrid(length, width);
+    int across = (length + this.tileSize - 1) / this.tileSize;
+    int down = (width + this.tileSize - 1) / this.tileSize;
+    this.pool.invoke(new TileTask(this, walls, rand.nextLong(), 0, across * down));
+    this.stitch(walls, rand);
+    return walls;
   }
 
-  // test Vertex changeColor(Color) method
-  void testChangeColor(Tester t) {
-    this.initData();
+  // EFFECT: takes down the walls along a Kruskal tree of the given tile of the
+  // given walls, drawing the weights from a Random seeded with the given seed
+  // several tiles can be built at once because they share no cells, and their
+  // walls are taken down with WallGrid openConcurrently(int, int)
+  void buildTile(WallGrid walls, int tile, long seed) {
+    int across = (walls.length + this.tileSize - 1) / this.tileSize;
+    int x0 = tile % across * this.tileSize;
+    int y0 = tile / across * this.tileSize;
+    int tileLength = Math.min(this.tileSize, walls.length - x0);
+    int tileWidth = Math.min(this.tileSize, walls.width - y0);
+    Random rand = new Random(seed ^ (tile * 0x9E3779B97F4A7C15L));
+
+    // the Edges use the tile's own cell numbering
+    long[] order = EdgeList.shuffledEdges(tileLength, tileWidth, rand);
+
+    UnionFind sets = new UnionFind(tileLength * tileWidth);
+    int joined = 0;
+    for (int i = 0; i < order.length && joined < tileLength * tileWidth - 1; i++) {
+      int cell = EdgeList.cellOf(order[i]);
+      if (sets.union(cell, EdgeList.otherOf(order[i], tileLength))) {
+        walls.openConcurrently((y0 + cell / tileLength) * walls.length + x0 + cell % tileLength,
+            EdgeList.directionOf(order[i]));
+        joined++;
+      }
+    }
+  }
 
-    t.checkExpect(this.v1.color, Color.GREEN);
+  // EFFECT: joins the tiles of the given walls into one perfect maze by taking
+  // the borders between neighboring tiles in a random order and opening a door
+  // at a random spot along each one that joins two separate groups of tiles
+  void stitch(WallGrid walls, Random rand) {
+    int across = (walls.length + this.tileSize - 1) / this.tileSize;
+    int down = (walls.width + this.tileSize - 1) / this.tileSize;
+
+    // a border is packed like an Edge between tiles of a maze across tiles long
+    long[] borders = EdgeList.shuffledEdges(across, down, rand);
+
+    UnionFind tiles = new UnionFind(across * down);
+    for (long border : borders) {
+      int tile = EdgeList.cellOf(border);
+      if (tiles.union(tile, EdgeList.otherOf(border, across))) {
+        int x0 = tile % across * this.tileSize;
+        int y0 = tile / across * this.tileSize;
+        if (EdgeList.directionOf(border) == EdgeList.RIGHT) {
+          int y = y0 + rand.nextInt(Math.min(this.tileSize, walls.width - y0));
+          walls.open(y * walls.length + x0 + this.tileSize - 1, EdgeList.RIGHT);
+        }
+        else {
+          int x = x0 + rand.nextInt(Math.min(this.tileSize, walls.length - x0));
+          walls.open((y0 + this.tileSize - 1) * walls.length + x, EdgeList.DOWN);
+        }
+      }
+    }
+  }
+}
 
-    this.v1.changeColor(Color.BLUE);
+// to represent building a range of tiles of a TiledGenerator's maze, split in
+// half between two subtasks until there is a single tile left
+@SuppressWarnings("serial")
+class TileTask extends RecursiveAction {
 
-    t.checkExpect(this.v1.color, Color.BLUE);
+  // the TiledGenerator building the tiles
+  TiledGenerator owner;
 
-    t.checkExpect(this.v2.color, Color.GRAY);
+  // the walls the tiles are built in
+  WallGrid walls;
 
-    this.v2.changeColor(Color.CYAN);
+  // the seed every tile's Random is drawn from
+  long seed;
 
-    t.checkExpect(this.v2.color, Color.CYAN);
+  // first tile this task builds
+  int first;
+
+  // one past the last tile this task builds
+  int last;
+
+  // constructor for this TileTask
+  TileTask(TiledGenerator owner, WallGrid walls, long seed, int first, int last) {
+    this.owner = owner;
+    this.walls = walls;
+    this.seed = seed;
+    this.first = first;
+    this.last = last;
   }
 
-  // test Edge hashCode() method
-  void testEdgeHashCode(Tester t) {
-    this.initData();
-    t.checkExpect(this.mw.edges.get(0).hashCode(), 1100010000);
-    t.checkExpect(this.mw.edges.get(2).hashCode(), 500030000);
-    t.checkExpect(this.e1.hashCode(), 1100010000);
-    t.checkExpect(this.e3.hashCode(), 500030000);
+  // EFFECT: builds this task's tiles, splitting them between two subtasks while
+  // there is more than one
+  protected void compute() {
+    if (this.last - this.first > 1) {
+      int mid = (this.first + this.last) >>> 1;
+      invokeAll(new TileTask(this.owner, this.walls, this.seed, this.first, mid),
+          new TileTask(this.owner, this.walls, this.seed, mid, this.last));
+    }
+    else if (this.last - this.first == 1) {
+      this.owner.buildTile(this.walls, this.first, this.seed);
+    }
   }
+}
 
-  // test Edge equals(Object) method
-  void testEdgeEquals(Tester t) {
-    this.initData();
-    Edge alsoE1 = new Edge(11, new Vertex(0, 0), new Vertex(1, 0));
-    t.checkExpect(this.mw.edges.get(0).equals(this.mw.edges.get(0)), true);
-    t.checkExpect(this.mw.edges.get(0).equals(this.e1), true);
-    t.checkExpect(this.mw.edges.get(0).equals(alsoE1), true);
-    t.checkExpect(this.e1.equals(alsoE1), true);
-    t.checkExpect(alsoE1.equals(this.e1), true);
-    t.checkExpect(this.e1.equals(this.e1), true);
-    t.checkExpect(alsoE1.equals(alsoE1), true);
-    t.checkExpect(this.e2.equals(new Edge(1, new Vertex(0, 0), new Vertex(0, 1))), true);
-    t.checkExpect(this.e1.equals(this.e3), false);
-    t.checkExpect(this.e1.equals(this.v2), false);
+// to represent a maze that is only generated a chunk at a time, the first time
+// one of the chunk's walls is asked about, so it starts up at once and takes
+// bounded memory however big it is
+// every chunk is a perfect maze built by a BacktrackerGenerator seeded from the
+// maze's seed and the chunk's position, and every chunk but the top left one
+// opens a single door to the chunk on its left or the chunk above it, which
+// makes the chunks a tree and the whole maze perfect
+// the door is worked out from the same seed, so a wall along a chunk border can
+// be answered without generating the chunk on the other side
+// chunks are kept in a ChunkCache that drops the least recently used chunk once
+// it is full, and are generated again the same way if they are needed later
+class ChunkedMaze implements IMaze {
+
+  // the number of cells along each side of the chunks of a MazeWorld's maze
+  static final int CHUNK_SIZE = 64;
+
+  // the most chunks a MazeWorld's maze keeps, however big it is
+  static final int CACHED_CHUNKS = 64;
+
+  // length of the maze
+  int length;
+
+  // width of the maze
+  int width;
+
+  // the seed every chunk is generated from
+  long seed;
+
+  // the number of cells along each side of a chunk, the chunks on the right and
+  // bottom borders may be smaller
+  int chunkSize;
+
+  // the chunks generated most recently
+  ChunkCache chunks;
+
+  // the number of times a chunk has been generated
+  int generated;
+
+  // constructor for this ChunkedMaze
+  ChunkedMaze(int length, int width, long seed, int chunkSize, int capacity) {
+    this.length = length;
+    this.width = width;
+    this.seed = seed;
+    this.chunkSize = chunkSize;
+    this.chunks = new ChunkCache(capacity);
+    this.generated = 0;
   }
 
-  // test Edge getFrom() method
-  void testGetFrom(Tester t) {
-    this.initData();
-    t.checkExpect(this.mw.edges.get(0).getFrom(), this.v1);
-    t.checkExpect(this.mw.edges.get(2).getFrom(), this.v2);
-    t.checkExpect(this.e1.getFrom(), this.v1);
-    t.checkExpect(this.e3.getFrom(), this.v2);
+  // returns true if there is no wall in the given direction (EdgeList.RIGHT or
+  // EdgeList.DOWN) from the given cell
+  public boolean isOpen(int cell, int direction) {
+    int x = cell % this.length;
+    int y = cell / this.length;
+    int chunkX = x / this.chunkSize;
+    int chunkY = y / this.chunkSize;
+    if (direction == EdgeList.RIGHT) {
+      if (x == this.length - 1) {
+        return false;
+      }
+      else if (x % this.chunkSize == this.chunkSize - 1) {
+        return this.joinsLeft(chunkX + 1, chunkY)
+            && this.door(chunkX + 1, chunkY) == y % this.chunkSize;
+      }
+    }
+    else {
+      if (y == this.width - 1) {
+        return false;
+      }
+      else if (y % this.chunkSize == this.chunkSize - 1) {
+        return !this.joinsLeft(chunkX, chunkY + 1)
+            && this.door(chunkX, chunkY + 1) == x % this.chunkSize;
+      }
+    }
+    WallGrid chunk = this.chunk(chunkX, chunkY);
+    return chunk.isOpen((y % this.chunkSize) * chunk.length + x % this.chunkSize, direction);
   }
 
-  // test Edge getTo() method
-  void testGetTo(Tester t) {
-    this.initData();
-    t.checkExpect(this.mw.edges.get(0).getTo(), this.v2);
-    t.checkExpect(this.mw.edges.get(2).getTo(), this.v3);
-    t.checkExpect(this.e1.getTo(), this.v2);
-    t.checkExpect(this.e3.getTo(), this.v3);
+  // returns the open directions of the given cell
+  public int openDirections(int cell) {
+    int mask = 0;
+    if (this.isOpen(cell, EdgeList.RIGHT)) {
+      mask |= 1;
+    }
+    if (this.isOpen(cell, EdgeList.DOWN)) {
+      mask |= 2;
+    }
+    if (cell > 0 && this.isOpen(cell - 1, EdgeList.RIGHT)) {
+      mask |= 4;
+    }
+    if (cell >= this.length && this.isOpen(cell - this.length, EdgeList.DOWN)) {
+      mask |= 8;
+    }
+    return mask;
   }
 
-  // test Stack and Queue isEmpty() method
-  void testIsEmpty(Tester t) {
-    this.initData();
+  // returns the open directions of the cell with the given number, which fits in
+  // an int
+  public int openDirections(long cell) {
+    return this.openDirections((int) cell);
+  }
 
-    t.checkExpect(this.intStack.isEmpty(), true);
-    t.checkExpect(this.intQueue.isEmpty(), true);
-    this.intStack.contents = this.intStackList;
-    this.intQueue.contents = this.intQueueList;
-    t.checkExpect(this.intStack.isEmpty(), false);
-    t.checkExpect(this.intQueue.isEmpty(), false);
+  // returns this ChunkedMaze, since indexing it would generate every chunk
+  public IMaze indexed() {
+    return this;
+  }
 
-    t.checkExpect(this.vertexStack.isEmpty(), true);
-    t.checkExpect(this.vertexQueue.isEmpty(), true);
-    this.vertexStack.contents = this.vertexStackList;
-    this.vertexQueue.contents = this.vertexQueueList;
-    t.checkExpect(this.vertexStack.isEmpty(), false);
-    t.checkExpect(this.vertexQueue.isEmpty(), false);
+  // returns the walls of the given chunk, generating it if it is not cached
+  // EFFECT: caches the chunk as the one used most recently
+  // synchronized so a ChunkedMaze can be searched on a worker while it is drawn
+  synchronized WallGrid chunk(int chunkX, int chunkY) {
+    Long key = ((long) chunkX << 32) | chunkY;
+    WallGrid chunk = this.chunks.get(key);
+    if (chunk == null) {
+      int x0 = chunkX * this.chunkSize;
+      int y0 = chunkY * this.chunkSize;
+      chunk = new BacktrackerGenerator().generate(Math.min(this.chunkSize, this.length - x0),
+          Math.min(this.chunkSize, this.width - y0), new Random(this.hash(chunkX, chunkY)));
+      this.chunks.put(key, chunk);
+      this.generated++;
+    }
+    return chunk;
   }
 
-  // test Stack and Queue add(T item) method
-  void testAdd(Tester t) {
-    this.initData();
+  // returns true if the given chunk's door leads to the chunk on its left and
+  // false if it leads to the chunk above it
+  // the chunks in the top row all join left and the rest of the left column all
+  // join up, so every chunk leads back to the top left one
+  boolean joinsLeft(int chunkX, int chunkY) {
+    if (chunkY == 0) {
+      return true;
+    }
+    else if (chunkX == 0) {
+      return false;
+    }
+    else {
+      return (this.hash(chunkX, chunkY) & 1) == 0;
+    }
+  }
 
-    this.intStack.add(3);
-    this.intQueue.add(3);
-    t.checkExpect(this.intStack.contents.equals(new LinkedList<Integer>(Arrays.asList(3))), true);
-    t.checkExpect(this.intQueue.contents.equals(new LinkedList<Integer>(Arrays.asList(3))), true);
-    t.checkExpect(this.intStack.contents.equals(this.intStackList), false);
-    t.checkExpect(this.intQueue.contents.equals(this.intQueueList), false);
+  // returns how far along the given chunk's left or top border its door is
+  int door(int chunkX, int chunkY) {
+    int span;
+    if (this.joinsLeft(chunkX, chunkY)) {
+      span = Math.min(this.chunkSize, this.width - chunkY * this.chunkSize);
+    }
+    else {
+      span = Math.min(this.chunkSize, this.length - chunkX * this.chunkSize);
+    }
+    return (int) ((this.hash(chunkX, chunkY) >>> 1) % span);
+  }
 
-    this.intStack.add(2);
-    this.intQueue.add(2);
-    t.checkExpect(this.intStack.contents.equals(new LinkedList<Integer>(Arrays.asList(2, 3))),
-        true);
-    t.checkExpect(this.intQueue.contents.equals(new LinkedList<Integer>(Arrays.asList(3, 2))),
-        true);
-    t.checkExpect(this.intStack.contents.equals(this.intStackList), false);
-    t.checkExpect(this.intQueue.contents.equals(this.intQueueList), false);
-
-    this.intStack.add(1);
-    this.intQueue.add(1);
-    t.checkExpect(this.intStack.contents.equals(this.intStackList), true);
-    t.checkExpect(this.intQueue.contents.equals(this.intQueueList), true);
+  // returns a well mixed hash of this maze's seed and the given chunk
+  long hash(int chunkX, int chunkY) {
+    return CounterWeights.mix(
+        this.seed + chunkX * 0x9E3779B97F4A7C15L + chunkY * 0xC2B2AE3D27D4EB4FL);
+  }
+}
 
-    this.vertexStack.add(this.v3);
-    this.vertexQueue.add(this.v3);
-    t.checkExpect(this.vertexStack.contents.equals(new LinkedList<Vertex>(Arrays.asList(this.v3))),
-        true);
-    t.checkExpect(this.vertexQueue.contents.equals(new LinkedList<Vertex>(Arrays.asList(this.v3))),
-        true);
-    t.checkExpect(this.vertexStack.contents.equals(this.vertexStackList), false);
-    t.checkExpect(this.vertexQueue.contents.equals(this.vertexQueueList), false);
+// to represent the chunks of a ChunkedMaze kept in memory, in the order they
+// were last used, dropping the least recently used one once there are more than
+// the capacity
+@SuppressWarnings("serial")
+class ChunkCache extends LinkedHashMap<Long, WallGrid> {
 
-    this.vertexStack.add(this.v2);
-    this.vertexQueue.add(this.v2);
-    t.checkExpect(
-        this.vertexStack.contents.equals(new LinkedList<Vertex>(Arrays.asList(this.v2, this.v3))),
-        true);
-    t.checkExpect(
-        this.vertexQueue.contents.equals(new LinkedList<Vertex>(Arrays.asList(this.v3, this.v2))),
-        true);
-    t.checkExpect(this.vertexStack.contents.equals(this.vertexStackList), false);
-    t.checkExpect(this.vertexQueue.contents.equals(this.vertexQueueList), false);
+  // the most chunks this ChunkCache keeps
+  int capacity;
 
-    this.vertexStack.add(this.v1);
-    this.vertexQueue.add(this.v1);
-    t.checkExpect(this.vertexStack.contents.equals(this.vertexStackList), true);
-    t.checkExpect(this.vertexQueue.contents.equals(this.vertexQueueList), true);
+  // constructor for an empty ChunkCache
+  ChunkCache(int capacity) {
+    super(16, 0.75f, true);
+    this.capacity = capacity;
   }
 
-  // test Stack and Queue remove() method
-  void testRemove(Tester t) {
-    this.initData();
-
-    this.intStack.contents = this.intStackList;
-    this.intQueue.contents = this.intQueueList;
-    t.checkExpect(intStack.remove(), 1);
-    t.checkExpect(this.intStack.contents.equals(new LinkedList<Integer>(Arrays.asList(2, 3))),
-        true);
-    t.checkExpect(intStack.remove(), 2);
-    t.checkExpect(this.intStack.contents.equals(new LinkedList<Integer>(Arrays.asList(3))), true);
-    t.checkExpect(intStack.remove(), 3);
-    t.checkExpect(this.intStack.contents.equals(new LinkedList<Integer>(Arrays.asList())), true);
-    t.checkExpect(intQueue.remove(), 3);
-    t.checkExpect(this.intQueue.contents.equals(new LinkedList<Integer>(Arrays.asList(2, 1))),
-        true);
-    t.checkExpect(intQueue.remove(), 2);
-    t.checkExpect(this.intQueue.contents.equals(new LinkedList<Integer>(Arrays.asList(1))), true);
-    t.checkExpect(intQueue.remove(), 1);
-    t.checkExpect(this.intQueue.contents.equals(new LinkedList<Integer>(Arrays.asList())), true);
-
-    this.vertexStack.contents = this.vertexStackList;
-    this.vertexQueue.contents = this.vertexQueueList;
-    t.checkExpect(vertexStack.remove(), this.v1);
-    t.checkExpect(
-        this.vertexStack.contents.equals(new LinkedList<Vertex>(Arrays.asList(this.v2, this.v3))),
-        true);
-    t.checkExpect(vertexStack.remove(), this.v2);
-    t.checkExpect(this.vertexStack.contents.equals(new LinkedList<Vertex>(Arrays.asList(this.v3))),
-        true);
-    t.checkExpect(vertexStack.remove(), this.v3);
-    t.checkExpect(this.vertexStack.contents.equals(new LinkedList<Vertex>(Arrays.asList())), true);
-    t.checkExpect(vertexQueue.remove(), this.v3);
-    t.checkExpect(
-        this.vertexQueue.contents.equals(new LinkedList<Vertex>(Arrays.asList(this.v2, this.v1))),
-        true);
-    t.checkExpect(vertexQueue.remove(), this.v2);
-    t.checkExpect(this.vertexQueue.contents.equals(new LinkedList<Vertex>(Arrays.asList(this.v1))),
-        true);
-    t.checkExpect(vertexQueue.remove(), this.v1);
-    t.checkExpect(this.vertexQueue.contents.equals(new LinkedList<Vertex>(Arrays.asList())), true);
+  // returns true if the least recently used chunk should be dropped to make room
+  // for the one just added
+  protected boolean removeEldestEntry(Map.Entry<Long, WallGrid> eldest) {
+    return this.size() > this.capacity;
   }
+}
 
-  // test MazeWorld generateMaze() method
-  void testGenerateMaze(Tester t) {
-    this.initData();
+// to represent a maze read straight from a file of rows written by EllerRows
+// writeTo(OutputStream), mapped into memory so the operating system pages the
+// rows in as they are needed and the maze can be larger than the heap
+// each row is (length + 31) / 32 big-endian longs, with the wall bits of a row
+// laid out as they are in a WallGrid
+// a single mapping can be at most 2 GB, so the file is mapped in windows of
+// whole rows, and cells are numbered with longs through ILongMaze, so the maze
+// can be larger than memory too
+class MappedMaze implements IMaze {
 
-    // allows for testing of just generateMaze() without the effects of kruskal(),
-    // which also gets called in the MazeWorld constructors
-    this.mw.maze.clear();
-    this.mw.representatives.clear();
-    this.mw.generateMaze();
+  // the most bytes mapped in each window, unless a single row is larger
+  static final long WINDOW_BYTES = 1L << 30;
 
-    t.checkExpect(this.mw.maze.size(), 3);
-    t.checkExpect(this.mw.maze.get(0).size(), 3);
-    t.checkExpect(this.mw.maze.get(1).size(), 3);
-    t.checkExpect(this.mw.maze.get(2).size(), 3);
-    t.checkExpect(this.mw.representatives.size(), 9);
+  // length of the maze
+  int length;
 
-    t.checkExpect(this.mw.maze.get(0).get(0), this.v1);
-    t.checkExpect(this.mw.maze.get(0).get(1), this.v2);
-    t.checkExpect(this.mw.maze.get(0).get(2), this.v3);
-    t.checkExpect(this.mw.maze.get(1).get(0), this.v4);
-    t.checkExpect(this.mw.maze.get(1).get(1), this.v5);
-    t.checkExpect(this.mw.maze.get(1).get(2), this.v6);
-    t.checkExpect(this.mw.maze.get(2).get(0), this.v7);
-    t.checkExpect(this.mw.maze.get(2).get(1), this.v8);
-    t.checkExpect(this.mw.maze.get(2).get(2), this.v9);
+  // width of the maze
+  long width;
 
-    t.checkExpect(this.mw.representatives.get(this.mw.maze.get(0).get(0)), this.v1);
-    t.checkExpect(this.mw.representatives.get(this.mw.maze.get(0).get(1)), this.v2);
-    t.checkExpect(this.mw.representatives.get(this.mw.maze.get(0).get(2)), this.v3);
-    t.checkExpect(this.mw.representatives.get(this.mw.maze.get(1).get(0)), this.v4);
-    t.checkExpect(this.mw.representatives.get(this.mw.maze.get(1).get(1)), this.v5);
-    t.checkExpect(this.mw.representatives.get(this.mw.maze.get(1).get(2)), this.v6);
-    t.checkExpect(this.mw.representatives.get(this.mw.maze.get(2).get(0)), this.v7);
-    t.checkExpect(this.mw.representatives.get(this.mw.maze.get(2).get(1)), this.v8);
-    t.checkExpect(this.mw.representatives.get(this.mw.maze.get(2).get(2)), this.v9);
+  // the number of longs in each row
+  int rowLongs;
 
-    this.mw1.maze.clear();
-    this.mw1.representatives.clear();
-    this.mw1.generateMaze();
+  // the number of rows in each window, all but the last of which are full
+  long rowsPerWindow;
 
-    t.checkExpect(this.mw1.maze.size(), 1);
-    t.checkExpect(this.mw1.maze.get(0).size(), 1);
-    t.checkExpect(this.mw1.representatives.size(), 1);
-    t.checkExpect(this.mw1.maze.get(0).get(0), this.v1);
-    t.checkExpect(this.mw1.representatives.get(this.mw.maze.get(0).get(0)), this.v1);
+  // the windows of the file, in order
+  ByteBuffer[] windows;
+
+  // constructor for the MappedMaze of the given size in the file at the given path
+  MappedMaze(Path file, int length, long width) throws IOException {
+    this(file, length, width, MappedMaze.WINDOW_BYTES);
   }
 
-  // test MazeWorld assignEdges() method
-  void testAssignEdges(Tester t) {
-    this.initData();
-    ArrayList<Integer> expectedWeights = new ArrayList<Integer>(
-        Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11));
-    ArrayList<Integer> actualWeights = new ArrayList<Integer>();
-    t.checkExpect(this.mw1.edges.size(), 0);
-    t.checkExpect(this.mw.edges.size(), 12);
-    t.checkExpect(this.mw.edges.size(), expectedWeights.size());
-    for (Edge e : this.mw.edges) {
-      t.checkExpect(expectedWeights.contains(e.weight), true);
-      actualWeights.add(e.weight);
+  // constructor for the MappedMaze of the given size in the file at the given
+  // path, mapping it in windows of at most the given number of bytes
+  // throws IllegalArgumentException if the size cannot be numbered with longs or
+  // the file is not the size a maze of that size takes
+  MappedMaze(Path file, int length, long width, long windowBytes) throws IOException {
+    if (length < 1 || width < 1) {
+      throw new IllegalArgumentException("a maze needs at least one row and one column, not "
+          + length + " by " + width);
     }
-    for (Integer i : expectedWeights) {
-      t.checkExpect(actualWeights.contains(i), true);
+    this.rowLongs = (length + 31) / 32;
+    long rowBytes = 8L * this.rowLongs;
+    if (width > Long.MAX_VALUE / length || width > Long.MAX_VALUE / rowBytes) {
+      throw new IllegalArgumentException("a maze of " + length + " by " + width
+          + " cells has more cells than a long can number");
+    }
+    this.length = length;
+    this.width = width;
+    this.rowsPerWindow = Math.max(1, Math.min(windowBytes, Integer.MAX_VALUE) / rowBytes);
+    if ((width - 1) / this.rowsPerWindow >= Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("a maze of " + length + " by " + width
+          + " cells needs more windows than an array can hold");
+    }
+    FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+    try {
+      if (channel.size() != rowBytes * width) {
+        throw new IllegalArgumentException("the file has " + channel.size()
+            + " bytes, but a maze of " + length + " by " + width + " cells takes "
+            + rowBytes * width);
+      }
+      this.windows = new ByteBuffer[(int) ((width - 1) / this.rowsPerWindow + 1)];
+      for (int i = 0; i < this.windows.length; i++) {
+        long first = i * this.rowsPerWindow;
+        long rows = Math.min(this.rowsPerWindow, width - first);
+        this.windows[i] = channel.map(FileChannel.MapMode.READ_ONLY, first * rowBytes,
+            rows * rowBytes);
+      }
+    }
+    finally {
+      channel.close();
     }
-
-    t.checkExpect(this.mw.edges.get(0), this.e1);
-    t.checkExpect(this.mw.edges.get(1), this.e2);
-    t.checkExpect(this.mw.edges.get(2), this.e3);
-    t.checkExpect(this.mw.edges.get(3), this.e4);
-    t.checkExpect(this.mw.edges.get(4), this.e5);
-    t.checkExpect(this.mw.edges.get(5), this.e6);
-    t.checkExpect(this.mw.edges.get(6), this.e7);
-    t.checkExpect(this.mw.edges.get(7), this.e8);
-    t.checkExpect(this.mw.edges.get(8), this.e9);
-    t.checkExpect(this.mw.edges.get(9), this.e10);
-    t.checkExpect(this.mw.edges.get(10), this.e11);
-    t.checkExpect(this.mw.edges.get(11), this.e12);
   }
 
-  // test MazeWorld assignEdgesBias(boolean) method
-  void testAssignEdgeBias(Tester t) {
-    this.initData();
+  // returns true if there is no wall in the given direction (EdgeList.RIGHT or
+  // EdgeList.DOWN) from the given cell
+  public boolean isOpen(int cell, int direction) {
+    return this.isOpen((long) cell, direction);
+  }
 
-    // allows for testing of just assignEdgesBias(boolean)
-    // without all the effects of onKeyEvent(String), which is the only place it's
-    // called
-    this.mw.edges = new ArrayList<Edge>();
-    this.mw.assignEdgesBias(false);
+  // returns true if there is no wall in the given direction (EdgeList.RIGHT or
+  // EdgeList.DOWN) from the cell with the given number
+  // the walls on the right and bottom border are up whatever the file says
+  boolean isOpen(long cell, int direction) {
+    int x = (int) (cell % this.length);
+    long y = cell / this.length;
+    if ((direction == EdgeList.RIGHT && x == this.length - 1)
+        || (direction == EdgeList.DOWN && y == this.width - 1)) {
+      return false;
+    }
+    ByteBuffer window = this.windows[(int) (y / this.rowsPerWindow)];
+    long word = window.getLong(
+        (int) (8 * ((y % this.rowsPerWindow) * this.rowLongs + (x >>> 5))));
+    return (word & (1L << (((x & 31) << 1) + direction))) == 0;
+  }
 
-    this.mw1.edges = new ArrayList<Edge>();
-    this.mw1.assignEdgesBias(false);
+  // returns the open directions of the given cell
+  public int openDirections(int cell) {
+    return this.openDirections((long) cell);
+  }
 
-    ArrayList<Integer> expectedWeights = new ArrayList<Integer>(
-        Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11));
-    ArrayList<Integer> actualWeights = new ArrayList<Integer>();
-    t.checkExpect(this.mw1.edges.size(), 0);
-    t.checkExpect(this.mw.edges.size(), 12);
-    t.checkExpect(this.mw.edges.size(), expectedWeights.size());
-    for (Edge e : this.mw.edges) {
-      t.checkExpect(expectedWeights.contains(e.weight), true);
-      actualWeights.add(e.weight);
+  // returns the open directions of the cell with the given number
+  public int openDirections(long cell) {
+    int mask = 0;
+    if (this.isOpen(cell, EdgeList.RIGHT)) {
+      mask |= 1;
     }
-    for (Integer i : expectedWeights) {
-      t.checkExpect(actualWeights.contains(i), true);
+    if (this.isOpen(cell, EdgeList.DOWN)) {
+      mask |= 2;
     }
-
-    Edge edge1 = new Edge(7, this.v1, this.v2);
-    Edge edge2 = new Edge(0, this.v1, this.v4);
-    Edge edge3 = new Edge(10, this.v2, this.v3);
-    Edge edge4 = new Edge(1, this.v2, this.v5);
-    Edge edge5 = new Edge(2, this.v3, this.v6);
-    Edge edge6 = new Edge(8, this.v4, this.v5);
-    Edge edge7 = new Edge(5, this.v4, this.v7);
-    Edge edge8 = new Edge(6, this.v5, this.v6);
-    Edge edge9 = new Edge(4, this.v5, this.v8);
-    Edge edge10 = new Edge(3, this.v6, this.v9);
-    Edge edge11 = new Edge(9, this.v7, this.v8);
-    Edge edge12 = new Edge(11, this.v8, this.v9);
-
-    ArrayList<Edge> horizontalEdges = new ArrayList<Edge>(
-        Arrays.asList(edge1, edge3, edge6, edge8, edge11, edge12));
-    ArrayList<Edge> verticalEdges = new ArrayList<Edge>(
-        Arrays.asList(edge2, edge4, edge5, edge7, edge9, edge10));
-    ArrayList<Integer> lowerWeights = new ArrayList<Integer>(Arrays.asList(0, 1, 2, 3, 4, 5));
-    ArrayList<Integer> upperWeights = new ArrayList<Integer>(Arrays.asList(6, 7, 8, 9, 10, 11));
-
-    t.checkExpect(this.mw.edges.get(0), edge1);
-    t.checkExpect(this.mw.edges.get(1), edge2);
-    t.checkExpect(this.mw.edges.get(2), edge3);
-    t.checkExpect(this.mw.edges.get(3), edge4);
-    t.checkExpect(this.mw.edges.get(4), edge5);
-    t.checkExpect(this.mw.edges.get(5), edge6);
-    t.checkExpect(this.mw.edges.get(6), edge7);
-    t.checkExpect(this.mw.edges.get(7), edge8);
-    t.checkExpect(this.mw.edges.get(8), edge9);
-    t.checkExpect(this.mw.edges.get(9), edge10);
-    t.checkExpect(this.mw.edges.get(10), edge11);
-    t.checkExpect(this.mw.edges.get(11), edge12);
-
-    for (Edge e : horizontalEdges) {
-      t.checkExpect(upperWeights.contains(e.weight), true);
+    if (cell % this.length > 0 && this.isOpen(cell - 1, EdgeList.RIGHT)) {
+      mask |= 4;
     }
-    for (Edge e : verticalEdges) {
-      t.checkExpect(lowerWeights.contains(e.weight), true);
+    if (cell >= this.length && this.isOpen(cell - this.length, EdgeList.DOWN)) {
+      mask |= 8;
     }
+    return mask;
+  }
 
-    this.initData();
-
-    // allows for testing of just assignEdgesBias(boolean)
-    // without all the effects of onKeyEvent(String), which is the only place it's
-    // called
-    this.mw.edges = new ArrayList<Edge>();
-    this.mw.assignEdgesBias(true);
+  // returns this MappedMaze, since an index would have to fit on the heap
+  public IMaze indexed() {
+    return this;
+  }
+}
 
-    this.mw1.edges = new ArrayList<Edge>();
-    this.mw1.assignEdgesBias(true);
+// to represent a binary min-heap of longs
+class LongHeap {
 
-    ArrayList<Integer> actualWeights2 = new ArrayList<Integer>();
-    t.checkExpect(this.mw1.edges.size(), 0);
-    t.checkExpect(this.mw.edges.size(), 12);
-    t.checkExpect(this.mw.edges.size(), expectedWeights.size());
-    for (Edge e : this.mw.edges) {
-      t.checkExpect(expectedWeights.contains(e.weight), true);
-      actualWeights2.add(e.weight);
-    }
-    for (Integer i : expectedWeights) {
-      t.checkExpect(actualWeights2.contains(i), true);
-    }
+  // the items, with the children of the item at i at 2 * i + 1 and 2 * i + 2
+  long[] items;
 
-    Edge eOne = new Edge(1, this.v1, this.v2);
-    Edge eTwo = new Edge(6, this.v1, this.v4);
-    Edge eThree = new Edge(4, this.v2, this.v3);
-    Edge eFour = new Edge(7, this.v2, this.v5);
-    Edge eFive = new Edge(8, this.v3, this.v6);
-    Edge eSix = new Edge(2, this.v4, this.v5);
-    Edge eSeven = new Edge(11, this.v4, this.v7);
-    Edge eEight = new Edge(0, this.v5, this.v6);
-    Edge eNine = new Edge(10, this.v5, this.v8);
-    Edge eTen = new Edge(9, this.v6, this.v9);
-    Edge eEleven = new Edge(3, this.v7, this.v8);
-    Edge eTwelve = new Edge(5, this.v8, this.v9);
+  // the number of items in this LongHeap
+  int size;
 
-    ArrayList<Edge> horizontalEdges2 = new ArrayList<Edge>(
-        Arrays.asList(eOne, eThree, eSix, eEight, eEleven, eTwelve));
-    ArrayList<Edge> verticalEdges2 = new ArrayList<Edge>(
-        Arrays.asList(eTwo, eFour, eFive, eSeven, eNine, eTen));
+  // constructor for an empty LongHeap with room for the given number of items
+  // before it has to grow
+  LongHeap(int capacity) {
+    this.items = new long[Math.max(capacity, 8)];
+    this.size = 0;
+  }
 
-    t.checkExpect(this.mw.edges.get(0), eOne);
-    t.checkExpect(this.mw.edges.get(1), eTwo);
-    t.checkExpect(this.mw.edges.get(2), eThree);
-    t.checkExpect(this.mw.edges.get(3), eFour);
-    t.checkExpect(this.mw.edges.get(4), eFive);
-    t.checkExpect(this.mw.edges.get(5), eSix);
-    t.checkExpect(this.mw.edges.get(6), eSeven);
-    t.checkExpect(this.mw.edges.get(7), eEight);
-    t.checkExpect(this.mw.edges.get(8), eNine);
-    t.checkExpect(this.mw.edges.get(9), eTen);
-    t.checkExpect(this.mw.edges.get(10), eEleven);
-    t.checkExpect(this.mw.edges.get(11), eTwelve);
+  // returns true if this LongHeap has no items
+  boolean isEmpty() {
+    return this.size == 0;
+  }
 
-    for (Edge e : horizontalEdges2) {
-      t.checkExpect(lowerWeights.contains(e.weight), true);
+  // EFFECT: adds the given item to this LongHeap
+  void add(long item) {
+    if (this.size == this.items.length) {
+      this.items = Arrays.copyOf(this.items, 2 * this.items.length);
     }
-    for (Edge e : verticalEdges2) {
-      t.checkExpect(upperWeights.contains(e.weight), true);
+    int i = this.size;
+    this.size++;
+    while (i > 0 && this.items[(i - 1) / 2] > item) {
+      this.items[i] = this.items[(i - 1) / 2];
+      i = (i - 1) / 2;
     }
+    this.items[i] = item;
+  }
 
+  // returns the smallest item in this LongHeap
+  // EFFECT: removes that item
+  long remove() {
+    long smallest = this.items[0];
+    this.size--;
+    long item = this.items[this.size];
+    int i = 0;
+    while (2 * i + 1 < this.size) {
+      int child = 2 * i + 1;
+      if (child + 1 < this.size && this.items[child + 1] < this.items[child]) {
+        child++;
+      }
+      if (this.items[child] >= item) {
+        break;
+      }
+      this.items[i] = this.items[child];
+      i = child;
+    }
+    this.items[i] = item;
+    return smallest;
   }
+}
 
-  // test MazeWorld find(Vertex, ArrayList<Vertex>) method
-  void testFind(Tester t) {
-    this.initData();
+// to represent a binary min-heap of the int ids 0 up to a fixed size, each with
+// a long key, that knows where each id is so an id's key can be lowered in place
+class IndexedHeap {
 
-    t.checkExpect(this.mw1.find(this.mw1.maze.get(0).get(0), new ArrayList<Vertex>()), this.v1);
-    this.mw1.representatives.put(this.mw1.maze.get(0).get(0), this.mw1.maze.get(0).get(0));
-    t.checkExpect(this.mw1.find(this.mw1.maze.get(0).get(0), new ArrayList<Vertex>()), this.v1);
+  // the ids, with the children of the id at i at 2 * i + 1 and 2 * i + 2
+  int[] ids;
 
-    t.checkExpect(this.mw.find(this.mw.maze.get(0).get(0), new ArrayList<Vertex>()), this.v2);
-    t.checkExpect(this.mw.find(this.mw.maze.get(1).get(0), new ArrayList<Vertex>()), this.v2);
-    t.checkExpect(this.mw.find(this.mw.maze.get(2).get(0), new ArrayList<Vertex>()), this.v2);
+  // the position of each id in ids, or -1 if the id is not in this IndexedHeap
+  int[] positions;
 
-    this.mw.representatives.put(this.mw.maze.get(0).get(0), this.mw.maze.get(0).get(0));
-    this.mw.representatives.put(this.mw.maze.get(1).get(0), this.mw.maze.get(1).get(0));
-    this.mw.representatives.put(this.mw.maze.get(2).get(0), this.mw.maze.get(2).get(0));
+  // the key of each id
+  long[] keys;
 
-    t.checkExpect(this.mw.find(this.mw.maze.get(0).get(0), new ArrayList<Vertex>()), this.v1);
-    t.checkExpect(this.mw.find(this.mw.maze.get(1).get(0), new ArrayList<Vertex>()), this.v4);
-    t.checkExpect(this.mw.find(this.mw.maze.get(2).get(0), new ArrayList<Vertex>()), this.v7);
+  // the number of ids in this IndexedHeap
+  int size;
 
-    this.mw.representatives.put(this.mw.maze.get(0).get(0), this.mw.maze.get(1).get(0));
+  // constructor for an empty IndexedHeap of the ids 0 up to the given size
+  IndexedHeap(int size) {
+    this.ids = new int[size];
+    this.positions = new int[size];
+    Arrays.fill(this.positions, -1);
+    this.keys = new long[size];
+    this.size = 0;
+  }
 
-    t.checkExpect(this.mw.find(this.mw.maze.get(0).get(0), new ArrayList<Vertex>()), this.v4);
+  // returns true if this IndexedHeap has no ids
+  boolean isEmpty() {
+    return this.size == 0;
+  }
 
-    this.mw.representatives.put(this.mw.maze.get(1).get(0), this.mw.maze.get(2).get(0));
+  // EFFECT: removes every id from this IndexedHeap
+  void clear() {
+    for (int i = 0; i < this.size; i++) {
+      this.positions[this.ids[i]] = -1;
+    }
+    this.size = 0;
+  }
 
-    t.checkExpect(this.mw.find(this.mw.maze.get(0).get(0), new ArrayList<Vertex>()), this.v7);
-    t.checkExpect(this.mw.find(this.mw.maze.get(1).get(0), new ArrayList<Vertex>()), this.v7);
+  // returns true if the given id is in this IndexedHeap
+  boolean contains(int id) {
+    return this.positions[id] >= 0;
   }
 
-  // test MazeWorld union(Vertex, Vertex) method
-  void testUnion(Tester t) {
-    this.initData();
+  // EFFECT: adds the given id to this IndexedHeap with the given key, or lowers
+  // the key of the given id to the given key if it is already here
+  void add(int id, long key) {
+    int i = this.positions[id];
+    if (i < 0) {
+      i = this.size;
+      this.size++;
+    }
+    else if (key >= this.keys[id]) {
+      return;
+    }
+    this.keys[id] = key;
+    while (i > 0 && this.keys[this.ids[(i - 1) / 2]] > key) {
+      this.place(this.ids[(i - 1) / 2], i);
+      i = (i - 1) / 2;
+    }
+    this.place(id, i);
+  }
 
-    this.mw1.union(this.mw1.maze.get(0).get(0), this.mw1.maze.get(0).get(0));
-    t.checkExpect(this.mw1.find(this.mw1.maze.get(0).get(0), new ArrayList<Vertex>()), this.v1);
+  // returns the id with the smallest key in this IndexedHeap
+  // EFFECT: removes that id
+  int remove() {
+    int smallest = this.ids[0];
+    this.positions[smallest] = -1;
+    this.size--;
+    if (this.size > 0) {
+      int id = this.ids[this.size];
+      long key = this.keys[id];
+      int i = 0;
+      while (2 * i + 1 < this.size) {
+        int child = 2 * i + 1;
+        if (child + 1 < this.size && this.keys[this.ids[child + 1]] < this.keys[this.ids[child]]) {
+          child++;
+        }
+        if (this.keys[this.ids[child]] >= key) {
+          break;
+        }
+        this.place(this.ids[child], i);
+        i = child;
+      }
+      this.place(id, i);
+    }
+    return smallest;
+  }
 
-    this.mw.representatives.put(this.mw.maze.get(1).get(2), this.mw.maze.get(1).get(2));
-    this.mw.representatives.put(this.mw.maze.get(2).get(2), this.mw.maze.get(2).get(2));
+  // EFFECT: puts the given id at the given position
+  void place(int id, int i) {
+    this.ids[i] = id;
+    this.positions[id] = i;
+  }
+}
 
-    t.checkExpect(this.mw.find(this.mw.maze.get(1).get(2), new ArrayList<Vertex>()), this.v6);
-    t.checkExpect(this.mw.find(this.mw.maze.get(2).get(2), new ArrayList<Vertex>()), this.v9);
+// Represents a mutable collection of items
+interface ICollection<T> {
 
-    this.mw.union(this.mw.maze.get(2).get(2), this.mw.maze.get(1).get(2));
+  // Is this collection empty?
+  boolean isEmpty();
 
-    t.checkExpect(this.mw.find(this.mw.maze.get(1).get(2), new ArrayList<Vertex>()), this.v9);
-    t.checkExpect(this.mw.find(this.mw.maze.get(2).get(2), new ArrayList<Vertex>()), this.v9);
+  // EFFECT: adds the item to the collection
+  void add(T item);
 
-    this.mw.representatives.put(this.mw.maze.get(0).get(2), this.mw.maze.get(1).get(2));
+  // Returns the first item of the collection
+  // EFFECT: removes that first item
+  T remove();
+}
 
-    t.checkExpect(this.mw.find(this.mw.maze.get(0).get(2), new ArrayList<Vertex>()), this.v9);
+// to represent a FIFO list
+class Stack<T> implements ICollection<T> {
 
-    this.mw.union(this.mw.maze.get(0).get(2), this.mw.maze.get(0).get(1));
+  // to store items in this Stack
+  Deque<T> contents;
 
-    t.checkExpect(this.mw.find(this.mw.maze.get(0).get(1), new ArrayList<Vertex>()), this.v9);
-    t.checkExpect(this.mw.find(this.mw.maze.get(0).get(2), new ArrayList<Vertex>()), this.v9);
+  // constructor for an empty Stack
+  Stack() {
+    this.contents = new LinkedList<T>();
   }
 
-  // test MazeWorld kruskal() method
-  void testKruskal(Tester t) {
-    this.initData();
+  // convenience constructor for this Stack that takes in a list of items
+  Stack(LinkedList<T> contents) {
+    this.contents = contents;
+  }
 
-    t.checkExpect(this.mw1.mst, new ArrayList<Edge>());
+  // returns true if this Stack is empty
+  public boolean isEmpty() {
+    return this.contents.isEmpty();
+  }
 
-    t.checkExpect(this.mw.mst, this.mwKruskal);
+  // adds the given item to the top of the Stack
+  public void add(T item) {
+    this.contents.addFirst(item);
+  }
 
-    Vertex onlyRep = this.mw.find(this.mw.maze.get(0).get(0), new ArrayList<Vertex>());
+  // returns the first item of this Stack
+  // EFFECT: removes the first item
+  public T remove() {
+    return this.contents.removeFirst();
+  }
+}
 
-    for (ArrayList<Vertex> a : this.mw.maze) {
-      for (Vertex v : a) {
-        t.checkExpect(this.mw.find(v, new ArrayList<Vertex>()), onlyRep);
-      }
-    }
+// to represent a LIFO list
+class Queue<T> implements ICollection<T> {
+
+  // to store items in this Queue
+  Deque<T> contents;
+
+  // constructor for an empty Queue
+  Queue() {
+    this.contents = new LinkedList<T>();
   }
 
-  // test the MazeWorld getTime() method
-  void testGetTime(Tester t) {
-    this.initData();
+  // convenience constructor for this Queue that takes in a list of items
+  Queue(LinkedList<T> contents) {
+    this.contents = contents;
+  }
 
-    this.mw.time = 1;
-    t.checkExpect(this.mw.getTime(), "Time Elapsed: 0");
+  // returns true if this Stack is empty
+  public boolean isEmpty() {
+    return this.contents.isEmpty();
+  }
 
-    this.mw.time = 20;
-    t.checkExpect(this.mw.getTime(), "Time Elapsed: 1");
+  // adds the given item to the end of this Queue
+  public void add(T item) {
+    this.contents.addLast(item);
+  }
 
-    this.mw.time = 40;
-    t.checkExpect(this.mw.getTime(), "Time Elapsed: 2");
+  // returns the first item of this Stack
+  // EFFECT: removes the first item
+  public T remove() {
+    return this.contents.removeFirst();
+  }
+}
 
-    this.mw.onKeyEvent("r");
+// Represents a mutable collection of ints
+interface IIntCollection {
 
-    t.checkExpect(this.mw.getTime(), "Time Elapsed: 0");
+  // Is this collection empty?
+  boolean isEmpty();
 
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
+  // returns the number of ints in this collection
+  int size();
 
-    t.checkExpect(this.mw.getTime(), "Time Elapsed: 0");
+  // EFFECT: adds the int to the collection
+  void add(int item);
 
-    this.mw.onKeyEvent("n");
+  // Returns the first int of the collection
+  // EFFECT: removes that first int
+  int remove();
 
-    t.checkExpect(this.mw.getTime(), "Time Elapsed: 0");
+  // EFFECT: removes every int from the collection, keeping its room for more
+  void clear();
+}
 
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
+// to represent a LIFO list of ints in an array that doubles when it is full
+class IntStack implements IIntCollection {
 
-    t.checkExpect(this.mw.getTime(), "Time Elapsed: 0");
+  // the ints, with the top of this IntStack last
+  int[] items;
 
-    this.mw.onKeyEvent("h");
+  // the number of ints in this IntStack
+  int size;
 
-    t.checkExpect(this.mw.getTime(), "Time Elapsed: 0");
+  // constructor for an empty IntStack with room for the given number of ints
+  // before it has to grow
+  IntStack(int capacity) {
+    this.items = new int[Math.max(capacity, 8)];
+    this.size = 0;
+  }
 
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
+  // returns true if this IntStack is empty
+  public boolean isEmpty() {
+    return this.size == 0;
+  }
 
-    t.checkExpect(this.mw.getTime(), "Time Elapsed: 0");
+  // returns the number of ints in this IntStack
+  public int size() {
+    return this.size;
+  }
 
-    this.mw.onKeyEvent("v");
+  // adds the given int to the top of this IntStack
+  public void add(int item) {
+    if (this.size == this.items.length) {
+      this.items = Arrays.copyOf(this.items, 2 * this.items.length);
+    }
+    this.items[this.size] = item;
+    this.size++;
+  }
 
-    t.checkExpect(this.mw.getTime(), "Time Elapsed: 0");
+  // returns the top int of this IntStack
+  // EFFECT: removes the top int
+  public int remove() {
+    this.size--;
+    return this.items[this.size];
+  }
 
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
+  // EFFECT: empties this IntStack
+  public void clear() {
+    this.size = 0;
+  }
+}
 
-    t.checkExpect(this.mw.getTime(), "Time Elapsed: 0");
+// to represent a FIFO list of ints in a ring buffer whose length is a power of
+// two, doubling when it is full
+class IntQueue implements IIntCollection {
 
-    this.mw.onKeyEvent("b");
+  // the ints, from the head around to the tail
+  int[] items;
 
-    t.checkExpect(this.mw.getTime(), "Time Elapsed: 0");
+  // the index of the first int
+  int head;
 
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
+  // the number of ints in this IntQueue
+  int size;
 
-    t.checkExpect(this.mw.getTime(), "Total Time Taken: 0");
+  // constructor for an empty IntQueue with room for at least the given number of
+  // ints before it has to grow
+  IntQueue(int capacity) {
+    this.items = new int[Integer.highestOneBit(Math.max(capacity, 8) - 1) << 1];
+    this.head = 0;
+    this.size = 0;
+  }
 
-    this.mw.onKeyEvent("d");
+  // returns true if this IntQueue is empty
+  public boolean isEmpty() {
+    return this.size == 0;
+  }
 
-    t.checkExpect(this.mw.getTime(), "Time Elapsed: 0");
+  // returns the number of ints in this IntQueue
+  public int size() {
+    return this.size;
+  }
 
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
+  // adds the given int to the end of this IntQueue
+  public void add(int item) {
+    if (this.size == this.items.length) {
+      int[] grown = new int[2 * this.items.length];
+      int first = this.items.length - this.head;
+      System.arraycopy(this.items, this.head, grown, 0, first);
+      System.arraycopy(this.items, 0, grown, first, this.head);
+      this.items = grown;
+      this.head = 0;
+    }
+    this.items[(this.head + this.size) & (this.items.length - 1)] = item;
+    this.size++;
+  }
 
-    t.checkExpect(this.mw.getTime(), "Total Time Taken: 0");
+  // returns the first int of this IntQueue
+  // EFFECT: removes the first int
+  public int remove() {
+    int item = this.items[this.head];
+    this.head = (this.head + 1) & (this.items.length - 1);
+    this.size--;
+    return item;
+  }
 
-    this.mwRect.onKeyEvent("b");
+  // EFFECT: empties this IntQueue
+  public void clear() {
+    this.head = 0;
+    this.size = 0;
+  }
+}
 
-    t.checkExpect(this.mwRect.getTime(), "Time Elapsed: 0");
+// to represent disjoint sets of cells in a maze, where each cell is identified
+// by its dense index y * length + x
+class UnionFind {
 
+  // the parent of each cell, a cell whose parent is itself is the root of its set
+  int[] parent;
+
+  // an upper bound on the height of the tree under each root
+  byte[] rank;
+
+  // constructor for this UnionFind with every one of the given number of cells
+  // in its own set
+  UnionFind(int size) {
+    this.parent = new int[size];
+    this.rank = new byte[size];
+    for (int i = 0; i < size; i++) {
+      this.parent[i] = i;
+    }
+  }
+
+  // EFFECT: puts every cell back in its own set
+  void reset() {
+    for (int i = 0; i < this.parent.length; i++) {
+      this.parent[i] = i;
+    }
+    Arrays.fill(this.rank, (byte) 0);
+  }
+
+  // returns the root of the set containing the given cell
+  // EFFECT: points every other cell on the way to the root at its grandparent
+  int find(int cell) {
+    while (this.parent[cell] != cell) {
+      this.parent[cell] = this.parent[this.parent[cell]];
+      cell = this.parent[cell];
+    }
+    return cell;
+  }
+
+  // returns the root of the set containing the given cell without shortening
+  // any paths, so several threads can call it at once while no sets are merged
+  int root(int cell) {
+    while (this.parent[cell] != cell) {
+      cell = this.parent[cell];
+    }
+    return cell;
+  }
+
+  // returns true if the given cells were in different sets
+  // EFFECT: merges the sets containing the given cells, hanging the root of
+  // lower rank under the root of higher rank
+  boolean union(int a, int b) {
+    int rootA = this.find(a);
+    int rootB = this.find(b);
+    if (rootA == rootB) {
+      return false;
+    }
+    if (this.rank[rootA] < this.rank[rootB]) {
+      this.parent[rootA] = rootB;
+    }
+    else if (this.rank[rootA] > this.rank[rootB]) {
+      this.parent[rootB] = rootA;
+    }
+    else {
+      this.parent[rootB] = rootA;
+      this.rank[rootA]++;
+    }
+    return true;
+  }
+}
+
+// to represent the outcome of searching a maze from one cell to another
+class SearchResult {
+
+  // the cells searched, in the order they were searched
+  int[] visitOrder;
+
+  // the cells on the path from the start to the goal, in order, or no cells if
+  // the goal could not be reached
+  int[] path;
+
+  // the number of cells searched
+  int searched;
+
+  // the number of cells searched that are not on the path
+  int wrongSteps;
+
+  // constructor for this SearchResult
+  SearchResult(int[] visitOrder, int[] path) {
+    this.visitOrder = visitOrder;
+    this.path = path;
+    this.searched = visitOrder.length;
+    this.wrongSteps = visitOrder.length - path.length;
+  }
+}
+
+// to represent searching a maze from one cell to another in a single call, with
+// no World or WorldScene, so mazes can be solved in batches
+// a MazeSolver reuses its arrays from one search to the next, so it can search
+// the same maze many times without allocating more than each result
+class MazeSolver {
+
+  // the maze being searched
+  IMaze maze;
+
+  // length of the maze
+  int length;
+
+  // width of the maze
+  int width;
+
+  // which cells have been searched, one bit per cell
+  long[] visited;
+
+  // the cell each cell was last reached from
+  int[] parent;
+
+  // which cells have been reached searching back from the goal, one bit per cell
+  long[] reached;
+
+  // the cell each cell was reached from searching back from the goal, which is
+  // the next cell on the way to the goal
+  int[] child;
+
+  // the cells searched so far, in the order they were searched
+  int[] order;
+
+  // the distance of each cell from the start, for A* search
+  int[] distance;
+
+  // the cells waiting to be searched breadth-first, or searched from the start in
+  // two-way search
+  IntQueue queue;
+
+  // the cells waiting to be searched back from the goal in two-way search
+  IntQueue backQueue;
+
+  // the cells waiting to be searched depth-first
+  IntStack stack;
+
+  // the cells waiting to be searched by A* search
+  IndexedHeap frontier;
+
+  // the job this MazeSolver searches for, whose searches stop partway once the
+  // job is cancelled, or null to always search to the end
+  AMazeJob job;
+
+  // constructor for a MazeSolver of the given maze with the given size
+  // everything a search needs is made here, so searching again only makes the
+  // arrays of the result
+  MazeSolver(IMaze maze, int length, int width) {
+    this.maze = maze;
+    this.length = length;
+    this.width = width;
+    this.visited = new long[(length * width + 63) / 64];
+    this.parent = new int[length * width];
+    this.reached = new long[(length * width + 63) / 64];
+    this.child = new int[length * width];
+    this.order = new int[length * width];
+    this.distance = new int[length * width];
+    this.queue = new IntQueue(length + width);
+    this.backQueue = new IntQueue(length + width);
+    this.stack = new IntStack(length + width);
+    this.frontier = new IndexedHeap(length * width);
+  }
+
+  // returns the result of a breadth-first search from the given cell to the
+  // given goal
+  SearchResult breadthFirst(int start, int goal) {
+    return this.search(this.queue, start, goal);
+  }
+
+  // returns the result of a depth-first search from the given cell to the given
+  // goal
+  SearchResult depthFirst(int start, int goal) {
+    return this.search(this.stack, start, goal);
+  }
+
+  // returns the result of an A* search from the given cell to the given goal,
+  // always searching next the cell whose distance from the start plus Manhattan
+  // distance to the goal is smallest, and the one nearer the goal on a tie
+  SearchResult aStar(int start, int goal) {
+    Arrays.fill(this.visited, 0);
+    int searched = 0;
+    int[] distance = this.distance;
+    IndexedHeap frontier = this.frontier;
+    frontier.clear();
+    frontier.add(start, this.priority(start, 0, goal));
+    this.parent[start] = start;
+
+    while (!frontier.isEmpty() && !AMazeJob.stopped(this.job, searched)) {
+      int cell = frontier.remove();
+      this.visited[cell >>> 6] |= 1L << cell;
+      this.order[searched] = cell;
+      searched++;
+      if (cell == goal) {
+        return new SearchResult(Arrays.copyOf(this.order, searched), this.pathTo(start, goal));
+      }
+      int open = this.maze.openDirections(cell);
+      if ((open & 1) != 0) {
+        this.addFrontier(frontier, distance, cell, cell + 1, goal);
+      }
+      if ((open & 2) != 0) {
+        this.addFrontier(frontier, distance, cell, cell + this.length, goal);
+      }
+      if ((open & 4) != 0) {
+        this.addFrontier(frontier, distance, cell, cell - 1, goal);
+      }
+      if ((open & 8) != 0) {
+        this.addFrontier(frontier, distance, cell, cell - this.length, goal);
+      }
+    }
+    return new SearchResult(Arrays.copyOf(this.order, searched), new int[0]);
+  }
+
+  // EFFECT: adds the given cell to the given frontier if it has not been
+  // searched yet, or moves it up if it is now nearer the start, remembering its
+  // distance from the start and that it was reached from the given cell
+  void addFrontier(IndexedHeap frontier, int[] distance, int from, int to, int goal) {
+    if ((this.visited[to >>> 6] & (1L << to)) == 0
+        && (!frontier.contains(to) || distance[from] + 1 < distance[to])) {
+      distance[to] = distance[from] + 1;
+      this.parent[to] = from;
+      frontier.add(to, this.priority(to, distance[to], goal));
+    }
+  }
+
+  // returns the A* key of the given cell at the given distance from the start:
+  // the distance plus the Manhattan distance to the given goal in the high half,
+  // and the Manhattan distance alone in the low half to break ties
+  long priority(int cell, int distance, int goal) {
+    int manhattan = Math.abs(cell % this.length - goal % this.length)
+        + Math.abs(cell / this.length - goal / this.length);
+    return (long) (distance + manhattan) << 32 | manhattan;
+  }
+
+  // returns the result of a breadth-first search from both the given cell and the
+  // given goal at once, each side waiting in its own ring buffer of cells
+  // the side with fewer cells waiting searches next, until one side reaches a cell
+  // the other side has already reached, which is searched last to join the path
+  SearchResult bidirectional(int start, int goal) {
+    if (start == goal) {
+      return new SearchResult(new int[] {start}, new int[] {start});
+    }
+    Arrays.fill(this.visited, 0);
+    Arrays.fill(this.reached, 0);
+    int searched = 0;
+    long[][] seen = new long[][] {this.visited, this.reached};
+    int[][] links = new int[][] {this.parent, this.child};
+    IntQueue[] rings = new IntQueue[] {this.queue, this.backQueue};
+    int[] steps = new int[] {1, this.length, -1, -this.length};
+    this.queue.clear();
+    this.backQueue.clear();
+    this.queue.add(start);
+    this.backQueue.add(goal);
+    this.visited[start >>> 6] |= 1L << start;
+    this.reached[goal >>> 6] |= 1L << goal;
+    this.parent[start] = start;
+    this.child[goal] = goal;
+
+    while (!this.queue.isEmpty() && !this.backQueue.isEmpty()
+        && !AMazeJob.stopped(this.job, searched)) {
+      int side = 0;
+      if (this.backQueue.size() < this.queue.size()) {
+        side = 1;
+      }
+      int cell = rings[side].remove();
+      this.order[searched] = cell;
+      searched++;
+      int open = this.maze.openDirections(cell);
+      for (int dir = 0; dir < 4; dir++) {
+        int to = cell + steps[dir];
+        if ((open & (1 << dir)) == 0 || (seen[side][to >>> 6] & (1L << to)) != 0) {
+          // do nothing: there is a wall here or this side has already been here
+        }
+        else if ((seen[1 - side][to >>> 6] & (1L << to)) != 0) {
+          this.order[searched] = to;
+          searched++;
+          int[] path;
+          if (side == 0) {
+            path = this.joinedPath(start, cell, to, goal);
+          }
+          else {
+            path = this.joinedPath(start, to, cell, goal);
+          }
+          return new SearchResult(Arrays.copyOf(this.order, searched), path);
+        }
+        else {
+          seen[side][to >>> 6] |= 1L << to;
+          links[side][to] = cell;
+          rings[side].add(to);
+        }
+      }
+    }
+    return new SearchResult(Arrays.copyOf(this.order, searched), new int[0]);
+  }
+
+  // returns the cells from the given start to the given goal, joining the path to
+  // the given cell reached from the start with the path from the given cell
+  // reached from the goal, which are next to each other
+  int[] joinedPath(int start, int fromStart, int fromGoal, int goal) {
+    int[] first = this.pathTo(start, fromStart);
+    int count = 1;
+    for (int cell = fromGoal; cell != goal; cell = this.child[cell]) {
+      count++;
+    }
+    int[] path = Arrays.copyOf(first, first.length + count);
+    int cell = fromGoal;
+    for (int i = first.length; i < path.length; i++) {
+      path[i] = cell;
+      cell = this.child[cell];
+    }
+    return path;
+  }
+
+  // returns the distance of every cell from the given cell, or -1 for cells that
+  // cannot be reached, searching breadth-first on this thread
+  int[] distancesFrom(int start) {
+    int[] distance = new int[this.length * this.width];
+    Arrays.fill(distance, -1);
+    distance[start] = 0;
+    IIntCollection worklist = this.queue;
+    worklist.clear();
+    worklist.add(start);
+    while (!worklist.isEmpty()) {
+      int cell = worklist.remove();
+      int open = this.maze.openDirections(cell);
+      if ((open & 1) != 0) {
+        this.addDistance(worklist, distance, cell, cell + 1);
+      }
+      if ((open & 2) != 0) {
+        this.addDistance(worklist, distance, cell, cell + this.length);
+      }
+      if ((open & 4) != 0) {
+        this.addDistance(worklist, distance, cell, cell - 1);
+      }
+      if ((open & 8) != 0) {
+        this.addDistance(worklist, distance, cell, cell - this.length);
+      }
+    }
+    return distance;
+  }
+
+  // EFFECT: adds the given cell to the given worklist if it has not been reached
+  // yet, one further from the start than the cell it was reached from
+  void addDistance(IIntCollection worklist, int[] distance, int from, int to) {
+    if (distance[to] < 0) {
+      distance[to] = distance[from] + 1;
+      worklist.add(to);
+    }
+  }
+
+  // returns how many cells breadth-first, depth-first and A* search each search
+  // to get from the given cell to the given goal, and how many wrong steps each
+  // takes
+  String compare(int start, int goal) {
+    return this.compare(this.breadthFirst(start, goal), this.depthFirst(start, goal),
+        this.aStar(start, goal));
+  }
+
+  // returns how many cells the given breadth-first, depth-first and A* searches
+  // each searched, and how many wrong steps each took
+  String compare(SearchResult breadth, SearchResult depth, SearchResult best) {
+    return "searched (wrong steps): BFS " + breadth.searched + " (" + breadth.wrongSteps
+        + "), DFS " + depth.searched + " (" + depth.wrongSteps + "), A* " + best.searched
+        + " (" + best.wrongSteps + ")";
+  }
+
+  // returns the result of searching from the given cell to the given goal,
+  // taking the next cell to search from the given worklist
+  // the neighbors of each cell are added right, down, left and then up
+  SearchResult search(IIntCollection worklist, int start, int goal) {
+    Arrays.fill(this.visited, 0);
+    int searched = 0;
+    worklist.clear();
+    worklist.add(start);
+    this.parent[start] = start;
+
+    while (!worklist.isEmpty() && !AMazeJob.stopped(this.job, searched)) {
+      int cell = worklist.remove();
+      if ((this.visited[cell >>> 6] & (1L << cell)) == 0) {
+        this.visited[cell >>> 6] |= 1L << cell;
+        this.order[searched] = cell;
+        searched++;
+        if (cell == goal) {
+          return new SearchResult(Arrays.copyOf(this.order, searched),
+              this.pathTo(start, goal));
+        }
+        int open = this.maze.openDirections(cell);
+        if ((open & 1) != 0) {
+          this.addNeighbor(worklist, cell, cell + 1);
+        }
+        if ((open & 2) != 0) {
+          this.addNeighbor(worklist, cell, cell + this.length);
+        }
+        if ((open & 4) != 0) {
+          this.addNeighbor(worklist, cell, cell - 1);
+        }
+        if ((open & 8) != 0) {
+          this.addNeighbor(worklist, cell, cell - this.length);
+        }
+      }
+    }
+    return new SearchResult(Arrays.copyOf(this.order, searched), new int[0]);
+  }
+
+  // EFFECT: adds the given cell to the given worklist if it has not been
+  // searched yet, remembering that it was reached from the given cell
+  void addNeighbor(IIntCollection worklist, int from, int to) {
+    if ((this.visited[to >>> 6] & (1L << to)) == 0) {
+      worklist.add(to);
+      this.parent[to] = from;
+    }
+  }
+
+  // returns the cells from the given start to the given goal, following the
+  // parents back from the goal once to count them and once more to fill them in
+  int[] pathTo(int start, int goal) {
+    int count = 1;
+    for (int cell = goal; cell != start; cell = this.parent[cell]) {
+      count++;
+    }
+    int[] path = new int[count];
+    int cell = goal;
+    for (int i = count - 1; i >= 0; i--) {
+      path[i] = cell;
+      cell = this.parent[cell];
+    }
+    return path;
+  }
+}
+
+// to represent breadth-first search of very large mazes, searching each level of
+// the search across a ForkJoinPool
+// the cells of each level are split between tasks that claim the cells they
+// reach in a shared bitmap, so every cell is reached exactly once, and each task
+// keeps the cells it reaches in its own buffer to be joined into the next level
+// the maze must be safe to read from several threads at once, as a WallGrid or
+// DirectionIndex is
+class ParallelSearch {
+
+  // the pool the levels are searched on
+  ForkJoinPool pool;
+
+  // the maze being searched
+  IMaze maze;
+
+  // length of the maze
+  int length;
+
+  // width of the maze
+  int width;
+
+  // which cells have been claimed, one bit per cell
+  long[] claimed;
+
+  // the distance of each cell from the start, or -1 if it has not been reached
+  int[] distance;
+
+  // the cell each cell was reached from
+  int[] parent;
+
+  // how far the cell right, down, left and up of any cell is from it
+  int[] steps;
+
+  // to claim single cells of the bitmap atomically
+  static final VarHandle CLAIMED = MethodHandles.arrayElementVarHandle(long[].class);
+
+  // constructor for a ParallelSearch of the given maze with the given size on the
+  // given pool
+  ParallelSearch(ForkJoinPool pool, IMaze maze, int length, int width) {
+    this.pool = pool;
+    this.maze = maze;
+    this.length = length;
+    this.width = width;
+    this.claimed = new long[(length * width + 63) / 64];
+    this.distance = new int[length * width];
+    this.parent = new int[length * width];
+    this.steps = new int[] {1, length, -1, -length};
+  }
+
+  // returns the distance of every cell from the given cell, or -1 for cells that
+  // cannot be reached, searching levels too small to be worth splitting on this
+  // thread
+  // EFFECT: remembers the cell each cell was reached from
+  int[] distancesFrom(int start) {
+    Arrays.fill(this.claimed, 0);
+    Arrays.fill(this.distance, -1);
+    this.claim(start);
+    this.distance[start] = 0;
+    this.parent[start] = start;
+    int[] frontier = new int[] {start};
+    int size = 1;
+    for (int level = 1; size > 0; level++) {
+      LevelTask task = new LevelTask(this, frontier, 0, size, level);
+      if (size > LevelTask.THRESHOLD) {
+        this.pool.invoke(task);
+      }
+      else {
+        task.compute();
+      }
+      frontier = task.next;
+      size = task.size;
+    }
+    return this.distance;
+  }
+
+  // returns the cells from the given start to the given goal, or no cells if the
+  // goal cannot be reached from the start
+  int[] pathTo(int start, int goal) {
+    this.distancesFrom(start);
+    if (this.distance[goal] < 0) {
+      return new int[0];
+    }
+    int[] path = new int[this.distance[goal] + 1];
+    int cell = goal;
+    for (int i = path.length - 1; i >= 0; i--) {
+      path[i] = cell;
+      cell = this.parent[cell];
+    }
+    return path;
+  }
+
+  // returns true if the given cell had not been claimed yet
+  // EFFECT: claims the given cell
+  boolean claim(int cell) {
+    long bit = 1L << cell;
+    return (this.claimed[cell >>> 6] & bit) == 0
+        && ((long) CLAIMED.getAndBitwiseOr(this.claimed, cell >>> 6, bit) & bit) == 0;
+  }
+}
+
+// to represent searching a range of one level of a ParallelSearch, collecting
+// the cells the range reaches into the next level
+@SuppressWarnings("serial")
+class LevelTask extends RecursiveAction {
+
+  // ranges at most this long are searched on one thread
+  static final int THRESHOLD = 1 << 12;
+
+  // the ParallelSearch this level is part of
+  ParallelSearch owner;
+
+  // the cells of this level
+  int[] frontier;
+
+  // first index of the cells this task searches
+  int lo;
+
+  // one past the last index of the cells this task searches
+  int hi;
+
+  // the distance from the start of the cells this task reaches
+  int level;
+
+  // the cells this task reached, in the order they were reached
+  int[] next;
+
+  // the number of cells this task reached
+  int size;
+
+  // constructor for this LevelTask
+  LevelTask(ParallelSearch owner, int[] frontier, int lo, int hi, int level) {
+    this.owner = owner;
+    this.frontier = frontier;
+    this.lo = lo;
+    this.hi = hi;
+    this.level = level;
+  }
+
+  // EFFECT: searches this task's range of the level, splitting it between two
+  // subtasks while it is too long and joining what they reached in order
+  protected void compute() {
+    if (this.hi - this.lo > LevelTask.THRESHOLD) {
+      int mid = (this.lo + this.hi) >>> 1;
+      LevelTask left = new LevelTask(this.owner, this.frontier, this.lo, mid, this.level);
+      LevelTask right = new LevelTask(this.owner, this.frontier, mid, this.hi, this.level);
+      invokeAll(left, right);
+      this.next = Arrays.copyOf(left.next, left.size + right.size);
+      System.arraycopy(right.next, 0, this.next, left.size, right.size);
+      this.size = left.size + right.size;
+    }
+    else {
+      this.next = new int[2 * (this.hi - this.lo) + 2];
+      this.size = 0;
+      for (int i = this.lo; i < this.hi; i++) {
+        int cell = this.frontier[i];
+        int open = this.owner.maze.openDirections(cell);
+        for (int dir = 0; dir < 4; dir++) {
+          if ((open & (1 << dir)) != 0) {
+            this.reach(cell, cell + this.owner.steps[dir]);
+          }
+        }
+      }
+    }
+  }
+
+  // EFFECT: adds the given cell to the cells this task reached, remembering its
+  // distance and that it was reached from the given cell, if no other task has
+  // claimed it first
+  void reach(int from, int to) {
+    if (this.owner.claim(to)) {
+      this.owner.distance[to] = this.level;
+      this.owner.parent[to] = from;
+      if (this.size == this.next.length) {
+        this.next = Arrays.copyOf(this.next, 2 * this.next.length);
+      }
+      this.next[this.size] = to;
+      this.size++;
+    }
+  }
+}
+
+// to represent the paths between any two cells of a perfect maze, which is a
+// spanning tree, so the path between two cells is the one through their lowest
+// common ancestor and no search is needed
+// the tree is rooted at cell 0 and the cells are listed in depth-first order,
+// where the lowest common ancestor of two different cells is the parent of the
+// shallowest cell after the first of them up to the second; the shallowest
+// cells are found with a sparse table over blocks of the order and a scan
+// within the blocks at either end
+class TreePaths {
+
+  // the number of cells in a block of the depth-first order
+  static final int BLOCK = 32;
+
+  // length of the maze
+  int length;
+
+  // width of the maze
+  int width;
+
+  // the parent of each cell, the root is its own parent
+  int[] parent;
+
+  // the number of steps from each cell to the root
+  int[] depth;
+
+  // the cells in depth-first order
+  int[] order;
+
+  // the index of each cell in the depth-first order
+  int[] position;
+
+  // the shallowest cell of 2^level blocks of the order starting at each block is
+  // table[level][block]
+  int[][] table;
+
+  // constructor for the TreePaths of the given perfect maze with the given size
+  TreePaths(IMaze maze, int length, int width) {
+    this.length = length;
+    this.width = width;
+    this.parent = new int[length * width];
+    this.depth = new int[length * width];
+    this.order = new int[length * width];
+    this.position = new int[length * width];
+    Arrays.fill(this.depth, -1);
+    this.walk(maze);
+    this.table = this.blockTable();
+  }
+
+  // EFFECT: fills in the parent, depth and depth-first position of every cell
+  // reachable from the root, walking the given maze
+  void walk(IMaze maze) {
+    int[] steps = new int[] {1, this.length, -1, -this.length};
+    IntStack worklist = new IntStack(this.length + this.width);
+    worklist.add(0);
+    this.depth[0] = 0;
+    int next = 0;
+    while (!worklist.isEmpty()) {
+      int cell = worklist.remove();
+      this.order[next] = cell;
+      this.position[cell] = next;
+      next++;
+      int open = maze.openDirections(cell);
+      for (int dir = 0; dir < 4; dir++) {
+        if ((open & (1 << dir)) != 0 && this.depth[cell + steps[dir]] < 0) {
+          this.parent[cell + steps[dir]] = cell;
+          this.depth[cell + steps[dir]] = this.depth[cell] + 1;
+          worklist.add(cell + steps[dir]);
+        }
+      }
+    }
+  }
+
+  // returns the sparse table of the shallowest cell of every run of a power of
+  // two blocks of the depth-first order
+  int[][] blockTable() {
+    int blocks = (this.order.length + TreePaths.BLOCK - 1) / TreePaths.BLOCK;
+    int levels = 32 - Integer.numberOfLeadingZeros(blocks);
+    int[][] table = new int[levels][];
+    table[0] = new int[blocks];
+    for (int b = 0; b < blocks; b++) {
+      table[0][b] = this.shallowest(b * TreePaths.BLOCK,
+          Math.min(this.order.length, (b + 1) * TreePaths.BLOCK));
+    }
+    for (int level = 1; level < levels; level++) {
+      int half = 1 << (level - 1);
+      table[level] = new int[blocks - (1 << level) + 1];
+      for (int b = 0; b < table[level].length; b++) {
+        table[level][b] = this.shallower(table[level - 1][b], table[level - 1][b + half]);
+      }
+    }
+    return table;
+  }
+
+  // returns the shallower of the given cells
+  int shallower(int a, int b) {
+    if (this.depth[b] < this.depth[a]) {
+      return b;
+    }
+    else {
+      return a;
+    }
+  }
+
+  // returns the shallowest cell of the depth-first order from the given index up
+  // to but not including the other given index, by looking at each of them
+  int shallowest(int from, int to) {
+    int best = this.order[from];
+    for (int i = from + 1; i < to; i++) {
+      best = this.shallower(best, this.order[i]);
+    }
+    return best;
+  }
+
+  // returns the shallowest cell of the depth-first order from the given index up
+  // to but not including the other given index, using the table for the whole
+  // blocks between them
+  int shallowestBetween(int from, int to) {
+    int firstBlock = from / TreePaths.BLOCK + 1;
+    int lastBlock = to / TreePaths.BLOCK;
+    if (firstBlock >= lastBlock) {
+      return this.shallowest(from, to);
+    }
+    int best = this.shallowest(from, firstBlock * TreePaths.BLOCK);
+    if (lastBlock * TreePaths.BLOCK < to) {
+      best = this.shallower(best, this.shallowest(lastBlock * TreePaths.BLOCK, to));
+    }
+    int level = 31 - Integer.numberOfLeadingZeros(lastBlock - firstBlock);
+    best = this.shallower(best, this.table[level][firstBlock]);
+    return this.shallower(best, this.table[level][lastBlock - (1 << level)]);
+  }
+
+  // returns the lowest common ancestor of the given cells
+  int ancestor(int a, int b) {
+    if (a == b) {
+      return a;
+    }
+    int from = Math.min(this.position[a], this.position[b]) + 1;
+    int to = Math.max(this.position[a], this.position[b]) + 1;
+    return this.parent[this.shallowestBetween(from, to)];
+  }
+
+  // returns the number of steps on the path between the given cells
+  int distance(int a, int b) {
+    return this.depth[a] + this.depth[b] - 2 * this.depth[this.ancestor(a, b)];
+  }
+
+  // returns the cells on the path from the first given cell to the second, in
+  // order, climbing from each of them to their lowest common ancestor
+  int[] path(int a, int b) {
+    int top = this.ancestor(a, b);
+    int[] path = new int[this.depth[a] + this.depth[b] - 2 * this.depth[top] + 1];
+    int cell = a;
+    for (int i = 0; cell != top; i++) {
+      path[i] = cell;
+      cell = this.parent[cell];
+    }
+    cell = b;
+    for (int i = path.length - 1; cell != top; i--) {
+      path[i] = cell;
+      cell = this.parent[cell];
+    }
+    path[this.depth[a] - this.depth[top]] = top;
+    return path;
+  }
+}
+
+// to represent a maze reduced to the junctions a search has to choose between,
+// made once and searched between any two of its cells
+// every cell with other than two ways out is a junction, dead ends included, and
+// every corridor of cells with two ways out is contracted into one weighted edge
+// each way between the junctions at its ends, so a dead-end branch is kept as
+// edges out to junctions with one way out
+// each search attaches its start and goal to the graph, as junctions of their
+// own partway along their corridors if they are not junctions already, then
+// prunes the dead-end branches that hold neither of them, so a search only
+// chooses between the junctions that can be on the way
+class JunctionGraph {
+
+  // length of the maze
+  int length;
+
+  // width of the maze
+  int width;
+
+  // the cell of each junction
+  int[] nodes;
+
+  // the junction of each cell, or -1 for cells inside a corridor
+  int[] nodeOf;
+
+  // the place in corridor of each cell inside a corridor, on the first edge that
+  // was made along it, or -1 for junctions
+  int[] placeOf;
+
+  // the edges leaving junction i are the edges firstEdge[i] up to firstEdge[i + 1]
+  int[] firstEdge;
+
+  // the junction each edge leaves from
+  int[] edgeFrom;
+
+  // the junction each edge leads to
+  int[] edgeTo;
+
+  // the number of steps along each edge
+  int[] edgeWeight;
+
+  // the cells inside edge e, in order, are corridor[firstCell[e]] up to
+  // corridor[firstCell[e + 1]]
+  int[] firstCell;
+
+  // the cells inside every edge
+  int[] corridor;
+
+  // the number of junctions with one way out
+  int deadEnds;
+
+  // the cell the last search started from
+  int start;
+
+  // the cell the last search ended at
+  int goal;
+
+  // the junction the last search started from, which is nodes.length if the
+  // start is inside a corridor
+  int startNode;
+
+  // the junction the last search ended at, which is nodes.length + 1 if the goal
+  // is inside a corridor, or the startNode if the goal is the start
+  int goalNode;
+
+  // the edges along the corridor the start is inside, one each way, then the
+  // edges along the corridor the goal is inside, or -1 for a start or a goal that
+  // is a junction
+  int[] cut;
+
+  // the place in corridor of the start or the goal on each edge in cut
+  int[] cutPlace;
+
+  // the edges from the start along its corridor each way, then the edges searched
+  // in place of each edge in cut, numbered after the edges of the graph
+  // the cells inside part p are corridor[partFirst[p]] up to corridor[partLast[p]]
+  int[] partFrom;
+
+  int[] partTo;
+
+  int[] partWeight;
+
+  int[] partFirst;
+
+  int[] partLast;
+
+  // which junctions were pruned for the last search, one bit per junction
+  long[] pruned;
+
+  // the number of ways out of each junction left while pruning
+  int[] left;
+
+  // which junctions have been searched, one bit per junction
+  long[] visited;
+
+  // the edge each junction was last reached by
+  int[] parentEdge;
+
+  // the number of steps from the start to each junction, for A* search
+  int[] distance;
+
+  // the junctions waiting to be searched breadth-first, or to be pruned
+  IntQueue queue;
+
+  // the junctions waiting to be searched depth-first
+  IntStack stack;
+
+  // the junctions waiting to be searched by A* search
+  IndexedHeap frontier;
+
+  // the cells searched so far, in the order they were searched
+  int[] order;
+
+  // the job this JunctionGraph is searched for, whose searches stop partway once
+  // the job is cancelled, or null to always search to the end
+  AMazeJob job;
+
+  // constructor for the JunctionGraph of the given maze with the given size
+  JunctionGraph(IMaze maze, int length, int width) {
+    this.length = length;
+    this.width = width;
+    this.findJunctions(maze);
+    this.contract(maze);
+    this.makeSearchSpace();
+  }
+
+  // constructor for a JunctionGraph with the same junctions and edges as the
+  // given one and search space of its own, so the two can be searched at once
+  // from different threads
+  JunctionGraph(JunctionGraph graph) {
+    this.length = graph.length;
+    this.width = graph.width;
+    this.nodes = graph.nodes;
+    this.nodeOf = graph.nodeOf;
+    this.placeOf = graph.placeOf;
+    this.firstEdge = graph.firstEdge;
+    this.edgeFrom = graph.edgeFrom;
+    this.edgeTo = graph.edgeTo;
+    this.edgeWeight = graph.edgeWeight;
+    this.firstCell = graph.firstCell;
+    this.corridor = graph.corridor;
+    this.deadEnds = graph.deadEnds;
+    this.makeSearchSpace();
+  }
+
+  // EFFECT: makes the arrays and worklists the searches of this JunctionGraph
+  // write to, with room for a start and a goal of their own
+  void makeSearchSpace() {
+    int size = this.nodes.length + 2;
+    this.start = 0;
+    this.goal = 0;
+    this.startNode = -1;
+    this.goalNode = -1;
+    this.cut = new int[] {-1, -1, -1, -1};
+    this.cutPlace = new int[4];
+    this.partFrom = new int[6];
+    this.partTo = new int[6];
+    this.partWeight = new int[6];
+    this.partFirst = new int[6];
+    this.partLast = new int[6];
+    this.pruned = new long[(size + 63) / 64];
+    this.left = new int[this.nodes.length];
+    this.visited = new long[(size + 63) / 64];
+    this.parentEdge = new int[size];
+    this.distance = new int[size];
+    this.queue = new IntQueue(size);
+    this.stack = new IntStack(size);
+    this.frontier = new IndexedHeap(size);
+    this.order = new int[this.length * this.width];
+  }
+
+  // EFFECT: marks every cell with other than two ways out as a junction, and one
+  // cell of every loop of corridor with no junction on it, so every other cell is
+  // inside a corridor between two junctions
+  void findJunctions(IMaze maze) {
+    int cells = this.length * this.width;
+    this.nodeOf = new int[cells];
+    for (int cell = 0; cell < cells; cell++) {
+      if (Integer.bitCount(maze.openDirections(cell)) == 2) {
+        this.nodeOf[cell] = -1;
+      }
+      else {
+        this.nodeOf[cell] = 0;
+      }
+    }
+    long[] reached = new long[(cells + 63) / 64];
+    int[] steps = new int[] {1, this.length, -1, -this.length};
+    for (int cell = 0; cell < cells; cell++) {
+      if (this.nodeOf[cell] == 0) {
+        int open = maze.openDirections(cell);
+        for (int dir = 0; dir < 4; dir++) {
+          if ((open & (1 << dir)) != 0) {
+            this.walk(maze, reached, cell, cell + steps[dir]);
+          }
+        }
+      }
+    }
+    for (int cell = 0; cell < cells; cell++) {
+      if (this.nodeOf[cell] < 0 && (reached[cell >>> 6] & (1L << cell)) == 0) {
+        this.nodeOf[cell] = 0;
+        this.walk(maze, reached, cell, this.onward(maze, cell, -1));
+      }
+    }
+  }
+
+  // EFFECT: marks the cells of the corridor that leaves the given junction
+  // through the given cell as reached, up to the junction at its other end or a
+  // cell reached from that end before
+  void walk(IMaze maze, long[] reached, int from, int to) {
+    int previous = from;
+    int cell = to;
+    while (this.nodeOf[cell] < 0 && (reached[cell >>> 6] & (1L << cell)) == 0) {
+      reached[cell >>> 6] |= 1L << cell;
+      int next = this.onward(maze, cell, previous);
+      previous = cell;
+      cell = next;
+    }
+  }
+
+  // returns the cell the given cell opens onto other than the given previous cell,
+  // going right, down, left and then up
+  int onward(IMaze maze, int cell, int previous) {
+    int open = maze.openDirections(cell);
+    if ((open & 1) != 0 && cell + 1 != previous) {
+      return cell + 1;
+    }
+    else if ((open & 2) != 0 && cell + this.length != previous) {
+      return cell + this.length;
+    }
+    else if ((open & 4) != 0 && cell - 1 != previous) {
+      return cell - 1;
+    }
+    else {
+      return cell - this.length;
+    }
+  }
+
+  // EFFECT: numbers the junctions, and makes an edge along every corridor leaving
+  // each of them
+  void contract(IMaze maze) {
+    int cells = this.nodeOf.length;
+    int count = 0;
+    int edges = 0;
+    int inside = 0;
+    for (int cell = 0; cell < cells; cell++) {
+      if (this.nodeOf[cell] >= 0) {
+        this.nodeOf[cell] = count;
+        count++;
+        edges += Integer.bitCount(maze.openDirections(cell));
+      }
+      else {
+        inside += 2;
+      }
+    }
+    this.nodes = new int[count];
+    this.firstEdge = new int[count + 1];
+    this.edgeFrom = new int[edges];
+    this.edgeTo = new int[edges];
+    this.edgeWeight = new int[edges];
+    this.firstCell = new int[edges + 1];
+    this.corridor = new int[inside];
+    this.placeOf = new int[cells];
+    Arrays.fill(this.placeOf, -1);
+    this.deadEnds = 0;
+
+    int[] steps = new int[] {1, this.length, -1, -this.length};
+    int edge = 0;
+    for (int cell = 0; cell < cells; cell++) {
+      int node = this.nodeOf[cell];
+      if (node >= 0) {
+        this.nodes[node] = cell;
+        this.firstEdge[node] = edge;
+        int open = maze.openDirections(cell);
+        if (Integer.bitCount(open) == 1) {
+          this.deadEnds++;
+        }
+        for (int dir = 0; dir < 4; dir++) {
+          if ((open & (1 << dir)) != 0) {
+            this.follow(maze, edge, cell, cell + steps[dir]);
+            edge++;
+          }
+        }
+      }
+    }
+    this.firstEdge[count] = edge;
+  }
+
+  // EFFECT: makes the given edge follow the corridor that leaves the given
+  // junction through the given cell until it reaches another junction, placing
+  // the cells it passes that have no place yet
+  void follow(IMaze maze, int edge, int from, int to) {
+    int next = this.firstCell[edge];
+    int previous = from;
+    int cell = to;
+    while (this.nodeOf[cell] < 0) {
+      this.corridor[next] = cell;
+      if (this.placeOf[cell] < 0) {
+        this.placeOf[cell] = next;
+      }
+      next++;
+      int onward = this.onward(maze, cell, previous);
+      previous = cell;
+      cell = onward;
+    }
+    this.edgeFrom[edge] = this.nodeOf[from];
+    this.edgeTo[edge] = this.nodeOf[cell];
+    this.edgeWeight[edge] = next - this.firstCell[edge] + 1;
+    this.firstCell[edge + 1] = next;
+  }
+
+  // returns how many times fewer junctions there are than cells in the maze
+  double compression() {
+    return (double) this.nodeOf.length / this.nodes.length;
+  }
+
+  // returns a description of how much smaller this JunctionGraph is than its maze
+  String report() {
+    return this.nodeOf.length + " cells, " + this.nodes.length + " junctions ("
+        + this.deadEnds + " dead ends), " + this.edgeTo.length / 2 + " corridors ("
+        + String.format("%.1f", this.compression()) + "x smaller)";
+  }
+
+  // returns the edge whose cells hold the given place in corridor
+  int edgeAt(int place) {
+    int low = 0;
+    int high = this.edgeTo.length - 1;
+    while (low < high) {
+      int middle = (low + high + 1) >>> 1;
+      if (this.firstCell[middle] <= place) {
+        low = middle;
+      }
+      else {
+        high = middle - 1;
+      }
+    }
+    return low;
+  }
+
+  // returns the edge along the same corridor as the given edge the other way,
+  // which is the edge out of the junction the given edge leads to that starts
+  // with the cell the given edge ends with
+  int twin(int edge) {
+    int last = this.corridor[this.firstCell[edge + 1] - 1];
+    int to = this.edgeTo[edge];
+    int twin = -1;
+    for (int e = this.firstEdge[to]; e < this.firstEdge[to + 1]; e++) {
+      if (this.firstCell[e] < this.firstCell[e + 1] && this.corridor[this.firstCell[e]] == last) {
+        twin = e;
+      }
+    }
+    return twin;
+  }
+
+  // EFFECT: makes the given cells the start and the goal of the next search,
+  // attaching them to the corridors they are inside and pruning the dead-end
+  // branches that hold neither of them
+  void attach(int start, int goal) {
+    int count = this.nodes.length;
+    this.start = start;
+    this.goal = goal;
+    if (this.nodeOf[start] >= 0) {
+      this.startNode = this.nodeOf[start];
+    }
+    else {
+      this.startNode = count;
+    }
+    if (goal == start) {
+      this.goalNode = this.startNode;
+    }
+    else if (this.nodeOf[goal] >= 0) {
+      this.goalNode = this.nodeOf[goal];
+    }
+    else {
+      this.goalNode = count + 1;
+    }
+    this.place(0, start);
+    this.place(2, goal);
+    if (this.startNode == count) {
+      this.part(0, this.cut[0], this.cutPlace[0], count);
+      this.part(1, this.cut[1], this.cutPlace[1], count);
+    }
+    for (int i = 0; i < 4; i++) {
+      if (this.cut[i] >= 0) {
+        this.part(i + 2, this.cut[i], this.firstCell[this.cut[i]] - 1,
+            this.edgeFrom[this.cut[i]]);
+      }
+    }
+    this.prune();
+  }
+
+  // EFFECT: keeps the edges each way along the corridor the given cell is inside
+  // in cut from the given index, with the place of the cell on each, or -1 if the
+  // cell is a junction
+  void place(int i, int cell) {
+    if (this.nodeOf[cell] >= 0) {
+      this.cut[i] = -1;
+      this.cut[i + 1] = -1;
+    }
+    else {
+      int at = this.placeOf[cell];
+      int edge = this.edgeAt(at);
+      int twin = this.twin(edge);
+      this.cut[i] = edge;
+      this.cutPlace[i] = at;
+      this.cut[i + 1] = twin;
+      this.cutPlace[i + 1] = this.firstCell[twin] + this.firstCell[edge + 1] - 1 - at;
+    }
+  }
+
+  // EFFECT: makes the given part go from the given junction along the given edge,
+  // after the given place in corridor, up to the start or the goal it meets first
+  // or else the junction the edge leads to
+  void part(int part, int edge, int after, int from) {
+    int to = this.edgeTo[edge];
+    int last = this.firstCell[edge + 1];
+    for (int i = 0; i < 4; i++) {
+      if (this.cut[i] == edge && this.cutPlace[i] > after && this.cutPlace[i] < last) {
+        last = this.cutPlace[i];
+        if (i < 2) {
+          to = this.startNode;
+        }
+        else {
+          to = this.goalNode;
+        }
+      }
+    }
+    this.partFrom[part] = from;
+    this.partTo[part] = to;
+    this.partWeight[part] = last - after;
+    this.partFirst[part] = after + 1;
+    this.partLast[part] = last;
+  }
+
+  // returns true if the given junction is kept while pruning: the start or the
+  // goal, or a junction at an end of the corridor either of them is inside
+  boolean kept(int node) {
+    return node == this.startNode || node == this.goalNode
+        || (this.cut[0] >= 0 && (node == this.edgeFrom[this.cut[0]]
+            || node == this.edgeTo[this.cut[0]]))
+        || (this.cut[2] >= 0 && (node == this.edgeFrom[this.cut[2]]
+            || node == this.edgeTo[this.cut[2]]));
+  }
+
+  // EFFECT: prunes every junction with one way out but the kept junctions,
+  // working back from the end of each dead-end branch until the junction before
+  // it has another way out
+  void prune() {
+    Arrays.fill(this.pruned, 0);
+    this.queue.clear();
+    for (int node = 0; node < this.nodes.length; node++) {
+      this.left[node] = this.firstEdge[node + 1] - this.firstEdge[node];
+      if (this.left[node] <= 1) {
+        this.queue.add(node);
+      }
+    }
+    while (!this.queue.isEmpty()) {
+      int node = this.queue.remove();
+      if (!this.kept(node) && (this.pruned[node >>> 6] & (1L << node)) == 0) {
+        this.pruned[node >>> 6] |= 1L << node;
+        for (int e = this.firstEdge[node]; e < this.firstEdge[node + 1]; e++) {
+          int to = this.edgeTo[e];
+          if ((this.pruned[to >>> 6] & (1L << to)) == 0) {
+            this.left[to]--;
+            if (this.left[to] == 1) {
+              this.queue.add(to);
+            }
+          }
+        }
+      }
+    }
+  }
+
+  // returns the number of edges the given junction is searched along
+  int ways(int node) {
+    if (node < this.nodes.length) {
+      return this.firstEdge[node + 1] - this.firstEdge[node];
+    }
+    else {
+      return 2;
+    }
+  }
+
+  // returns the given edge of the given junction searched along, which is a part
+  // in place of an edge the start or the goal is on
+  int way(int node, int i) {
+    int parts = this.edgeTo.length;
+    if (node >= this.nodes.length) {
+      return parts + i;
+    }
+    else {
+      int e = this.firstEdge[node] + i;
+      for (int c = 0; c < 4; c++) {
+        if (this.cut[c] == e) {
+          return parts + 2 + c;
+        }
+      }
+      return e;
+    }
+  }
+
+  // returns the junction the given edge or part leaves from
+  int from(int e) {
+    if (e < this.edgeTo.length) {
+      return this.edgeFrom[e];
+    }
+    else {
+      return this.partFrom[e - this.edgeTo.length];
+    }
+  }
+
+  // returns the junction the given edge or part leads to
+  int to(int e) {
+    if (e < this.edgeTo.length) {
+      return this.edgeTo[e];
+    }
+    else {
+      return this.partTo[e - this.edgeTo.length];
+    }
+  }
+
+  // returns the number of steps along the given edge or part
+  int weight(int e) {
+    if (e < this.edgeTo.length) {
+      return this.edgeWeight[e];
+    }
+    else {
+      return this.partWeight[e - this.edgeTo.length];
+    }
+  }
+
+  // returns the place in corridor of the first cell inside the given edge or part
+  int firstOf(int e) {
+    if (e < this.edgeTo.length) {
+      return this.firstCell[e];
+    }
+    else {
+      return this.partFirst[e - this.edgeTo.length];
+    }
+  }
+
+  // returns the place in corridor just past the last cell inside the given edge
+  // or part
+  int lastOf(int e) {
+    if (e < this.edgeTo.length) {
+      return this.firstCell[e + 1];
+    }
+    else {
+      return this.partLast[e - this.edgeTo.length];
+    }
+  }
+
+  // returns the cell of the given junction, which is the start or the goal past
+  // the junctions of the graph
+  int cellOf(int node) {
+    if (node < this.nodes.length) {
+      return this.nodes[node];
+    }
+    else if (node == this.nodes.length) {
+      return this.start;
+    }
+    else {
+      return this.goal;
+    }
+  }
+
+  // returns the result of a breadth-first search of the junctions from the given
+  // start to the given goal
+  SearchResult breadthFirst(int start, int goal) {
+    this.attach(start, goal);
+    return this.search(this.queue);
+  }
+
+  // returns the result of a depth-first search of the junctions from the given
+  // start to the given goal
+  SearchResult depthFirst(int start, int goal) {
+    this.attach(start, goal);
+    return this.search(this.stack);
+  }
+
+  // returns the result of searching the junctions from the attached start to the
+  // attached goal, taking the next junction to search from the given worklist
+  // reaching a junction searches the cells of the corridor it was reached by and
+  // then the junction itself, and pruned junctions are never reached
+  SearchResult search(IIntCollection worklist) {
+    System.arraycopy(this.pruned, 0, this.visited, 0, this.visited.length);
+    int searched = 0;
+    worklist.clear();
+    worklist.add(this.startNode);
+    this.parentEdge[this.startNode] = -1;
+    for (int round = 0; !worklist.isEmpty() && !AMazeJob.stopped(this.job, round); round++) {
+      int node = worklist.remove();
+      if ((this.visited[node >>> 6] & (1L << node)) == 0) {
+        this.visited[node >>> 6] |= 1L << node;
+        searched = this.record(node, searched);
+        if (node == this.goalNode) {
+          return new SearchResult(Arrays.copyOf(this.order, searched), this.path());
+        }
+        for (int i = 0; i < this.ways(node); i++) {
+          int e = this.way(node, i);
+          int to = this.to(e);
+          if ((this.visited[to >>> 6] & (1L << to)) == 0) {
+            worklist.add(to);
+            this.parentEdge[to] = e;
+          }
+        }
+      }
+    }
+    return new SearchResult(Arrays.copyOf(this.order, searched), new int[0]);
+  }
+
+  // returns the result of an A* search of the junctions from the given start to
+  // the given goal, always searching next the junction whose distance from the
+  // start plus Manhattan distance to the goal is smallest
+  SearchResult aStar(int start, int goal) {
+    this.attach(start, goal);
+    System.arraycopy(this.pruned, 0, this.visited, 0, this.visited.length);
+    int searched = 0;
+    this.frontier.clear();
+    this.distance[this.startNode] = 0;
+    this.parentEdge[this.startNode] = -1;
+    this.frontier.add(this.startNode, this.priority(this.startNode));
+    for (int round = 0; !this.frontier.isEmpty() && !AMazeJob.stopped(this.job, round);
+        round++) {
+      int node = this.frontier.remove();
+      this.visited[node >>> 6] |= 1L << node;
+      searched = this.record(node, searched);
+      if (node == this.goalNode) {
+        return new SearchResult(Arrays.copyOf(this.order, searched), this.path());
+      }
+      for (int i = 0; i < this.ways(node); i++) {
+        int e = this.way(node, i);
+        int to = this.to(e);
+        int through = this.distance[node] + this.weight(e);
+        if ((this.visited[to >>> 6] & (1L << to)) == 0
+            && (!this.frontier.contains(to) || through < this.distance[to])) {
+          this.distance[to] = through;
+          this.parentEdge[to] = e;
+          this.frontier.add(to, this.priority(to));
+        }
+      }
+    }
+    return new SearchResult(Arrays.copyOf(this.order, searched), new int[0]);
+  }
+
+  // returns the A* key of the given junction: its distance from the start plus
+  // its Manhattan distance to the goal
+  long priority(int node) {
+    int cell = this.cellOf(node);
+    return this.distance[node] + Math.abs(cell % this.length - this.goal % this.length)
+        + Math.abs(cell / this.length - this.goal / this.length);
+  }
+
+  // returns the number of cells searched once the given junction has been
+  // searched after the given number of cells
+  // EFFECT: adds the cells of the corridor the junction was reached by and then
+  // the junction to the cells searched
+  int record(int node, int searched) {
+    int e = this.parentEdge[node];
+    if (e >= 0) {
+      for (int i = this.firstOf(e); i < this.lastOf(e); i++) {
+        this.order[searched] = this.corridor[i];
+        searched++;
+      }
+    }
+    this.order[searched] = this.cellOf(node);
+    return searched + 1;
+  }
+
+  // returns the cells from the start to the goal, following the edges each
+  // junction was reached by back from the goal once to count them and once more
+  // to fill them in
+  int[] path() {
+    int count = 1;
+    for (int e = this.parentEdge[this.goalNode]; e >= 0; e = this.parentEdge[this.from(e)]) {
+      count += this.weight(e);
+    }
+    int[] path = new int[count];
+    int i = count - 1;
+    path[i] = this.goal;
+    for (int e = this.parentEdge[this.goalNode]; e >= 0; e = this.parentEdge[this.from(e)]) {
+      for (int c = this.lastOf(e) - 1; c >= this.firstOf(e); c--) {
+        i--;
+        path[i] = this.corridor[c];
+      }
+      i--;
+      path[i] = this.cellOf(this.from(e));
+    }
+    return path;
+  }
+}
+
+// to represent walking through a maze with one hand always on the wall, keeping
+// nothing but the cell the walker is in and the way it is facing, so the walk
+// needs no memory for mazes of any size, such as a MappedMaze
+// a wall follower always reaches the goal of a perfect maze, but can walk around
+// a loop forever in a maze with loops, so with Tremaux marking it also counts how
+// many times each passage has been walked through, two bits for each passage,
+// and reaches the goal of any maze it can be reached in
+class WallFollower {
+
+  // the maze being walked
+  ILongMaze maze;
+
+  // length of the maze
+  int length;
+
+  // width of the maze
+  long width;
+
+  // true to keep the right hand on the wall, false to keep the left hand on it
+  boolean rightHand;
+
+  // the number of times each passage has been walked through, two bits for each
+  // of the passages to the right of and below each cell, or null to walk without
+  // Tremaux marking
+  long[] marks;
+
+  // which cells have been visited, one bit per cell, while solving
+  long[] seen;
+
+  // the cells visited so far while solving, in the order they were first visited
+  int[] order;
+
+  // the number of cells in order
+  int count;
+
+  // the cells walked from the start to the current cell while solving, with the
+  // dead ends and loops walked so far taken out
+  IntStack trail;
+
+  // the index of each cell in trail, or -1 if it is not on trail
+  int[] position;
+
+  // the job this WallFollower walks for, which gives up partway once the job is
+  // cancelled, or null to always walk to the end
+  AMazeJob job;
+
+  // constructor for a WallFollower of the given maze with the given size
+  // Tremaux marking keeps four bits for each cell in an array, so it is only for
+  // mazes of up to 2^35 cells
+  WallFollower(ILongMaze maze, int length, long width, boolean rightHand, boolean tremaux) {
+    if (length < 1 || width < 1 || width > Long.MAX_VALUE / length) {
+      throw new IllegalArgumentException("a maze of " + length + " by " + width
+          + " cells cannot be walked");
+    }
+    if (tremaux && (length * width + 15) / 16 > Integer.MAX_VALUE - 8) {
+      throw new IllegalArgumentException("Tremaux marking needs more than an array can "
+          + "hold for a maze of " + length + " by " + width + " cells");
+    }
+    this.maze = maze;
+    this.length = length;
+    this.width = width;
+    this.rightHand = rightHand;
+    if (tremaux) {
+      this.marks = new long[(int) ((length * width + 15) / 16)];
+    }
+  }
+
+  // returns the number of moves walking from start to goal takes, or -1 if the
+  // walker gives up without reaching the goal
+  long steps(long start, long goal) {
+    return this.walk(start, goal, false);
+  }
+
+  // returns the cells visited walking from start to goal, in the order they were
+  // first visited, and the walk with its dead ends and loops taken out as the path
+  // it keeps every cell it visits, so it is only for mazes with int cells
+  SearchResult solve(int start, int goal) {
+    if (this.length * this.width > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("a maze of " + this.length + " by " + this.width
+          + " cells is too big to solve, only to walk with steps(long, long)");
+    }
+    int cells = (int) (this.length * this.width);
+    this.seen = new long[(cells + 63) / 64];
+    this.order = new int[cells];
+    this.count = 0;
+    this.trail = new IntStack(this.length + (int) this.width);
+    this.position = new int[cells];
+    Arrays.fill(this.position, -1);
+    int[] path = new int[0];
+    if (this.walk(start, goal, true) >= 0) {
+      path = Arrays.copyOf(this.trail.items, this.trail.size);
+    }
+    SearchResult result = new SearchResult(Arrays.copyOf(this.order, this.count), path);
+    this.seen = null;
+    this.order = null;
+    this.trail = null;
+    this.position = null;
+    return result;
+  }
+
+  // returns the number of moves walking from start to goal takes, or -1 if the
+  // walker gives up, which a plain wall follower does when it is back at the
+  // start about to walk the way it first walked, and a Tremaux walker does when
+  // every passage it can take has been walked through twice, and either does
+  // once its job is cancelled
+  // EFFECT: remembers every cell walked through if record is true, and counts
+  // each passage walked through if marking
+  long walk(long start, long goal, boolean record) {
+    if (this.marks != null) {
+      Arrays.fill(this.marks, 0);
+    }
+    long cell = start;
+    int facing = 0;
+    int firstSide = -1;
+    long moves = 0;
+    if (record) {
+      this.arrive((int) cell);
+    }
+    while (cell != goal) {
+      if (AMazeJob.stopped(this.job, moves)) {
+        return -1;
+      }
+      int side;
+      if (this.marks == null) {
+        side = this.follow(cell, facing);
+        if (cell == start && side == firstSide) {
+          return -1;
+        }
+      }
+      else {
+        side = this.choose(cell, facing, moves > 0);
+        if (side >= 0) {
+          this.mark(cell, side);
+        }
+      }
+      if (side < 0) {
+        return -1;
+      }
+      if (moves == 0) {
+        firstSide = side;
+      }
+      cell = this.next(cell, side);
+      facing = side;
+      moves++;
+      if (record) {
+        this.arrive((int) cell);
+      }
+    }
+    return moves;
+  }
+
+  // returns the side (0 right, 1 down, 2 left, 3 up) to leave the given cell by
+  // after walking into it facing the given side, turning toward the hand on the
+  // wall first and turning back last, or -1 if the cell has no open side
+  int follow(long cell, int facing) {
+    int open = this.maze.openDirections(cell);
+    for (int turn = 0; turn < 4; turn++) {
+      int side = this.turn(facing, turn);
+      if ((open & (1 << side)) != 0) {
+        return side;
+      }
+    }
+    return -1;
+  }
+
+  // returns the side to leave the given cell by after walking into it facing the
+  // given side, by Tremaux's rules: turn back down a passage walked through once
+  // into a cell seen before, and otherwise take the passage walked through the
+  // fewest times, trying sides in the same order as follow(int, int), or -1 if
+  // every passage has been walked through twice
+  int choose(long cell, int facing, boolean walkedIn) {
+    int open = this.maze.openDirections(cell);
+    int back = (facing + 2) & 3;
+    if (walkedIn && this.marksOf(cell, back) == 1) {
+      for (int side = 0; side < 4; side++) {
+        if (side != back && (open & (1 << side)) != 0 && this.marksOf(cell, side) > 0) {
+          return back;
+        }
+      }
+    }
+    int best = -1;
+    int fewest = 2;
+    for (int turn = 0; turn < 4; turn++) {
+      int side = this.turn(facing, turn);
+      if ((open & (1 << side)) != 0 && this.marksOf(cell, side) < fewest) {
+        best = side;
+        fewest = this.marksOf(cell, side);
+      }
+    }
+    return best;
+  }
+
+  // returns the side to try the given number of turns into trying every side,
+  // facing the given side: toward the hand on the wall, straight on, away from the
+  // hand, then back
+  int turn(int facing, int turn) {
+    if (turn == 0) {
+      return (facing + (this.rightHand ? 1 : 3)) & 3;
+    }
+    else if (turn == 1) {
+      return facing;
+    }
+    else if (turn == 2) {
+      return (facing + (this.rightHand ? 3 : 1)) & 3;
+    }
+    else {
+      return (facing + 2) & 3;
+    }
+  }
+
+  // returns the cell on the given side of the given cell, which must be open
+  long next(long cell, int side) {
+    if (side == 0) {
+      return cell + 1;
+    }
+    else if (side == 1) {
+      return cell + this.length;
+    }
+    else if (side == 2) {
+      return cell - 1;
+    }
+    else {
+      return cell - this.length;
+    }
+  }
+
+  // returns the index of the first of the two bits counting walks through the
+  // passage on the given side of the given cell
+  long passage(long cell, int side) {
+    if (side == 0) {
+      return cell << 2;
+    }
+    else if (side == 1) {
+      return (cell << 2) + 2;
+    }
+    else if (side == 2) {
+      return (cell - 1) << 2;
+    }
+    else {
+      return ((cell - this.length) << 2) + 2;
+    }
+  }
+
+  // returns the number of times the passage on the given side of the given cell
+  // has been walked through, up to 2
+  int marksOf(long cell, int side) {
+    long bit = this.passage(cell, side);
+    return (int) (this.marks[(int) (bit >>> 6)] >>> (bit & 63)) & 3;
+  }
+
+  // EFFECT: counts another walk through the passage on the given side of the
+  // given cell, up to 2
+  void mark(long cell, int side) {
+    long bit = this.passage(cell, side);
+    if (this.marksOf(cell, side) < 2) {
+      this.marks[(int) (bit >>> 6)] += 1L << (bit & 63);
+    }
+  }
+
+  // EFFECT: records walking into the given cell, taking the loop back out of
+  // trail if the cell is already on it
+  void arrive(int cell) {
+    if ((this.seen[cell >>> 6] & (1L << cell)) == 0) {
+      this.seen[cell >>> 6] |= 1L << cell;
+      this.order[this.count] = cell;
+      this.count++;
+    }
+    if (this.position[cell] >= 0) {
+      while (this.trail.size > this.position[cell] + 1) {
+        this.position[this.trail.remove()] = -1;
+      }
+    }
+    else {
+      this.position[cell] = this.trail.size;
+      this.trail.add(cell);
+    }
+  }
+}
+
+// to represent an Executor that runs each task on the thread that hands it over,
+// so the jobs of a MazeWorld made for testing finish before its key events return
+class DirectExecutor implements Executor {
+
+  // EFFECT: runs the given task
+  public void execute(Runnable task) {
+    task.run();
+  }
+}
+
+// to represent work on a maze done on a worker thread, apart from the MazeWorld
+// showing the maze, so the MazeWorld can take the result in a single step once
+// the work is done
+// a job checks whether it has been cancelled between its stages, and a job that
+// has been cancelled is never handed to its MazeWorld
+abstract class AMazeJob implements Runnable {
+
+  // what this job is working on, to show while it runs
+  String name;
+
+  // the number of stages of this job
+  int stages;
+
+  // the number of stages finished so far
+  volatile int stage;
+
+  // to indicate whether or not this job has been cancelled
+  volatile boolean cancelled;
+
+  // to indicate whether or not every stage has finished without being cancelled
+  volatile boolean done;
+
+  // the exception a stage threw, to be shown by the MazeWorld instead of the
+  // job's result
+  volatile RuntimeException failure;
+
+  // the number of steps the loop running for this job had taken when it last
+  // checked whether this job was cancelled, or 0 between stages
+  volatile long steps;
+
+  // to indicate whether or not this job has stopped running, finished, failed or
+  // cancelled, so what it searched with can be searched with again
+  volatile boolean ended;
+
+  // constructor for an AMazeJob with the given name and number of stages
+  AMazeJob(String name, int stages) {
+    this.name = name;
+    this.stages = stages;
+    this.stage = 0;
+    this.cancelled = false;
+    this.done = false;
+    this.ended = false;
+    this.steps = 0;
+  }
+
+  // EFFECT: runs each stage of this job in order, stopping before the next stage
+  // once this job has been cancelled
+  public void run() {
+    try {
+      while (this.stage < this.stages && !this.cancelled) {
+        this.runStage(this.stage);
+        this.steps = 0;
+        this.stage = this.stage + 1;
+      }
+    }
+    catch (RuntimeException e) {
+      this.failure = e;
+    }
+    this.done = !this.cancelled;
+    this.ended = true;
+  }
+
+  // EFFECT: cancels this job, which stops it after the stage it is running
+  void cancel() {
+    this.cancelled = true;
+  }
+
+  // returns true if the given job has been cancelled, checking only once every
+  // 1024 of the given steps of a loop, so a search for a job can stop partway
+  // without slowing down, or false if there is no job
+  // EFFECT: keeps the given step in the job when it checks, to show how far
+  // along the loop is
+  static boolean stopped(AMazeJob job, long step) {
+    if (job == null || (step & 1023) != 0) {
+      return false;
+    }
+    job.steps = step;
+    return job.cancelled;
+  }
+
+  // returns how far along this job is, to show while it runs, with how many
+  // steps the stage running has taken if it has checked in yet
+  String progress() {
+    String done = this.name + ": " + this.stage + " of " + this.stages + " stages done";
+    long steps = this.steps;
+    if (steps > 0) {
+      return done + ", " + steps + " steps into the next";
+    }
+    else {
+      return done;
+    }
+  }
+
+  // EFFECT: runs the given stage of this job, keeping its result in this job
+  abstract void runStage(int stage);
+
+  // EFFECT: hands the result of this finished job to the given MazeWorld, on the
+  // MazeWorld's thread
+  abstract void publish(MazeWorld world);
+}
+
+// to represent searching a MazeWorld's maze on a worker thread with one of the
+// searches picked by its keys, then searching it with breadth-first, depth-first
+// and A* search to compare them
+class SearchJob extends AMazeJob {
+
+  // the key the search was picked with
+  String key;
+
+  // the maze being searched
+  IMaze maze;
+
+  // length of the maze
+  int length;
+
+  // width of the maze
+  int width;
+
+  // to indicate whether the junctions of the maze are searched instead of every
+  // cell, for breadth-first, depth-first and A* search
+  boolean onJunctions;
+
+  // the junctions of the maze, searched with search space of this job's own,
+  // or null until they are needed
+  JunctionGraph junctions;
+
+  // to compare the searches with, lent by the MazeWorld
+  MazeSolver solver;
+
+  // the result of the search picked by the key
+  SearchResult solution;
+
+  // the result of breadth-first search, to compare
+  SearchResult breadth;
+
+  // the result of depth-first search, to compare
+  SearchResult depth;
+
+  // the result of A* search, to compare
+  SearchResult best;
+
+  // constructor for a SearchJob of the given MazeWorld's maze with the search
+  // picked by the given key
+  SearchJob(MazeWorld world, String key) {
+    super(SearchJob.nameOf(key, world.onJunctions), 4);
+    this.key = key;
+    this.maze = world.openings;
+    this.length = world.length;
+    this.width = world.width;
+    this.onJunctions = world.onJunctions && SearchJob.searchesJunctions(key);
+    this.junctions = world.junctions;
+    this.solver = world.lendSolver(this);
+  }
+
+  // returns true if the search picked by the given key can search junctions
+  static boolean searchesJunctions(String key) {
+    return key.equals("b") || key.equals("d") || key.equals("a");
+  }
+
+  // returns the name of the search picked by the given key, of the junctions if
+  // onJunctions is true and the search can search junctions
+  static String nameOf(String key, boolean onJunctions) {
+    String name;
+    if (key.equals("b")) {
+      name = "breadth-first search";
+    }
+    else if (key.equals("d")) {
+      name = "depth-first search";
+    }
+    else if (key.equals("a")) {
+      name = "A* search";
+    }
+    else if (key.equals("t")) {
+      name = "two-way breadth-first search";
+    }
+    else if (key.equals("w")) {
+      name = "wall follower";
+    }
+    else {
+      name = "wall follower with Tremaux marking";
+    }
+    if (onJunctions && SearchJob.searchesJunctions(key)) {
+      return name + " of junctions";
+    }
+    else {
+      return name;
+    }
+  }
+
+  // EFFECT: runs the search picked by the key first, then breadth-first,
+  // depth-first and A* search one stage at a time
+  void runStage(int stage) {
+    int goal = this.length * this.width - 1;
+    if (stage == 0) {
+      this.solver.job = this;
+      if (this.onJunctions && this.junctions == null) {
+        this.junctions = new JunctionGraph(this.maze, this.length, this.width);
+      }
+      else if (this.onJunctions) {
+        this.junctions = new JunctionGraph(this.junctions);
+      }
+      if (this.junctions != null) {
+        this.junctions.job = this;
+      }
+      this.solution = this.solve(goal);
+    }
+    else if (stage == 1) {
+      this.breadth = this.solver.breadthFirst(0, goal);
+    }
+    else if (stage == 2) {
+      this.depth = this.solver.depthFirst(0, goal);
+    }
+    else {
+      this.best = this.solver.aStar(0, goal);
+    }
+  }
+
+  // returns the result of the search picked by the key from the start to the
+  // given goal
+  SearchResult solve(int goal) {
+    if (this.key.equals("b")) {
+      return this.onJunctions ? this.junctions.breadthFirst(0, goal)
+          : this.solver.breadthFirst(0, goal);
+    }
+    else if (this.key.equals("d")) {
+      return this.onJunctions ? this.junctions.depthFirst(0, goal)
+          : this.solver.depthFirst(0, goal);
+    }
+    else if (this.key.equals("a")) {
+      return this.onJunctions ? this.junctions.aStar(0, goal) : this.solver.aStar(0, goal);
+    }
+    else if (this.key.equals("t")) {
+      return this.solver.bidirectional(0, goal);
+    }
+    else {
+      WallFollower follower = new WallFollower(this.maze, this.length, this.width, true,
+          this.key.equals("m"));
+      follower.job = this;
+      return follower.solve(0, goal);
+    }
+  }
+
+  // EFFECT: starts replaying the search on the given MazeWorld, keeping the
+  // junctions made for it if the maze has not changed
+  void publish(MazeWorld world) {
+    if (world.openings == this.maze && this.junctions != null) {
+      this.junctions.job = null;
+      world.junctions = this.junctions;
+    }
+    world.startSearch(this.name, this.solution,
+        this.solver.compare(this.breadth, this.depth, this.best));
+  }
+}
+
+// to represent finding the junctions of a MazeWorld's maze on a worker thread, to
+// search them instead of every cell
+class JunctionJob extends AMazeJob {
+
+  // the maze whose junctions are found
+  IMaze maze;
+
+  // length of the maze
+  int length;
+
+  // width of the maze
+  int width;
+
+  // the junctions of the maze, or null until they are found
+  JunctionGraph junctions;
+
+  // constructor for a JunctionJob of the given MazeWorld's maze
+  JunctionJob(MazeWorld world) {
+    super("finding the junctions", 1);
+    this.maze = world.openings;
+    this.length = world.length;
+    this.width = world.width;
+  }
+
+  // EFFECT: finds the junctions of the maze
+  void runStage(int stage) {
+    this.junctions = new JunctionGraph(this.maze, this.length, this.width);
+  }
+
+  // EFFECT: gives the junctions to the given MazeWorld if its maze has not
+  // changed, showing how much smaller they are if it still searches junctions
+  void publish(MazeWorld world) {
+    if (world.openings == this.maze) {
+      world.junctions = this.junctions;
+    }
+    if (world.onJunctions) {
+      world.mode = new TextImage("junctions: " + this.junctions.report(), 15, Color.BLACK);
+    }
+  }
+}
+
+// to represent making a new maze on a worker thread with the way picked by one of
+// a MazeWorld's keys, in a MazeWorld of its own that no one draws until the
+// maze is handed over
+class GenerateJob extends AMazeJob {
+
+  // the key the way of making the maze was picked with
+  String key;
+
+  // the MazeWorld the maze is made in
+  MazeWorld fresh;
+
+  // constructor for a GenerateJob for a maze the size of the given MazeWorld,
+  // with its bias and field, made the way picked by the given key
+  GenerateJob(MazeWorld world, String key) {
+    super("making a new maze", 3);
+    this.key = key;
+    this.fresh = new MazeWorld(world.length, world.width, world.bias, world.field);
+  }
+
+  // returns true if the way of making a maze picked by the given key weighs the
+  // Edges of the maze and keeps the minimum spanning tree
+  boolean weighsEdges() {
+    return this.key.equals("n") || this.key.equals("h") || this.key.equals("v")
+        || this.key.equals("[") || this.key.equals("]") || this.key.equals("f");
+  }
+
+  // EFFECT: makes the vertices of the maze, then weighs its Edges or opens its
+  // passages, then keeps the minimum spanning tree of the weighed Edges
+  void runStage(int stage) {
+    if (stage == 0 && !this.key.equals("7")) {
+      this.fresh.newMaze();
+    }
+    else if (stage == 1) {
+      if (this.key.equals("n")) {
+        this.fresh.assignEdges();
+      }
+      else if (this.key.equals("h") || this.key.equals("v")) {
+        this.fresh.assignEdgesBias(this.key.equals("h"));
+      }
+      else if (this.key.equals("7")) {
+        this.fresh.generateChunked(this.fresh.rand.nextLong());
+      }
+      else if (this.weighsEdges()) {
+        this.fresh.assignEdgesBias(this.fresh.bias, this.fresh.field);
+        this.fresh.showBias();
+      }
+      else {
+        IMazeGenerator[] generators = new IMazeGenerator[] {new KruskalGenerator(),
+            new PrimGenerator(), new BacktrackerGenerator(), new WilsonGenerator(),
+            new AldousBroderGenerator(), new EllerGenerator()};
+        this.fresh.generateWith(generators[Integer.parseInt(this.key) - 1]);
+      }
+    }
+    else if (this.weighsEdges()) {
+      this.fresh.mst = this.fresh.kruskal();
+    }
+  }
+
+  // EFFECT: makes the maze the given MazeWorld's maze
+  void publish(MazeWorld world) {
+    world.adopt(this.fresh);
+  }
+}
+
+// to represent a maze
+class MazeWorld extends World {
+
+  // the nanoseconds a tick may spend replaying cells when the speed is set to fit
+  // as many cells as it can
+  static final long FRAME_BUDGET = 20000000;
+
+  // used to keep track of how much time has passed
+  int time;
+
+  // to display game title
+  TextImage title = new TextImage("Prepare to Be A-mazed", 20, FontStyle.BOLD, Color.BLACK);
+
+  // to display game instructions
+  TextImage instructions1 = new TextImage("Press B to search the maze with breadth-first search",
+      10, Color.BLACK);
+
+  // to display more game instructions
+  TextImage instructions2 = new TextImage("and D to search the maze with depth-first search.", 10,
+      Color.BLACK);
+
+  // to display game reset instructions
+  TextImage resetInfo = new TextImage("Press R to reset the game, N to create a new maze,", 10,
+      Color.BLACK);
+
+  // to display more game reset instructions
+  TextImage resetInfo2 = new TextImage("H to create a new horizontally-biased maze,", 10,
+      Color.BLACK);
+
+  // to display even more game reset instructions
+  TextImage resetInfo3 = new TextImage("or V to create a new vertically-biased maze.", 10,
+      Color.BLACK);
+
+  // to display which search is currently being used
+  TextImage mode = new TextImage("", 15, Color.BLACK);
+
+  // to display whether or not the game is currently paused
+  TextImage pause = new TextImage("", 15, Color.BLACK);
+
+  // to display how every search does on the maze once it has been solved
+  TextImage comparison = new TextImage("", 10, Color.BLACK);
+
+  // length of the maze
+  int length;
+
+  // width of the maze
+  int width;
+
+  // to randomly assign edge weights
+  Random rand;
+
+  // the bias of the mazes made with the "[" and "]" keys, from -1 for
+  // horizontal corridors to 1 for vertical corridors
+  double bias;
+
+  // the field the bias follows
+  IBiasField field;
+
+  // to represent all the spaces in the maze
+  ArrayList<ArrayList<Vertex>> maze;
+
+  // to represent all the Edges between vertices in the maze
+  EdgeList edges;
+
+  // to associate each Vertex in the maze with a representative element Vertex
+  // a Vertex with no entry takes the representative of its cell in sets
+  HashMap<Vertex, Vertex> representatives;
+
+  // the groups of cells joined by the last maze built, or null if every Vertex
+  // without an entry in representatives is its own representative
+  UnionFind sets;
+
+  // to represent minimum spanning tree for the maze
+  EdgeList mst;
+
+  // to represent the walls left standing by the minimum spanning tree
+  IMaze walls;
+
+  // to look up the open directions of each cell while searching, indexed from
+  // walls
+  IMaze openings;
+
+  // the junctions of the maze between the start and the end, made the first time
+  // they are searched after the walls change
+  JunctionGraph junctions;
+
+  // to indicate whether breadth-first, depth-first and A* search search the
+  // junctions of the maze instead of every cell
+  boolean onJunctions;
+
+  // to draw the game
+  WorldScene scene;
+
+  // to indicate whether or not the maze is currently being searched
+  boolean searching;
+
+  // to indicate whether or not the search is paused
+  boolean paused;
+
+  // to indicate whether or not the maze solution has been found
+  boolean finished;
+
+  // the search being replayed, one searched cell per tick
+  SearchResult solution;
+
+  // to keep track of which cells have already been searched, one bit per cell
+  long[] visited;
+
+  // the cells that have been searched, in the order they were searched
+  int[] visitOrder;
+
+  // the number of cells searched so far
+  int searched;
+
+  // the number of searched cells that have been colored so far
+  int colored;
+
+  // the cells on the correct path from the start of the maze to the end, in order
+  int[] path;
+
+  // the number of cells on the correct path that have been colored so far
+  int pathColored;
+
+  // the number of searched cells replayed each tick, and of searched and path
+  // cells colored each frame
+  int stepsPerTick;
+
+  // the nanoseconds each tick and frame may spend replaying and coloring cells,
+  // or 0 to replay and color stepsPerTick cells instead
+  long tickBudget;
+
+  // to run the searches and make the mazes picked by the keys
+  Executor worker;
+
+  // the search or maze being worked on, or null if there is none
+  AMazeJob job;
+
+  // the MazeSolver of the open directions kept between searches, or null until a
+  // search needs one
+  MazeSolver solver;
+
+  // the job solver was last lent to, or null if it has not been lent
+  AMazeJob borrower;
+
+  // the column and row of the cell drawn in the top left corner of the board,
+  // which move when a board generated in chunks is scrolled
+  int viewX;
+
+  int viewY;
+
+  // the most cells drawn across and down a board generated in chunks, which has
+  // no Vertex grid and is only drawn a view at a time
+  static final int VIEW_CELLS = 40;
+
+  // constructor for this MazeWorld
+  MazeWorld(int length, int width) {
+    this.length = length;
+    this.width = width;
+    this.rand = new Random();
+    this.worker = ForkJoinPool.commonPool();
+    this.bias = 0;
+    this.field = new UniformField();
+    this.maze = new ArrayList<ArrayList<Vertex>>();
+    this.edges = new EdgeList(0);
+    this.representatives = new HashMap<Vertex, Vertex>();
+    this.sets = null;
+    this.solver = null;
+    this.borrower = null;
+    this.scene = new WorldScene(220 + 20 * this.length, 220 + 20 * this.width);
+    this.generateMaze();
+    this.assignEdges();
+    this.mst = this.kruskal();
+    this.time = 0;
+    this.searching = false;
+    this.paused = false;
+    this.finished = false;
+    this.onJunctions = false;
+    this.visited = new long[(this.length * this.width + 63) / 64];
+    this.visitOrder = new int[this.length * this.width];
+    this.searched = 0;
+    this.colored = 0;
+    this.solution = new SearchResult(new int[0], new int[0]);
+    this.path = new int[0];
+    this.pathColored = 0;
+    this.stepsPerTick = 1;
+    this.tickBudget = 0;
+    this.viewX = 0;
+    this.viewY = 0;
+  }
+
+  // constructor for this MazeWorld with seeded random for testing
+  // its searches and mazes are worked on as soon as they are picked, on the
+  // thread that picks them
+  MazeWorld(int length, int width, Random rand) {
+    this.length = length;
+    this.width = width;
+    this.rand = rand;
+    this.worker = new DirectExecutor();
+    this.bias = 0;
+    this.field = new UniformField();
+    this.maze = new ArrayList<ArrayList<Vertex>>();
+    this.edges = new EdgeList(0);
+    this.representatives = new HashMap<Vertex, Vertex>();
+    this.sets = null;
+    this.solver = null;
+    this.borrower = null;
+    this.scene = new WorldScene(220 + 20 * this.length, 220 + 20 * this.width);
+    this.generateMaze();
+    this.assignEdges();
+    this.mst = this.kruskal();
+    this.time = 0;
+    this.searching = false;
+    this.paused = false;
+    this.finished = false;
+    this.onJunctions = false;
+    this.visited = new long[(this.length * this.width + 63) / 64];
+    this.visitOrder = new int[this.length * this.width];
+    this.searched = 0;
+    this.colored = 0;
+    this.solution = new SearchResult(new int[0], new int[0]);
+    this.path = new int[0];
+    this.pathColored = 0;
+    this.stepsPerTick = 1;
+    this.tickBudget = 0;
+    this.viewX = 0;
+    this.viewY = 0;
+  }
+
+  // constructor for a MazeWorld with no maze yet, of the given size and with the
+  // given bias and field, for a GenerateJob to make a maze in
+  // it is never searched, so it keeps no searched cells
+  MazeWorld(int length, int width, double bias, IBiasField field) {
+    this.length = length;
+    this.width = width;
+    this.rand = new Random();
+    this.worker = new DirectExecutor();
+    this.bias = bias;
+    this.field = field;
+    this.maze = new ArrayList<ArrayList<Vertex>>();
+    this.edges = new EdgeList(0);
+    this.representatives = new HashMap<Vertex, Vertex>();
+    this.sets = null;
+    this.solver = null;
+    this.borrower = null;
+    this.mst = new EdgeList(0);
+    this.time = 0;
+    this.searching = false;
+    this.paused = false;
+    this.finished = false;
+    this.onJunctions = false;
+    this.visited = new long[0];
+    this.visitOrder = new int[0];
+    this.searched = 0;
+    this.colored = 0;
+    this.solution = new SearchResult(new int[0], new int[0]);
+    this.path = new int[0];
+    this.pathColored = 0;
+    this.stepsPerTick = 1;
+    this.tickBudget = 0;
+    this.viewX = 0;
+    this.viewY = 0;
+  }
+
+  // EFFECT: fills this MazeWorld's board with vertices and
+  // associates each Vertex with itself in this MazeWorld's representatives
+  // HashMap
+  void generateMaze() {
+    for (int i = 0; i < this.width; i++) {
+      this.maze.add(i, new ArrayList<Vertex>());
+      for (int j = 0; j < this.length; j++) {
+        if (i == 0 && j == 0) {
+          this.maze.get(i).add(new Vertex(j, i, Color.GREEN));
+          this.representatives.put(this.maze.get(i).get(j), this.maze.get(i).get(j));
+        }
+        else if (i == this.width - 1 && j == this.length - 1) {
+          this.maze.get(i).add(new Vertex(j, i, Color.RED));
+          this.representatives.put(this.maze.get(i).get(j), this.maze.get(i).get(j));
+        }
+        else {
+          this.maze.get(i).add(new Vertex(j, i));
+          this.representatives.put(this.maze.get(i).get(j), this.maze.get(i).get(j));
+        }
+      }
+    }
+  }
+
+  // returns a pool holding each of the weights from the given lower bound
+  // (inclusive) to the given upper bound (exclusive)
+  int[] weightPool(int from, int to) {
+    int[] pool = new int[to - from];
+    for (int a = 0; a < pool.length; a++) {
+      pool[a] = from + a;
+    }
+    return pool;
+  }
+
+  // returns a weight chosen at random from the first given number of weights in
+  // the given pool
+  // EFFECT: swaps the chosen weight to the end of that range so the weights not
+  // drawn yet stay at the front (one step of a Fisher-Yates shuffle)
+  int drawWeight(int[] pool, int remaining) {
+    int idx = this.rand.nextInt(remaining);
+    int weight = pool[idx];
+    pool[idx] = pool[remaining - 1];
+    pool[remaining - 1] = weight;
+    return weight;
+  }
+
+  // EFFECT: adds Edges of unique weights connecting this MazeWorld's vertices
+  // to their bottom and right neighbors if they have them
+  void assignEdges() {
+    int[] weights = this.weightPool(0,
+        this.length * (this.width - 1) + (this.length - 1) * this.width);
+    int remaining = weights.length;
+    this.edges = new EdgeList(weights.length);
+    for (int i = 0; i < this.width; i++) {
+      for (int j = 0; j < this.length; j++) {
+        if (j < this.length - 1) {
+          this.edges.add(this.drawWeight(weights, remaining), i * this.length + j,
+              EdgeList.RIGHT);
+          remaining--;
+        }
+        if (i < this.width - 1) {
+          this.edges.add(this.drawWeight(weights, remaining), i * this.length + j,
+              EdgeList.DOWN);
+          remaining--;
+        }
+      }
+    }
+  }
+
+  // EFFECT: adds Edges of unique weights connecting this MazeWorld's vertices
+  // to their bottom and right neighbors if they have them
+  // if the given boolean is true,
+  // gives horizontal Edges lower weights so they have a better chance of getting
+  // added to the MST
+  // therefore constructing a maze with a preference for horizontal corridors
+  // if the given boolean is false,
+  // gives vertical Edges lower weights so they have a better chance of getting
+  // added to the MST
+  // therefore constructing a maze with a preference for vertical corridors
+  void assignEdgesBias(boolean bias) {
+    int horizontalCount = (this.length - 1) * this.width;
+    int verticalCount = this.length * (this.width - 1);
+    int[] horizontalWeights;
+    int[] verticalWeights;
+
+    if (bias) {
+      horizontalWeights = this.weightPool(0, horizontalCount);
+      verticalWeights = this.weightPool(horizontalCount, horizontalCount + verticalCount);
+    }
+    else {
+      verticalWeights = this.weightPool(0, verticalCount);
+      horizontalWeights = this.weightPool(verticalCount, verticalCount + horizontalCount);
+    }
+
+    this.edges = new EdgeList(horizontalCount + verticalCount);
+    for (int i = 0; i < this.width; i++) {
+      for (int j = 0; j < this.length; j++) {
+        if (j < this.length - 1) {
+          this.edges.add(this.drawWeight(horizontalWeights, horizontalCount),
+              i * this.length + j, EdgeList.RIGHT);
+          horizontalCount--;
+        }
+        if (i < this.width - 1) {
+          this.edges.add(this.drawWeight(verticalWeights, verticalCount), i * this.length + j,
+              EdgeList.DOWN);
+          verticalCount--;
+        }
+      }
+    }
+  }
+
+  // returns the packed Edge, with weight 0, that assignEdges() adds with the
+  // given index: the Edges go row by row, each cell adding the Edge to its right
+  // and then the Edge below it
+  long edgeAtIndex(int index) {
+    int perRow = 2 * this.length - 1;
+    int y = index / perRow;
+    int offset = index % perRow;
+    if (y == this.width - 1) {
+      return EdgeList.pack(0, y * this.length + offset, EdgeList.RIGHT);
+    }
+    else if (offset == perRow - 1) {
+      return EdgeList.pack(0, y * this.length + this.length - 1, EdgeList.DOWN);
+    }
+    else {
+      return EdgeList.pack(0, y * this.length + offset / 2,
+          offset % 2 == 0 ? EdgeList.RIGHT : EdgeList.DOWN);
+    }
+  }
+
+  // EFFECT: adds the same Edges as assignEdges(), weighed by the given
+  // CounterWeights instead of this MazeWorld's Random, working them out on the
+  // given pool
+  void assignEdgesCounter(CounterWeights weights, ForkJoinPool pool) {
+    this.edges = new EdgeList(weights.size);
+    this.edges.size = weights.size;
+    pool.invoke(new EdgeFillTask(this, weights, 0, weights.size));
+  }
+
+  // EFFECT: adds Edges of unique weights connecting this MazeWorld's vertices
+  // to their bottom and right neighbors if they have them, skewed by the given
+  // bias from -1, which gives every Edge across the given field's horizontal a
+  // lower weight than every Edge along its vertical, to 1, which does the
+  // opposite, with 0 giving no bias at all
+  // each Edge is scored by mixing a random number with how much it goes against
+  // the bias where it is, and the scores are put in order with a counting sort
+  // into as many buckets as there are Edges, so the weights come out in linear
+  // time
+  // the Edges in each bucket are shuffled, so Edges with the same score are
+  // weighed in a random order, even at full strength where the score is the
+  // field alone
+  void assignEdgesBias(double bias, IBiasField field) {
+    int total = this.length * (this.width - 1) + (this.length - 1) * this.width;
+    double strength = Math.abs(bias);
+    int[] buckets = new int[total];
+    int[] starts = new int[total + 1];
+    for (int i = 0; i < total; i++) {
+      long e = this.edgeAtIndex(i);
+      int x = EdgeList.cellOf(e) % this.length;
+      int y = EdgeList.cellOf(e) / this.length;
+      double against;
+      if (EdgeList.directionOf(e) == EdgeList.RIGHT) {
+        against = 1 - field.alignment(x + 0.5, y, this.length, this.width);
+      }
+      else {
+        against = field.alignment(x, y + 0.5, this.length, this.width);
+      }
+      if (bias > 0) {
+        against = 1 - against;
+      }
+      double score = (1 - strength) * this.rand.nextDouble() + strength * against;
+      buckets[i] = Math.min(total - 1, (int) (score * total));
+      starts[buckets[i] + 1]++;
+    }
+    for (int b = 0; b < total; b++) {
+      starts[b + 1] += starts[b];
+    }
+
+    int[] order = new int[total];
+    for (int i = 0; i < total; i++) {
+      order[starts[buckets[i]]] = i;
+      starts[buckets[i]]++;
+    }
+    int lo = 0;
+    while (lo < total) {
+      int hi = lo + 1;
+      while (hi < total && buckets[order[hi]] == buckets[order[lo]]) {
+        hi++;
+      }
+      for (int j = hi - 1; j > lo; j--) {
+        int k = lo + this.rand.nextInt(j - lo + 1);
+        int swap = order[j];
+        order[j] = order[k];
+        order[k] = swap;
+      }
+      lo = hi;
+    }
+    int[] weights = new int[total];
+    for (int w = 0; w < total; w++) {
+      weights[order[w]] = w;
+    }
+
+    this.edges = new EdgeList(total);
+    for (int i = 0; i < total; i++) {
+      long e = this.edgeAtIndex(i);
+      this.edges.add(weights[i], EdgeList.cellOf(e), EdgeList.directionOf(e));
+    }
+  }
+
+  // trace the given Vertex through this MazeWorld's HashMap of representatives
+  // to find and return the Vertex it ultimately points to
+  Vertex find(Vertex v, ArrayList<Vertex> checked) {
+    if (checked.contains(v)) {
+      return v;
+    }
+    else {
+      Vertex representative = this.representativeOf(v);
+      if (v.equals(representative)) {
+        return v;
+      }
+      else {
+        checked.add(v);
+        return this.find(representative, checked);
+      }
+    }
+  }
+
+  // returns the Vertex the given Vertex points to: its entry in representatives
+  // if it has one, and otherwise the Vertex of the root of its cell in sets,
+  // which is only looked up when it is asked for
+  Vertex representativeOf(Vertex v) {
+    Vertex representative = this.representatives.get(v);
+    if (representative != null) {
+      return representative;
+    }
+    else if (this.sets == null) {
+      return v;
+    }
+    else {
+      return this.vertexAt(this.sets.find(this.cellIndex(v)));
+    }
+  }
+
+  // EFFECT: sets the value of one representative’s representative to the other
+  void union(Vertex that, Vertex another) {
+    this.representatives.put(this.find(another, new ArrayList<Vertex>()),
+        this.find(that, new ArrayList<Vertex>()));
+  }
+
+  // returns the dense index of the given Vertex in this MazeWorld's maze
+  int cellIndex(Vertex v) {
+    return v.y * this.length + v.x;
+  }
+
+  // returns the Vertex in this MazeWorld's maze with the given dense index
+  Vertex vertexAt(int cell) {
+    return this.maze.get(cell / this.length).get(cell % this.length);
+  }
+
+  // returns a minimum spanning tree using Kruskal's algorithm on this MazeWorld's
+  // maze
+  // the weights handed out by assignEdges() and assignEdgesBias(boolean) are
+  // exactly 0 through edges.size() - 1, so the Edges are put in weight order by
+  // dropping each one into the slot of its weight instead of sorting them
+  // EFFECT: unions all of the vertices in this MazeWorld to the same
+  // representative group
+  EdgeList kruskal() {
+    long[] byWeight = new long[this.edges.size()];
+    for (int i = 0; i < this.edges.size(); i++) {
+      byWeight[this.edges.weight(i)] = this.edges.get(i);
+    }
+    return this.spanningTree(byWeight);
+  }
+
+  // returns a minimum spanning tree using Kruskal's algorithm on this MazeWorld's
+  // maze, sorting the Edges by weight so any set of distinct weights works
+  // packed Edges keep their weight in their upper bits, so they sort by weight
+  // EFFECT: unions all of the vertices in this MazeWorld to the same
+  // representative group
+  EdgeList kruskalBySort() {
+    long[] worklistEdges = Arrays.copyOf(this.edges.packed, this.edges.size());
+    Arrays.sort(worklistEdges);
+    return this.spanningTree(worklistEdges);
+  }
+
+  // returns the Edges of the given weight-ordered packed Edges that join two
+  // different groups of vertices, stopping as soon as every vertex is in the tree
+  // EFFECT: unions all of the vertices in this MazeWorld to the same
+  // representative group and takes down the walls of this MazeWorld along the
+  // Edges of the tree
+  EdgeList spanningTree(long[] worklistEdges) {
+    int treeSize = this.length * this.width - 1;
+    EdgeList edgesInTree = new EdgeList(treeSize);
+    UnionFind sets = new UnionFind(this.length * this.width);
+    WallGrid grid = new WallGrid(this.length, this.width);
+    for (long e : worklistEdges) {
+      if (edgesInTree.size() == treeSize) {
+        break;
+      }
+      if (sets.union(EdgeList.cellOf(e), EdgeList.otherOf(e, this.length))) {
+        edgesInTree.add(e);
+        grid.open(e);
+      }
+    }
+    this.useWalls(grid);
+    this.updateRepresentatives(sets);
+    return edgesInTree;
+  }
+
+  // returns a minimum spanning tree using Kruskal's algorithm on this MazeWorld's
+  // maze weighed by the given CounterWeights, which is the same tree kruskal()
+  // returns after assignEdgesCounter(CounterWeights, ForkJoinPool)
+  // the Edge with each weight is worked out in turn, so the Edges are never
+  // stored or sorted, and edges is left empty
+  // EFFECT: unions all of the vertices in this MazeWorld to the same
+  // representative group and takes down the walls of this MazeWorld along the
+  // Edges of the tree
+  EdgeList kruskalCounter(CounterWeights weights) {
+    int treeSize = this.length * this.width - 1;
+    EdgeList edgesInTree = new EdgeList(treeSize);
+    UnionFind sets = new UnionFind(this.length * this.width);
+    WallGrid grid = new WallGrid(this.length, this.width);
+    for (int w = 0; w < weights.size && edgesInTree.size() < treeSize; w++) {
+      long e = this.edgeAtIndex(weights.indexOf(w));
+      if (sets.union(EdgeList.cellOf(e), EdgeList.otherOf(e, this.length))) {
+        e = EdgeList.pack(w, EdgeList.cellOf(e), EdgeList.directionOf(e));
+        edgesInTree.add(e);
+        grid.open(e);
+      }
+    }
+    this.useWalls(grid);
+    this.edges = new EdgeList(0);
+    this.updateRepresentatives(sets);
+    return edgesInTree;
+  }
+
+  // returns a minimum spanning tree using Filter-Kruskal on the given pool, which
+  // is the same tree kruskal() returns
+  // EFFECT: unions all of the vertices in this MazeWorld to the same
+  // representative group and takes down the walls of this MazeWorld along the
+  // Edges of the tree
+  EdgeList kruskalParallel(ForkJoinPool pool) {
+    FilterKruskal builder = new FilterKruskal(pool, this.length, this.width);
+    EdgeList edgesInTree = builder.run(Arrays.copyOf(this.edges.packed, this.edges.size()));
+    this.useWalls(builder.walls);
+    this.updateRepresentatives(builder.sets);
+    return edgesInTree;
+  }
+
+  // EFFECT: takes down the walls of this MazeWorld with the given generator and
+  // keeps the passages it opens as this MazeWorld's minimum spanning tree
+  // the generators do not weigh the Edges, so the passages all have weight 0 and
+  // edges is left empty
+  void generateWith(IMazeGenerator generator) {
+    this.useWalls(generator.generate(this.length, this.width, this.rand));
+    this.edges = new EdgeList(0);
+    this.mst = new EdgeList(this.length * this.width - 1);
+    UnionFind sets = new UnionFind(this.length * this.width);
+    for (int cell = 0; cell < this.length * this.width; cell++) {
+      for (int direction = EdgeList.RIGHT; direction <= EdgeList.DOWN; direction++) {
+        if (this.walls.isOpen(cell, direction)) {
+          long edge = EdgeList.pack(0, cell, direction);
+          this.mst.add(edge);
+          sets.union(cell, EdgeList.otherOf(edge, this.length));
+        }
+      }
+    }
+    this.updateRepresentatives(sets);
+  }
+
+  // EFFECT: swaps this MazeWorld's walls for a ChunkedMaze of the same size
+  // generated from the given seed, so no chunk is built until the board is drawn
+  // or searched, and at most ChunkedMaze.CACHED_CHUNKS are kept at a time
+  // the board has no Vertex grid, so making it takes the same time however big
+  // it is, and it is drawn a view of at most VIEW_CELLS cells across and down at
+  // a time, which overlaps far fewer chunks than are kept
+  // the passages are not known up front, so edges and mst are left empty
+  // the searches still keep a bit or an int for every cell they search, a
+  // ChunkedMaze walked on its own by a WallFollower takes bounded memory throughout
+  void generateChunked(long seed) {
+    this.useWalls(new ChunkedMaze(this.length, this.width, seed, ChunkedMaze.CHUNK_SIZE,
+        ChunkedMaze.CACHED_CHUNKS));
+    this.maze = new ArrayList<ArrayList<Vertex>>();
+    this.representatives = new HashMap<Vertex, Vertex>();
+    this.sets = null;
+    this.edges = new EdgeList(0);
+    this.mst = new EdgeList(0);
+    this.mode = new TextImage("", 15, Color.BLACK);
+    this.viewX = 0;
+    this.viewY = 0;
+  }
+
+  // returns true if this MazeWorld has a Vertex for every cell of its board,
+  // which it does unless the board is generated in chunks
+  boolean hasGrid() {
+    return !this.maze.isEmpty();
+  }
+
+  // returns the number of cells drawn across the board
+  int viewLength() {
+    if (this.hasGrid()) {
+      return this.length;
+    }
+    else {
+      return Math.min(this.length, MazeWorld.VIEW_CELLS);
+    }
+  }
+
+  // returns the number of cells drawn down the board
+  int viewWidth() {
+    if (this.hasGrid()) {
+      return this.width;
+    }
+    else {
+      return Math.min(this.width, MazeWorld.VIEW_CELLS);
+    }
+  }
+
+  // EFFECT: moves the view of this MazeWorld's board half a view the way of the
+  // given arrow key, keeping it on the board
+  void scroll(String key) {
+    int x = this.viewX;
+    int y = this.viewY;
+    if (key.equals("left")) {
+      x -= this.viewLength() / 2;
+    }
+    else if (key.equals("right")) {
+      x += this.viewLength() / 2;
+    }
+    else if (key.equals("up")) {
+      y -= this.viewWidth() / 2;
+    }
+    else {
+      y += this.viewWidth() / 2;
+    }
+    this.viewX = Math.max(0, Math.min(this.length - this.viewLength(), x));
+    this.viewY = Math.max(0, Math.min(this.width - this.viewWidth(), y));
+  }
+
+  // EFFECT: makes the given maze this MazeWorld's walls and indexes its open
+  // directions for searching
+  void useWalls(IMaze maze) {
+    this.walls = maze;
+    this.openings = maze.indexed();
+    this.junctions = null;
+    this.solver = null;
+    this.borrower = null;
+  }
+
+  // returns the MazeSolver kept for this MazeWorld's open directions for the
+  // given job to search with, or a new MazeSolver of its own if the job the kept
+  // one was lent to is still running, so no two jobs search with the same one
+  // EFFECT: makes the kept MazeSolver if the walls have changed since it was made,
+  // and lends it to the given job
+  MazeSolver lendSolver(AMazeJob job) {
+    if (this.solver == null) {
+      this.solver = new MazeSolver(this.openings, this.length, this.width);
+    }
+    else if (this.borrower != null && !this.borrower.ended) {
+      return new MazeSolver(this.openings, this.length, this.width);
+    }
+    this.borrower = job;
+    return this.solver;
+  }
+
+  // returns the junctions of this MazeWorld's maze
+  // EFFECT: makes them if the walls have changed since they were last made
+  JunctionGraph junctionGraph() {
+    if (this.junctions == null) {
+      this.junctions = new JunctionGraph(this.openings, this.length, this.width);
+    }
+    return this.junctions;
+  }
+
+  // EFFECT: points every Vertex in this MazeWorld at the Vertex of the root of
+  // its set in the given UnionFind, by keeping the UnionFind for find to read
+  // from and emptying representatives, rather than writing every Vertex back
+  void updateRepresentatives(UnionFind sets) {
+    this.representatives = new HashMap<Vertex, Vertex>();
+    this.sets = sets;
+  }
+
+  // returns String representation of the elapsed time
+  public String getTime() {
+    if (!this.finished) {
+      return "Time Elapsed: " + Integer.toString(this.time / 20);
+    }
+    else {
+      return "Total Time Taken: " + Integer.toString(this.time / 20);
+    }
+  }
+
+  // returns WorldScene with all of this MazeWorld's vertices and information
+  // drawn on it
+  public WorldScene makeScene() {
+    int length = this.viewLength();
+    int width = this.viewWidth();
+    WorldScene scene = new WorldScene(220 + 20 * length, 220 + 20 * width);
+    scene.placeImageXY(this.title, (220 + 20 * length) / 2, 12);
+    scene.placeImageXY(this.instructions1, (220 + 20 * length) / 2, 30);
+    scene.placeImageXY(this.instructions2, (220 + 20 * length) / 2, 40);
+    scene.placeImageXY(this.resetInfo, (220 + 20 * length) / 2, (220 + 20 * width) - 30);
+    scene.placeImageXY(this.resetInfo2, (220 + 20 * length) / 2, (220 + 20 * width) - 20);
+    scene.placeImageXY(this.resetInfo3, (220 + 20 * length) / 2, (220 + 20 * width) - 10);
+    TextImage timer = new TextImage(this.getTime(), 15, Color.BLACK);
+    scene.placeImageXY(timer, (220 + 20 * length) / 2, (220 + 20 * width) - 50);
+    scene.placeImageXY(this.mode, (220 + 20 * length) / 2, 60);
+    if (this.searching) {
+      scene.placeImageXY(this.pause, (200 + 20 * length) / 2, 80);
+    }
+    if (this.job != null) {
+      scene.placeImageXY(new TextImage(this.job.progress(), 10, Color.BLACK),
+          (220 + 20 * length) / 2, 95);
+    }
+
+    if (this.finished) {
+      TextImage soFar = new TextImage("Total Vertices Searched: " + this.searched, 15,
+          Color.BLACK);
+      scene.placeImageXY(soFar, (220 + 20 * length) / 2, (220 + 20 * width) - 100);
+      TextImage stats = new TextImage("The correct path is " + this.path.length + " vertices long",
+          15, Color.BLACK);
+      scene.placeImageXY(stats, (220 + 20 * length) / 2, (220 + 20 * width) - 85);
+      TextImage stats2 = new TextImage(
+          (this.searched - this.path.length) + " wrong steps were taken", 15,
+          Color.BLACK);
+      scene.placeImageXY(stats2, (220 + 20 * length) / 2, (220 + 20 * width) - 70);
+      scene.placeImageXY(this.comparison, (220 + 20 * length) / 2,
+          (220 + 20 * width) - 60);
+    }
+    else {
+      TextImage soFar = new TextImage("Vertices searched so far: " + this.searched, 15,
+          Color.BLACK);
+      scene.placeImageXY(soFar, (220 + 20 * length) / 2, (220 + 20 * width) - 100);
+    }
+
+    if (this.hasGrid()) {
+      for (ArrayList<Vertex> row : this.maze) {
+        for (Vertex v : row) {
+          v.drawVertex(scene);
+        }
+      }
+    }
+    else {
+      this.drawCells(scene);
+    }
+    this.drawWalls(scene);
+
+    long start = System.nanoTime();
+    for (int steps = 0; this.colored < this.searched && this.moreSteps(steps, start); steps++) {
+      if (this.hasGrid()) {
+        this.vertexAt(this.visitOrder[this.colored]).changeColor(Color.CYAN);
+      }
+      this.colored++;
+    }
+
+    for (int steps = 0; this.pathColored < this.path.length
+        && this.moreSteps(steps, start); steps++) {
+      if (this.hasGrid()) {
+        this.vertexAt(this.path[this.pathColored]).changeColor(Color.BLUE);
+      }
+      this.pathColored++;
+    }
+
+    return scene;
+  }
+
+  // EFFECT: draws the cells in view of this MazeWorld's board on the given scene,
+  // for a board with no Vertex grid to draw, colored by what has been replayed of
+  // the search so far
+  void drawCells(WorldScene scene) {
+    for (int y = 0; y < this.viewWidth(); y++) {
+      for (int x = 0; x < this.viewLength(); x++) {
+        new Vertex(x, y, this.colorOf((this.viewY + y) * this.length + this.viewX + x))
+            .drawVertex(scene);
+      }
+    }
+    for (int i = 0; i < this.pathColored; i++) {
+      int x = this.path[i] % this.length - this.viewX;
+      int y = this.path[i] / this.length - this.viewY;
+      if (x >= 0 && x < this.viewLength() && y >= 0 && y < this.viewWidth()) {
+        new Vertex(x, y, Color.BLUE).drawVertex(scene);
+      }
+    }
+  }
+
+  // returns the Color of the given cell of a board with no Vertex grid, off the
+  // path, from what has been replayed of the search so far
+  Color colorOf(int cell) {
+    if (this.isVisited(cell)) {
+      return Color.CYAN;
+    }
+    else if (cell == 0) {
+      return Color.GREEN;
+    }
+    else if (cell == this.length * this.width - 1) {
+      return Color.RED;
+    }
+    else {
+      return Color.GRAY;
+    }
+  }
+
+  // EFFECT: draws the walls of the cells in view of this MazeWorld's board on the
+  // given scene, so a ChunkedMaze only generates the few chunks the view overlaps
+  void drawWalls(WorldScene scene) {
+    for (int y = 0; y < this.viewWidth(); y++) {
+      for (int x = 0; x < this.viewLength(); x++) {
+        int cell = (this.viewY + y) * this.length + this.viewX + x;
+        Vertex v = new Vertex(x, y);
+        if (this.viewX + x < this.length - 1 && !this.walls.isOpen(cell, EdgeList.RIGHT)) {
+          v.drawWallBetween(new Vertex(x + 1, y), scene);
+        }
+        if (this.viewY + y < this.width - 1 && !this.walls.isOpen(cell, EdgeList.DOWN)) {
+          v.drawWallBetween(new Vertex(x, y + 1), scene);
+        }
+      }
+    }
+  }
+
+  // ticks the clock and updates this MazeWorld
+  public void onTick() {
+
+    this.collect();
+    if (!this.paused) {
+      if (this.searching) {
+
+        this.time++;
+
+        long start = System.nanoTime();
+        for (int steps = 0; this.searched < this.solution.searched
+            && this.moreSteps(steps, start); steps++) {
+          this.visit(this.solution.visitOrder[this.searched]);
+        }
+        if (this.searched == this.solution.searched) {
+          this.searching = false;
+          this.finished = this.solution.path.length > 0;
+          this.showPath();
+        }
+      }
+    }
+  }
+
+  // returns true if another cell can be replayed or colored this tick, after the
+  // given number of cells since the given System.nanoTime()
+  // at least one cell always can be, however long the tick has taken
+  boolean moreSteps(int steps, long start) {
+    if (this.tickBudget > 0) {
+      return steps == 0 || System.nanoTime() - start < this.tickBudget;
+    }
+    else {
+      return steps < this.stepsPerTick;
+    }
+  }
+
+  // EFFECT: shows the speed of the search in the mode text
+  void showSpeed() {
+    if (this.tickBudget > 0) {
+      this.mode = new TextImage("speed: as many cells as fit in "
+          + this.tickBudget / 1000000 + " ms a tick", 15, Color.BLACK);
+    }
+    else {
+      this.mode = new TextImage("speed: " + this.stepsPerTick + " cells a tick", 15,
+          Color.BLACK);
+    }
+  }
+
+  // EFFECT: shows the solution's path, to be colored from the start at the speed
+  // of the search
+  void showPath() {
+    this.path = this.solution.path;
+    this.pathColored = 0;
+  }
+
+  // returns true if the cell with the given index has already been searched
+  boolean isVisited(int cell) {
+    return (this.visited[cell >>> 6] & (1L << cell)) != 0;
+  }
+
+  // EFFECT: marks the cell with the given index as searched and adds it to the
+  // end of the visit order
+  void visit(int cell) {
+    this.visited[cell >>> 6] |= 1L << cell;
+    this.visitOrder[this.searched] = cell;
+    this.searched++;
+  }
+
+  // EFFECT: starts replaying the given solution of the search with the given
+  // name, showing the given comparison of searches once it is done
+  void startSearch(String name, SearchResult solution, String comparison) {
+    this.reset();
+    this.mode = new TextImage("currently using " + name, 15, Color.BLACK);
+    this.scene = new WorldScene(220 + 20 * this.viewLength(), 220 + 20 * this.viewWidth());
+    this.searching = true;
+    this.finished = false;
+    this.solution = solution;
+    this.comparison = new TextImage(comparison, 10, Color.BLACK);
+    this.clearColors();
+  }
+
+  // EFFECT: colors every Vertex of this MazeWorld gray but the start and the end,
+  // if it has a Vertex grid
+  void clearColors() {
+    if (this.hasGrid()) {
+      for (ArrayList<Vertex> row : this.maze) {
+        for (Vertex v : row) {
+          v.changeColor(Color.GRAY);
+        }
+      }
+      this.maze.get(0).get(0).changeColor(Color.GREEN);
+      this.maze.get(this.width - 1).get(this.length - 1).changeColor(Color.RED);
+    }
+  }
+
+  // EFFECT: resets game fields for new mazes or searches
+  public void reset() {
+    this.time = 0;
+    Arrays.fill(this.visited, 0);
+    this.searched = 0;
+    this.colored = 0;
+    this.path = new int[0];
+    this.pathColored = 0;
+    this.paused = false;
+    this.pause = new TextImage("", 15, Color.BLACK);
+  }
+
+  // EFFECT: resets game fields for new mazes
+  public void newMaze() {
+    this.rand = new Random();
+    this.maze = new ArrayList<ArrayList<Vertex>>();
+    this.edges = new EdgeList(0);
+    this.representatives = new HashMap<Vertex, Vertex>();
+    this.sets = null;
+    this.useWalls(new WallGrid(this.length, this.width));
+    this.scene = new WorldScene(220 + 20 * this.length, 220 + 20 * this.width);
+    this.generateMaze();
+    this.mode = new TextImage("", 15, Color.BLACK);
+    this.searching = false;
+    this.finished = false;
+    this.paused = false;
+    this.pause = new TextImage("", 15, Color.BLACK);
+  }
+
+  // EFFECT: resets the game (initializes all fields) and creates a new board
+  // skewed by this MazeWorld's bias and field, showing them in place of the
+  // search mode
+  void newBiasedMaze() {
+    this.reset();
+    this.newMaze();
+    this.assignEdgesBias(this.bias, this.field);
+    this.mst = this.kruskal();
+    this.showBias();
+  }
+
+  // EFFECT: shows this MazeWorld's bias and field in place of the search mode
+  void showBias() {
+    this.mode = new TextImage("bias " + String.format("%.2f", this.bias) + " with a "
+        + this.field.name() + " field", 15, Color.BLACK);
+  }
+
+  // EFFECT: resets the game and takes the maze of the given MazeWorld, made by a
+  // GenerateJob, as this MazeWorld's maze, all at once
+  void adopt(MazeWorld fresh) {
+    this.reset();
+    this.rand = fresh.rand;
+    this.maze = fresh.maze;
+    this.edges = fresh.edges;
+    this.representatives = fresh.representatives;
+    this.sets = fresh.sets;
+    this.mst = fresh.mst;
+    this.viewX = 0;
+    this.viewY = 0;
+    this.walls = fresh.walls;
+    this.openings = fresh.openings;
+    this.junctions = fresh.junctions;
+    this.solver = null;
+    this.borrower = null;
+    this.scene = fresh.scene;
+    this.mode = fresh.mode;
+    this.searching = false;
+    this.finished = false;
+  }
+
+  // EFFECT: cancels the job in progress, if there is one, and starts the given
+  // job on the worker, taking its result if it is already done
+  void startJob(AMazeJob job) {
+    this.cancelJob();
+    this.job = job;
+    this.worker.execute(job);
+    this.collect();
+  }
+
+  // EFFECT: cancels the job in progress, if there is one
+  void cancelJob() {
+    if (this.job != null) {
+      this.job.cancel();
+      this.job = null;
+    }
+  }
+
+  // EFFECT: hands the result of the job in progress to this MazeWorld if the job
+  // is done, or shows the exception it failed with if it failed, so the game
+  // keeps running with what it had before the job
+  void collect() {
+    if (this.job != null && this.job.done) {
+      AMazeJob finished = this.job;
+      this.job = null;
+      if (finished.failure != null) {
+        this.mode = new TextImage(finished.name + " failed: " + finished.failure, 15,
+            Color.BLACK);
+      }
+      else {
+        finished.publish(this);
+      }
+    }
+  }
+
+  // EFFECT: handles key input
+  public void onKeyEvent(String key) {
+    // EFFECT: resets the board
+    if (key.equals("r")) {
+      this.cancelJob();
+      this.reset();
+      this.mode = new TextImage("", 15, Color.BLACK);
+      this.searching = false;
+      this.finished = false;
+      this.clearColors();
+    }
+    // EFFECT: starts making a new board on the worker, with a horizontal or
+    // vertical bias for "h" and "v", or with the generator picked by the number
+    // key, or generated in chunks as it is needed for "7"
+    // the game is reset once the new board is done
+    else if (key.equals("n") || key.equals("h") || key.equals("v") || key.equals("1")
+        || key.equals("2") || key.equals("3") || key.equals("4") || key.equals("5")
+        || key.equals("6") || key.equals("7")) {
+      this.startJob(new GenerateJob(this, key));
+    }
+    // EFFECT: starts making a new board with the bias moved toward horizontal
+    // corridors
+    else if (key.equals("[")) {
+      this.bias = Math.max(-1, this.bias - 0.25);
+      this.startJob(new GenerateJob(this, key));
+    }
+    // EFFECT: starts making a new board with the bias moved toward vertical
+    // corridors
+    else if (key.equals("]")) {
+      this.bias = Math.min(1, this.bias + 0.25);
+      this.startJob(new GenerateJob(this, key));
+    }
+    // EFFECT: starts making a new board with the bias following the next field
+    else if (key.equals("f")) {
+      this.field = this.field.next();
+      this.startJob(new GenerateJob(this, key));
+    }
+    // EFFECT: starts breadth-first, depth-first or A* search, breadth-first search
+    // from both ends, or walking with the right hand on the wall with or without
+    // Tremaux marking on the worker, to be replayed once it is done
+    // can switch modes mid-search or after the maze has been solved
+    else if (key.equals("b") || key.equals("d") || key.equals("a") || key.equals("t")
+        || key.equals("w") || key.equals("m")) {
+      this.startJob(new SearchJob(this, key));
+    }
+    // EFFECT: switches breadth-first, depth-first and A* search between searching
+    // every cell and searching the junctions, with the dead ends off the way pruned,
+    // finding the junctions on the worker if they have not been found yet
+    else if (key.equals("j")) {
+      this.onJunctions = !this.onJunctions;
+      if (this.onJunctions && this.junctions == null) {
+        this.startJob(new JunctionJob(this));
+      }
+      else if (this.onJunctions) {
+        this.mode = new TextImage("junctions: " + this.junctions.report(), 15, Color.BLACK);
+      }
+      else {
+        this.mode = new TextImage("searching every cell", 15, Color.BLACK);
+      }
+    }
+    // EFFECT: doubles the number of cells searched each tick, up to every cell
+    else if (key.equals("=")) {
+      this.stepsPerTick = Math.min(2 * this.stepsPerTick, this.length * this.width);
+      this.tickBudget = 0;
+      this.showSpeed();
+    }
+    // EFFECT: halves the number of cells searched each tick, down to one
+    else if (key.equals("-")) {
+      this.stepsPerTick = Math.max(this.stepsPerTick / 2, 1);
+      this.tickBudget = 0;
+      this.showSpeed();
+    }
+    // EFFECT: switches between searching as many cells as fit in each tick and
+    // searching a set number of cells each tick
+    else if (key.equals("0")) {
+      if (this.tickBudget > 0) {
+        this.tickBudget = 0;
+      }
+      else {
+        this.tickBudget = MazeWorld.FRAME_BUDGET;
+      }
+      this.showSpeed();
+    }
+    // EFFECT: pauses and unpauses a search if one is in progress
+    else if (key.equals("p")) {
+      if (this.searching) {
+        if (!this.paused) {
+          this.paused = true;
+          this.pause = new TextImage("the search is paused", 15, Color.BLACK);
+        }
+        else {
+          this.paused = false;
+          this.pause = new TextImage("", 15, Color.BLACK);
+        }
+      }
+    }
+    // EFFECT: moves the view of a board generated in chunks around the board
+    else if (key.equals("left") || key.equals("right") || key.equals("up")
+        || key.equals("down")) {
+      this.scroll(key);
+    }
+  }
+}
+
+// to time maze generation on large boards outside of the game, run with
+// java MazeBenchmark [side length] [runs]
+class MazeBenchmark {
+
+  // EFFECT: prints how long each part of generating a square maze of the given
+  // side length takes, using every level of parallelism up to the number of cores,
+  // then how long each maze generator takes and how long solving the maze takes
+  public static void main(String[] args) throws IOException {
+    int side = 1000;
+    int runs = 3;
+    if (args.length > 0) {
+      side = Integer.parseInt(args[0]);
+    }
+    if (args.length > 1) {
+      runs = Integer.parseInt(args[1]);
+    }
+    MazeWorld world = new MazeWorld(side, side, new Random(1));
+    long[] edges = Arrays.copyOf(world.edges.packed, world.edges.size());
+    System.out.println("maze: " + side + "x" + side + ", " + edges.length + " edges");
+
+    long single = 0;
+    for (int threads = 1; threads <= Runtime.getRuntime().availableProcessors(); threads *= 2) {
+      ForkJoinPool pool = new ForkJoinPool(threads);
+      long best = Long.MAX_VALUE;
+      for (int r = 0; r < runs; r++) {
+        long start = System.nanoTime();
+        new FilterKruskal(pool, side, side).run(Arrays.copyOf(edges, edges.length));
+        best = Math.min(best, System.nanoTime() - start);
+      }
+      pool.shutdown();
+      if (threads == 1) {
+        single = best;
+      }
+      System.out.println("filter-kruskal, " + threads + " threads: " + best / 1000000 + " ms ("
+          + String.format("%.2f", (double) single / best) + "x)");
+    }
+
+    long counterBest = Long.MAX_VALUE;
+    for (int r = 0; r < runs; r++) {
+      long start = System.nanoTime();
+      world.kruskalCounter(new CounterWeights(r, edges.length));
+      counterBest = Math.min(counterBest, System.nanoTime() - start);
+    }
+    System.out.println("kruskal on counter weights: " + counterBest / 1000000 + " ms");
+
+    IMazeGenerator[] generators = new IMazeGenerator[] {new KruskalGenerator(),
+        new PrimGenerator(), new BacktrackerGenerator(), new WilsonGenerator(),
+        new AldousBroderGenerator(), new EllerGenerator()};
+    String[] names = new String[] {"kruskal", "prim", "backtracker", "wilson",
+        "aldous-broder", "eller"};
+    for (int g = 0; g < generators.length; g++) {
+      long best = Long.MAX_VALUE;
+      for (int r = 0; r < runs; r++) {
+        long start = System.nanoTime();
+        generators[g].generate(side, side, new Random(r));
+        best = Math.min(best, System.nanoTime() - start);
+      }
+      System.out.println(names[g] + " generator: " + best / 1000000 + " ms");
+    }
+
+    for (int threads = 1; threads <= Runtime.getRuntime().availableProcessors(); threads *= 2) {
+      ForkJoinPool pool = new ForkJoinPool(threads);
+      long best = Long.MAX_VALUE;
+      for (int r = 0; r < runs; r++) {
+        long start = System.nanoTime();
+        new TiledGenerator(pool, 64).generate(side, side, new Random(r));
+        best = Math.min(best, System.nanoTime() - start);
+      }
+      pool.shutdown();
+      System.out.println("tiled generator, " + threads + " threads: " + best / 1000000 + " ms");
+    }
+
+    MazeSolver solver = new MazeSolver(world.openings, side, side);
+    long bfsBest = Long.MAX_VALUE;
+    long dfsBest = Long.MAX_VALUE;
+    long aStarBest = Long.MAX_VALUE;
+    SearchResult result = null;
+    for (int r = 0; r < runs; r++) {
+      long start = System.nanoTime();
+      result = solver.breadthFirst(0, side * side - 1);
+      bfsBest = Math.min(bfsBest, System.nanoTime() - start);
+      start = System.nanoTime();
+      solver.depthFirst(0, side * side - 1);
+      dfsBest = Math.min(dfsBest, System.nanoTime() - start);
+      start = System.nanoTime();
+      solver.aStar(0, side * side - 1);
+      aStarBest = Math.min(aStarBest, System.nanoTime() - start);
+    }
+    System.out.println("breadth-first solve: " + bfsBest / 1000000 + " ms, "
+        + result.searched + " searched, " + result.path.length + " on the path");
+    System.out.println("depth-first solve: " + dfsBest / 1000000 + " ms");
+    System.out.println("A* solve: " + aStarBest / 1000000 + " ms");
+    long bothBest = Long.MAX_VALUE;
+    SearchResult both = null;
+    for (int r = 0; r < runs; r++) {
+      long start = System.nanoTime();
+      both = solver.bidirectional(0, side * side - 1);
+      bothBest = Math.min(bothBest, System.nanoTime() - start);
+    }
+    System.out.println("two-way breadth-first solve: " + bothBest / 1000000 + " ms, "
+        + both.searched + " searched");
+
+    long sequentialBest = Long.MAX_VALUE;
+    for (int r = 0; r < runs; r++) {
+      long start = System.nanoTime();
+      solver.distancesFrom(0);
+      sequentialBest = Math.min(sequentialBest, System.nanoTime() - start);
+    }
+    System.out.println("distances on one thread: " + sequentialBest / 1000000 + " ms");
+    for (int threads = 1; threads <= Runtime.getRuntime().availableProcessors(); threads *= 2) {
+      ForkJoinPool pool = new ForkJoinPool(threads);
+      ParallelSearch search = new ParallelSearch(pool, world.openings, side, side);
+      long best = Long.MAX_VALUE;
+      for (int r = 0; r < runs; r++) {
+        long start = System.nanoTime();
+        search.distancesFrom(0);
+        best = Math.min(best, System.nanoTime() - start);
+      }
+      pool.shutdown();
+      System.out.println("level-synchronous distances, " + threads + " threads: "
+          + best / 1000000 + " ms (" + String.format("%.2f", (double) sequentialBest / best)
+          + "x)");
+    }
+    long buildStart = System.nanoTime();
+    TreePaths tree = new TreePaths(world.openings, side, side);
+    long build = System.nanoTime() - buildStart;
+    Random pairs = new Random(1);
+    long queryStart = System.nanoTime();
+    long steps = 0;
+    for (int q = 0; q < 1000; q++) {
+      steps += tree.path(pairs.nextInt(side * side), pairs.nextInt(side * side)).length;
+    }
+    long queries = System.nanoTime() - queryStart;
+    pairs = new Random(1);
+    long searchStart = System.nanoTime();
+    for (int q = 0; q < 10; q++) {
+      solver.breadthFirst(pairs.nextInt(side * side), pairs.nextInt(side * side));
+    }
+    long searches = System.nanoTime() - searchStart;
+    System.out.println("tree paths: built in " + build / 1000000 + " ms, 1000 paths of "
+        + steps / 1000 + " cells on average in " + queries / 1000000 + " ms, against "
+        + searches / 10000 + " us a breadth-first search");
+    System.out.println(solver.compare(0, side * side - 1));
+    long junctionStart = System.nanoTime();
+    JunctionGraph junctions = new JunctionGraph(world.openings, side, side);
+    long junctionBuild = System.nanoTime() - junctionStart;
+    long junctionBest = Long.MAX_VALUE;
+    for (int r = 0; r < runs; r++) {
+      long start = System.nanoTime();
+      junctions.breadthFirst(0, side * side - 1);
+      junctions.depthFirst(0, side * side - 1);
+      junctions.aStar(0, side * side - 1);
+      junctionBest = Math.min(junctionBest, System.nanoTime() - start);
+    }
+    System.out.println("junctions: " + junctions.report() + ", built in "
+        + junctionBuild / 1000000 + " ms, all three searches in " + junctionBest / 1000 + " us"
+        + " against " + (bfsBest + dfsBest + aStarBest) / 1000 + " us on every cell");
+    Path file = Files.createTempFile("maze", ".rows");
+    OutputStream out = Files.newOutputStream(file);
+    new EllerRows(side, side, new Random(1)).writeTo(out);
+    out.close();
+    MappedMaze mapped = new MappedMaze(file, side, side);
+    long followBest = Long.MAX_VALUE;
+    long walked = 0;
+    for (int r = 0; r < runs; r++) {
+      long start = System.nanoTime();
+      walked = new WallFollower(mapped, side, side, true, false).steps(0, side * side - 1);
+      followBest = Math.min(followBest, System.nanoTime() - start);
+    }
+    long markedBest = Long.MAX_VALUE;
+    for (int r = 0; r < runs; r++) {
+      long start = System.nanoTime();
+      new WallFollower(mapped, side, side, true, true).steps(0, side * side - 1);
+      markedBest = Math.min(markedBest, System.nanoTime() - start);
+    }
+    Files.delete(file);
+    System.out.println("wall follower on a mapped file: " + walked + " moves in "
+        + followBest / 1000000 + " ms, " + markedBest / 1000000 + " ms with Tremaux marking");
+    world.assignEdgesBias(0.75, new UniformField());
+    world.kruskal();
+    System.out.println("biased 0.75, " + new MazeSolver(world.openings, side, side)
+        .compare(0, side * side - 1));
+  }
+}
+
+// examples and tests for mazes
+class ExamplesMaze {
+  EdgesByWeight ebw;
+  Vertex v1;
+  Vertex v2;
+  Vertex v3;
+  Vertex v4;
+  Vertex v5;
+  Vertex v6;
+  Vertex v7;
+  Vertex v8;
+  Vertex v9;
+  Vertex v99;
+  Edge e1;
+  Edge e2;
+  Edge e3;
+  Edge e4;
+  Edge e5;
+  Edge e6;
+  Edge e7;
+  Edge e8;
+  Edge e9;
+  Edge e10;
+  Edge e11;
+  Edge e12;
+  MazeWorld mw;
+  MazeWorld mw1;
+  MazeWorld mw2;
+  MazeWorld mwRect;
+  ArrayList<Edge> mwKruskal;
+  Stack<Integer> intStack;
+  Queue<Integer> intQueue;
+  LinkedList<Integer> intStackList;
+  LinkedList<Integer> intQueueList;
+  Stack<Vertex> vertexStack;
+  Queue<Vertex> vertexQueue;
+  LinkedList<Vertex> vertexStackList;
+  LinkedList<Vertex> vertexQueueList;
+  WorldScene scene;
+  WorldScene scene2;
+  WorldScene scene3;
+
+  // initialize example data
+  void initData() {
+    this.ebw = new EdgesByWeight();
+
+    // v1-v9 represent the vertices of a 3x3 grid
+    this.v1 = new Vertex(0, 0, Color.GREEN);
+    this.v2 = new Vertex(1, 0);
+    this.v3 = new Vertex(2, 0);
+    this.v4 = new Vertex(0, 1);
+    this.v5 = new Vertex(1, 1);
+    this.v6 = new Vertex(2, 1);
+    this.v7 = new Vertex(0, 2);
+    this.v8 = new Vertex(1, 2);
+    this.v9 = new Vertex(2, 2, Color.RED);
+
+    this.v99 = new Vertex(99, 99);
+
+    // e1-e12 represent the edges in mw
+    this.e1 = new Edge(11, this.v1, this.v2);
+    this.e2 = new Edge(4, this.v1, this.v4);
+    this.e3 = new Edge(1, this.v2, this.v3);
+    this.e4 = new Edge(9, this.v2, this.v5);
+    this.e5 = new Edge(6, this.v3, this.v6);
+    this.e6 = new Edge(2, this.v4, this.v5);
+    this.e7 = new Edge(7, this.v4, this.v7);
+    this.e8 = new Edge(3, this.v5, this.v6);
+    this.e9 = new Edge(5, this.v5, this.v8);
+    this.e10 = new Edge(0, this.v6, this.v9);
+    this.e11 = new Edge(8, this.v7, this.v8);
+    this.e12 = new Edge(10, this.v8, this.v9);
+
+    // example MazeWorld with 3x3 grid (seeded for testing)
+    this.mw = new MazeWorld(3, 3, new Random(1490));
+
+    // example MazeWorld with 1x1 grid (seeded for testing)
+    this.mw1 = new MazeWorld(1, 1, new Random(6));
+
+    // example MazeWorld with 2x2 grid (seeded for testing)
+    this.mw2 = new MazeWorld(2, 2, new Random(7));
+
+    // example MazeWorld with 8x16 grid
+    this.mwRect = new MazeWorld(8, 16);
+
+    // ArrayList of edges in the mw MST
+    this.mwKruskal = new ArrayList<Edge>(
+        Arrays.asList(this.e10, this.e3, this.e6, this.e8, this.e2, this.e9, this.e5, this.e7));
+
+    // Stack and Queue of Integers
+    this.intStack = new Stack<Integer>();
+    this.intQueue = new Queue<Integer>();
+
+    // contents of a Stack and Queue of Integers
+    this.intStackList = new LinkedList<Integer>(Arrays.asList(1, 2, 3));
+    this.intQueueList = new LinkedList<Integer>(Arrays.asList(3, 2, 1));
+
+    // Stack and Queue of vertices
+    this.vertexStack = new Stack<Vertex>();
+    this.vertexQueue = new Queue<Vertex>();
+
+    // contents of a Stack and Queue of vertices
+    this.vertexStackList = new LinkedList<Vertex>(Arrays.asList(this.v1, this.v2, this.v3));
+    this.vertexQueueList = new LinkedList<Vertex>(Arrays.asList(this.v3, this.v2, this.v1));
+
+    this.scene = new WorldScene(280, 280);
+    this.scene2 = new WorldScene(280, 280);
+    this.scene3 = new WorldScene(240, 240);
+  }
+  // EFFECT: waits for the job the given MazeWorld is working on, if any, to
+  // finish on its worker, then hands its result to the MazeWorld
+  void awaitJob(MazeWorld world) {
+    AMazeJob job = world.job;
+    while (job != null && !job.done && !job.cancelled) {
+      Thread.onSpinWait();
+    }
+    world.collect();
+  }
+
+  // test bigBang
+  void testBigBang(Tester t) {
+    this.initData();
+    this.mw.bigBang(280, 280, 0.05);
+    this.mw1.bigBang(240, 240, 0.05);
+    this.mw2.bigBang(260, 260, 0.05);
+    MazeWorld ex = new MazeWorld(50, 60, new Random(9));
+    ex.bigBang(1220, 1420, 0.05);
+  }
+
+  // test EdgesByWeight Comparator compare(Edge, Edge) method
+  void testEdgesByWeightComparator(Tester t) {
+    this.initData();
+    t.checkExpect(this.ebw.compare(this.e1, this.e3), 10);
+  }
+
+  // test ArrayList sort using the EdgesByWeight comparator
+  // ArrayLists of Edges are always made up of unique weights
+  void testEdgesByWeightSort(Tester t) {
+    this.initData();
+
+    ArrayList<Edge> toSort1 = new ArrayList<Edge>(Arrays.asList(new Edge(23, this.v1, this.v2),
+        new Edge(19, this.v3, this.v6), new Edge(16, this.v9, this.v5)));
+    ArrayList<Edge> toSort2 = new ArrayList<Edge>(Arrays.asList(new Edge(16, this.v1, this.v2),
+        new Edge(23, this.v3, this.v6), new Edge(19, this.v9, this.v5)));
+    ArrayList<Edge> sorted1 = new ArrayList<Edge>(Arrays.asList(new Edge(16, this.v9, this.v5),
+        new Edge(19, this.v3, this.v6), new Edge(23, this.v1, this.v2)));
+    ArrayList<Edge> sorted2 = new ArrayList<Edge>(Arrays.asList(new Edge(16, this.v1, this.v2),
+        new Edge(19, this.v9, this.v5), new Edge(23, this.v3, this.v6)));
+
+    toSort1.sort(this.ebw);
+    toSort2.sort(this.ebw);
+
+    t.checkExpect(toSort1, sorted1);
+    t.checkExpect(toSort2, sorted2);
+  }
+
+  // test Vertex hashCode() method
+  void testVertexHashCode(Tester t) {
+    this.initData();
+    t.checkExpect(this.v1.hashCode(), 0);
+    t.checkExpect(this.v99.hashCode(), 990099);
+  }
+
+  // test Vertex equals(Object) method
+  void testVertexEquals(Tester t) {
+    this.initData();
+    Vertex alsoV1 = new Vertex(0, 0);
+    t.checkExpect(this.mw.maze.get(0).get(0).equals(this.mw.maze.get(0).get(0)), true);
+    t.checkExpect(this.mw.maze.get(0).get(0).equals(this.v1), true);
+    t.checkExpect(this.mw.maze.get(0).get(0).equals(alsoV1), true);
+    t.checkExpect(this.mw.maze.get(0).get(0).equals(this.mw.maze.get(0).get(2)), false);
+    t.checkExpect(this.v1.equals(this.mw.maze.get(0).get(0)), true);
+    t.checkExpect(this.v1.equals(this.v1), true);
+    t.checkExpect(alsoV1.equals(alsoV1), true);
+    t.checkExpect(this.v1.equals(alsoV1), true);
+    t.checkExpect(alsoV1.equals(this.v1), true);
+    t.checkExpect(this.v2.equals(new Vertex(1, 0)), true);
+    t.checkExpect(this.v2.equals(this.v1), false);
+    t.checkExpect(this.v2.equals(this.e1), false);
+  }
+
+  // test Vertex drawVertex(WorldScene) method
+  void testDrawVertex(Tester t) {
+    this.initData();
+
+    t.checkExpect(this.scene, this.scene2);
+
+    this.v1.drawVertex(this.scene);
+    this.scene2.placeImageXY(new RectangleImage(20, 20, OutlineMode.SOLID, Color.GREEN), 120, 120);
+
+    t.checkExpect(this.scene, this.scene2);
+
+    this.v2.drawVertex(this.scene);
+    this.scene2.placeImageXY(new RectangleImage(20, 20, OutlineMode.SOLID, Color.GRAY), 140, 120);
+
+    t.checkExpect(this.scene, this.scene2);
+  }
+
+  // test Vertex drawWallBetween(Vertex, WorldScene) method
+  void testDrawWallBetween(Tester t) {
+    this.initData();
+
+    t.checkExpect(this.scene, this.scene2);
+
+    this.v1.drawWallBetween(this.v2, this.scene);
+    this.scene2.placeImageXY(new RectangleImage(2, 20, OutlineMode.SOLID, Color.BLACK), 130, 120);
+
+    t.checkExpect(this.scene, this.scene2);
+
+    this.v1.drawWallBetween(this.v4, this.scene);
+    this.scene2.placeImageXY(new RectangleImage(20, 2, OutlineMode.SOLID, Color.BLACK), 120, 130);
+
+    t.checkExpect(this.scene, this.scene2);
+
+    this.v3.drawWallBetween(this.v6, this.scene);
+    this.scene2.placeImageXY(new RectangleImage(20, 2, OutlineMode.SOLID, Color.BLACK), 160, 130);
+
+    t.checkExpect(this.scene, this.scene2);
+
+    this.v5.drawWallBetween(this.v9, this.scene);
+    this.scene2.placeImageXY(new RectangleImage(2, 20, OutlineMode.SOLID, Color.BLACK), 150, 140);
+
+    t.checkExpect(this.scene, this.scene2);
+  }
+
+  // test Vertex changeColor(Color) method
+  void testChangeColor(Tester t) {
+    this.initData();
+
+    t.checkExpect(this.v1.color, Color.GREEN);
+
+    this.v1.changeColor(Color.BLUE);
+
+    t.checkExpect(this.v1.color, Color.BLUE);
+
+    t.checkExpect(this.v2.color, Color.GRAY);
+
+    this.v2.changeColor(Color.CYAN);
+
+    t.checkExpect(this.v2.color, Color.CYAN);
+  }
+
+  // test Edge hashCode() method
+  void testEdgeHashCode(Tester t) {
+    this.initData();
+    t.checkExpect(this.mw.edges.toEdge(0, this.mw.maze).hashCode(), 20571);
+    t.checkExpect(this.mw.edges.toEdge(2, this.mw.maze).hashCode(), 330961);
+    t.checkExpect(this.e1.hashCode(), 20571);
+    t.checkExpect(this.e3.hashCode(), 330961);
+    // multiplying the weight by 100000000 used to wrap a weight of 2^24 around to
+    // the same hash as a weight of 0
+    t.checkFail(new Edge(16777216, this.v1, this.v2).hashCode(),
+        new Edge(0, this.v1, this.v2).hashCode());
+  }
+
+  // test Edge equals(Object) method
+  void testEdgeEquals(Tester t) {
+    this.initData();
+    Edge alsoE1 = new Edge(11, new Vertex(0, 0), new Vertex(1, 0));
+    t.checkExpect(
+        this.mw.edges.toEdge(0, this.mw.maze).equals(this.mw.edges.toEdge(0, this.mw.maze)), true);
+    t.checkExpect(this.mw.edges.toEdge(0, this.mw.maze).equals(this.e1), true);
+    t.checkExpect(this.mw.edges.toEdge(0, this.mw.maze).equals(alsoE1), true);
+    t.checkExpect(this.e1.equals(alsoE1), true);
+    t.checkExpect(alsoE1.equals(this.e1), true);
+    t.checkExpect(this.e1.equals(this.e1), true);
+    t.checkExpect(alsoE1.equals(alsoE1), true);
+    t.checkExpect(this.e2.equals(new Edge(4, new Vertex(0, 0), new Vertex(0, 1))), true);
+    t.checkExpect(this.e1.equals(this.e3), false);
+    t.checkExpect(this.e1.equals(this.v2), false);
+  }
+
+  // test Edge getFrom() method
+  void testGetFrom(Tester t) {
+    this.initData();
+    t.checkExpect(this.mw.edges.toEdge(0, this.mw.maze).getFrom(), this.v1);
+    t.checkExpect(this.mw.edges.toEdge(2, this.mw.maze).getFrom(), this.v2);
+    t.checkExpect(this.e1.getFrom(), this.v1);
+    t.checkExpect(this.e3.getFrom(), this.v2);
+  }
+
+  // test Edge getTo() method
+  void testGetTo(Tester t) {
+    this.initData();
+    t.checkExpect(this.mw.edges.toEdge(0, this.mw.maze).getTo(), this.v2);
+    t.checkExpect(this.mw.edges.toEdge(2, this.mw.maze).getTo(), this.v3);
+    t.checkExpect(this.e1.getTo(), this.v2);
+    t.checkExpect(this.e3.getTo(), this.v3);
+  }
+
+  // test EdgeList pack(int, int, int) and the methods that unpack its result
+  void testEdgeListPack(Tester t) {
+    long right = EdgeList.pack(11, 0, EdgeList.RIGHT);
+    long down = EdgeList.pack(7, 4, EdgeList.DOWN);
+    long big = EdgeList.pack(2000000000, 2147483000, EdgeList.DOWN);
+
+    t.checkExpect(right, 11L << 32);
+    t.checkExpect(down, (7L << 32) | 9);
+
+    t.checkExpect(EdgeList.weightOf(right), 11);
+    t.checkExpect(EdgeList.cellOf(right), 0);
+    t.checkExpect(EdgeList.directionOf(right), EdgeList.RIGHT);
+    t.checkExpect(EdgeList.otherOf(right, 3), 1);
+
+    t.checkExpect(EdgeList.weightOf(down), 7);
+    t.checkExpect(EdgeList.cellOf(down), 4);
+    t.checkExpect(EdgeList.directionOf(down), EdgeList.DOWN);
+    t.checkExpect(EdgeList.otherOf(down, 3), 7);
+
+    t.checkExpect(EdgeList.weightOf(big), 2000000000);
+    t.checkExpect(EdgeList.cellOf(big), 2147483000);
+    t.checkExpect(EdgeList.directionOf(big), EdgeList.DOWN);
+
+    // packed Edges order by weight
+    t.checkExpect(down < right, true);
+    t.checkExpect(right < big, true);
+  }
+
+  // test EdgeList shuffledEdges(int, int, Random) method
+  void testEdgeListShuffledEdges(Tester t) {
+    long[] edges = EdgeList.shuffledEdges(3, 2, new Random(4));
+    long[] sorted = Arrays.copyOf(edges, edges.length);
+    Arrays.sort(sorted);
+    t.checkExpect(sorted, new long[] { EdgeList.pack(0, 0, EdgeList.RIGHT),
+        EdgeList.pack(0, 0, EdgeList.DOWN), EdgeList.pack(0, 1, EdgeList.RIGHT),
+        EdgeList.pack(0, 1, EdgeList.DOWN), EdgeList.pack(0, 2, EdgeList.DOWN),
+        EdgeList.pack(0, 3, EdgeList.RIGHT), EdgeList.pack(0, 4, EdgeList.RIGHT) });
+    t.checkExpect(EdgeList.shuffledEdges(3, 2, new Random(4)), edges);
+    t.checkExpect(Arrays.equals(EdgeList.shuffledEdges(30, 20, new Random(4)),
+        EdgeList.shuffledEdges(30, 20, new Random(5))), false);
+    t.checkExpect(EdgeList.shuffledEdges(1, 1, new Random(4)).length, 0);
+  }
+
+  // test EdgeList add, size, get, weight, cell, direction and contains methods
+  void testEdgeListAdd(Tester t) {
+    EdgeList list = new EdgeList(0);
+
+    t.checkExpect(list.size(), 0);
+    t.checkExpect(list.contains(EdgeList.pack(3, 1, EdgeList.RIGHT)), false);
+
+    list.add(3, 1, EdgeList.RIGHT);
+    list.add(EdgeList.pack(0, 2, EdgeList.DOWN));
+    for (int w = 4; w < 20; w++) {
+      list.add(w, w, EdgeList.DOWN);
+    }
+
+    t.checkExpect(list.size(), 18);
+    t.checkExpect(list.get(0), EdgeList.pack(3, 1, EdgeList.RIGHT));
+    t.checkExpect(list.weight(1), 0);
+    t.checkExpect(list.cell(1), 2);
+    t.checkExpect(list.direction(1), EdgeList.DOWN);
+    t.checkExpect(list.weight(17), 19);
+    t.checkExpect(list.contains(EdgeList.pack(3, 1, EdgeList.RIGHT)), true);
+    t.checkExpect(list.contains(EdgeList.pack(3, 1, EdgeList.DOWN)), false);
+  }
+
+  // test EdgeList toEdge(int, ArrayList<ArrayList<Vertex>>) and
+  // toEdges(ArrayList<ArrayList<Vertex>>) methods
+  void testEdgeListToEdges(Tester t) {
+    this.initData();
+    EdgeList list = new EdgeList(2);
+    list.add(11, 0, EdgeList.RIGHT);
+    list.add(5, 4, EdgeList.DOWN);
+
+    t.checkExpect(list.toEdge(0, this.mw.maze), this.e1);
+    t.checkExpect(list.toEdge(1, this.mw.maze), new Edge(5, this.v5, this.v8));
+    t.checkExpect(list.toEdges(this.mw.maze),
+        new ArrayList<Edge>(Arrays.asList(this.e1, new Edge(5, this.v5, this.v8))));
+    t.checkExpect(new EdgeList(4).toEdges(this.mw.maze), new ArrayList<Edge>());
+    t.checkExpect(this.mw.mst.toEdges(this.mw.maze), this.mwKruskal);
+  }
+
+  // test WallGrid isOpen(int, int), isOpen(long) and open methods
+  void testWallGridOpen(Tester t) {
+    WallGrid grid = new WallGrid(6, 7);
+
+    t.checkExpect(grid.bits.length, 2);
+    t.checkExpect(grid.isOpen(0, EdgeList.RIGHT), false);
+    t.checkExpect(grid.isOpen(0, EdgeList.DOWN), false);
+    t.checkExpect(grid.isOpen(41, EdgeList.DOWN), false);
+
+    grid.open(0, EdgeList.DOWN);
+    grid.open(EdgeList.pack(9, 33, EdgeList.RIGHT));
+
+    t.checkExpect(grid.isOpen(0, EdgeList.RIGHT), false);
+    t.checkExpect(grid.isOpen(0, EdgeList.DOWN), true);
+    t.checkExpect(grid.isOpen(33, EdgeList.RIGHT), true);
+    t.checkExpect(grid.isOpen(33, EdgeList.DOWN), false);
+    t.checkExpect(grid.isOpen(32, EdgeList.RIGHT), false);
+    t.checkExpect(grid.isOpen(EdgeList.pack(0, 33, EdgeList.RIGHT)), true);
+    t.checkExpect(grid.isOpen(EdgeList.pack(0, 0, EdgeList.RIGHT)), false);
+    t.checkExpect(grid.bits[0], ~2L);
+  }
+
+  // test WallGrid connected(int, int) method
+  void testWallGridConnected(Tester t) {
+    WallGrid grid = new WallGrid(3, 3);
+    grid.open(2, EdgeList.DOWN);
+    grid.open(3, EdgeList.RIGHT);
+    grid.open(2, EdgeList.RIGHT);
+
+    t.checkExpect(grid.connected(2, 5), true);
+    t.checkExpect(grid.connected(5, 2), true);
+    t.checkExpect(grid.connected(3, 4), true);
+    t.checkExpect(grid.connected(4, 3), true);
+    t.checkExpect(grid.connected(0, 1), false);
+    t.checkExpect(grid.connected(0, 3), false);
+    // the right side of the last cell of a row never leads to the next row
+    t.checkExpect(grid.connected(2, 3), false);
+    t.checkExpect(grid.connected(0, 4), false);
+    t.checkExpect(grid.connected(4, 4), false);
+  }
+
+  // test that kruskal() takes down exactly the walls along the tree
+  void testKruskalWalls(Tester t) {
+    this.initData();
+    MazeWorld big = new MazeWorld(37, 23, new Random(4));
+
+    for (MazeWorld world : new ArrayList<MazeWorld>(Arrays.asList(this.mw, this.mwRect, big))) {
+      WallGrid grid = (WallGrid) world.walls;
+      int open = 0;
+      for (int i = 0; i < world.edges.size(); i++) {
+        t.checkExpect(grid.isOpen(world.edges.get(i)), world.mst.contains(world.edges.get(i)));
+        if (grid.isOpen(world.edges.get(i))) {
+          open++;
+        }
+      }
+      t.checkExpect(open, world.length * world.width - 1);
+    }
+
+    t.checkExpect(this.mw.walls.isOpen(0, EdgeList.DOWN), true);
+    t.checkExpect(this.mw.walls.isOpen(0, EdgeList.RIGHT), false);
+    t.checkExpect(this.mw1.walls.isOpen(0, EdgeList.RIGHT), false);
+    t.checkExpect(this.mw1.walls.isOpen(0, EdgeList.DOWN), false);
+  }
+
+  // test Stack and Queue isEmpty() method
+  void testIsEmpty(Tester t) {
+    this.initData();
+
+    t.checkExpect(this.intStack.isEmpty(), true);
+    t.checkExpect(this.intQueue.isEmpty(), true);
+    this.intStack.contents = this.intStackList;
+    this.intQueue.contents = this.intQueueList;
+    t.checkExpect(this.intStack.isEmpty(), false);
+    t.checkExpect(this.intQueue.isEmpty(), false);
+
+    t.checkExpect(this.vertexStack.isEmpty(), true);
+    t.checkExpect(this.vertexQueue.isEmpty(), true);
+    this.vertexStack.contents = this.vertexStackList;
+    this.vertexQueue.contents = this.vertexQueueList;
+    t.checkExpect(this.vertexStack.isEmpty(), false);
+    t.checkExpect(this.vertexQueue.isEmpty(), false);
+  }
+
+  // test Stack and Queue add(T item) method
+  void testAdd(Tester t) {
+    this.initData();
+
+    this.intStack.add(3);
+    this.intQueue.add(3);
+    t.checkExpect(this.intStack.contents.equals(new LinkedList<Integer>(Arrays.asList(3))), true);
+    t.checkExpect(this.intQueue.contents.equals(new LinkedList<Integer>(Arrays.asList(3))), true);
+    t.checkExpect(this.intStack.contents.equals(this.intStackList), false);
+    t.checkExpect(this.intQueue.contents.equals(this.intQueueList), false);
+
+    this.intStack.add(2);
+    this.intQueue.add(2);
+    t.checkExpect(this.intStack.contents.equals(new LinkedList<Integer>(Arrays.asList(2, 3))),
+        true);
+    t.checkExpect(this.intQueue.contents.equals(new LinkedList<Integer>(Arrays.asList(3, 2))),
+        true);
+    t.checkExpect(this.intStack.contents.equals(this.intStackList), false);
+    t.checkExpect(this.intQueue.contents.equals(this.intQueueList), false);
+
+    this.intStack.add(1);
+    this.intQueue.add(1);
+    t.checkExpect(this.intStack.contents.equals(this.intStackList), true);
+    t.checkExpect(this.intQueue.contents.equals(this.intQueueList), true);
+
+    this.vertexStack.add(this.v3);
+    this.vertexQueue.add(this.v3);
+    t.checkExpect(this.vertexStack.contents.equals(new LinkedList<Vertex>(Arrays.asList(this.v3))),
+        true);
+    t.checkExpect(this.vertexQueue.contents.equals(new LinkedList<Vertex>(Arrays.asList(this.v3))),
+        true);
+    t.checkExpect(this.vertexStack.contents.equals(this.vertexStackList), false);
+    t.checkExpect(this.vertexQueue.contents.equals(this.vertexQueueList), false);
+
+    this.vertexStack.add(this.v2);
+    this.vertexQueue.add(this.v2);
+    t.checkExpect(
+        this.vertexStack.contents.equals(new LinkedList<Vertex>(Arrays.asList(this.v2, this.v3))),
+        true);
+    t.checkExpect(
+        this.vertexQueue.contents.equals(new LinkedList<Vertex>(Arrays.asList(this.v3, this.v2))),
+        true);
+    t.checkExpect(this.vertexStack.contents.equals(this.vertexStackList), false);
+    t.checkExpect(this.vertexQueue.contents.equals(this.vertexQueueList), false);
+
+    this.vertexStack.add(this.v1);
+    this.vertexQueue.add(this.v1);
+    t.checkExpect(this.vertexStack.contents.equals(this.vertexStackList), true);
+    t.checkExpect(this.vertexQueue.contents.equals(this.vertexQueueList), true);
+  }
+
+  // test Stack and Queue remove() method
+  void testRemove(Tester t) {
+    this.initData();
+
+    this.intStack.contents = this.intStackList;
+    this.intQueue.contents = this.intQueueList;
+    t.checkExpect(intStack.remove(), 1);
+    t.checkExpect(this.intStack.contents.equals(new LinkedList<Integer>(Arrays.asList(2, 3))),
+        true);
+    t.checkExpect(intStack.remove(), 2);
+    t.checkExpect(this.intStack.contents.equals(new LinkedList<Integer>(Arrays.asList(3))), true);
+    t.checkExpect(intStack.remove(), 3);
+    t.checkExpect(this.intStack.contents.equals(new LinkedList<Integer>(Arrays.asList())), true);
+    t.checkExpect(intQueue.remove(), 3);
+    t.checkExpect(this.intQueue.contents.equals(new LinkedList<Integer>(Arrays.asList(2, 1))),
+        true);
+    t.checkExpect(intQueue.remove(), 2);
+    t.checkExpect(this.intQueue.contents.equals(new LinkedList<Integer>(Arrays.asList(1))), true);
+    t.checkExpect(intQueue.remove(), 1);
+    t.checkExpect(this.intQueue.contents.equals(new LinkedList<Integer>(Arrays.asList())), true);
+
+    this.vertexStack.contents = this.vertexStackList;
+    this.vertexQueue.contents = this.vertexQueueList;
+    t.checkExpect(vertexStack.remove(), this.v1);
+    t.checkExpect(
+        this.vertexStack.contents.equals(new LinkedList<Vertex>(Arrays.asList(this.v2, this.v3))),
+        true);
+    t.checkExpect(vertexStack.remove(), this.v2);
+    t.checkExpect(this.vertexStack.contents.equals(new LinkedList<Vertex>(Arrays.asList(this.v3))),
+        true);
+    t.checkExpect(vertexStack.remove(), this.v3);
+    t.checkExpect(this.vertexStack.contents.equals(new LinkedList<Vertex>(Arrays.asList())), true);
+    t.checkExpect(vertexQueue.remove(), this.v3);
+    t.checkExpect(
+        this.vertexQueue.contents.equals(new LinkedList<Vertex>(Arrays.asList(this.v2, this.v1))),
+        true);
+    t.checkExpect(vertexQueue.remove(), this.v2);
+    t.checkExpect(this.vertexQueue.contents.equals(new LinkedList<Vertex>(Arrays.asList(this.v1))),
+        true);
+    t.checkExpect(vertexQueue.remove(), this.v1);
+    t.checkExpect(this.vertexQueue.contents.equals(new LinkedList<Vertex>(Arrays.asList())), true);
+  }
+
+  // test MazeWorld generateMaze() method
+  void testGenerateMaze(Tester t) {
+    this.initData();
+
+    // allows for testing of just generateMaze() without the effects of kruskal(),
+    // which also gets called in the MazeWorld constructors
+    this.mw.maze.clear();
+    this.mw.representatives.clear();
+    this.mw.generateMaze();
+
+    t.checkExpect(this.mw.maze.size(), 3);
+    t.checkExpect(this.mw.maze.get(0).size(), 3);
+    t.checkExpect(this.mw.maze.get(1).size(), 3);
+    t.checkExpect(this.mw.maze.get(2).size(), 3);
+    t.checkExpect(this.mw.representatives.size(), 9);
+
+    t.checkExpect(this.mw.maze.get(0).get(0), this.v1);
+    t.checkExpect(this.mw.maze.get(0).get(1), this.v2);
+    t.checkExpect(this.mw.maze.get(0).get(2), this.v3);
+    t.checkExpect(this.mw.maze.get(1).get(0), this.v4);
+    t.checkExpect(this.mw.maze.get(1).get(1), this.v5);
+    t.checkExpect(this.mw.maze.get(1).get(2), this.v6);
+    t.checkExpect(this.mw.maze.get(2).get(0), this.v7);
+    t.checkExpect(this.mw.maze.get(2).get(1), this.v8);
+    t.checkExpect(this.mw.maze.get(2).get(2), this.v9);
+
+    t.checkExpect(this.mw.representatives.get(this.mw.maze.get(0).get(0)), this.v1);
+    t.checkExpect(this.mw.representatives.get(this.mw.maze.get(0).get(1)), this.v2);
+    t.checkExpect(this.mw.representatives.get(this.mw.maze.get(0).get(2)), this.v3);
+    t.checkExpect(this.mw.representatives.get(this.mw.maze.get(1).get(0)), this.v4);
+    t.checkExpect(this.mw.representatives.get(this.mw.maze.get(1).get(1)), this.v5);
+    t.checkExpect(this.mw.representatives.get(this.mw.maze.get(1).get(2)), this.v6);
+    t.checkExpect(this.mw.representatives.get(this.mw.maze.get(2).get(0)), this.v7);
+    t.checkExpect(this.mw.representatives.get(this.mw.maze.get(2).get(1)), this.v8);
+    t.checkExpect(this.mw.representatives.get(this.mw.maze.get(2).get(2)), this.v9);
+
+    this.mw1.maze.clear();
+    this.mw1.representatives.clear();
+    this.mw1.generateMaze();
+
+    t.checkExpect(this.mw1.maze.size(), 1);
+    t.checkExpect(this.mw1.maze.get(0).size(), 1);
+    t.checkExpect(this.mw1.representatives.size(), 1);
+    t.checkExpect(this.mw1.maze.get(0).get(0), this.v1);
+    t.checkExpect(this.mw1.representatives.get(this.mw.maze.get(0).get(0)), this.v1);
+  }
+
+  // test MazeWorld weightPool(int, int) method
+  void testWeightPool(Tester t) {
+    this.initData();
+    t.checkExpect(this.mw.weightPool(0, 0), new int[] {});
+    t.checkExpect(this.mw.weightPool(0, 4), new int[] { 0, 1, 2, 3 });
+    t.checkExpect(this.mw.weightPool(6, 9), new int[] { 6, 7, 8 });
+  }
+
+  // test MazeWorld drawWeight(int[], int) method
+  void testDrawWeight(Tester t) {
+    this.initData();
+    this.mw.rand = new Random(3);
+    int[] pool = this.mw.weightPool(0, 4);
+    ArrayList<Integer> drawn = new ArrayList<Integer>();
+
+    for (int remaining = 4; remaining > 0; remaining--) {
+      int weight = this.mw.drawWeight(pool, remaining);
+      t.checkExpect(drawn.contains(weight), false);
+      // the drawn weight is parked right after the weights still to be drawn
+      t.checkExpect(pool[remaining - 1], weight);
+      drawn.add(weight);
+    }
+
+    t.checkExpect(drawn.size(), 4);
+    for (int a = 0; a < 4; a++) {
+      t.checkExpect(drawn.contains(a), true);
+    }
+  }
+
+  // test that seeded MazeWorlds assign the same weights every time
+  void testAssignEdgesSeeded(Tester t) {
+    this.initData();
+    MazeWorld again = new MazeWorld(3, 3, new Random(1490));
+    MazeWorld big = new MazeWorld(40, 30, new Random(11));
+    MazeWorld bigAgain = new MazeWorld(40, 30, new Random(11));
+
+    t.checkExpect(again.edges, this.mw.edges);
+    t.checkExpect(again.mst, this.mw.mst);
+    t.checkExpect(bigAgain.edges, big.edges);
+    t.checkExpect(bigAgain.mst, big.mst);
+  }
+
+  // test MazeWorld assignEdges() method
+  void testAssignEdges(Tester t) {
+    this.initData();
+    ArrayList<Integer> expectedWeights = new ArrayList<Integer>(
+        Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11));
+    ArrayList<Integer> actualWeights = new ArrayList<Integer>();
+    t.checkExpect(this.mw1.edges.size(), 0);
+    t.checkExpect(this.mw.edges.size(), 12);
+    t.checkExpect(this.mw.edges.size(), expectedWeights.size());
+    for (Edge e : this.mw.edges.toEdges(this.mw.maze)) {
+      t.checkExpect(expectedWeights.contains(e.weight), true);
+      actualWeights.add(e.weight);
+    }
+    for (Integer i : expectedWeights) {
+      t.checkExpect(actualWeights.contains(i), true);
+    }
+
+    t.checkExpect(this.mw.edges.toEdge(0, this.mw.maze), this.e1);
+    t.checkExpect(this.mw.edges.toEdge(1, this.mw.maze), this.e2);
+    t.checkExpect(this.mw.edges.toEdge(2, this.mw.maze), this.e3);
+    t.checkExpect(this.mw.edges.toEdge(3, this.mw.maze), this.e4);
+    t.checkExpect(this.mw.edges.toEdge(4, this.mw.maze), this.e5);
+    t.checkExpect(this.mw.edges.toEdge(5, this.mw.maze), this.e6);
+    t.checkExpect(this.mw.edges.toEdge(6, this.mw.maze), this.e7);
+    t.checkExpect(this.mw.edges.toEdge(7, this.mw.maze), this.e8);
+    t.checkExpect(this.mw.edges.toEdge(8, this.mw.maze), this.e9);
+    t.checkExpect(this.mw.edges.toEdge(9, this.mw.maze), this.e10);
+    t.checkExpect(this.mw.edges.toEdge(10, this.mw.maze), this.e11);
+    t.checkExpect(this.mw.edges.toEdge(11, this.mw.maze), this.e12);
+  }
+
+  // test MazeWorld assignEdgesBias(boolean) method
+  void testAssignEdgeBias(Tester t) {
+    this.initData();
+
+    // allows for testing of just assignEdgesBias(boolean)
+    // without all the effects of onKeyEvent(String), which is the only place it's
+    // called
+    this.mw.edges = new EdgeList(0);
+    this.mw.assignEdgesBias(false);
+
+    this.mw1.edges = new EdgeList(0);
+    this.mw1.assignEdgesBias(false);
+
+    ArrayList<Integer> expectedWeights = new ArrayList<Integer>(
+        Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11));
+    ArrayList<Integer> actualWeights = new ArrayList<Integer>();
+    t.checkExpect(this.mw1.edges.size(), 0);
+    t.checkExpect(this.mw.edges.size(), 12);
+    t.checkExpect(this.mw.edges.size(), expectedWeights.size());
+    for (Edge e : this.mw.edges.toEdges(this.mw.maze)) {
+      t.checkExpect(expectedWeights.contains(e.weight), true);
+      actualWeights.add(e.weight);
+    }
+    for (Integer i : expectedWeights) {
+      t.checkExpect(actualWeights.contains(i), true);
+    }
+
+    Edge edge1 = new Edge(6, this.v1, this.v2);
+    Edge edge2 = new Edge(3, this.v1, this.v4);
+    Edge edge3 = new Edge(9, this.v2, this.v3);
+    Edge edge4 = new Edge(5, this.v2, this.v5);
+    Edge edge5 = new Edge(2, this.v3, this.v6);
+    Edge edge6 = new Edge(11, this.v4, this.v5);
+    Edge edge7 = new Edge(0, this.v4, this.v7);
+    Edge edge8 = new Edge(8, this.v5, this.v6);
+    Edge edge9 = new Edge(4, this.v5, this.v8);
+    Edge edge10 = new Edge(1, this.v6, this.v9);
+    Edge edge11 = new Edge(10, this.v7, this.v8);
+    Edge edge12 = new Edge(7, this.v8, this.v9);
+
+    ArrayList<Edge> horizontalEdges = new ArrayList<Edge>(
+        Arrays.asList(edge1, edge3, edge6, edge8, edge11, edge12));
+    ArrayList<Edge> verticalEdges = new ArrayList<Edge>(
+        Arrays.asList(edge2, edge4, edge5, edge7, edge9, edge10));
+    ArrayList<Integer> lowerWeights = new ArrayList<Integer>(Arrays.asList(0, 1, 2, 3, 4, 5));
+    ArrayList<Integer> upperWeights = new ArrayList<Integer>(Arrays.asList(6, 7, 8, 9, 10, 11));
+
+    t.checkExpect(this.mw.edges.toEdge(0, this.mw.maze), edge1);
+    t.checkExpect(this.mw.edges.toEdge(1, this.mw.maze), edge2);
+    t.checkExpect(this.mw.edges.toEdge(2, this.mw.maze), edge3);
+    t.checkExpect(this.mw.edges.toEdge(3, this.mw.maze), edge4);
+    t.checkExpect(this.mw.edges.toEdge(4, this.mw.maze), edge5);
+    t.checkExpect(this.mw.edges.toEdge(5, this.mw.maze), edge6);
+    t.checkExpect(this.mw.edges.toEdge(6, this.mw.maze), edge7);
+    t.checkExpect(this.mw.edges.toEdge(7, this.mw.maze), edge8);
+    t.checkExpect(this.mw.edges.toEdge(8, this.mw.maze), edge9);
+    t.checkExpect(this.mw.edges.toEdge(9, this.mw.maze), edge10);
+    t.checkExpect(this.mw.edges.toEdge(10, this.mw.maze), edge11);
+    t.checkExpect(this.mw.edges.toEdge(11, this.mw.maze), edge12);
+
+    for (Edge e : horizontalEdges) {
+      t.checkExpect(upperWeights.contains(e.weight), true);
+    }
+    for (Edge e : verticalEdges) {
+      t.checkExpect(lowerWeights.contains(e.weight), true);
+    }
+
+    this.initData();
+
+    // allows for testing of just assignEdgesBias(boolean)
+    // without all the effects of onKeyEvent(String), which is the only place it's
+    // called
+    this.mw.edges = new EdgeList(0);
+    this.mw.assignEdgesBias(true);
+
+    this.mw1.edges = new EdgeList(0);
+    this.mw1.assignEdgesBias(true);
+
+    ArrayList<Integer> actualWeights2 = new ArrayList<Integer>();
+    t.checkExpect(this.mw1.edges.size(), 0);
+    t.checkExpect(this.mw.edges.size(), 12);
+    t.checkExpect(this.mw.edges.size(), expectedWeights.size());
+    for (Edge e : this.mw.edges.toEdges(this.mw.maze)) {
+      t.checkExpect(expectedWeights.contains(e.weight), true);
+      actualWeights2.add(e.weight);
+    }
+    for (Integer i : expectedWeights) {
+      t.checkExpect(actualWeights2.contains(i), true);
+    }
+
+    Edge eOne = new Edge(0, this.v1, this.v2);
+    Edge eTwo = new Edge(9, this.v1, this.v4);
+    Edge eThree = new Edge(3, this.v2, this.v3);
+    Edge eFour = new Edge(11, this.v2, this.v5);
+    Edge eFive = new Edge(8, this.v3, this.v6);
+    Edge eSix = new Edge(5, this.v4, this.v5);
+    Edge eSeven = new Edge(6, this.v4, this.v7);
+    Edge eEight = new Edge(2, this.v5, this.v6);
+    Edge eNine = new Edge(10, this.v5, this.v8);
+    Edge eTen = new Edge(7, this.v6, this.v9);
+    Edge eEleven = new Edge(4, this.v7, this.v8);
+    Edge eTwelve = new Edge(1, this.v8, this.v9);
+
+    ArrayList<Edge> horizontalEdges2 = new ArrayList<Edge>(
+        Arrays.asList(eOne, eThree, eSix, eEight, eEleven, eTwelve));
+    ArrayList<Edge> verticalEdges2 = new ArrayList<Edge>(
+        Arrays.asList(eTwo, eFour, eFive, eSeven, eNine, eTen));
+
+    t.checkExpect(this.mw.edges.toEdge(0, this.mw.maze), eOne);
+    t.checkExpect(this.mw.edges.toEdge(1, this.mw.maze), eTwo);
+    t.checkExpect(this.mw.edges.toEdge(2, this.mw.maze), eThree);
+    t.checkExpect(this.mw.edges.toEdge(3, this.mw.maze), eFour);
+    t.checkExpect(this.mw.edges.toEdge(4, this.mw.maze), eFive);
+    t.checkExpect(this.mw.edges.toEdge(5, this.mw.maze), eSix);
+    t.checkExpect(this.mw.edges.toEdge(6, this.mw.maze), eSeven);
+    t.checkExpect(this.mw.edges.toEdge(7, this.mw.maze), eEight);
+    t.checkExpect(this.mw.edges.toEdge(8, this.mw.maze), eNine);
+    t.checkExpect(this.mw.edges.toEdge(9, this.mw.maze), eTen);
+    t.checkExpect(this.mw.edges.toEdge(10, this.mw.maze), eEleven);
+    t.checkExpect(this.mw.edges.toEdge(11, this.mw.maze), eTwelve);
+
+    for (Edge e : horizontalEdges2) {
+      t.checkExpect(lowerWeights.contains(e.weight), true);
+    }
+    for (Edge e : verticalEdges2) {
+      t.checkExpect(upperWeights.contains(e.weight), true);
+    }
+
+  }
+
+  // test MazeWorld find(Vertex, ArrayList<Vertex>) method
+  void testFind(Tester t) {
+    this.initData();
+
+    t.checkExpect(this.mw1.find(this.mw1.maze.get(0).get(0), new ArrayList<Vertex>()), this.v1);
+    this.mw1.representatives.put(this.mw1.maze.get(0).get(0), this.mw1.maze.get(0).get(0));
+    t.checkExpect(this.mw1.find(this.mw1.maze.get(0).get(0), new ArrayList<Vertex>()), this.v1);
+
+    t.checkExpect(this.mw.find(this.mw.maze.get(0).get(0), new ArrayList<Vertex>()), this.v4);
+    t.checkExpect(this.mw.find(this.mw.maze.get(1).get(0), new ArrayList<Vertex>()), this.v4);
+    t.checkExpect(this.mw.find(this.mw.maze.get(2).get(0), new ArrayList<Vertex>()), this.v4);
+
+    this.mw.representatives.put(this.mw.maze.get(0).get(0), this.mw.maze.get(0).get(0));
+    this.mw.representatives.put(this.mw.maze.get(1).get(0), this.mw.maze.get(1).get(0));
+    this.mw.representatives.put(this.mw.maze.get(2).get(0), this.mw.maze.get(2).get(0));
+
+    t.checkExpect(this.mw.find(this.mw.maze.get(0).get(0), new ArrayList<Vertex>()), this.v1);
+    t.checkExpect(this.mw.find(this.mw.maze.get(1).get(0), new ArrayList<Vertex>()), this.v4);
+    t.checkExpect(this.mw.find(this.mw.maze.get(2).get(0), new ArrayList<Vertex>()), this.v7);
+
+    this.mw.representatives.put(this.mw.maze.get(0).get(0), this.mw.maze.get(1).get(0));
+
+    t.checkExpect(this.mw.find(this.mw.maze.get(0).get(0), new ArrayList<Vertex>()), this.v4);
+
+    this.mw.representatives.put(this.mw.maze.get(1).get(0), this.mw.maze.get(2).get(0));
+
+    t.checkExpect(this.mw.find(this.mw.maze.get(0).get(0), new ArrayList<Vertex>()), this.v7);
+    t.checkExpect(this.mw.find(this.mw.maze.get(1).get(0), new ArrayList<Vertex>()), this.v7);
+  }
+
+  // test MazeWorld representativeOf(Vertex) method
+  void testRepresentativeOf(Tester t) {
+    this.initData();
+
+    // a Vertex with no entry is read from the sets of the last maze built
+    t.checkExpect(this.mw.representatives.size(), 0);
+    t.checkExpect(this.mw.representativeOf(this.mw.vertexAt(0)),
+        this.mw.vertexAt(this.mw.sets.find(0)));
+    this.mw.representatives.put(this.mw.vertexAt(0), this.mw.vertexAt(5));
+    t.checkExpect(this.mw.representativeOf(this.mw.vertexAt(0)), this.v6);
+
+    // and with no sets it is its own representative
+    this.mw.sets = null;
+    t.checkExpect(this.mw.representativeOf(this.mw.vertexAt(3)), this.v4);
+    t.checkExpect(this.mw.representativeOf(this.mw.vertexAt(0)), this.v6);
+  }
+
+  // test MazeWorld updateRepresentatives(UnionFind) method
+  void testUpdateRepresentatives(Tester t) {
+    this.initData();
+    UnionFind sets = new UnionFind(9);
+    sets.union(0, 4);
+    sets.union(4, 8);
+    this.mw.representatives.put(this.mw.vertexAt(1), this.mw.vertexAt(2));
+    this.mw.updateRepresentatives(sets);
+    t.checkExpect(this.mw.sets, sets);
+    t.checkExpect(this.mw.representatives.size(), 0);
+    t.checkExpect(this.mw.find(this.mw.vertexAt(8), new ArrayList<Vertex>()),
+        this.mw.find(this.mw.vertexAt(0), new ArrayList<Vertex>()));
+    t.checkExpect(this.mw.find(this.mw.vertexAt(1), new ArrayList<Vertex>()), this.v2);
+  }
+
+  // test MazeWorld union(Vertex, Vertex) method
+  void testUnion(Tester t) {
+    this.initData();
+
+    this.mw1.union(this.mw1.maze.get(0).get(0), this.mw1.maze.get(0).get(0));
+    t.checkExpect(this.mw1.find(this.mw1.maze.get(0).get(0), new ArrayList<Vertex>()), this.v1);
+
+    this.mw.representatives.put(this.mw.maze.get(1).get(2), this.mw.maze.get(1).get(2));
+    this.mw.representatives.put(this.mw.maze.get(2).get(2), this.mw.maze.get(2).get(2));
+
+    t.checkExpect(this.mw.find(this.mw.maze.get(1).get(2), new ArrayList<Vertex>()), this.v6);
+    t.checkExpect(this.mw.find(this.mw.maze.get(2).get(2), new ArrayList<Vertex>()), this.v9);
+
+    this.mw.union(this.mw.maze.get(2).get(2), this.mw.maze.get(1).get(2));
+
+    t.checkExpect(this.mw.find(this.mw.maze.get(1).get(2), new ArrayList<Vertex>()), this.v9);
+    t.checkExpect(this.mw.find(this.mw.maze.get(2).get(2), new ArrayList<Vertex>()), this.v9);
+
+    this.mw.representatives.put(this.mw.maze.get(0).get(2), this.mw.maze.get(1).get(2));
+
+    t.checkExpect(this.mw.find(this.mw.maze.get(0).get(2), new ArrayList<Vertex>()), this.v9);
+
+    this.mw.union(this.mw.maze.get(0).get(2), this.mw.maze.get(0).get(1));
+
+    t.checkExpect(this.mw.find(this.mw.maze.get(0).get(1), new ArrayList<Vertex>()), this.v9);
+    t.checkExpect(this.mw.find(this.mw.maze.get(0).get(2), new ArrayList<Vertex>()), this.v9);
+  }
+
+  // test UnionFind find(int) method
+  void testUnionFindFind(Tester t) {
+    UnionFind sets = new UnionFind(5);
+
+    t.checkExpect(sets.find(0), 0);
+    t.checkExpect(sets.find(4), 4);
+
+    sets.parent[4] = 3;
+    sets.parent[3] = 2;
+    sets.parent[2] = 1;
+
+    t.checkExpect(sets.find(4), 1);
+    // path halving points 4 at its grandparent 2 and 2 at the root 1
+    t.checkExpect(sets.parent, new int[] { 0, 1, 1, 2, 2 });
+    t.checkExpect(sets.find(4), 1);
+    t.checkExpect(sets.parent, new int[] { 0, 1, 1, 2, 1 });
+    t.checkExpect(sets.find(3), 1);
+    t.checkExpect(sets.find(0), 0);
+  }
+
+  // test UnionFind union(int, int) method
+  void testUnionFindUnion(Tester t) {
+    UnionFind sets = new UnionFind(4);
+
+    t.checkExpect(sets.union(0, 1), true);
+    t.checkExpect(sets.parent, new int[] { 0, 0, 2, 3 });
+    t.checkExpect(sets.rank, new byte[] { 1, 0, 0, 0 });
+
+    t.checkExpect(sets.union(1, 0), false);
+
+    // the lower-ranked root hangs under the higher-ranked one
+    t.checkExpect(sets.union(2, 1), true);
+    t.checkExpect(sets.parent, new int[] { 0, 0, 0, 3 });
+    t.checkExpect(sets.rank, new byte[] { 1, 0, 0, 0 });
+
+    t.checkExpect(sets.union(3, 2), true);
+    t.checkExpect(sets.find(3), 0);
+    t.checkExpect(sets.union(3, 1), false);
+  }
+
+  // test MazeWorld cellIndex(Vertex) and vertexAt(int) methods
+  void testCellIndex(Tester t) {
+    this.initData();
+
+    t.checkExpect(this.mw.cellIndex(this.v1), 0);
+    t.checkExpect(this.mw.cellIndex(this.v3), 2);
+    t.checkExpect(this.mw.cellIndex(this.v4), 3);
+    t.checkExpect(this.mw.cellIndex(this.v9), 8);
+    t.checkExpect(this.mwRect.cellIndex(new Vertex(7, 15)), 127);
+
+    t.checkExpect(this.mw.vertexAt(0), this.v1);
+    t.checkExpect(this.mw.vertexAt(5), this.v6);
+    t.checkExpect(this.mw.vertexAt(8), this.v9);
+    t.checkExpect(this.mwRect.vertexAt(9), new Vertex(1, 1));
+  }
+
+  // test that kruskal() builds exactly the same tree as sorting the Edges
+  void testKruskalMatchesSort(Tester t) {
+    this.initData();
+
+    t.checkExpect(this.mw.kruskalBySort(), this.mw.mst);
+    t.checkExpect(this.mw.kruskalBySort().toEdges(this.mw.maze), this.mwKruskal);
+    t.checkExpect(this.mw1.kruskalBySort(), this.mw1.mst);
+    t.checkExpect(this.mwRect.kruskalBySort(), this.mwRect.mst);
+
+    for (int seed = 0; seed < 5; seed++) {
+      MazeWorld world = new MazeWorld(30, 20, new Random(seed));
+      t.checkExpect(world.kruskalBySort(), world.mst);
+      t.checkExpect(world.mst.size(), 599);
+
+      world.edges = new EdgeList(0);
+      world.assignEdgesBias(seed % 2 == 0);
+      t.checkExpect(world.kruskal(), world.kruskalBySort());
+    }
+  }
+
+  // test UnionFind root(int) method
+  void testUnionFindRoot(Tester t) {
+    UnionFind sets = new UnionFind(5);
+    sets.parent[4] = 3;
+    sets.parent[3] = 2;
+
+    t.checkExpect(sets.root(4), 2);
+    t.checkExpect(sets.root(0), 0);
+    // root(int) leaves every parent where it was
+    t.checkExpect(sets.parent, new int[] { 0, 1, 2, 2, 3 });
+  }
+
+  // test FilterKruskal choosePivot(long[], int, int) method
+  void testFilterKruskalChoosePivot(Tester t) {
+    FilterKruskal builder = new FilterKruskal(new ForkJoinPool(2), 3, 3);
+    long[] edges = new long[100];
+    for (int i = 0; i < edges.length; i++) {
+      edges[i] = EdgeList.pack(99 - i, 0, EdgeList.RIGHT);
+    }
+
+    t.checkExpect(builder.choosePivot(edges, 0, 100), 51);
+    t.checkExpect(builder.choosePivot(edges, 0, 1), 99);
+    t.checkExpect(builder.choosePivot(edges, 50, 100) < 49, true);
+    t.checkExpect(builder.choosePivot(edges, 50, 100) >= 0, true);
+    builder.pool.shutdown();
+  }
+
+  // test FilterKruskal keeps(long) and split(long[], int, int) methods
+  void testFilterKruskalSplit(Tester t) {
+    FilterKruskal builder = new FilterKruskal(new ForkJoinPool(2), 3, 3);
+    long[] edges = new long[] { EdgeList.pack(5, 0, EdgeList.RIGHT),
+        EdgeList.pack(1, 0, EdgeList.DOWN), EdgeList.pack(7, 1, EdgeList.RIGHT),
+        EdgeList.pack(3, 1, EdgeList.DOWN), EdgeList.pack(9, 3, EdgeList.RIGHT),
+        EdgeList.pack(0, 4, EdgeList.DOWN) };
+    builder.buffer = new long[edges.length];
+
+    builder.filtering = false;
+    builder.pivot = 3;
+    t.checkExpect(builder.keeps(edges[3]), true);
+    t.checkExpect(builder.keeps(edges[0]), false);
+    t.checkExpect(builder.split(edges, 1, 6), 4);
+    t.checkExpect(edges[0], EdgeList.pack(5, 0, EdgeList.RIGHT));
+    t.checkExpect(Arrays.copyOfRange(edges, 1, 4), new long[] { EdgeList.pack(1, 0, EdgeList.DOWN),
+        EdgeList.pack(3, 1, EdgeList.DOWN), EdgeList.pack(0, 4, EdgeList.DOWN) });
+    long[] heavy = Arrays.copyOfRange(edges, 4, 6);
+    Arrays.sort(heavy);
+    t.checkExpect(heavy,
+        new long[] { EdgeList.pack(7, 1, EdgeList.RIGHT), EdgeList.pack(9, 3, EdgeList.RIGHT) });
+
+    // cells 0, 1 and 3 are already joined, so the Edges between them are dropped
+    builder.sets.union(0, 1);
+    builder.sets.union(0, 3);
+    builder.filtering = true;
+    t.checkExpect(builder.keeps(EdgeList.pack(5, 0, EdgeList.RIGHT)), false);
+    t.checkExpect(builder.keeps(EdgeList.pack(7, 1, EdgeList.RIGHT)), true);
+    t.checkExpect(builder.split(edges, 0, 6), 4);
+    long[] kept = Arrays.copyOfRange(edges, 0, 4);
+    Arrays.sort(kept);
+    t.checkExpect(kept, new long[] { EdgeList.pack(0, 4, EdgeList.DOWN),
+        EdgeList.pack(3, 1, EdgeList.DOWN), EdgeList.pack(7, 1, EdgeList.RIGHT),
+        EdgeList.pack(9, 3, EdgeList.RIGHT) });
+
+    // filtering only reads the sets, however long the paths to their roots are
+    builder.sets.parent[8] = 7;
+    builder.sets.parent[7] = 6;
+    int[] parents = Arrays.copyOf(builder.sets.parent, 9);
+    t.checkExpect(builder.keeps(EdgeList.pack(2, 7, EdgeList.RIGHT)), false);
+    t.checkExpect(builder.keeps(EdgeList.pack(2, 5, EdgeList.DOWN)), true);
+    t.checkExpect(builder.sets.parent, parents);
+    builder.pool.shutdown();
+  }
+
+  // test that FilterKruskal splits big ranges across the pool in chunks
+  void testFilterKruskalSplitParallel(Tester t) {
+    FilterKruskal builder = new FilterKruskal(new ForkJoinPool(3), 1000, 1000);
+    long[] edges = new long[FilterKruskal.SPLIT_THRESHOLD * 2 + 7];
+    for (int i = 0; i < edges.length; i++) {
+      edges[i] = EdgeList.pack((i * 7919) % edges.length, i % 999, EdgeList.RIGHT);
+    }
+    builder.buffer = new long[edges.length];
+    builder.pivot = edges.length / 3;
+
+    t.checkExpect(builder.split(edges, 0, edges.length), edges.length / 3 + 1);
+    boolean inOrder = true;
+    for (int i = 0; i < edges.length; i++) {
+      inOrder = inOrder && (EdgeList.weightOf(edges[i]) <= builder.pivot) == (i <= builder.pivot);
+    }
+    t.checkExpect(inOrder, true);
+    builder.pool.shutdown();
+  }
+
+  // test MazeWorld kruskalParallel(ForkJoinPool) method
+  void testKruskalParallel(Tester t) {
+    this.initData();
+    ForkJoinPool pool = new ForkJoinPool(4);
+
+    EdgeList sequential = this.mw.mst;
+    IMaze sequentialWalls = this.mw.walls;
+    t.checkExpect(this.mw.kruskalParallel(pool), sequential);
+    t.checkExpect(this.mw.walls, sequentialWalls);
+    t.checkExpect(this.mw1.kruskalParallel(pool).size(), 0);
+
+    Vertex onlyRep = this.mw.find(this.mw.maze.get(0).get(0), new ArrayList<Vertex>());
+    for (ArrayList<Vertex> a : this.mw.maze) {
+      for (Vertex v : a) {
+        t.checkExpect(this.mw.find(v, new ArrayList<Vertex>()), onlyRep);
+      }
+    }
+
+    // big enough to be split across the pool several times over
+    MazeWorld big = new MazeWorld(300, 250, new Random(12));
+    EdgeList bigSequential = big.mst;
+    IMaze bigSequentialWalls = big.walls;
+    t.checkExpect(big.kruskalParallel(pool), bigSequential);
+    t.checkExpect(big.walls, bigSequentialWalls);
+
+    big.edges = new EdgeList(0);
+    big.assignEdgesBias(true);
+    ForkJoinPool single = new ForkJoinPool(1);
+    t.checkExpect(big.kruskalParallel(single), big.kruskal());
+    pool.shutdown();
+    single.shutdown();
+  }
+
+  // returns true if the open walls of the given grid form a perfect maze, one
+  // where every cell can reach every other cell along exactly one path
+  boolean perfect(WallGrid grid) {
+    return this.perfect(grid, grid.length, grid.width);
+  }
+
+  // returns true if the open walls of the given maze of the given size form a
+  // perfect maze
+  boolean perfect(IMaze maze, int length, int width) {
+    UnionFind sets = new UnionFind(length * width);
+    int joined = 0;
+    for (int cell = 0; cell < length * width; cell++) {
+      for (int direction = EdgeList.RIGHT; direction <= EdgeList.DOWN; direction++) {
+        if (maze.isOpen(cell, direction)) {
+          long edge = EdgeList.pack(0, cell, direction);
+          if (!sets.union(cell, EdgeList.otherOf(edge, length))) {
+            return false;
+          }
+          joined++;
+        }
+      }
+    }
+    return joined == length * width - 1;
+  }
+
+  // test EllerRows nextRow() method
+  void testEllerRowsNextRow(Tester t) {
+    // a single row has nothing below it, so every cell is joined to the next
+    EllerRows single = new EllerRows(5, 1, new Random(3));
+    t.checkExpect(single.hasNext(), true);
+    long[] bits = single.nextRow();
+    t.checkExpect(bits.length, 1);
+    t.checkExpect(bits[0], ~0x55L);
+    t.checkExpect(single.hasNext(), false);
+
+    // rows wider than a long start over in a new long
+    EllerRows wide = new EllerRows(40, 4, new Random(3));
+    for (int y = 0; y < 4; y++) {
+      t.checkExpect(wide.hasNext(), true);
+      bits = wide.nextRow();
+      t.checkExpect(bits.length, 2);
+      // the right wall of the last cell is never taken down
+      t.checkExpect((bits[1] >>> (7 << 1)) & 1, 1L);
+      for (int x = 0; x < 40; x++) {
+        t.checkExpect(wide.sets[x] < 40, true);
+      }
+    }
+    // nothing leaves the bottom row
+    for (int x = 0; x < 40; x++) {
+      t.checkExpect((bits[x >>> 5] >>> (((x & 31) << 1) + EdgeList.DOWN)) & 1, 1L);
+    }
+    t.checkExpect(wide.hasNext(), false);
+  }
+
+  // test EllerRows fill(WallGrid) method
+  void testEllerRowsFill(Tester t) {
+    for (int seed = 0; seed < 20; seed++) {
+      WallGrid grid = new WallGrid(13, 9);
+      new EllerRows(13, 9, new Random(seed)).fill(grid);
+      t.checkExpect(this.perfect(grid), true);
+
+      WallGrid tall = new WallGrid(70, 40);
+      new EllerRows(70, 40, new Random(seed)).fill(tall);
+      t.checkExpect(this.perfect(tall), true);
+    }
+
+    WallGrid column = new WallGrid(1, 6);
+    new EllerRows(1, 6, new Random(1)).fill(column);
+    t.checkExpect(this.perfect(column), true);
+
+    // the same seed always streams the same maze
+    WallGrid first = new WallGrid(30, 20);
+    WallGrid second = new WallGrid(30, 20);
+    new EllerRows(30, 20, new Random(8)).fill(first);
+    new EllerRows(30, 20, new Random(8)).fill(second);
+    t.checkExpect(first, second);
+  }
+
+  // test EllerRows biased constructor
+  void testEllerRowsBias(Tester t) {
+    WallGrid horizontal = new WallGrid(60, 60);
+    WallGrid vertical = new WallGrid(60, 60);
+    new EllerRows(60, 60, new Random(2), true).fill(horizontal);
+    new EllerRows(60, 60, new Random(2), false).fill(vertical);
+    t.checkExpect(this.perfect(horizontal), true);
+    t.checkExpect(this.perfect(vertical), true);
+
+    int horizontalRight = 0;
+    int verticalRight = 0;
+    for (int cell = 0; cell < 3600; cell++) {
+      if (horizontal.isOpen(cell, EdgeList.RIGHT)) {
+        horizontalRight++;
+      }
+      if (vertical.isOpen(cell, EdgeList.RIGHT)) {
+        verticalRight++;
+      }
+    }
+    t.checkExpect(horizontalRight > 2400, true);
+    t.checkExpect(verticalRight < 1200, true);
+  }
+
+  // test EllerRows writeTo(OutputStream) method
+  void testEllerRowsWriteTo(Tester t) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try {
+      new EllerRows(40, 7, new Random(6)).writeTo(out);
+    }
+    catch (IOException e) {
+      t.checkExpect(e, null);
+    }
+    t.checkExpect(out.size(), 7 * 2 * 8);
+
+    ByteBuffer written = ByteBuffer.wrap(out.toByteArray());
+    EllerRows again = new EllerRows(40, 7, new Random(6));
+    while (again.hasNext()) {
+      long[] bits = again.nextRow();
+      t.checkExpect(written.getLong(), bits[0]);
+      t.checkExpect(written.getLong(), bits[1]);
+    }
+  }
+
+  // test WallGrid openBetween(int, int) method
+  void testWallGridOpenBetween(Tester t) {
+    WallGrid grid = new WallGrid(3, 2);
+    grid.openBetween(1, 0);
+    grid.openBetween(2, 5);
+    t.checkExpect(grid.isOpen(0, EdgeList.RIGHT), true);
+    t.checkExpect(grid.isOpen(2, EdgeList.DOWN), true);
+    t.checkExpect(grid.isOpen(1, EdgeList.RIGHT), false);
+    t.checkExpect(grid.isOpen(0, EdgeList.DOWN), false);
+
+    // in a single column every neighbor is below
+    WallGrid column = new WallGrid(1, 3);
+    column.openBetween(1, 2);
+    t.checkExpect(column.isOpen(1, EdgeList.DOWN), true);
+    t.checkExpect(column.isOpen(1, EdgeList.RIGHT), false);
+  }
+
+  // test AMazeGenerator neighbor(int, int, int, int) method
+  void testNeighbor(Tester t) {
+    AMazeGenerator gen = new WilsonGenerator();
+    t.checkExpect(gen.neighbor(0, 0, 3, 2), 1);
+    t.checkExpect(gen.neighbor(0, 1, 3, 2), 3);
+    t.checkExpect(gen.neighbor(0, 2, 3, 2), -1);
+    t.checkExpect(gen.neighbor(0, 3, 3, 2), -1);
+    t.checkExpect(gen.neighbor(5, 0, 3, 2), -1);
+    t.checkExpect(gen.neighbor(5, 1, 3, 2), -1);
+    t.checkExpect(gen.neighbor(5, 2, 3, 2), 4);
+    t.checkExpect(gen.neighbor(5, 3, 3, 2), 2);
+    t.checkExpect(gen.neighbor(2, 0, 3, 2), -1);
+    t.checkExpect(gen.neighbor(3, 2, 3, 2), -1);
+  }
+
+  // test AMazeGenerator randomNeighbor(int, int, int, Random) method
+  void testRandomNeighbor(Tester t) {
+    AMazeGenerator gen = new AldousBroderGenerator();
+    Random rand = new Random(5);
+    int[] hits = new int[9];
+    for (int i = 0; i < 400; i++) {
+      hits[gen.randomNeighbor(4, 3, 3, rand)]++;
+      int corner = gen.randomNeighbor(0, 3, 3, rand);
+      t.checkExpect(corner == 1 || corner == 3, true);
+    }
+    t.checkExpect(hits[0] + hits[2] + hits[4] + hits[6] + hits[8], 0);
+    for (int cell : new int[] {1, 3, 5, 7}) {
+      t.checkExpect(hits[cell] > 60, true);
+    }
+    t.checkExpect(gen.randomNeighbor(0, 1, 2, rand), 1);
+  }
+
+  // test LongHeap add(long) and remove() methods
+  void testLongHeap(Tester t) {
+    LongHeap heap = new LongHeap(0);
+    t.checkExpect(heap.isEmpty(), true);
+    heap.add(5);
+    heap.add(-2);
+    heap.add(9);
+    heap.add(5);
+    t.checkExpect(heap.isEmpty(), false);
+    t.checkExpect(heap.remove(), -2L);
+    t.checkExpect(heap.remove(), 5L);
+    t.checkExpect(heap.remove(), 5L);
+    heap.add(1);
+    t.checkExpect(heap.remove(), 1L);
+    t.checkExpect(heap.remove(), 9L);
+    t.checkExpect(heap.isEmpty(), true);
+
+    // comes out in order after growing well past its starting room
+    Random rand = new Random(3);
+    long[] items = new long[500];
+    for (int i = 0; i < items.length; i++) {
+      items[i] = rand.nextLong();
+      heap.add(items[i]);
+    }
+    Arrays.sort(items);
+    for (long item : items) {
+      t.checkExpect(heap.remove(), item);
+    }
+    t.checkExpect(heap.isEmpty(), true);
+  }
+
+  // checks that the given generator always builds perfect mazes, the same maze
+  // for the same seed, and handles boards a single cell across
+  void checkGenerator(Tester t, IMazeGenerator gen) {
+    for (int seed = 0; seed < 10; seed++) {
+      t.checkExpect(this.perfect(gen.generate(9, 7, new Random(seed))), true);
+      t.checkExpect(this.perfect(gen.generate(45, 38, new Random(seed))), true);
+    }
+    t.checkExpect(gen.generate(20, 15, new Random(4)), gen.generate(20, 15, new Random(4)));
+    t.checkExpect(this.perfect(gen.generate(1, 1, new Random(1))), true);
+    t.checkExpect(this.perfect(gen.generate(1, 8, new Random(1))), true);
+    t.checkExpect(this.perfect(gen.generate(8, 1, new Random(1))), true);
+  }
+
+  // test KruskalGenerator generate(int, int, Random) method
+  void testKruskalGenerator(Tester t) {
+    this.checkGenerator(t, new KruskalGenerator());
+  }
+
+  // test PrimGenerator generate(int, int, Random) method
+  void testPrimGenerator(Tester t) {
+    this.checkGenerator(t, new PrimGenerator());
+
+    WallGrid grid = new WallGrid(3, 3);
+    boolean[] inTree = new boolean[9];
+    LongHeap frontier = new LongHeap(4);
+    new PrimGenerator().addCell(4, inTree, frontier, 3, 3, new Random(2));
+    t.checkExpect(inTree[4], true);
+    t.checkExpect(frontier.size, 4);
+    int[] ends = new int[9];
+    while (!frontier.isEmpty()) {
+      long edge = frontier.remove();
+      ends[EdgeList.cellOf(edge)]++;
+      ends[EdgeList.otherOf(edge, 3)]++;
+    }
+    t.checkExpect(ends, new int[] {0, 1, 0, 1, 4, 1, 0, 1, 0});
+  }
+
+  // test BacktrackerGenerator generate(int, int, Random) method
+  void testBacktrackerGenerator(Tester t) {
+    this.checkGenerator(t, new BacktrackerGenerator());
+  }
+
+  // test WilsonGenerator generate(int, int, Random) method
+  void testWilsonGenerator(Tester t) {
+    this.checkGenerator(t, new WilsonGenerator());
+  }
+
+  // test AldousBroderGenerator generate(int, int, Random) method
+  void testAldousBroderGenerator(Tester t) {
+    this.checkGenerator(t, new AldousBroderGenerator());
+  }
+
+  // test EllerGenerator generate(int, int, Random) method
+  void testEllerGenerator(Tester t) {
+    this.checkGenerator(t, new EllerGenerator());
+  }
+
+  // test WallGrid openConcurrently(int, int) method
+  void testWallGridOpenConcurrently(Tester t) {
+    WallGrid grid = new WallGrid(4, 2);
+    grid.openConcurrently(1, EdgeList.RIGHT);
+    grid.openConcurrently(3, EdgeList.DOWN);
+    t.checkExpect(grid.isOpen(1, EdgeList.RIGHT), true);
+    t.checkExpect(grid.isOpen(3, EdgeList.DOWN), true);
+    t.checkExpect(grid.isOpen(1, EdgeList.DOWN), false);
+    t.checkExpect(grid.isOpen(2, EdgeList.RIGHT), false);
+
+    WallGrid plain = new WallGrid(4, 2);
+    plain.open(1, EdgeList.RIGHT);
+    plain.open(3, EdgeList.DOWN);
+    t.checkExpect(grid, plain);
+  }
+
+  // test TiledGenerator generate(int, int, Random) method
+  void testTiledGenerator(Tester t) {
+    ForkJoinPool pool = new ForkJoinPool(4);
+    this.checkGenerator(t, new TiledGenerator(pool, 4));
+    this.checkGenerator(t, new TiledGenerator(pool, 64));
+    t.checkExpect(this.perfect(new TiledGenerator(pool, 7).generate(130, 75, new Random(1))),
+        true);
+
+    // the same maze comes out however many threads build it
+    ForkJoinPool single = new ForkJoinPool(1);
+    t.checkExpect(new TiledGenerator(pool, 5).generate(53, 31, new Random(9)),
+        new TiledGenerator(single, 5).generate(53, 31, new Random(9)));
+    single.shutdown();
+
+    // one door is opened for every border it takes to join the tiles
+    WallGrid walls = new TiledGenerator(pool, 5).generate(23, 12, new Random(3));
+    int doors = 0;
+    for (int cell = 0; cell < 23 * 12; cell++) {
+      if (cell % 23 % 5 == 4 && walls.isOpen(cell, EdgeList.RIGHT)) {
+        doors++;
+      }
+      if (cell / 23 % 5 == 4 && walls.isOpen(cell, EdgeList.DOWN)) {
+        doors++;
+      }
+    }
+    t.checkExpect(doors, 5 * 3 - 1);
+    pool.shutdown();
+  }
+
+  // test TiledGenerator buildTile(WallGrid, int, long) method
+  void testTiledGeneratorBuildTile(Tester t) {
+    TiledGenerator gen = new TiledGenerator(new ForkJoinPool(1), 3);
+    WallGrid walls = new WallGrid(7, 5);
+    // the ragged tile in the bottom right corner is 1 by 2
+    gen.buildTile(walls, 5, 11);
+    t.checkExpect(walls.isOpen(27, EdgeList.DOWN), true);
+    int open = 0;
+    for (int cell = 0; cell < 35; cell++) {
+      for (int direction = EdgeList.RIGHT; direction <= EdgeList.DOWN; direction++) {
+        if (walls.isOpen(cell, direction)) {
+          open++;
+        }
+      }
+    }
+    t.checkExpect(open, 1);
+
+    // a full tile gets a tree of its own cells and nothing outside them
+    gen.buildTile(walls, 1, 11);
+    UnionFind sets = new UnionFind(35);
+    for (int cell = 0; cell < 35; cell++) {
+      for (int direction = EdgeList.RIGHT; direction <= EdgeList.DOWN; direction++) {
+        if (walls.isOpen(cell, direction)) {
+          sets.union(cell, EdgeList.otherOf(EdgeList.pack(0, cell, direction), 7));
+          open++;
+        }
+      }
+    }
+    t.checkExpect(open, 1 + 8 + 1);
+    for (int cell : new int[] {3, 4, 5, 10, 11, 12, 17, 18, 19}) {
+      t.checkExpect(sets.find(cell), sets.find(3));
+    }
+    t.checkExpect(sets.find(2) == sets.find(3), false);
+    t.checkExpect(sets.find(6) == sets.find(5), false);
+    t.checkExpect(sets.find(24) == sets.find(17), false);
+    gen.pool.shutdown();
+  }
+
+  // test TiledGenerator stitch(WallGrid, Random) method
+  void testTiledGeneratorStitch(Tester t) {
+    TiledGenerator gen = new TiledGenerator(new ForkJoinPool(1), 2);
+    WallGrid walls = new WallGrid(4, 4);
+    gen.stitch(walls, new Random(6));
+    int open = 0;
+    for (int cell = 0; cell < 16; cell++) {
+      t.checkExpect(walls.isOpen(cell, EdgeList.RIGHT), cell % 4 == 1
+          && walls.isOpen(cell, EdgeList.RIGHT));
+      t.checkExpect(walls.isOpen(cell, EdgeList.DOWN), cell / 4 == 1
+          && walls.isOpen(cell, EdgeList.DOWN));
+      if (walls.isOpen(cell, EdgeList.RIGHT)) {
+        open++;
+      }
+      if (walls.isOpen(cell, EdgeList.DOWN)) {
+        open++;
+      }
+    }
+    t.checkExpect(open, 3);
+    gen.pool.shutdown();
+  }
+
+  // test ChunkedMaze isOpen(int, int) method
+  void testChunkedMazeIsOpen(Tester t) {
+    for (int seed = 0; seed < 5; seed++) {
+      t.checkExpect(this.perfect(new ChunkedMaze(50, 37, seed, 8, 100), 50, 37), true);
+      t.checkExpect(this.perfect(new ChunkedMaze(9, 9, seed, 3, 1), 9, 9), true);
+    }
+    t.checkExpect(this.perfect(new ChunkedMaze(1, 20, 2, 4, 2), 1, 20), true);
+    t.checkExpect(this.perfect(new ChunkedMaze(20, 1, 2, 4, 2), 20, 1), true);
+
+    // chunks dropped from the cache come back the same
+    ChunkedMaze roomy = new ChunkedMaze(40, 30, 7, 8, 100);
+    ChunkedMaze cramped = new ChunkedMaze(40, 30, 7, 8, 1);
+    for (int cell = 0; cell < 1200; cell++) {
+      for (int direction = EdgeList.RIGHT; direction <= EdgeList.DOWN; direction++) {
+        t.checkExpect(cramped.isOpen(cell, direction), roomy.isOpen(cell, direction));
+      }
+    }
+    t.checkExpect(roomy.generated, 20);
+    t.checkExpect(roomy.chunks.size(), 20);
+    t.checkExpect(cramped.generated > 20, true);
+    t.checkExpect(cramped.chunks.size(), 1);
+
+    // nothing is generated until it is asked about, and the walls along a chunk
+    // border need no chunk at all
+    ChunkedMaze lazy = new ChunkedMaze(40000, 40000, 3, 64, 4);
+    t.checkExpect(lazy.generated, 0);
+    lazy.isOpen(63, EdgeList.RIGHT);
+    lazy.isOpen(63 * 40000 + 5, EdgeList.DOWN);
+    lazy.isOpen(39999, EdgeList.RIGHT);
+    t.checkExpect(lazy.generated, 0);
+    lazy.isOpen(40000 * 20000 + 20000, EdgeList.DOWN);
+    t.checkExpect(lazy.generated, 1);
+  }
+
+  // test ChunkedMaze chunk(int, int) method
+  void testChunkedMazeChunk(Tester t) {
+    ChunkedMaze maze = new ChunkedMaze(10, 7, 4, 4, 2);
+    WallGrid first = maze.chunk(0, 0);
+    t.checkExpect(this.perfect(first), true);
+    t.checkExpect(maze.chunk(0, 0) == first, true);
+    t.checkExpect(maze.generated, 1);
+
+    // the chunks along the right and bottom borders are cut short
+    t.checkExpect(maze.chunk(2, 1).length, 2);
+    t.checkExpect(maze.chunk(2, 1).width, 3);
+    t.checkExpect(this.perfect(maze.chunk(2, 1)), true);
+    t.checkExpect(maze.generated, 2);
+
+    // the least recently used chunk is dropped and built again the same way
+    maze.chunk(1, 1);
+    t.checkExpect(maze.chunks.containsKey(0L), false);
+    t.checkExpect(maze.chunk(0, 0), first);
+    t.checkExpect(maze.chunk(0, 0) == first, false);
+    t.checkExpect(maze.generated, 4);
+  }
+
+  // test ChunkedMaze joinsLeft(int, int) and door(int, int) methods
+  void testChunkedMazeDoor(Tester t) {
+    ChunkedMaze maze = new ChunkedMaze(10, 7, 4, 4, 2);
+    t.checkExpect(maze.joinsLeft(1, 0), true);
+    t.checkExpect(maze.joinsLeft(2, 0), true);
+    t.checkExpect(maze.joinsLeft(0, 1), false);
+    t.checkExpect(maze.joinsLeft(1, 1), (maze.hash(1, 1) & 1) == 0);
+
+    ChunkedMaze big = new ChunkedMaze(1000, 1000, 11, 10, 2);
+    int left = 0;
+    for (int chunkX = 1; chunkX < 100; chunkX++) {
+      for (int chunkY = 1; chunkY < 100; chunkY++) {
+        if (big.joinsLeft(chunkX, chunkY)) {
+          left++;
+        }
+        t.checkExpect(big.door(chunkX, chunkY) >= 0 && big.door(chunkX, chunkY) < 10, true);
+      }
+    }
+    t.checkExpect(left > 4500 && left < 5300, true);
+
+    // doors fit in the chunks cut short along the borders
+    t.checkExpect(maze.door(2, 1) < (maze.joinsLeft(2, 1) ? 3 : 2), true);
+    t.checkExpect(maze.door(1, 1) < (maze.joinsLeft(1, 1) ? 3 : 4), true);
+    t.checkExpect(maze.door(2, 0) < 4, true);
+  }
+
+  // test ChunkedMaze hash(int, int) method
+  void testChunkedMazeHash(Tester t) {
+    ChunkedMaze maze = new ChunkedMaze(10, 7, 4, 4, 2);
+    t.checkExpect(maze.hash(3, 5), new ChunkedMaze(99, 99, 4, 8, 1).hash(3, 5));
+    t.checkExpect(maze.hash(3, 5) == maze.hash(5, 3), false);
+    t.checkExpect(maze.hash(0, 0) == new ChunkedMaze(10, 7, 5, 4, 2).hash(0, 0), false);
+  }
+
+  // test ChunkCache removeEldestEntry(Map.Entry) method
+  void testChunkCache(Tester t) {
+    ChunkCache cache = new ChunkCache(2);
+    WallGrid a = new WallGrid(1, 1);
+    WallGrid b = new WallGrid(2, 1);
+    WallGrid c = new WallGrid(3, 1);
+    cache.put(1L, a);
+    cache.put(2L, b);
+    t.checkExpect(cache.get(1L), a);
+    cache.put(3L, c);
+    t.checkExpect(cache.size(), 2);
+    t.checkExpect(cache.get(1L), a);
+    t.checkExpect(cache.get(2L), null);
+    t.checkExpect(cache.get(3L), c);
+  }
+
+  // test MazeWorld generateChunked(long) method
+  void testGenerateChunked(Tester t) {
+    this.initData();
+    MazeWorld world = new MazeWorld(70, 20, new Random(3));
+    world.generateChunked(8);
+    t.checkExpect(world.maze.size(), 0);
+    t.checkExpect(world.representatives.size(), 0);
+    t.checkExpect(world.edges.size(), 0);
+    t.checkExpect(world.mst.size(), 0);
+    t.checkExpect(((ChunkedMaze) world.walls).generated, 0);
+    t.checkExpect(this.perfect(world.walls, 70, 20), true);
+    t.checkExpect(((ChunkedMaze) world.walls).generated, 2);
+
+    // breadth-first search walks into the chunks as it reaches them
+    world.generateChunked(9);
+    world.onKeyEvent("b");
+    int ticks = 0;
+    while (!world.finished && ticks < 5000) {
+      world.onTick();
+      ticks++;
+    }
+    t.checkExpect(world.finished, true);
+    t.checkExpect(world.path[0], 0);
+    t.checkExpect(world.path[world.path.length - 1], 19 * 70 + 69);
+    for (int i = 0; i < world.path.length - 1; i++) {
+      int a = world.path[i];
+      int b = world.path[i + 1];
+      int low = Math.min(a, b);
+      t.checkExpect(world.walls.isOpen(low, Math.abs(a - b) == 1 ? EdgeList.RIGHT
+          : EdgeList.DOWN), true);
+    }
+
+    // the cache stays the same small size however big the board is
+    MazeWorld wide = new MazeWorld(600, 600, new Random(3));
+    wide.generateChunked(10);
+    t.checkExpect(((ChunkedMaze) wide.walls).chunks.capacity, ChunkedMaze.CACHED_CHUNKS);
+    t.checkExpect(((ChunkedMaze) world.walls).chunks.capacity, ChunkedMaze.CACHED_CHUNKS);
+
+    this.mw.onKeyEvent("7");
+    t.checkExpect(this.mw.walls instanceof ChunkedMaze, true);
+    t.checkExpect(this.mw.hasGrid(), false);
+    t.checkExpect(this.perfect(this.mw.walls, 3, 3), true);
+  }
+
+  // test MazeWorld drawWalls(WorldScene) method
+  void testDrawWalls(Tester t) {
+    this.initData();
+    MazeWorld world = new MazeWorld(300, 200, new Random(3));
+
+    // a board generated in chunks only generates the chunks its view overlaps,
+    // so a ChunkedMaze with room for fewer chunks than the board has draws every
+    // frame without generating anything again
+    world.generateChunked(5);
+    ChunkedMaze cramped = new ChunkedMaze(300, 200, 5, ChunkedMaze.CHUNK_SIZE, 3);
+    world.useWalls(cramped);
+    WorldScene first = new WorldScene(1020, 1020);
+    world.drawWalls(first);
+    t.checkExpect(cramped.generated, 1);
+    world.drawWalls(new WorldScene(1020, 1020));
+    t.checkExpect(cramped.generated, 1);
+
+    // scrolling to the far corner and back brings back the chunks it dropped the
+    // same as they were
+    for (int i = 0; i < 20; i++) {
+      world.scroll("right");
+      world.scroll("down");
+      world.drawWalls(new WorldScene(1020, 1020));
+    }
+    t.checkExpect(world.viewX, 260);
+    t.checkExpect(world.viewY, 160);
+    t.checkExpect(cramped.chunks.size(), 3);
+    int generated = cramped.generated;
+    for (int i = 0; i < 20; i++) {
+      world.scroll("left");
+      world.scroll("up");
+    }
+    WorldScene back = new WorldScene(1020, 1020);
+    world.drawWalls(back);
+    t.checkExpect(cramped.generated, generated + 1);
+    t.checkExpect(back, first);
+  }
+
+  // test MazeWorld hasGrid(), viewLength() and viewWidth() methods
+  void testViewSize(Tester t) {
+    this.initData();
+    t.checkExpect(this.mwRect.hasGrid(), true);
+    MazeWorld world = new MazeWorld(300, 20, new Random(3));
+    t.checkExpect(world.viewLength(), 300);
+    t.checkExpect(world.viewWidth(), 20);
+    world.generateChunked(4);
+    t.checkExpect(world.hasGrid(), false);
+    t.checkExpect(world.viewLength(), MazeWorld.VIEW_CELLS);
+    t.checkExpect(world.viewWidth(), 20);
+  }
+
+  // test MazeWorld scroll(String) method
+  void testScroll(Tester t) {
+    MazeWorld world = new MazeWorld(100, 30, new Random(3));
+    world.generateChunked(4);
+    world.scroll("right");
+    t.checkExpect(world.viewX, 20);
+    world.onKeyEvent("right");
+    world.onKeyEvent("right");
+    t.checkExpect(world.viewX, 60);
+    world.scroll("right");
+    t.checkExpect(world.viewX, 60);
+    world.scroll("left");
+    t.checkExpect(world.viewX, 40);
+    world.scroll("down");
+    world.scroll("up");
+    t.checkExpect(world.viewY, 0);
+
+    // a board that fits in the view does not move
+    this.initData();
+    this.mwRect.scroll("right");
+    this.mwRect.scroll("down");
+    t.checkExpect(this.mwRect.viewX, 0);
+    t.checkExpect(this.mwRect.viewY, 0);
+  }
+
+  // test MazeWorld drawCells(WorldScene) and colorOf(int) methods
+  void testDrawCells(Tester t) {
+    MazeWorld world = new MazeWorld(50, 50, new Random(3));
+    world.generateChunked(4);
+    t.checkExpect(world.colorOf(0), Color.GREEN);
+    t.checkExpect(world.colorOf(2499), Color.RED);
+    t.checkExpect(world.colorOf(7), Color.GRAY);
+    world.visit(7);
+    t.checkExpect(world.colorOf(7), Color.CYAN);
+
+    // the path is drawn over the searched cells in view, and cells out of view
+    // are not drawn
+    world.path = new int[] {7, 2499};
+    world.pathColored = 2;
+    WorldScene scene = new WorldScene(1020, 1020);
+    world.drawCells(scene);
+    WorldScene expected = new WorldScene(1020, 1020);
+    for (int y = 0; y < 40; y++) {
+      for (int x = 0; x < 40; x++) {
+        new Vertex(x, y, world.colorOf(y * 50 + x)).drawVertex(expected);
+      }
+    }
+    new Vertex(7, 0, Color.BLUE).drawVertex(expected);
+    t.checkExpect(scene, expected);
+
+    // a whole board generated in chunks draws a view of it
+    world.scroll("right");
+    t.checkExpect(world.makeScene().width, 1020);
+    t.checkExpect(world.hasGrid(), false);
+  }
+
+  // test a WallFollower walking a ChunkedMaze headless, keeping only a few of its
+  // chunks at a time
+  void testWallFollowerChunked(Tester t) {
+    ChunkedMaze cramped = new ChunkedMaze(512, 512, 6, ChunkedMaze.CHUNK_SIZE, 4);
+    ChunkedMaze roomy = new ChunkedMaze(512, 512, 6, ChunkedMaze.CHUNK_SIZE, 64);
+    long steps = new WallFollower(cramped, 512, 512, true, false).steps(0, 512 * 512 - 1);
+    t.checkExpect(steps > 0, true);
+    t.checkExpect(new WallFollower(roomy, 512, 512, true, false).steps(0, 512 * 512 - 1),
+        steps);
+    t.checkExpect(cramped.chunks.size(), 4);
+    t.checkExpect(roomy.chunks.size(), roomy.generated);
+    t.checkExpect(cramped.generated > roomy.generated, true);
+  }
+
+  // test MazeWorld generateWith(IMazeGenerator) method
+  void testGenerateWith(Tester t) {
+    this.initData();
+    this.mw.generateWith(new PrimGenerator());
+    t.checkExpect(this.perfect(this.mw.walls, 3, 3), true);
+    t.checkExpect(this.mw.edges.size(), 0);
+    t.checkExpect(this.mw.mst.size(), 8);
+    for (int i = 0; i < this.mw.mst.size(); i++) {
+      t.checkExpect(this.mw.walls.isOpen(this.mw.mst.cell(i), this.mw.mst.direction(i)), true);
+      t.checkExpect(this.mw.mst.weight(i), 0);
+    }
+    Vertex onlyRep = this.mw.find(this.mw.maze.get(0).get(0), new ArrayList<Vertex>());
+    for (ArrayList<Vertex> a : this.mw.maze) {
+      for (Vertex v : a) {
+        t.checkExpect(this.mw.find(v, new ArrayList<Vertex>()), onlyRep);
+      }
+    }
+
+    this.mwRect.generateWith(new BacktrackerGenerator());
+    t.checkExpect(this.perfect(this.mwRect.walls, this.mwRect.length, this.mwRect.width), true);
+    t.checkExpect(this.mwRect.mst.size(), this.mwRect.length * this.mwRect.width - 1);
+  }
+
+  // test MazeWorld onKeyEvent(String) method for the generator keys
+  void testOnKeyEventGenerators(Tester t) {
+    this.initData();
+    for (String key : new String[] {"1", "2", "3", "4", "5", "6"}) {
+      this.mw.onKeyEvent("b");
+      this.mw.onTick();
+      this.mw.onKeyEvent(key);
+
+      t.checkExpect(this.mw.searching, false);
+      t.checkExpect(this.mw.searched, 0);
+      t.checkExpect(this.mw.maze.size(), 3);
+      t.checkExpect(this.mw.maze.get(0).get(0), this.v1);
+      t.checkExpect(this.mw.find(this.mw.vertexAt(8), new ArrayList<Vertex>()),
+          this.mw.find(this.mw.vertexAt(0), new ArrayList<Vertex>()));
+      t.checkExpect(this.mw.edges.size(), 0);
+      t.checkExpect(this.mw.mst.size(), 8);
+      t.checkExpect(this.perfect(this.mw.walls, 3, 3), true);
+    }
+
+    // the maze can still be solved after switching generators
+    this.mw.onKeyEvent("4");
+    this.mw.onKeyEvent("b");
+    for (int i = 0; i < 40; i++) {
+      this.mw.onTick();
+    }
+    t.checkExpect(this.mw.finished, true);
+    t.checkExpect(this.mw.path[0], 0);
+  }
+
+  // test CounterWeights weight(int) and indexOf(int) methods
+  void testCounterWeights(Tester t) {
+    for (int size : new int[] {1, 2, 3, 12, 100, 1023, 1024, 5000}) {
+      CounterWeights weights = new CounterWeights(42, size);
+      boolean[] seen = new boolean[size];
+      for (int i = 0; i < size; i++) {
+        int w = weights.weight(i);
+        t.checkExpect(w >= 0 && w < size && !seen[w], true);
+        seen[w] = true;
+        t.checkExpect(weights.indexOf(w), i);
+      }
+    }
+
+    // the same seed always gives the same weights, and another seed other ones
+    CounterWeights first = new CounterWeights(7, 1000);
+    CounterWeights again = new CounterWeights(7, 1000);
+    CounterWeights other = new CounterWeights(8, 1000);
+    int same = 0;
+    for (int i = 0; i < 1000; i++) {
+      t.checkExpect(first.weight(i), again.weight(i));
+      if (first.weight(i) == other.weight(i)) {
+        same++;
+      }
+    }
+    t.checkExpect(same < 10, true);
+  }
+
+  // test CounterWeights encrypt(long) and decrypt(long) methods
+  void testCounterWeightsEncrypt(Tester t) {
+    CounterWeights weights = new CounterWeights(3, 300);
+    t.checkExpect(weights.halfBits, 5);
+    t.checkExpect(weights.mask, 31L);
+    for (long value = 0; value < 1024; value++) {
+      t.checkExpect(weights.encrypt(value) < 1024, true);
+      t.checkExpect(weights.decrypt(weights.encrypt(value)), value);
+    }
+    t.checkExpect(new CounterWeights(3, 1).halfBits, 1);
+    t.checkExpect(new CounterWeights(3, Integer.MAX_VALUE).halfBits, 16);
+  }
+
+  // test CounterWeights mix(long) method
+  void testCounterWeightsMix(Tester t) {
+    t.checkExpect(CounterWeights.mix(0), 0L);
+    t.checkExpect(CounterWeights.mix(0x9E3779B97F4A7C15L), 0xE220A8397B1DCDAFL);
+    t.checkExpect(CounterWeights.mix(1) == CounterWeights.mix(2), false);
+  }
+
+  // test MazeWorld edgeAtIndex(int) method
+  void testEdgeAtIndex(Tester t) {
+    this.initData();
+    MazeWorld world = new MazeWorld(7, 5, new Random(2));
+    MazeWorld column = new MazeWorld(1, 4, new Random(2));
+    for (MazeWorld w : new ArrayList<MazeWorld>(Arrays.asList(this.mw, this.mwRect, world,
+        column))) {
+      for (int i = 0; i < w.edges.size(); i++) {
+        t.checkExpect(w.edgeAtIndex(i),
+            EdgeList.pack(0, w.edges.cell(i), w.edges.direction(i)));
+      }
+    }
+  }
+
+  // test MazeWorld assignEdgesCounter(CounterWeights, ForkJoinPool) method
+  void testAssignEdgesCounter(Tester t) {
+    this.initData();
+    CounterWeights weights = new CounterWeights(5, 12);
+    ForkJoinPool one = new ForkJoinPool(1);
+    ForkJoinPool four = new ForkJoinPool(4);
+    this.mw.assignEdgesCounter(weights, one);
+    t.checkExpect(this.mw.edges.size(), 12);
+    for (int i = 0; i < 12; i++) {
+      t.checkExpect(this.mw.edges.weight(i), weights.weight(i));
+      t.checkExpect(this.mw.edges.cell(i), EdgeList.cellOf(this.mw.edgeAtIndex(i)));
+      t.checkExpect(this.mw.edges.direction(i), EdgeList.directionOf(this.mw.edgeAtIndex(i)));
+    }
+
+    // the same Edges come out however many threads work them out
+    MazeWorld big = new MazeWorld(300, 250, new Random(1));
+    CounterWeights bigWeights = new CounterWeights(9, big.edges.size());
+    big.assignEdgesCounter(bigWeights, one);
+    EdgeList single = big.edges;
+    big.assignEdgesCounter(bigWeights, four);
+    t.checkExpect(big.edges, single);
+    one.shutdown();
+    four.shutdown();
+  }
+
+  // test MazeWorld kruskalCounter(CounterWeights) method
+  void testKruskalCounter(Tester t) {
+    this.initData();
+    CounterWeights weights = new CounterWeights(11, 12);
+    ForkJoinPool pool = new ForkJoinPool(2);
+    this.mw.assignEdgesCounter(weights, pool);
+    EdgeList stored = this.mw.kruskal();
+    IMaze storedWalls = this.mw.walls;
+
+    t.checkExpect(this.mw.kruskalCounter(weights), stored);
+    t.checkExpect(this.mw.walls, storedWalls);
+    t.checkExpect(this.mw.edges.size(), 0);
+    Vertex onlyRep = this.mw.find(this.mw.maze.get(0).get(0), new ArrayList<Vertex>());
+    for (ArrayList<Vertex> a : this.mw.maze) {
+      for (Vertex v : a) {
+        t.checkExpect(this.mw.find(v, new ArrayList<Vertex>()), onlyRep);
+      }
+    }
+
+    MazeWorld big = new MazeWorld(80, 45, new Random(3));
+    CounterWeights bigWeights = new CounterWeights(4, big.edges.size());
+    big.assignEdgesCounter(bigWeights, pool);
+    EdgeList sorted = big.kruskalBySort();
+    t.checkExpect(big.kruskalCounter(bigWeights), sorted);
+    t.checkExpect(this.perfect(big.walls, 80, 45), true);
+    pool.shutdown();
+  }
+
+  // test IBiasField alignment(double, double, int, int) method
+  void testBiasFieldAlignment(Tester t) {
+    IBiasField uniform = new UniformField();
+    IBiasField radial = new RadialField();
+    IBiasField diagonal = new DiagonalField();
+    t.checkExpect(uniform.alignment(3.5, 2, 10, 10), 1.0);
+    t.checkExpect(radial.alignment(2, 2, 5, 5), 0.5);
+    t.checkExpect(radial.alignment(4, 2, 5, 5), 1.0);
+    t.checkExpect(radial.alignment(2, 0.5, 5, 5), 0.0);
+    t.checkExpect(radial.alignment(3, 3, 5, 5), 0.5);
+    t.checkExpect(diagonal.alignment(0, 0, 5, 3), 1.0);
+    t.checkExpect(diagonal.alignment(4, 2, 5, 3), 0.0);
+    t.checkExpect(diagonal.alignment(2, 1, 5, 3), 0.5);
+    t.checkExpect(diagonal.alignment(0, 3, 1, 7), 0.75);
+  }
+
+  // test IBiasField name() and next() methods
+  void testBiasFieldNext(Tester t) {
+    t.checkExpect(new UniformField().name(), "uniform");
+    t.checkExpect(new RadialField().name(), "radial");
+    t.checkExpect(new DiagonalField().name(), "diagonal");
+    t.checkExpect(new UniformField().next(), new RadialField());
+    t.checkExpect(new RadialField().next(), new DiagonalField());
+    t.checkExpect(new DiagonalField().next(), new UniformField());
+  }
+
+  // test MazeWorld assignEdgesBias(double, IBiasField) method
+  void testAssignEdgesBiasContinuous(Tester t) {
+    this.initData();
+    MazeWorld world = new MazeWorld(40, 30, new Random(1));
+    int total = world.edges.size();
+    int horizontalTotal = 39 * 30;
+
+    for (double bias : new double[] {-1, -0.5, 0, 0.5, 1}) {
+      for (IBiasField field : new IBiasField[] {new UniformField(), new RadialField(),
+          new DiagonalField()}) {
+        world.assignEdgesBias(bias, field);
+        t.checkExpect(world.edges.size(), total);
+        boolean[] seen = new boolean[total];
+        for (int i = 0; i < total; i++) {
+          t.checkExpect(seen[world.edges.weight(i)], false);
+          seen[world.edges.weight(i)] = true;
+          t.checkExpect(EdgeList.pack(0, world.edges.cell(i), world.edges.direction(i)),
+              world.edgeAtIndex(i));
+        }
+        t.checkExpect(world.kruskal().size(), 40 * 30 - 1);
+        t.checkExpect(this.perfect(world.walls, 40, 30), true);
+      }
+    }
+
+    // a full horizontal bias puts every horizontal Edge first, like
+    // assignEdgesBias(true), and a full vertical bias puts them last
+    world.assignEdgesBias(-1, new UniformField());
+    for (int i = 0; i < total; i++) {
+      t.checkExpect(world.edges.weight(i) < horizontalTotal,
+          world.edges.direction(i) == EdgeList.RIGHT);
+    }
+    world.assignEdgesBias(1, new UniformField());
+    for (int i = 0; i < total; i++) {
+      t.checkExpect(world.edges.weight(i) >= total - horizontalTotal,
+          world.edges.direction(i) == EdgeList.RIGHT);
+    }
+
+    // the stronger the bias, the more of the tree runs across
+    int lastAcross = -1;
+    for (double bias : new double[] {0.75, 0.25, -0.25, -0.75}) {
+      world.assignEdgesBias(bias, new UniformField());
+      EdgeList tree = world.kruskal();
+      int across = 0;
+      for (int i = 0; i < tree.size(); i++) {
+        if (tree.direction(i) == EdgeList.RIGHT) {
+          across++;
+        }
+      }
+      t.checkExpect(across > lastAcross, true);
+      lastAcross = across;
+    }
+
+    // a radial field with a horizontal bias makes spokes: in the middle of the
+    // right side the tree mostly runs across
+    world.assignEdgesBias(-1, new RadialField());
+    EdgeList spokes = world.kruskal();
+    int across = 0;
+    int near = 0;
+    for (int i = 0; i < spokes.size(); i++) {
+      int x = spokes.cell(i) % 40;
+      int y = spokes.cell(i) / 40;
+      if (x > 30 && y > 10 && y < 19) {
+        near++;
+        if (spokes.direction(i) == EdgeList.RIGHT) {
+          across++;
+        }
+      }
+    }
+    t.checkExpect(across > 2 * (near - across), true);
+
+    // the same Random gives the same weights
+    MazeWorld again = new MazeWorld(40, 30, new Random(5));
+    MazeWorld twin = new MazeWorld(40, 30, new Random(5));
+    again.assignEdgesBias(0.3, new DiagonalField());
+    twin.assignEdgesBias(0.3, new DiagonalField());
+    t.checkExpect(again.edges, twin.edges);
+
+    // and at full strength different Randoms still give different mazes, since
+    // Edges the field scores the same are weighed in a random order
+    for (double bias : new double[] {-1, 1}) {
+      MazeWorld first = new MazeWorld(40, 30, new Random(2));
+      MazeWorld second = new MazeWorld(40, 30, new Random(3));
+      first.assignEdgesBias(bias, new UniformField());
+      first.kruskal();
+      second.assignEdgesBias(bias, new UniformField());
+      second.kruskal();
+      int differences = 0;
+      for (int cell = 0; cell < 40 * 30; cell++) {
+        if (first.walls.isOpen(cell, EdgeList.RIGHT) != second.walls.isOpen(cell, EdgeList.RIGHT)
+            || first.walls.isOpen(cell, EdgeList.DOWN)
+                != second.walls.isOpen(cell, EdgeList.DOWN)) {
+          differences++;
+        }
+      }
+      t.checkExpect(differences > 40, true);
+    }
+  }
+
+  // test MazeWorld newBiasedMaze() method
+  void testNewBiasedMaze(Tester t) {
+    this.initData();
+    this.mw.bias = -0.5;
+    this.mw.field = new RadialField();
+    this.mw.onKeyEvent("b");
+    this.mw.onTick();
+    this.mw.newBiasedMaze();
+    t.checkExpect(this.mw.searching, false);
+    t.checkExpect(this.mw.searched, 0);
+    t.checkExpect(this.mw.edges.size(), 12);
+    t.checkExpect(this.mw.mst.size(), 8);
+    t.checkExpect(this.perfect(this.mw.walls, 3, 3), true);
+    t.checkExpect(this.mw.mode, new TextImage("bias -0.50 with a radial field", 15,
+        Color.BLACK));
+  }
+
+  // test MazeWorld onKeyEvent(String) method for the bias keys
+  void testOnKeyEventBias(Tester t) {
+    this.initData();
+    t.checkExpect(this.mw.bias, 0.0);
+    t.checkExpect(this.mw.field, new UniformField());
+    this.mw.onKeyEvent("[");
+    t.checkExpect(this.mw.bias, -0.25);
+    t.checkExpect(this.mw.mode, new TextImage("bias -0.25 with a uniform field", 15,
+        Color.BLACK));
+    for (int i = 0; i < 6; i++) {
+      this.mw.onKeyEvent("[");
+    }
+    t.checkExpect(this.mw.bias, -1.0);
+    for (int i = 0; i < 3; i++) {
+      this.mw.onKeyEvent("]");
+    }
+    t.checkExpect(this.mw.bias, -0.25);
+    for (int i = 0; i < 9; i++) {
+      this.mw.onKeyEvent("]");
+    }
+    t.checkExpect(this.mw.bias, 1.0);
+    t.checkExpect(this.perfect(this.mw.walls, 3, 3), true);
+
+    this.mw.onKeyEvent("f");
+    t.checkExpect(this.mw.field, new RadialField());
+    t.checkExpect(this.mw.mode, new TextImage("bias 1.00 with a radial field", 15,
+        Color.BLACK));
+    this.mw.onKeyEvent("f");
+    t.checkExpect(this.mw.field, new DiagonalField());
+    this.mw.onKeyEvent("f");
+    t.checkExpect(this.mw.field, new UniformField());
+    t.checkExpect(this.mw.bias, 1.0);
+    t.checkExpect(this.mw.mst.size(), 8);
+  }
+
+  // test WallGrid openDirections(int) method
+  void testWallGridOpenDirections(Tester t) {
+    WallGrid grid = new WallGrid(3, 3);
+    grid.open(0, EdgeList.RIGHT);
+    grid.open(1, EdgeList.DOWN);
+    grid.open(4, EdgeList.RIGHT);
+    grid.open(2, EdgeList.DOWN);
+    t.checkExpect(grid.openDirections(0), 1);
+    t.checkExpect(grid.openDirections(1), 2 | 4);
+    t.checkExpect(grid.openDirections(4), 1 | 8);
+    t.checkExpect(grid.openDirections(5), 4 | 8);
+    t.checkExpect(grid.openDirections(3), 0);
+    t.checkExpect(grid.openDirections(8), 0);
+
+    // a single column has nothing to either side
+    WallGrid column = new WallGrid(1, 3);
+    column.open(0, EdgeList.DOWN);
+    column.open(1, EdgeList.DOWN);
+    t.checkExpect(column.openDirections(0), 2);
+    t.checkExpect(column.openDirections(1), 2 | 8);
+    t.checkExpect(column.openDirections(2), 8);
+  }
+
+  // test IMaze indexed() method
+  void testIndexed(Tester t) {
+    WallGrid grid = new BacktrackerGenerator().generate(7, 5, new Random(3));
+    IMaze index = grid.indexed();
+    t.checkExpect(index, new DirectionIndex(grid, 35));
+    t.checkExpect(index.indexed() == index, true);
+    ChunkedMaze chunked = new ChunkedMaze(7, 5, 1, 4, 4);
+    t.checkExpect(chunked.indexed() == chunked, true);
+    t.checkExpect(chunked.generated, 0);
+  }
+
+  // test DirectionIndex openDirections(int) and isOpen(int, int) methods
+  void testDirectionIndex(Tester t) {
+    for (int seed = 0; seed < 5; seed++) {
+      WallGrid grid = new WilsonGenerator().generate(9, 7, new Random(seed));
+      ChunkedMaze chunked = new ChunkedMaze(9, 7, seed, 4, 2);
+      DirectionIndex index = new DirectionIndex(grid, 63);
+      DirectionIndex chunkedIndex = new DirectionIndex(chunked, 63);
+      t.checkExpect(index.masks.length, 32);
+      for (int cell = 0; cell < 63; cell++) {
+        t.checkExpect(index.openDirections(cell), grid.openDirections(cell));
+        t.checkExpect(chunkedIndex.openDirections(cell), chunked.openDirections(cell));
+        for (int direction = EdgeList.RIGHT; direction <= EdgeList.DOWN; direction++) {
+          t.checkExpect(index.isOpen(cell, direction), grid.isOpen(cell, direction));
+          t.checkExpect(chunkedIndex.isOpen(cell, direction), chunked.isOpen(cell, direction));
+        }
+      }
+    }
+  }
+
+  // test ChunkedMaze openDirections(int) method
+  void testChunkedMazeOpenDirections(Tester t) {
+    ChunkedMaze chunked = new ChunkedMaze(11, 6, 5, 3, 20);
+    WallGrid copy = new WallGrid(11, 6);
+    for (int cell = 0; cell < 66; cell++) {
+      for (int direction = EdgeList.RIGHT; direction <= EdgeList.DOWN; direction++) {
+        if (chunked.isOpen(cell, direction)) {
+          copy.open(cell, direction);
+        }
+      }
+    }
+    for (int cell = 0; cell < 66; cell++) {
+      t.checkExpect(chunked.openDirections(cell), copy.openDirections(cell));
+    }
+  }
+
+  // test MazeWorld useWalls(IMaze) method
+  void testUseWalls(Tester t) {
+    this.initData();
+    t.checkExpect(this.mw.openings, new DirectionIndex(this.mw.walls, 9));
+    WallGrid grid = new PrimGenerator().generate(3, 3, new Random(1));
+    this.mw.useWalls(grid);
+    t.checkExpect(this.mw.walls == grid, true);
+    t.checkExpect(this.mw.openings, new DirectionIndex(grid, 9));
+
+    ChunkedMaze chunked = new ChunkedMaze(3, 3, 2, 2, 4);
+    this.mw.useWalls(chunked);
+    t.checkExpect(this.mw.walls == chunked, true);
+    t.checkExpect(this.mw.openings == chunked, true);
+  }
+
+  // test MazeWorld kruskal() method
+  void testKruskal(Tester t) {
+    this.initData();
+
+    t.checkExpect(this.mw1.mst.size(), 0);
+
+    t.checkExpect(this.mw.mst.toEdges(this.mw.maze), this.mwKruskal);
+
+    Vertex onlyRep = this.mw.find(this.mw.maze.get(0).get(0), new ArrayList<Vertex>());
+
+    for (ArrayList<Vertex> a : this.mw.maze) {
+      for (Vertex v : a) {
+        t.checkExpect(this.mw.find(v, new ArrayList<Vertex>()), onlyRep);
+      }
+    }
+  }
+
+  // test the MazeWorld getTime() method
+  void testGetTime(Tester t) {
+    this.initData();
+
+    this.mw.time = 1;
+    t.checkExpect(this.mw.getTime(), "Time Elapsed: 0");
+
+    this.mw.time = 20;
+    t.checkExpect(this.mw.getTime(), "Time Elapsed: 1");
+
+    this.mw.time = 40;
+    t.checkExpect(this.mw.getTime(), "Time Elapsed: 2");
+
+    this.mw.onKeyEvent("r");
+
+    t.checkExpect(this.mw.getTime(), "Time Elapsed: 0");
+
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+
+    t.checkExpect(this.mw.getTime(), "Time Elapsed: 0");
+
+    this.mw.onKeyEvent("n");
+
+    t.checkExpect(this.mw.getTime(), "Time Elapsed: 0");
+
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+
+    t.checkExpect(this.mw.getTime(), "Time Elapsed: 0");
+
+    this.mw.onKeyEvent("h");
+
+    t.checkExpect(this.mw.getTime(), "Time Elapsed: 0");
+
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+
+    t.checkExpect(this.mw.getTime(), "Time Elapsed: 0");
+
+    this.mw.onKeyEvent("v");
+
+    t.checkExpect(this.mw.getTime(), "Time Elapsed: 0");
+
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+
+    t.checkExpect(this.mw.getTime(), "Time Elapsed: 0");
+
+    this.mw.onKeyEvent("b");
+
+    t.checkExpect(this.mw.getTime(), "Time Elapsed: 0");
+
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+
+    t.checkExpect(this.mw.getTime(), "Total Time Taken: 0");
+
+    this.mw.onKeyEvent("d");
+
+    t.checkExpect(this.mw.getTime(), "Time Elapsed: 0");
+
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+
+    t.checkExpect(this.mw.getTime(), "Total Time Taken: 0");
+
+    this.mwRect.onKeyEvent("b");
+    this.awaitJob(this.mwRect);
+
+    t.checkExpect(this.mwRect.getTime(), "Time Elapsed: 0");
+
+    this.mwRect.onTick();
+    this.mwRect.onTick();
+    this.mwRect.onTick();
+    this.mwRect.onTick();
+    this.mwRect.onTick();
+    this.mwRect.onTick();
+    this.mwRect.onTick();
+    this.mwRect.onTick();
+    this.mwRect.onTick();
+    this.mwRect.onTick();
+    this.mwRect.onTick();
+    this.mwRect.onTick();
+    this.mwRect.onTick();
+    this.mwRect.onTick();
+    this.mwRect.onTick();
+    this.mwRect.onTick();
+    this.mwRect.onTick();
+    this.mwRect.onTick();
+    this.mwRect.onTick();
+    this.mwRect.onTick();
+
+    t.checkExpect(this.mwRect.getTime(), "Time Elapsed: 1");
+
+    this.mwRect.onKeyEvent("d");
+    this.awaitJob(this.mwRect);
+
+    t.checkExpect(this.mwRect.getTime(), "Time Elapsed: 0");
+
+    this.mwRect.onTick();
+    this.mwRect.onTick();
+    this.mwRect.onTick();
+    this.mwRect.onTick();
+    this.mwRect.onTick();
+    this.mwRect.onTick();
+    this.mwRect.onTick();
+    this.mwRect.onTick();
+    this.mwRect.onTick();
+    this.mwRect.onTick();
+    this.mwRect.onTick();
+    this.mwRect.onTick();
+    this.mwRect.onTick();
+    this.mwRect.onTick();
+    this.mwRect.onTick();
+    this.mwRect.onTick();
+    this.mwRect.onTick();
+    this.mwRect.onTick();
+    this.mwRect.onTick();
+    this.mwRect.onTick();
+
+    t.checkExpect(this.mwRect.getTime(), "Time Elapsed: 1");
+  }
+
+  // test MazeWorld isVisited(int) and visit(int) methods
+  void testVisit(Tester t) {
+    this.initData();
+    MazeWorld world = new MazeWorld(20, 10, new Random(1));
+    t.checkExpect(world.visited.length, 4);
+    t.checkExpect(world.visitOrder.length, 200);
+    for (int cell = 0; cell < 200; cell++) {
+      t.checkExpect(world.isVisited(cell), false);
+    }
+    world.visit(70);
+    world.visit(0);
+    world.visit(199);
+    world.visit(63);
+    world.visit(64);
+    t.checkExpect(world.searched, 5);
+    t.checkExpect(Arrays.copyOf(world.visitOrder, 5), new int[] {70, 0, 199, 63, 64});
+    for (int cell = 0; cell < 200; cell++) {
+      t.checkExpect(world.isVisited(cell),
+          cell == 0 || cell == 63 || cell == 64 || cell == 70 || cell == 199);
+    }
+
+    world.reset();
+    t.checkExpect(world.searched, 0);
+    t.checkExpect(world.visited, new long[4]);
+    t.checkExpect(world.isVisited(70), false);
+  }
+
+  // test MazeWorld reset() method
+  void testReset(Tester t) {
+    this.initData();
+
+    this.mw.onKeyEvent("b");
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+
+
+    t.checkExpect(this.mw.time, 5);
+    t.checkExpect(Arrays.copyOf(this.mw.visitOrder, this.mw.searched),
+        new int[] {0, 3, 4, 6, 5});
+    t.checkExpect(this.mw.colored, 0);
+    t.checkExpect(this.mw.path, new int[0]);
+    t.checkExpect(this.mw.pathColored, 0);
+
+    this.mw.reset();
+
+    t.checkExpect(this.mw.time, 0);
+    t.checkExpect(this.mw.searched, 0);
+    t.checkExpect(this.mw.colored, 0);
+    t.checkExpect(this.mw.path, new int[0]);
+    t.checkExpect(this.mw.pathColored, 0);
+  }
+
+  // test MazeWorld newMaze() method
+  void testNewMaze(Tester t) {
+    this.initData();
+
+    ArrayList<Vertex> row1 = new ArrayList<Vertex>(Arrays.asList(this.v1, this.v2, this.v3));
+    ArrayList<Vertex> row2 = new ArrayList<Vertex>(Arrays.asList(this.v4, this.v5, this.v6));
+    ArrayList<Vertex> row3 = new ArrayList<Vertex>(Arrays.asList(this.v7, this.v8, this.v9));
+
+    t.checkExpect(this.mw.maze, new ArrayList<ArrayList<Vertex>>(Arrays.asList(row1, row2, row3)));
+    t.checkExpect(this.mw1.maze, new ArrayList<ArrayList<Vertex>>(
+        Arrays.asList(new ArrayList<Vertex>(Arrays.asList(this.v1)))));
+    t.checkExpect(this.mw.edges.toEdges(this.mw.maze), new ArrayList<Edge>(Arrays.asList(this.e1,
+        this.e2, this.e3,
+        this.e4, this.e5, this.e6, this.e7, this.e8, this.e9, this.e10, this.e11, this.e12)));
+    t.checkExpect(this.mw1.edges.size(), 0);
+    t.checkExpect(this.mw1.mst.size(), 0);
+    t.checkExpect(this.mw.mst.toEdges(this.mw.maze), this.mwKruskal);
+
+    t.checkExpect(this.mw.mode, new TextImage("", 15, Color.BLACK));
+    t.checkExpect(this.mw1.mode, new TextImage("", 15, Color.BLACK));
+    t.checkExpect(this.mw.searching, false);
+    t.checkExpect(this.mw.finished, false);
+    t.checkExpect(this.mw1.searching, false);
+    t.checkExpect(this.mw1.finished, false);
+
+    this.mw.newMaze();
+
+    t.checkExpect(this.mw.maze, new ArrayList<ArrayList<Vertex>>(Arrays.asList(row1, row2, row3)));
+    t.checkExpect(this.mw1.maze, new ArrayList<ArrayList<Vertex>>(
+        Arrays.asList(new ArrayList<Vertex>(Arrays.asList(this.v1)))));
+    t.checkFail(this.mw.edges.toEdges(this.mw.maze), new ArrayList<Edge>(Arrays.asList(this.e1,
+        this.e2, this.e3, this.e4, this.e5, this.e6, this.e7, this.e8, this.e9, this.e10, this.e11,
+        this.e12)));
+    t.checkExpect(this.mw1.edges.size(), 0);
+    t.checkExpect(this.mw1.mst.size(), 0);
+    t.checkExpect(this.mw.mst.toEdges(this.mw.maze), this.mwKruskal);
+    t.checkExpect(this.mw.mode, new TextImage("", 15, Color.BLACK));
+    t.checkExpect(this.mw1.mode, new TextImage("", 15, Color.BLACK));
+    t.checkExpect(this.mw.searching, false);
+    t.checkExpect(this.mw.finished, false);
+    t.checkExpect(this.mw1.searching, false);
+    t.checkExpect(this.mw1.finished, false);
+  }
+
+  // test MazeWorld makeScene() method
+  void testMakeScene(Tester t) {
+    this.initData();
+
+    TextImage title = new TextImage("Prepare to Be A-mazed", 20, FontStyle.BOLD, Color.BLACK);
+    TextImage instructions1 = new TextImage("Press B to search the maze with breadth-first search",
+        10, Color.BLACK);
+    TextImage instructions2 = new TextImage("and D to search the maze with depth-first search.", 10,
+        Color.BLACK);
+    TextImage resetInfo = new TextImage("Press R to reset the game, N to create a new maze,", 10,
+        Color.BLACK);
+    TextImage resetInfo2 = new TextImage("H to create a new horizontally-biased maze,", 10,
+        Color.BLACK);
+    TextImage resetInfo3 = new TextImage("or V to create a new vertically-biased maze.", 10,
+        Color.BLACK);
+    TextImage timer = new TextImage("Time Elapsed: " + 0, 15, Color.BLACK);
+    TextImage mode = new TextImage("", 15, Color.BLACK);
+    TextImage pause = new TextImage("", 15, Color.BLACK);
+    TextImage soFar = new TextImage("Vertices searched so far: " + 0, 15, Color.BLACK);
+
+    this.scene.placeImageXY(title, 140, 12);
+    this.scene.placeImageXY(instructions1, 140, 30);
+    this.scene.placeImageXY(instructions2, 140, 40);
+    this.scene.placeImageXY(resetInfo, 140, 250);
+    this.scene.placeImageXY(resetInfo2, 140, 260);
+    this.scene.placeImageXY(resetInfo3, 140, 270);
+    this.scene.placeImageXY(timer, 140, 230);
+    this.scene.placeImageXY(mode, 140, 60);
+    this.scene.placeImageXY(pause, 130, 80);
+    this.scene.placeImageXY(soFar, 140, 180);
+
+    this.scene.placeImageXY(new RectangleImage(20, 20, OutlineMode.SOLID, Color.GREEN), 120, 120);
+    this.scene.placeImageXY(new RectangleImage(20, 20, OutlineMode.SOLID, Color.GRAY), 140, 120);
+    this.scene.placeImageXY(new RectangleImage(20, 20, OutlineMode.SOLID, Color.GRAY), 160, 120);
+    this.scene.placeImageXY(new RectangleImage(20, 20, OutlineMode.SOLID, Color.GRAY), 120, 140);
+    this.scene.placeImageXY(new RectangleImage(20, 20, OutlineMode.SOLID, Color.GRAY), 140, 140);
+    this.scene.placeImageXY(new RectangleImage(20, 20, OutlineMode.SOLID, Color.GRAY), 160, 140);
+    this.scene.placeImageXY(new RectangleImage(20, 20, OutlineMode.SOLID, Color.GRAY), 120, 160);
+    this.scene.placeImageXY(new RectangleImage(20, 20, OutlineMode.SOLID, Color.GRAY), 140, 160);
+    this.scene.placeImageXY(new RectangleImage(20, 20, OutlineMode.SOLID, Color.RED), 160, 160);
+    this.scene.placeImageXY(new RectangleImage(2, 20, OutlineMode.SOLID, Color.BLACK), 130, 120);
+    this.scene.placeImageXY(new RectangleImage(20, 2, OutlineMode.SOLID, Color.BLACK), 140, 130);
+    this.scene.placeImageXY(new RectangleImage(2, 20, OutlineMode.SOLID, Color.BLACK), 130, 160);
+    this.scene.placeImageXY(new RectangleImage(2, 20, OutlineMode.SOLID, Color.BLACK), 150, 160);
+
+    t.checkExpect(this.mw.makeScene(), this.scene);
+
+    this.initData();
+
+    this.mw.onKeyEvent("b");
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.finished = true;
+
+    TextImage timer2 = new TextImage("Total Time Taken: " + 0, 15, Color.BLACK);
+    TextImage mode1 = new TextImage("currently using breadth-first search", 15, Color.BLACK);
+    TextImage soFar1 = new TextImage("Total Vertices Searched: " + 7, 15, Color.BLACK);
+    TextImage stats = new TextImage("The correct path is " + 5 + " vertices long", 15, Color.BLACK);
+    TextImage stats2 = new TextImage(2 + " wrong steps were taken", 15, Color.BLACK);
+    TextImage comparison = new TextImage(
+        "searched (wrong steps): BFS 7 (2), DFS 9 (4), A* 5 (0)", 10, Color.BLACK);
+
+    this.scene.placeImageXY(title, 140, 12);
+    this.scene.placeImageXY(instructions1, 140, 30);
+    this.scene.placeImageXY(instructions2, 140, 40);
+    this.scene.placeImageXY(resetInfo, 140, 250);
+    this.scene.placeImageXY(resetInfo2, 140, 260);
+    this.scene.placeImageXY(resetInfo3, 140, 270);
+    this.scene.placeImageXY(timer2, 140, 230);
+    this.scene.placeImageXY(mode1, 140, 60);
+    this.scene.placeImageXY(pause, 130, 80);
+    this.scene.placeImageXY(soFar1, 140, 180);
+    this.scene.placeImageXY(stats, 140, 195);
+    this.scene.placeImageXY(stats2, 140, 210);
+    this.scene.placeImageXY(comparison, 140, 220);
+
+    this.scene.placeImageXY(new RectangleImage(20, 20, OutlineMode.SOLID, Color.GREEN), 120, 120);
+    this.scene.placeImageXY(new RectangleImage(20, 20, OutlineMode.SOLID, Color.GRAY), 140, 120);
+    this.scene.placeImageXY(new RectangleImage(20, 20, OutlineMode.SOLID, Color.GRAY), 160, 120);
+    this.scene.placeImageXY(new RectangleImage(20, 20, OutlineMode.SOLID, Color.GRAY), 120, 140);
+    this.scene.placeImageXY(new RectangleImage(20, 20, OutlineMode.SOLID, Color.GRAY), 140, 140);
+    this.scene.placeImageXY(new RectangleImage(20, 20, OutlineMode.SOLID, Color.GRAY), 160, 140);
+    this.scene.placeImageXY(new RectangleImage(20, 20, OutlineMode.SOLID, Color.GRAY), 120, 160);
+    this.scene.placeImageXY(new RectangleImage(20, 20, OutlineMode.SOLID, Color.GRAY), 140, 160);
+    this.scene.placeImageXY(new RectangleImage(20, 20, OutlineMode.SOLID, Color.RED), 160, 160);
+    this.scene.placeImageXY(new RectangleImage(2, 20, OutlineMode.SOLID, Color.BLACK), 130, 120);
+    this.scene.placeImageXY(new RectangleImage(20, 2, OutlineMode.SOLID, Color.BLACK), 140, 130);
+    this.scene.placeImageXY(new RectangleImage(2, 20, OutlineMode.SOLID, Color.BLACK), 130, 160);
+    this.scene.placeImageXY(new RectangleImage(2, 20, OutlineMode.SOLID, Color.BLACK), 150, 160);
+
+    t.checkExpect(this.mw.makeScene(), this.scene);
+  }
+
+  // test the MazeWorld onTick() method
+  void testOnTick(Tester t) {
+    this.initData();
+
+    t.checkExpect(this.mwRect.getTime(), "Time Elapsed: 0");
+
+    this.mwRect.onKeyEvent("b");
+    this.awaitJob(this.mwRect);
     this.mwRect.onTick();
     this.mwRect.onTick();
     this.mwRect.onTick();
@@ -1644,252 +8304,536 @@ class ExamplesMaze {
     this.mwRect.onTick();
     this.mwRect.onTick();
     this.mwRect.onTick();
-    this.mwRect.onTick();
-    this.mwRect.onTick();
-    this.mwRect.onTick();
+    this.mwRect.onTick();
+    this.mwRect.onTick();
+    this.mwRect.onTick();
+
+    t.checkExpect(this.mwRect.getTime(), "Time Elapsed: 1");
+
+    this.initData();
+
+    t.checkExpect(this.mw.searching, false);
+    t.checkExpect(this.mw.finished, false);
+
+    this.mw.onKeyEvent("b");
+    this.mw.onTick();
+
+    t.checkExpect(this.mw.searching, true);
+    t.checkExpect(this.mw.finished, false);
+
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+
+    t.checkExpect(this.mw.searching, false);
+    t.checkExpect(this.mw.finished, true);
+
+    this.mw.onKeyEvent("d");
+    this.mw.onTick();
+
+    t.checkExpect(this.mw.searching, true);
+    t.checkExpect(this.mw.finished, false);
+
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+
+    t.checkExpect(this.mw.searching, false);
+    t.checkExpect(this.mw.finished, true);
+
+    this.initData();
+
+    // the whole search is solved up front and replayed one cell a tick
+    this.mw.onKeyEvent("b");
+
+    t.checkExpect(this.mw.solution.searched, 7);
+    t.checkExpect(this.mw.searched, 0);
+    this.mw.onTick();
+    this.mw.onTick();
+    t.checkExpect(this.mw.searched, 2);
+    t.checkExpect(this.mw.solution.searched, 7);
+
+    this.mw.onKeyEvent("d");
+
+    t.checkExpect(this.mw.solution.searched, 9);
+    t.checkExpect(this.mw.searched, 0);
+    this.mw.onTick();
+    this.mw.onTick();
+    t.checkExpect(this.mw.searched, 2);
+
+    this.initData();
+
+    t.checkExpect(this.mw.searched, 0);
+
+    this.mw.onKeyEvent("b");
+
+    this.mw.onTick();
+    t.checkExpect(Arrays.copyOf(this.mw.visitOrder, this.mw.searched), new int[] {0});
+    t.checkExpect(this.mw.isVisited(0), true);
+
+    this.mw.onTick();
+    t.checkExpect(Arrays.copyOf(this.mw.visitOrder, this.mw.searched), new int[] {0, 3});
+
+    this.mw.onTick();
+    t.checkExpect(Arrays.copyOf(this.mw.visitOrder, this.mw.searched), new int[] {0, 3, 4});
+    t.checkExpect(this.mw.isVisited(4), true);
+    t.checkExpect(this.mw.isVisited(6), false);
+
+    this.mw.onKeyEvent("d");
+
+    t.checkExpect(this.mw.searched, 0);
+    t.checkExpect(this.mw.isVisited(0), false);
+    this.mw.onTick();
+    t.checkExpect(Arrays.copyOf(this.mw.visitOrder, this.mw.searched), new int[] {0});
+
+    this.mw.onTick();
+    t.checkExpect(Arrays.copyOf(this.mw.visitOrder, this.mw.searched), new int[] {0, 3});
+
+    this.mw.onTick();
+    t.checkExpect(Arrays.copyOf(this.mw.visitOrder, this.mw.searched), new int[] {0, 3, 6});
+    t.checkExpect(this.mw.isVisited(6), true);
+    t.checkExpect(this.mw.isVisited(4), false);
+
+    this.initData();
+
+    // the searched cells are colored one a frame, in the order they were searched
+    t.checkExpect(this.mw.colored, 0);
+
+    this.mw.onKeyEvent("b");
+
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    t.checkExpect(this.mw.colored, 0);
+    this.mw.makeScene();
+    t.checkExpect(this.mw.colored, 1);
+    t.checkExpect(this.mw.vertexAt(0).color, Color.CYAN);
+    t.checkExpect(this.mw.vertexAt(3).color, Color.GRAY);
+    this.mw.makeScene();
+    this.mw.makeScene();
+    t.checkExpect(this.mw.colored, 3);
+    t.checkExpect(this.mw.vertexAt(3).color, Color.CYAN);
+    t.checkExpect(this.mw.vertexAt(4).color, Color.CYAN);
+    this.mw.makeScene();
+    t.checkExpect(this.mw.colored, 3);
+
+    this.mw.onKeyEvent("d");
+
+    t.checkExpect(this.mw.colored, 0);
+    this.mw.onTick();
+    this.mw.makeScene();
+    t.checkExpect(this.mw.colored, 1);
+    t.checkExpect(this.mw.vertexAt(0).color, Color.CYAN);
+
+    this.initData();
+
+    // the path is only shown once the whole search has been replayed
+    this.mw.onKeyEvent("b");
+
+    for (int i = 0; i < 6; i++) {
+      this.mw.onTick();
+    }
+    t.checkExpect(this.mw.path, new int[0]);
+    this.mw.onTick();
+    t.checkExpect(this.mw.path.length, 5);
+    t.checkExpect(this.mw.pathColored, 0);
+    this.mw.onTick();
+    t.checkExpect(this.mw.searched, 7);
+    t.checkExpect(this.mw.path.length, 5);
+  }
+
+  // test the MazeWorld onKeyEvent(String) method
+  void testOnKeyEvent(Tester t) {
+    this.initData();
+
+    t.checkExpect(this.mw.length, 3);
+    t.checkExpect(this.mw.width, 3);
+    t.checkExpect(this.mw.edges.size(), 12);
+    t.checkExpect(this.mw.mst.size(), 8);
+    t.checkExpect(this.mw.maze.size(), 3);
+    t.checkExpect(this.mw.maze.get(0).size(), 3);
+    t.checkExpect(this.mw.maze.get(1).size(), 3);
+    t.checkExpect(this.mw.maze.get(2).size(), 3);
+    t.checkExpect(this.mw.find(this.mw.vertexAt(8), new ArrayList<Vertex>()),
+        this.mw.find(this.mw.vertexAt(0), new ArrayList<Vertex>()));
+
+    t.checkExpect(this.mw.maze.get(0).get(0), this.v1);
+    t.checkExpect(this.mw.maze.get(0).get(1), this.v2);
+    t.checkExpect(this.mw.maze.get(0).get(2), this.v3);
+    t.checkExpect(this.mw.maze.get(1).get(0), this.v4);
+    t.checkExpect(this.mw.maze.get(1).get(1), this.v5);
+    t.checkExpect(this.mw.maze.get(1).get(2), this.v6);
+    t.checkExpect(this.mw.maze.get(2).get(0), this.v7);
+    t.checkExpect(this.mw.maze.get(2).get(1), this.v8);
+    t.checkExpect(this.mw.maze.get(2).get(2), this.v9);
+
+    Vertex onlyRep = this.mw.find(this.mw.maze.get(0).get(0), new ArrayList<Vertex>());
+
+    for (ArrayList<Vertex> a : this.mw.maze) {
+      for (Vertex v : a) {
+        t.checkExpect(this.mw.find(v, new ArrayList<Vertex>()), onlyRep);
+      }
+    }
+
+    this.mw.onKeyEvent("h");
+
+    t.checkExpect(this.mw.length, 3);
+    t.checkExpect(this.mw.width, 3);
+    t.checkExpect(this.mw.edges.size(), 12);
+    t.checkExpect(this.mw.mst.size(), 8);
+    t.checkExpect(this.mw.maze.size(), 3);
+    t.checkExpect(this.mw.maze.get(0).size(), 3);
+    t.checkExpect(this.mw.maze.get(1).size(), 3);
+    t.checkExpect(this.mw.maze.get(2).size(), 3);
+    t.checkExpect(this.mw.find(this.mw.vertexAt(8), new ArrayList<Vertex>()),
+        this.mw.find(this.mw.vertexAt(0), new ArrayList<Vertex>()));
+
+    t.checkExpect(this.mw.maze.get(0).get(0), this.v1);
+    t.checkExpect(this.mw.maze.get(0).get(1), this.v2);
+    t.checkExpect(this.mw.maze.get(0).get(2), this.v3);
+    t.checkExpect(this.mw.maze.get(1).get(0), this.v4);
+    t.checkExpect(this.mw.maze.get(1).get(1), this.v5);
+    t.checkExpect(this.mw.maze.get(1).get(2), this.v6);
+    t.checkExpect(this.mw.maze.get(2).get(0), this.v7);
+    t.checkExpect(this.mw.maze.get(2).get(1), this.v8);
+    t.checkExpect(this.mw.maze.get(2).get(2), this.v9);
+
+    Vertex onlyRep2 = this.mw.find(this.mw.maze.get(0).get(0), new ArrayList<Vertex>());
+
+    for (ArrayList<Vertex> a : this.mw.maze) {
+      for (Vertex v : a) {
+        t.checkExpect(this.mw.find(v, new ArrayList<Vertex>()), onlyRep2);
+      }
+    }
+
+    ArrayList<Integer> expectedWeights = new ArrayList<Integer>(
+        Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11));
+    ArrayList<Integer> actualWeights = new ArrayList<Integer>();
+    t.checkExpect(this.mw.edges.size(), 12);
+    t.checkExpect(this.mw.edges.size(), expectedWeights.size());
+    for (Edge e : this.mw.edges.toEdges(this.mw.maze)) {
+      t.checkExpect(expectedWeights.contains(e.weight), true);
+      actualWeights.add(e.weight);
+    }
+    for (Integer i : expectedWeights) {
+      t.checkExpect(actualWeights.contains(i), true);
+    }
 
-    t.checkExpect(this.mwRect.getTime(), "Time Elapsed: 1");
+    ArrayList<Edge> edgeViews = this.mw.edges.toEdges(this.mw.maze);
+    ArrayList<Edge> actualHorizontalEdges = new ArrayList<Edge>(Arrays.asList(
+        edgeViews.get(0), edgeViews.get(2), edgeViews.get(5),
+        edgeViews.get(7), edgeViews.get(10), edgeViews.get(11)));
+    ArrayList<Edge> actualVerticalEdges = new ArrayList<Edge>(Arrays.asList(
+        edgeViews.get(1), edgeViews.get(3), edgeViews.get(4),
+        edgeViews.get(6), edgeViews.get(8), edgeViews.get(9)));
 
-    this.mwRect.onKeyEvent("d");
+    ArrayList<Integer> lowerWeights = new ArrayList<Integer>(Arrays.asList(0, 1, 2, 3, 4, 5));
+    ArrayList<Integer> upperWeights = new ArrayList<Integer>(Arrays.asList(6, 7, 8, 9, 10, 11));
 
-    t.checkExpect(this.mwRect.getTime(), "Time Elapsed: 0");
+    for (Edge e : actualHorizontalEdges) {
+      t.checkExpect(lowerWeights.contains(e.weight), true);
+    }
+    for (Edge e : actualVerticalEdges) {
+      t.checkExpect(upperWeights.contains(e.weight), true);
+    }
 
-    this.mwRect.onTick();
-    this.mwRect.onTick();
-    this.mwRect.onTick();
-    this.mwRect.onTick();
-    this.mwRect.onTick();
-    this.mwRect.onTick();
-    this.mwRect.onTick();
-    this.mwRect.onTick();
-    this.mwRect.onTick();
-    this.mwRect.onTick();
-    this.mwRect.onTick();
-    this.mwRect.onTick();
-    this.mwRect.onTick();
-    this.mwRect.onTick();
-    this.mwRect.onTick();
-    this.mwRect.onTick();
-    this.mwRect.onTick();
-    this.mwRect.onTick();
-    this.mwRect.onTick();
-    this.mwRect.onTick();
+    t.checkExpect(this.mw.time, 0);
+    t.checkExpect(this.mw.mode, new TextImage("", 15, Color.BLACK));
+    t.checkExpect(this.mw.searching, false);
+    t.checkExpect(this.mw.finished, false);
+    t.checkExpect(this.mw.searched, 0);
+    t.checkExpect(this.mw.colored, 0);
+    t.checkExpect(this.mw.path, new int[0]);
+    t.checkExpect(this.mw.pathColored, 0);
 
-    t.checkExpect(this.mwRect.getTime(), "Time Elapsed: 1");
-  }
+    this.mw.onKeyEvent("v");
 
-  // test MazeWorld reset() method
-  void testReset(Tester t) {
-    this.initData();
+    t.checkExpect(this.mw.length, 3);
+    t.checkExpect(this.mw.width, 3);
+    t.checkExpect(this.mw.edges.size(), 12);
+    t.checkExpect(this.mw.mst.size(), 8);
+    t.checkExpect(this.mw.maze.size(), 3);
+    t.checkExpect(this.mw.maze.get(0).size(), 3);
+    t.checkExpect(this.mw.maze.get(1).size(), 3);
+    t.checkExpect(this.mw.maze.get(2).size(), 3);
+    t.checkExpect(this.mw.find(this.mw.vertexAt(8), new ArrayList<Vertex>()),
+        this.mw.find(this.mw.vertexAt(0), new ArrayList<Vertex>()));
 
-    this.mw.onKeyEvent("b");
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
+    t.checkExpect(this.mw.maze.get(0).get(0), this.v1);
+    t.checkExpect(this.mw.maze.get(0).get(1), this.v2);
+    t.checkExpect(this.mw.maze.get(0).get(2), this.v3);
+    t.checkExpect(this.mw.maze.get(1).get(0), this.v4);
+    t.checkExpect(this.mw.maze.get(1).get(1), this.v5);
+    t.checkExpect(this.mw.maze.get(1).get(2), this.v6);
+    t.checkExpect(this.mw.maze.get(2).get(0), this.v7);
+    t.checkExpect(this.mw.maze.get(2).get(1), this.v8);
+    t.checkExpect(this.mw.maze.get(2).get(2), this.v9);
 
-    LinkedList<Vertex> as = new LinkedList<Vertex>();
-    as.add(this.v6);
-    as.add(this.v7);
-    as.add(this.v5);
-    as.add(this.v4);
-    as.add(this.v1);
-    LinkedList<Vertex> as2 = as;
+    Vertex onlyRep3 = this.mw.find(this.mw.maze.get(0).get(0), new ArrayList<Vertex>());
 
-    t.checkExpect(this.mw.time, 5);
-    t.checkExpect(this.mw.alreadySeen, as);
-    t.checkExpect(this.mw.alreadySeen2, as2);
-    t.checkExpect(this.mw.path, new ArrayList<Vertex>());
-    t.checkExpect(this.mw.path2, new ArrayList<Vertex>());
+    for (ArrayList<Vertex> a : this.mw.maze) {
+      for (Vertex v : a) {
+        t.checkExpect(this.mw.find(v, new ArrayList<Vertex>()), onlyRep3);
+      }
+    }
 
-    this.mw.reset();
+    ArrayList<Integer> actualWeights2 = new ArrayList<Integer>();
+    t.checkExpect(this.mw.edges.size(), 12);
+    t.checkExpect(this.mw.edges.size(), expectedWeights.size());
+    for (Edge e : this.mw.edges.toEdges(this.mw.maze)) {
+      t.checkExpect(expectedWeights.contains(e.weight), true);
+      actualWeights2.add(e.weight);
+    }
+    for (Integer i : expectedWeights) {
+      t.checkExpect(actualWeights2.contains(i), true);
+    }
+
+    ArrayList<Edge> edgeViews2 = this.mw.edges.toEdges(this.mw.maze);
+    ArrayList<Edge> actualHorizontalEdges2 = new ArrayList<Edge>(Arrays.asList(
+        edgeViews2.get(0), edgeViews2.get(2), edgeViews2.get(5),
+        edgeViews2.get(7), edgeViews2.get(10), edgeViews2.get(11)));
+    ArrayList<Edge> actualVerticalEdges2 = new ArrayList<Edge>(Arrays.asList(
+        edgeViews2.get(1), edgeViews2.get(3), edgeViews2.get(4),
+        edgeViews2.get(6), edgeViews2.get(8), edgeViews2.get(9)));
+
+    for (Edge e : actualHorizontalEdges2) {
+      t.checkExpect(upperWeights.contains(e.weight), true);
+    }
+    for (Edge e : actualVerticalEdges2) {
+      t.checkExpect(lowerWeights.contains(e.weight), true);
+    }
 
     t.checkExpect(this.mw.time, 0);
-    t.checkExpect(this.mw.alreadySeen, new LinkedList<Vertex>());
-    t.checkExpect(this.mw.alreadySeen2, new LinkedList<Vertex>());
-    t.checkExpect(this.mw.path, new ArrayList<Vertex>());
-    t.checkExpect(this.mw.path2, new ArrayList<Vertex>());
-  }
+    t.checkExpect(this.mw.mode, new TextImage("", 15, Color.BLACK));
+    t.checkExpect(this.mw.searching, false);
+    t.checkExpect(this.mw.finished, false);
+    t.checkExpect(this.mw.searched, 0);
+    t.checkExpect(this.mw.colored, 0);
+    t.checkExpect(this.mw.path, new int[0]);
+    t.checkExpect(this.mw.pathColored, 0);
 
-  // test MazeWorld newMaze() method
-  void testNewMaze(Tester t) {
     this.initData();
 
-    ArrayList<Vertex> row1 = new ArrayList<Vertex>(Arrays.asList(this.v1, this.v2, this.v3));
-    ArrayList<Vertex> row2 = new ArrayList<Vertex>(Arrays.asList(this.v4, this.v5, this.v6));
-    ArrayList<Vertex> row3 = new ArrayList<Vertex>(Arrays.asList(this.v7, this.v8, this.v9));
+    this.mw.onKeyEvent("b");
 
-    t.checkExpect(this.mw.maze, new ArrayList<ArrayList<Vertex>>(Arrays.asList(row1, row2, row3)));
-    t.checkExpect(this.mw1.maze, new ArrayList<ArrayList<Vertex>>(
-        Arrays.asList(new ArrayList<Vertex>(Arrays.asList(this.v1)))));
-    t.checkExpect(this.mw.edges, new ArrayList<Edge>(Arrays.asList(this.e1, this.e2, this.e3,
-        this.e4, this.e5, this.e6, this.e7, this.e8, this.e9, this.e10, this.e11, this.e12)));
-    t.checkExpect(this.mw1.edges, new ArrayList<Edge>());
-    t.checkExpect(this.mw1.mst, new ArrayList<Edge>());
-    t.checkExpect(this.mw.mst, this.mwKruskal);
+    t.checkExpect(this.mw.length, 3);
+    t.checkExpect(this.mw.width, 3);
+    t.checkExpect(this.mw.edges.size(), 12);
+    t.checkExpect(this.mw.mst.size(), 8);
+    t.checkExpect(this.mw.maze.size(), 3);
+    t.checkExpect(this.mw.maze.get(0).size(), 3);
+    t.checkExpect(this.mw.maze.get(1).size(), 3);
+    t.checkExpect(this.mw.maze.get(2).size(), 3);
+    t.checkExpect(this.mw.find(this.mw.vertexAt(8), new ArrayList<Vertex>()),
+        this.mw.find(this.mw.vertexAt(0), new ArrayList<Vertex>()));
 
-    t.checkExpect(this.mw.mode, new TextImage("", 15, Color.BLACK));
-    t.checkExpect(this.mw1.mode, new TextImage("", 15, Color.BLACK));
-    t.checkExpect(this.mw.searching, false);
-    t.checkExpect(this.mw.finished, false);
-    t.checkExpect(this.mw1.searching, false);
-    t.checkExpect(this.mw1.finished, false);
+    t.checkExpect(this.mw.maze.get(0).get(0), this.v1);
+    t.checkExpect(this.mw.maze.get(0).get(1), this.v2);
+    t.checkExpect(this.mw.maze.get(0).get(2), this.v3);
+    t.checkExpect(this.mw.maze.get(1).get(0), this.v4);
+    t.checkExpect(this.mw.maze.get(1).get(1), this.v5);
+    t.checkExpect(this.mw.maze.get(1).get(2), this.v6);
+    t.checkExpect(this.mw.maze.get(2).get(0), this.v7);
+    t.checkExpect(this.mw.maze.get(2).get(1), this.v8);
+    t.checkExpect(this.mw.maze.get(2).get(2), this.v9);
 
-    this.mw.newMaze();
+    Vertex onlyRep4 = this.mw.find(this.mw.maze.get(0).get(0), new ArrayList<Vertex>());
 
-    t.checkExpect(this.mw.maze, new ArrayList<ArrayList<Vertex>>(Arrays.asList(row1, row2, row3)));
-    t.checkExpect(this.mw1.maze, new ArrayList<ArrayList<Vertex>>(
-        Arrays.asList(new ArrayList<Vertex>(Arrays.asList(this.v1)))));
-    t.checkFail(this.mw.edges, new ArrayList<Edge>(Arrays.asList(this.e1, this.e2, this.e3, this.e4,
-        this.e5, this.e6, this.e7, this.e8, this.e9, this.e10, this.e11, this.e12)));
-    t.checkExpect(this.mw1.edges, new ArrayList<Edge>());
-    t.checkExpect(this.mw1.mst, new ArrayList<Edge>());
-    t.checkExpect(this.mw.mst, this.mwKruskal);
-    t.checkExpect(this.mw.mode, new TextImage("", 15, Color.BLACK));
-    t.checkExpect(this.mw1.mode, new TextImage("", 15, Color.BLACK));
-    t.checkExpect(this.mw.searching, false);
+    for (ArrayList<Vertex> a : this.mw.maze) {
+      for (Vertex v : a) {
+        t.checkExpect(this.mw.find(v, new ArrayList<Vertex>()), onlyRep4);
+      }
+    }
+
+    t.checkExpect(this.mw.time, 0);
+    t.checkExpect(this.mw.mode,
+        new TextImage("currently using breadth-first search", 15, Color.BLACK));
+    t.checkExpect(this.mw.searching, true);
     t.checkExpect(this.mw.finished, false);
-    t.checkExpect(this.mw1.searching, false);
-    t.checkExpect(this.mw1.finished, false);
-  }
+    t.checkExpect(this.mw.solution.visitOrder, new int[] {0, 3, 4, 6, 5, 7, 8});
+    t.checkExpect(this.mw.solution.path, new int[] {0, 3, 4, 5, 8});
+    t.checkExpect(this.mw.searched, 0);
+    t.checkExpect(this.mw.colored, 0);
+    t.checkExpect(this.mw.path, new int[0]);
+    t.checkExpect(this.mw.pathColored, 0);
+    t.checkExpect(this.mw.maze.get(0).get(0).color, Color.GREEN);
+    t.checkExpect(this.mw.maze.get(0).get(1).color, Color.GRAY);
+    t.checkExpect(this.mw.maze.get(0).get(2).color, Color.GRAY);
+    t.checkExpect(this.mw.maze.get(1).get(0).color, Color.GRAY);
+    t.checkExpect(this.mw.maze.get(1).get(1).color, Color.GRAY);
+    t.checkExpect(this.mw.maze.get(1).get(2).color, Color.GRAY);
+    t.checkExpect(this.mw.maze.get(2).get(0).color, Color.GRAY);
+    t.checkExpect(this.mw.maze.get(2).get(1).color, Color.GRAY);
+    t.checkExpect(this.mw.maze.get(2).get(2).color, Color.RED);
 
-  // test MazeWorld makeScene() method
-  void testMakeScene(Tester t) {
-    this.initData();
+    this.mw.onKeyEvent("r");
 
-    TextImage title = new TextImage("Prepare to Be A-mazed", 20, FontStyle.BOLD, Color.BLACK);
-    TextImage instructions1 = new TextImage("Press B to search the maze with breadth-first search",
-        10, Color.BLACK);
-    TextImage instructions2 = new TextImage("and D to search the maze with depth-first search.", 10,
-        Color.BLACK);
-    TextImage resetInfo = new TextImage("Press R to reset the game, N to create a new maze,", 10,
-        Color.BLACK);
-    TextImage resetInfo2 = new TextImage("H to create a new horizontally-biased maze,", 10,
-        Color.BLACK);
-    TextImage resetInfo3 = new TextImage("or V to create a new vertically-biased maze.", 10,
-        Color.BLACK);
-    TextImage timer = new TextImage("Time Elapsed: " + 0, 15, Color.BLACK);
-    TextImage mode = new TextImage("", 15, Color.BLACK);
-    TextImage pause = new TextImage("", 15, Color.BLACK);
-    TextImage soFar = new TextImage("Vertices searched so far: " + 0, 15, Color.BLACK);
+    t.checkExpect(this.mw.length, 3);
+    t.checkExpect(this.mw.width, 3);
+    t.checkExpect(this.mw.edges.size(), 12);
+    t.checkExpect(this.mw.mst.size(), 8);
+    t.checkExpect(this.mw.maze.size(), 3);
+    t.checkExpect(this.mw.maze.get(0).size(), 3);
+    t.checkExpect(this.mw.maze.get(1).size(), 3);
+    t.checkExpect(this.mw.maze.get(2).size(), 3);
+    t.checkExpect(this.mw.find(this.mw.vertexAt(8), new ArrayList<Vertex>()),
+        this.mw.find(this.mw.vertexAt(0), new ArrayList<Vertex>()));
 
-    this.scene.placeImageXY(title, 140, 12);
-    this.scene.placeImageXY(instructions1, 140, 30);
-    this.scene.placeImageXY(instructions2, 140, 40);
-    this.scene.placeImageXY(resetInfo, 140, 250);
-    this.scene.placeImageXY(resetInfo2, 140, 260);
-    this.scene.placeImageXY(resetInfo3, 140, 270);
-    this.scene.placeImageXY(timer, 140, 230);
-    this.scene.placeImageXY(mode, 140, 60);
-    this.scene.placeImageXY(pause, 130, 80);
-    this.scene.placeImageXY(soFar, 140, 180);
+    t.checkExpect(this.mw.maze.get(0).get(0), this.v1);
+    t.checkExpect(this.mw.maze.get(0).get(1), this.v2);
+    t.checkExpect(this.mw.maze.get(0).get(2), this.v3);
+    t.checkExpect(this.mw.maze.get(1).get(0), this.v4);
+    t.checkExpect(this.mw.maze.get(1).get(1), this.v5);
+    t.checkExpect(this.mw.maze.get(1).get(2), this.v6);
+    t.checkExpect(this.mw.maze.get(2).get(0), this.v7);
+    t.checkExpect(this.mw.maze.get(2).get(1), this.v8);
+    t.checkExpect(this.mw.maze.get(2).get(2), this.v9);
 
-    this.scene.placeImageXY(new RectangleImage(20, 20, OutlineMode.SOLID, Color.GREEN), 120, 120);
-    this.scene.placeImageXY(new RectangleImage(20, 20, OutlineMode.SOLID, Color.GRAY), 140, 120);
-    this.scene.placeImageXY(new RectangleImage(20, 20, OutlineMode.SOLID, Color.GRAY), 160, 120);
-    this.scene.placeImageXY(new RectangleImage(20, 20, OutlineMode.SOLID, Color.GRAY), 120, 140);
-    this.scene.placeImageXY(new RectangleImage(20, 20, OutlineMode.SOLID, Color.GRAY), 140, 140);
-    this.scene.placeImageXY(new RectangleImage(20, 20, OutlineMode.SOLID, Color.GRAY), 160, 140);
-    this.scene.placeImageXY(new RectangleImage(20, 20, OutlineMode.SOLID, Color.GRAY), 120, 160);
-    this.scene.placeImageXY(new RectangleImage(20, 20, OutlineMode.SOLID, Color.GRAY), 140, 160);
-    this.scene.placeImageXY(new RectangleImage(20, 20, OutlineMode.SOLID, Color.RED), 160, 160);
-    this.scene.placeImageXY(new RectangleImage(2, 20, OutlineMode.SOLID, Color.BLACK), 130, 120);
-    this.scene.placeImageXY(new RectangleImage(20, 2, OutlineMode.SOLID, Color.BLACK), 140, 130);
-    this.scene.placeImageXY(new RectangleImage(2, 20, OutlineMode.SOLID, Color.BLACK), 130, 160);
-    this.scene.placeImageXY(new RectangleImage(2, 20, OutlineMode.SOLID, Color.BLACK), 150, 160);
+    Vertex onlyRep5 = this.mw.find(this.mw.maze.get(0).get(0), new ArrayList<Vertex>());
 
-    t.checkExpect(this.mw.makeScene(), this.scene);
+    for (ArrayList<Vertex> a : this.mw.maze) {
+      for (Vertex v : a) {
+        t.checkExpect(this.mw.find(v, new ArrayList<Vertex>()), onlyRep5);
+      }
+    }
 
-    this.initData();
+    t.checkExpect(this.mw.time, 0);
+    t.checkExpect(this.mw.mode, new TextImage("", 15, Color.BLACK));
+    t.checkExpect(this.mw.searching, false);
+    t.checkExpect(this.mw.finished, false);
+    t.checkExpect(this.mw.searched, 0);
+    t.checkExpect(this.mw.colored, 0);
+    t.checkExpect(this.mw.path, new int[0]);
+    t.checkExpect(this.mw.pathColored, 0);
+    t.checkExpect(this.mw.maze.get(0).get(0).color, Color.GREEN);
+    t.checkExpect(this.mw.maze.get(0).get(1).color, Color.GRAY);
+    t.checkExpect(this.mw.maze.get(0).get(2).color, Color.GRAY);
+    t.checkExpect(this.mw.maze.get(1).get(0).color, Color.GRAY);
+    t.checkExpect(this.mw.maze.get(1).get(1).color, Color.GRAY);
+    t.checkExpect(this.mw.maze.get(1).get(2).color, Color.GRAY);
+    t.checkExpect(this.mw.maze.get(2).get(0).color, Color.GRAY);
+    t.checkExpect(this.mw.maze.get(2).get(1).color, Color.GRAY);
+    t.checkExpect(this.mw.maze.get(2).get(2).color, Color.RED);
 
-    this.mw.onKeyEvent("b");
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.finished = true;
+    this.mw.onKeyEvent("d");
 
-    TextImage timer2 = new TextImage("Total Time Taken: " + 0, 15, Color.BLACK);
-    TextImage mode1 = new TextImage("currently using breadth-first search", 15, Color.BLACK);
-    TextImage soFar1 = new TextImage("Total Vertices Searched: " + 7, 15, Color.BLACK);
-    TextImage stats = new TextImage("The correct path is " + 5 + " vertices long", 15, Color.BLACK);
-    TextImage stats2 = new TextImage(2 + " wrong steps were taken", 15, Color.BLACK);
+    t.checkExpect(this.mw.length, 3);
+    t.checkExpect(this.mw.width, 3);
+    t.checkExpect(this.mw.edges.size(), 12);
+    t.checkExpect(this.mw.mst.size(), 8);
+    t.checkExpect(this.mw.maze.size(), 3);
+    t.checkExpect(this.mw.maze.get(0).size(), 3);
+    t.checkExpect(this.mw.maze.get(1).size(), 3);
+    t.checkExpect(this.mw.maze.get(2).size(), 3);
+    t.checkExpect(this.mw.find(this.mw.vertexAt(8), new ArrayList<Vertex>()),
+        this.mw.find(this.mw.vertexAt(0), new ArrayList<Vertex>()));
 
-    this.scene.placeImageXY(title, 140, 12);
-    this.scene.placeImageXY(instructions1, 140, 30);
-    this.scene.placeImageXY(instructions2, 140, 40);
-    this.scene.placeImageXY(resetInfo, 140, 250);
-    this.scene.placeImageXY(resetInfo2, 140, 260);
-    this.scene.placeImageXY(resetInfo3, 140, 270);
-    this.scene.placeImageXY(timer2, 140, 230);
-    this.scene.placeImageXY(mode1, 140, 60);
-    this.scene.placeImageXY(pause, 130, 80);
-    this.scene.placeImageXY(soFar1, 140, 180);
-    this.scene.placeImageXY(stats, 140, 195);
-    this.scene.placeImageXY(stats2, 140, 210);
+    t.checkExpect(this.mw.maze.get(0).get(0), this.v1);
+    t.checkExpect(this.mw.maze.get(0).get(1), this.v2);
+    t.checkExpect(this.mw.maze.get(0).get(2), this.v3);
+    t.checkExpect(this.mw.maze.get(1).get(0), this.v4);
+    t.checkExpect(this.mw.maze.get(1).get(1), this.v5);
+    t.checkExpect(this.mw.maze.get(1).get(2), this.v6);
+    t.checkExpect(this.mw.maze.get(2).get(0), this.v7);
+    t.checkExpect(this.mw.maze.get(2).get(1), this.v8);
+    t.checkExpect(this.mw.maze.get(2).get(2), this.v9);
 
-    this.scene.placeImageXY(new RectangleImage(20, 20, OutlineMode.SOLID, Color.GREEN), 120, 120);
-    this.scene.placeImageXY(new RectangleImage(20, 20, OutlineMode.SOLID, Color.GRAY), 140, 120);
-    this.scene.placeImageXY(new RectangleImage(20, 20, OutlineMode.SOLID, Color.GRAY), 160, 120);
-    this.scene.placeImageXY(new RectangleImage(20, 20, OutlineMode.SOLID, Color.GRAY), 120, 140);
-    this.scene.placeImageXY(new RectangleImage(20, 20, OutlineMode.SOLID, Color.GRAY), 140, 140);
-    this.scene.placeImageXY(new RectangleImage(20, 20, OutlineMode.SOLID, Color.GRAY), 160, 140);
-    this.scene.placeImageXY(new RectangleImage(20, 20, OutlineMode.SOLID, Color.GRAY), 120, 160);
-    this.scene.placeImageXY(new RectangleImage(20, 20, OutlineMode.SOLID, Color.GRAY), 140, 160);
-    this.scene.placeImageXY(new RectangleImage(20, 20, OutlineMode.SOLID, Color.RED), 160, 160);
-    this.scene.placeImageXY(new RectangleImage(2, 20, OutlineMode.SOLID, Color.BLACK), 130, 120);
-    this.scene.placeImageXY(new RectangleImage(20, 2, OutlineMode.SOLID, Color.BLACK), 140, 130);
-    this.scene.placeImageXY(new RectangleImage(2, 20, OutlineMode.SOLID, Color.BLACK), 130, 160);
-    this.scene.placeImageXY(new RectangleImage(2, 20, OutlineMode.SOLID, Color.BLACK), 150, 160);
+    Vertex onlyRep6 = this.mw.find(this.mw.maze.get(0).get(0), new ArrayList<Vertex>());
 
-    t.checkExpect(this.mw.makeScene(), this.scene);
-  }
+    for (ArrayList<Vertex> a : this.mw.maze) {
+      for (Vertex v : a) {
+        t.checkExpect(this.mw.find(v, new ArrayList<Vertex>()), onlyRep6);
+      }
+    }
 
-  // test the MazeWorld onTick() method
-  void testOnTick(Tester t) {
-    this.initData();
+    t.checkExpect(this.mw.time, 0);
+    t.checkExpect(this.mw.mode,
+        new TextImage("currently using depth-first search", 15, Color.BLACK));
+    t.checkExpect(this.mw.searching, true);
+    t.checkExpect(this.mw.finished, false);
+    t.checkExpect(this.mw.solution.searched, 9);
+    t.checkExpect(this.mw.solution.path, new int[] {0, 3, 4, 5, 8});
+    t.checkExpect(this.mw.searched, 0);
+    t.checkExpect(this.mw.colored, 0);
+    t.checkExpect(this.mw.path, new int[0]);
+    t.checkExpect(this.mw.pathColored, 0);
+    t.checkExpect(this.mw.maze.get(0).get(0).color, Color.GREEN);
+    t.checkExpect(this.mw.maze.get(0).get(1).color, Color.GRAY);
+    t.checkExpect(this.mw.maze.get(0).get(2).color, Color.GRAY);
+    t.checkExpect(this.mw.maze.get(1).get(0).color, Color.GRAY);
+    t.checkExpect(this.mw.maze.get(1).get(1).color, Color.GRAY);
+    t.checkExpect(this.mw.maze.get(1).get(2).color, Color.GRAY);
+    t.checkExpect(this.mw.maze.get(2).get(0).color, Color.GRAY);
+    t.checkExpect(this.mw.maze.get(2).get(1).color, Color.GRAY);
+    t.checkExpect(this.mw.maze.get(2).get(2).color, Color.RED);
 
-    t.checkExpect(this.mwRect.getTime(), "Time Elapsed: 0");
+    this.mw.onKeyEvent("n");
 
-    this.mwRect.onKeyEvent("b");
-    this.mwRect.onTick();
-    this.mwRect.onTick();
-    this.mwRect.onTick();
-    this.mwRect.onTick();
-    this.mwRect.onTick();
-    this.mwRect.onTick();
-    this.mwRect.onTick();
-    this.mwRect.onTick();
-    this.mwRect.onTick();
-    this.mwRect.onTick();
-    this.mwRect.onTick();
-    this.mwRect.onTick();
-    this.mwRect.onTick();
-    this.mwRect.onTick();
-    this.mwRect.onTick();
-    this.mwRect.onTick();
-    this.mwRect.onTick();
-    this.mwRect.onTick();
-    this.mwRect.onTick();
-    this.mwRect.onTick();
+    t.checkExpect(this.mw.length, 3);
+    t.checkExpect(this.mw.width, 3);
+    t.checkExpect(this.mw.edges.size(), 12);
+    t.checkExpect(this.mw.mst.size(), 8);
+    t.checkExpect(this.mw.maze.size(), 3);
+    t.checkExpect(this.mw.maze.get(0).size(), 3);
+    t.checkExpect(this.mw.maze.get(1).size(), 3);
+    t.checkExpect(this.mw.maze.get(2).size(), 3);
+    t.checkExpect(this.mw.find(this.mw.vertexAt(8), new ArrayList<Vertex>()),
+        this.mw.find(this.mw.vertexAt(0), new ArrayList<Vertex>()));
 
-    t.checkExpect(this.mwRect.getTime(), "Time Elapsed: 1");
+    t.checkExpect(this.mw.maze.get(0).get(0), this.v1);
+    t.checkExpect(this.mw.maze.get(0).get(1), this.v2);
+    t.checkExpect(this.mw.maze.get(0).get(2), this.v3);
+    t.checkExpect(this.mw.maze.get(1).get(0), this.v4);
+    t.checkExpect(this.mw.maze.get(1).get(1), this.v5);
+    t.checkExpect(this.mw.maze.get(1).get(2), this.v6);
+    t.checkExpect(this.mw.maze.get(2).get(0), this.v7);
+    t.checkExpect(this.mw.maze.get(2).get(1), this.v8);
+    t.checkExpect(this.mw.maze.get(2).get(2), this.v9);
 
-    this.initData();
+    Vertex onlyRep7 = this.mw.find(this.mw.maze.get(0).get(0), new ArrayList<Vertex>());
+
+    for (ArrayList<Vertex> a : this.mw.maze) {
+      for (Vertex v : a) {
+        t.checkExpect(this.mw.find(v, new ArrayList<Vertex>()), onlyRep7);
+      }
+    }
 
+    t.checkExpect(this.mw.time, 0);
+    t.checkExpect(this.mw.mode, new TextImage("", 15, Color.BLACK));
     t.checkExpect(this.mw.searching, false);
     t.checkExpect(this.mw.finished, false);
+    t.checkExpect(this.mw.searched, 0);
+    t.checkExpect(this.mw.colored, 0);
+    t.checkExpect(this.mw.path, new int[0]);
+    t.checkExpect(this.mw.pathColored, 0);
+    t.checkExpect(this.mw.maze.get(0).get(0).color, Color.GREEN);
+    t.checkExpect(this.mw.maze.get(0).get(1).color, Color.GRAY);
+    t.checkExpect(this.mw.maze.get(0).get(2).color, Color.GRAY);
+    t.checkExpect(this.mw.maze.get(1).get(0).color, Color.GRAY);
+    t.checkExpect(this.mw.maze.get(1).get(1).color, Color.GRAY);
+    t.checkExpect(this.mw.maze.get(1).get(2).color, Color.GRAY);
+    t.checkExpect(this.mw.maze.get(2).get(0).color, Color.GRAY);
+    t.checkExpect(this.mw.maze.get(2).get(1).color, Color.GRAY);
+    t.checkExpect(this.mw.maze.get(2).get(2).color, Color.RED);
+
+    this.initData();
 
     this.mw.onKeyEvent("b");
-    this.mw.onTick();
+    this.mw.onKeyEvent("p");
 
+    MazeWorld current = this.mw;
+
+    t.checkExpect(this.mw.paused, true);
+    t.checkExpect(this.mw.pause, new TextImage("the search is paused", 15, Color.BLACK));
     t.checkExpect(this.mw.searching, true);
-    t.checkExpect(this.mw.finished, false);
 
     this.mw.onTick();
     this.mw.onTick();
@@ -1897,16 +8841,12 @@ class ExamplesMaze {
     this.mw.onTick();
     this.mw.onTick();
     this.mw.onTick();
-
-    t.checkExpect(this.mw.searching, false);
-    t.checkExpect(this.mw.finished, true);
-
-    this.mw.onKeyEvent("d");
     this.mw.onTick();
-
-    t.checkExpect(this.mw.searching, true);
-    t.checkExpect(this.mw.finished, false);
-
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
     this.mw.onTick();
     this.mw.onTick();
     this.mw.onTick();
@@ -1916,626 +8856,2055 @@ class ExamplesMaze {
     this.mw.onTick();
     this.mw.onTick();
 
-    t.checkExpect(this.mw.searching, false);
-    t.checkExpect(this.mw.finished, true);
+    t.checkExpect(this.mw, current);
+  }
 
+  // test the void showPath() method
+  void testShowPath(Tester t) {
     this.initData();
 
-    Queue<Vertex> wl = new Queue<Vertex>();
-    Stack<Vertex> wl2 = new Stack<Vertex>();
+    t.checkExpect(this.mw.path, new int[0]);
 
     this.mw.onKeyEvent("b");
 
     this.mw.onTick();
-    wl.add(this.v4);
-    t.checkExpect(this.mw.worklist, wl);
-
-    this.mw.onTick();
-    wl.remove();
-    wl.add(this.v5);
-    wl.add(this.v7);
-    t.checkExpect(this.mw.worklist, wl);
-
-    this.mw.onKeyEvent("d");
-
-    this.mw.onTick();
-    wl2.add(this.v4);
-    t.checkExpect(this.mw.worklist, wl2);
 
-    this.mw.onTick();
-    wl2.remove();
-    wl2.add(this.v5);
-    wl2.add(this.v7);
-    t.checkExpect(this.mw.worklist, wl2);
+    t.checkExpect(this.mw.path, new int[0]);
 
     this.initData();
 
-    LinkedList<Vertex> bSeen = new LinkedList<Vertex>();
-    LinkedList<Vertex> dSeen = new LinkedList<Vertex>();
-
-    t.checkExpect(this.mw.alreadySeen, bSeen);
-
     this.mw.onKeyEvent("b");
 
+    // After this many ticks, showPath gets called on the MazeWorld
+    this.mw.onTick();
     this.mw.onTick();
-    bSeen.add(this.v1);
-    t.checkExpect(this.mw.alreadySeen, bSeen);
-
     this.mw.onTick();
-    bSeen.addFirst(this.v4);
-    t.checkExpect(this.mw.alreadySeen, bSeen);
-
     this.mw.onTick();
-    bSeen.addFirst(this.v5);
-    t.checkExpect(this.mw.alreadySeen, bSeen);
-
-    this.mw.onKeyEvent("d");
-
-    t.checkExpect(this.mw.alreadySeen, dSeen);
     this.mw.onTick();
-    dSeen.add(this.v1);
-    t.checkExpect(this.mw.alreadySeen, dSeen);
-
     this.mw.onTick();
-    dSeen.addFirst(this.v4);
-    t.checkExpect(this.mw.alreadySeen, dSeen);
-
     this.mw.onTick();
-    dSeen.addFirst(this.v7);
-    t.checkExpect(this.mw.alreadySeen, dSeen);
 
-    this.initData();
+    t.checkExpect(this.mw.path, new int[] {0, 3, 4, 5, 8});
+    t.checkExpect(this.mw.pathColored, 0);
 
-    LinkedList<Vertex> bSeen1 = new LinkedList<Vertex>();
-    LinkedList<Vertex> dSeen1 = new LinkedList<Vertex>();
+    this.initData();
 
-    t.checkExpect(this.mw.alreadySeen2, bSeen1);
+    t.checkExpect(this.mw.path, new int[0]);
 
-    this.mw.onKeyEvent("b");
+    this.mw.onKeyEvent("d");
 
     this.mw.onTick();
-    bSeen1.add(this.v1);
-    t.checkExpect(this.mw.alreadySeen2, bSeen1);
 
-    this.mw.onTick();
-    bSeen1.addFirst(this.v4);
-    t.checkExpect(this.mw.alreadySeen2, bSeen1);
+    t.checkExpect(this.mw.path, new int[0]);
 
-    this.mw.onTick();
-    bSeen1.addFirst(this.v5);
-    t.checkExpect(this.mw.alreadySeen2, bSeen1);
+    this.initData();
 
     this.mw.onKeyEvent("d");
 
-    t.checkExpect(this.mw.alreadySeen2, dSeen1);
+    // After this many ticks, showPath gets called on the MazeWorld
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
+    this.mw.onTick();
     this.mw.onTick();
-    dSeen1.add(this.v1);
-    t.checkExpect(this.mw.alreadySeen2, dSeen1);
-
     this.mw.onTick();
-    dSeen1.addFirst(this.v4);
-    t.checkExpect(this.mw.alreadySeen2, dSeen1);
-
     this.mw.onTick();
-    dSeen1.addFirst(this.v7);
-    t.checkExpect(this.mw.alreadySeen2, dSeen1);
-
-    this.initData();
-
-    HashMap<Vertex, Edge> cfe = new HashMap<Vertex, Edge>();
-
-    t.checkExpect(this.mw.cameFromEdge, cfe);
-
-    this.mw.onKeyEvent("b");
-
     this.mw.onTick();
-    cfe.put(this.v1, new Edge(0, this.v1, this.v1));
-    cfe.put(this.v4, new Edge(1, this.v1, this.v4));
-    t.checkExpect(this.mw.cameFromEdge, cfe);
 
-    this.mw.onKeyEvent("d");
+    t.checkExpect(this.mw.path, new int[] {0, 3, 4, 5, 8});
+    t.checkExpect(this.mw.pathColored, 0);
 
+    // a solution that never reached its goal shows no path
+    this.initData();
+    this.mw.onKeyEvent("b");
+    this.mw.solution = new SearchResult(new int[] {0}, new int[0]);
     this.mw.onTick();
-    cfe.put(this.v1, new Edge(0, this.v1, this.v1));
-    cfe.put(this.v4, new Edge(1, this.v1, this.v4));
-    t.checkExpect(this.mw.cameFromEdge, cfe);
+    t.checkExpect(this.mw.searching, false);
+    t.checkExpect(this.mw.finished, false);
+    t.checkExpect(this.mw.path, new int[0]);
   }
 
-  // test the MazeWorld onKeyEvent(String) method
-  void testOnKeyEvent(Tester t) {
+  // test the MazeSolver breadthFirst(int, int) method
+  void testBreadthFirst(Tester t) {
     this.initData();
+    MazeSolver solver = new MazeSolver(this.mw.openings, 3, 3);
+    SearchResult result = solver.breadthFirst(0, 8);
+    t.checkExpect(result.visitOrder, new int[] {0, 3, 4, 6, 5, 7, 8});
+    t.checkExpect(result.path, new int[] {0, 3, 4, 5, 8});
+    t.checkExpect(result.searched, 7);
+    t.checkExpect(result.wrongSteps, 2);
+    // searching again reuses the solver and gives the same answer
+    t.checkExpect(solver.breadthFirst(0, 8).visitOrder, result.visitOrder);
+    t.checkExpect(solver.breadthFirst(8, 0).path, new int[] {8, 5, 4, 3, 0});
+    t.checkExpect(solver.breadthFirst(4, 4).path, new int[] {4});
+
+    // a goal behind closed walls is never reached
+    WallGrid closed = new WallGrid(2, 2);
+    SearchResult none = new MazeSolver(closed, 2, 2).breadthFirst(0, 3);
+    t.checkExpect(none.visitOrder, new int[] {0});
+    t.checkExpect(none.path, new int[0]);
+
+    MazeWorld big = new MazeWorld(40, 30, new Random(5));
+    SearchResult bigResult = new MazeSolver(big.openings, 40, 30).breadthFirst(0, 1199);
+    t.checkExpect(bigResult.path[0], 0);
+    t.checkExpect(bigResult.path[bigResult.path.length - 1], 1199);
+    t.checkExpect(bigResult.visitOrder[bigResult.searched - 1], 1199);
+  }
 
-    t.checkExpect(this.mw.length, 3);
-    t.checkExpect(this.mw.width, 3);
-    t.checkExpect(this.mw.edges.size(), 12);
-    t.checkExpect(this.mw.mst.size(), 8);
-    t.checkExpect(this.mw.maze.size(), 3);
-    t.checkExpect(this.mw.maze.get(0).size(), 3);
-    t.checkExpect(this.mw.maze.get(1).size(), 3);
-    t.checkExpect(this.mw.maze.get(2).size(), 3);
-    t.checkExpect(this.mw.representatives.size(), 9);
-
-    t.checkExpect(this.mw.maze.get(0).get(0), this.v1);
-    t.checkExpect(this.mw.maze.get(0).get(1), this.v2);
-    t.checkExpect(this.mw.maze.get(0).get(2), this.v3);
-    t.checkExpect(this.mw.maze.get(1).get(0), this.v4);
-    t.checkExpect(this.mw.maze.get(1).get(1), this.v5);
-    t.checkExpect(this.mw.maze.get(1).get(2), this.v6);
-    t.checkExpect(this.mw.maze.get(2).get(0), this.v7);
-    t.checkExpect(this.mw.maze.get(2).get(1), this.v8);
-    t.checkExpect(this.mw.maze.get(2).get(2), this.v9);
-
-    Vertex onlyRep = this.mw.find(this.mw.maze.get(0).get(0), new ArrayList<Vertex>());
+  // test the MazeSolver depthFirst(int, int) method
+  void testDepthFirst(Tester t) {
+    this.initData();
+    SearchResult result = new MazeSolver(this.mw.openings, 3, 3).depthFirst(0, 8);
+    t.checkExpect(Arrays.copyOf(result.visitOrder, 3), new int[] {0, 3, 6});
+    t.checkExpect(result.searched, 9);
+    t.checkExpect(result.path, new int[] {0, 3, 4, 5, 8});
+    t.checkExpect(result.wrongSteps, 4);
+  }
 
-    for (ArrayList<Vertex> a : this.mw.maze) {
-      for (Vertex v : a) {
-        t.checkExpect(this.mw.find(v, new ArrayList<Vertex>()), onlyRep);
-      }
+  // test the MazeSolver search(IIntCollection, int, int) method
+  void testSearch(Tester t) {
+    this.initData();
+    MazeSolver solver = new MazeSolver(this.mw.openings, 3, 3);
+    t.checkExpect(solver.search(new IntQueue(1), 0, 8).visitOrder,
+        solver.breadthFirst(0, 8).visitOrder);
+    t.checkExpect(solver.search(new IntStack(1), 0, 8).visitOrder,
+        solver.depthFirst(0, 8).visitOrder);
+
+    // every cell of a perfect maze is searched exactly once
+    MazeWorld big = new MazeWorld(20, 20, new Random(3));
+    SearchResult all = new MazeSolver(big.openings, 20, 20).search(new IntStack(1), 0, -1);
+    int[] sorted = Arrays.copyOf(all.visitOrder, all.searched);
+    Arrays.sort(sorted);
+    boolean once = all.searched == 400;
+    for (int i = 0; i < sorted.length; i++) {
+      once = once && sorted[i] == i;
     }
+    t.checkExpect(once, true);
+    t.checkExpect(all.path, new int[0]);
+  }
 
-    this.mw.onKeyEvent("h");
-
-    t.checkExpect(this.mw.length, 3);
-    t.checkExpect(this.mw.width, 3);
-    t.checkExpect(this.mw.edges.size(), 12);
-    t.checkExpect(this.mw.mst.size(), 8);
-    t.checkExpect(this.mw.maze.size(), 3);
-    t.checkExpect(this.mw.maze.get(0).size(), 3);
-    t.checkExpect(this.mw.maze.get(1).size(), 3);
-    t.checkExpect(this.mw.maze.get(2).size(), 3);
-    t.checkExpect(this.mw.representatives.size(), 9);
+  // test the MazeSolver addNeighbor(IIntCollection, int, int) method
+  void testAddNeighborSolver(Tester t) {
+    this.initData();
+    MazeSolver solver = new MazeSolver(this.mw.openings, 3, 3);
+    IntQueue worklist = new IntQueue(4);
+    solver.addNeighbor(worklist, 0, 3);
+    t.checkExpect(worklist.remove(), 3);
+    t.checkExpect(solver.parent[3], 0);
+    solver.visited[0] |= 1L << 4;
+    solver.addNeighbor(worklist, 3, 4);
+    t.checkExpect(worklist.isEmpty(), true);
+    t.checkExpect(solver.parent[4], 0);
+  }
 
-    t.checkExpect(this.mw.maze.get(0).get(0), this.v1);
-    t.checkExpect(this.mw.maze.get(0).get(1), this.v2);
-    t.checkExpect(this.mw.maze.get(0).get(2), this.v3);
-    t.checkExpect(this.mw.maze.get(1).get(0), this.v4);
-    t.checkExpect(this.mw.maze.get(1).get(1), this.v5);
-    t.checkExpect(this.mw.maze.get(1).get(2), this.v6);
-    t.checkExpect(this.mw.maze.get(2).get(0), this.v7);
-    t.checkExpect(this.mw.maze.get(2).get(1), this.v8);
-    t.checkExpect(this.mw.maze.get(2).get(2), this.v9);
+  // test the MazeSolver pathTo(int, int) method
+  void testPathTo(Tester t) {
+    this.initData();
+    MazeSolver solver = new MazeSolver(this.mw.openings, 3, 3);
+    solver.parent[0] = 0;
+    solver.parent[3] = 0;
+    solver.parent[6] = 3;
+    t.checkExpect(solver.pathTo(0, 6), new int[] {0, 3, 6});
+    t.checkExpect(solver.pathTo(3, 6), new int[] {3, 6});
+    t.checkExpect(solver.pathTo(0, 0), new int[] {0});
+  }
 
-    Vertex onlyRep2 = this.mw.find(this.mw.maze.get(0).get(0), new ArrayList<Vertex>());
+  // test the SearchResult constructor
+  void testSearchResult(Tester t) {
+    SearchResult result = new SearchResult(new int[] {0, 1, 2, 5}, new int[] {0, 1, 2});
+    t.checkExpect(result.searched, 4);
+    t.checkExpect(result.wrongSteps, 1);
+    t.checkExpect(new SearchResult(new int[] {0}, new int[0]).wrongSteps, 1);
+  }
 
-    for (ArrayList<Vertex> a : this.mw.maze) {
-      for (Vertex v : a) {
-        t.checkExpect(this.mw.find(v, new ArrayList<Vertex>()), onlyRep2);
-      }
+  // test the IndexedHeap add(int, long) and remove() methods
+  void testIndexedHeap(Tester t) {
+    IndexedHeap heap = new IndexedHeap(6);
+    t.checkExpect(heap.isEmpty(), true);
+    heap.add(3, 30);
+    heap.add(0, 50);
+    heap.add(5, 10);
+    heap.add(1, 40);
+    t.checkExpect(heap.isEmpty(), false);
+    t.checkExpect(heap.size, 4);
+    // lowering a key moves the id up, raising one does nothing
+    heap.add(0, 5);
+    heap.add(1, 45);
+    t.checkExpect(heap.size, 4);
+    t.checkExpect(heap.keys[1], 40L);
+    t.checkExpect(heap.remove(), 0);
+    t.checkExpect(heap.remove(), 5);
+    t.checkExpect(heap.remove(), 3);
+    t.checkExpect(heap.remove(), 1);
+    t.checkExpect(heap.isEmpty(), true);
+
+    // a removed id can be added again
+    heap.add(5, 7);
+    heap.add(2, 9);
+    t.checkExpect(heap.remove(), 5);
+    t.checkExpect(heap.remove(), 2);
+
+    Random rand = new Random(4);
+    IndexedHeap big = new IndexedHeap(500);
+    for (int i = 0; i < 500; i++) {
+      big.add(i, rand.nextInt(1000));
     }
-
-    ArrayList<Integer> expectedWeights = new ArrayList<Integer>(
-        Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11));
-    ArrayList<Integer> actualWeights = new ArrayList<Integer>();
-    t.checkExpect(this.mw.edges.size(), 12);
-    t.checkExpect(this.mw.edges.size(), expectedWeights.size());
-    for (Edge e : this.mw.edges) {
-      t.checkExpect(expectedWeights.contains(e.weight), true);
-      actualWeights.add(e.weight);
+    for (int i = 0; i < 500; i += 3) {
+      big.add(i, rand.nextInt(1000) - 1000);
     }
-    for (Integer i : expectedWeights) {
-      t.checkExpect(actualWeights.contains(i), true);
+    boolean sorted = true;
+    long last = Long.MIN_VALUE;
+    while (!big.isEmpty()) {
+      int id = big.remove();
+      sorted = sorted && big.keys[id] >= last && !big.contains(id);
+      last = big.keys[id];
     }
+    t.checkExpect(sorted, true);
+  }
 
-    ArrayList<Edge> actualHorizontalEdges = new ArrayList<Edge>(
-        Arrays.asList(this.mw.edges.get(0), this.mw.edges.get(2), this.mw.edges.get(5),
-            this.mw.edges.get(7), this.mw.edges.get(10), this.mw.edges.get(11)));
-    ArrayList<Edge> actualVerticalEdges = new ArrayList<Edge>(
-        Arrays.asList(this.mw.edges.get(1), this.mw.edges.get(3), this.mw.edges.get(4),
-            this.mw.edges.get(6), this.mw.edges.get(8), this.mw.edges.get(9)));
-
-    ArrayList<Integer> lowerWeights = new ArrayList<Integer>(Arrays.asList(0, 1, 2, 3, 4, 5));
-    ArrayList<Integer> upperWeights = new ArrayList<Integer>(Arrays.asList(6, 7, 8, 9, 10, 11));
+  // test the IndexedHeap contains(int) and place(int, int) methods
+  void testIndexedHeapPositions(Tester t) {
+    IndexedHeap heap = new IndexedHeap(4);
+    t.checkExpect(heap.contains(2), false);
+    heap.add(2, 1);
+    t.checkExpect(heap.contains(2), true);
+    t.checkExpect(heap.positions[2], 0);
+    heap.add(1, 0);
+    t.checkExpect(heap.positions[1], 0);
+    t.checkExpect(heap.positions[2], 1);
+    heap.place(3, 1);
+    t.checkExpect(heap.ids[1], 3);
+    t.checkExpect(heap.positions[3], 1);
+    heap.remove();
+    t.checkExpect(heap.contains(1), false);
+  }
 
-    for (Edge e : actualHorizontalEdges) {
-      t.checkExpect(lowerWeights.contains(e.weight), true);
+  // test the MazeSolver aStar(int, int) method
+  void testAStar(Tester t) {
+    this.initData();
+    MazeSolver solver = new MazeSolver(this.mw.openings, 3, 3);
+    SearchResult result = solver.aStar(0, 8);
+    t.checkExpect(result.visitOrder, new int[] {0, 3, 4, 5, 8});
+    t.checkExpect(result.path, new int[] {0, 3, 4, 5, 8});
+    t.checkExpect(result.wrongSteps, 0);
+    t.checkExpect(solver.aStar(8, 0).path, new int[] {8, 5, 4, 3, 0});
+    t.checkExpect(solver.aStar(6, 6).path, new int[] {6});
+    t.checkExpect(new MazeSolver(new WallGrid(2, 2), 2, 2).aStar(0, 3).path, new int[0]);
+
+    // A* finds the same path as breadth-first search and never searches more
+    MazeWorld big = new MazeWorld(40, 40, new Random(8));
+    big.assignEdgesBias(0.5, new UniformField());
+    big.kruskal();
+    MazeSolver bigSolver = new MazeSolver(big.openings, 40, 40);
+    SearchResult breadth = bigSolver.breadthFirst(0, 1599);
+    SearchResult best = bigSolver.aStar(0, 1599);
+    t.checkExpect(best.path, breadth.path);
+    t.checkExpect(best.searched <= breadth.searched, true);
+
+    // and at full strength too
+    big.assignEdgesBias(1, new UniformField());
+    big.kruskal();
+    bigSolver = new MazeSolver(big.openings, 40, 40);
+    t.checkExpect(bigSolver.aStar(0, 1599).path, bigSolver.breadthFirst(0, 1599).path);
+
+    // on a comb whose teeth all lead away from the goal it searches only the path
+    WallGrid comb = new WallGrid(40, 40);
+    for (int cell = 0; cell < 40 * 39; cell++) {
+      comb.open(cell, EdgeList.DOWN);
     }
-    for (Edge e : actualVerticalEdges) {
-      t.checkExpect(upperWeights.contains(e.weight), true);
+    for (int x = 0; x < 39; x++) {
+      comb.open(x, EdgeList.RIGHT);
     }
+    MazeSolver combSolver = new MazeSolver(comb, 40, 40);
+    t.checkExpect(combSolver.aStar(0, 39).wrongSteps, 0);
+    t.checkExpect(combSolver.aStar(0, 39).searched, 40);
+    t.checkExpect(combSolver.breadthFirst(0, 39).searched > 40, true);
+  }
+
+  // test the MazeSolver addFrontier(IndexedHeap, int[], int, int, int) method
+  void testAddFrontier(Tester t) {
+    this.initData();
+    MazeSolver solver = new MazeSolver(this.mw.openings, 3, 3);
+    IndexedHeap frontier = new IndexedHeap(9);
+    int[] distance = new int[9];
+    distance[3] = 1;
+    solver.addFrontier(frontier, distance, 3, 4, 8);
+    t.checkExpect(distance[4], 2);
+    t.checkExpect(solver.parent[4], 3);
+    t.checkExpect(frontier.keys[4], solver.priority(4, 2, 8));
+    // a longer way there changes nothing
+    distance[5] = 3;
+    solver.addFrontier(frontier, distance, 5, 4, 8);
+    t.checkExpect(distance[4], 2);
+    t.checkExpect(solver.parent[4], 3);
+    // and a searched cell is never added
+    solver.visited[0] |= 1L << 7;
+    solver.addFrontier(frontier, distance, 3, 7, 8);
+    t.checkExpect(frontier.contains(7), false);
+  }
 
+  // test the MazeSolver priority(int, int, int) method
+  void testPriority(Tester t) {
+    this.initData();
+    MazeSolver solver = new MazeSolver(this.mw.openings, 3, 3);
+    t.checkExpect(solver.priority(0, 0, 8), 4L << 32 | 4);
+    t.checkExpect(solver.priority(5, 3, 8), 4L << 32 | 1);
+    t.checkExpect(solver.priority(8, 4, 8), 4L << 32);
+    t.checkExpect(solver.priority(5, 3, 8) < solver.priority(4, 2, 8), true);
+  }
+
+  // test the MazeSolver compare(int, int) method
+  void testCompare(Tester t) {
+    this.initData();
+    MazeSolver solver = new MazeSolver(this.mw.openings, 3, 3);
+    t.checkExpect(solver.compare(0, 8),
+        "searched (wrong steps): BFS 7 (2), DFS 9 (4), A* 5 (0)");
+    t.checkExpect(solver.compare(4, 4),
+        "searched (wrong steps): BFS 1 (0), DFS 1 (0), A* 1 (0)");
+  }
+
+  // test the MazeWorld startSearch(String, SearchResult, String) method
+  void testStartSearch(Tester t) {
+    this.initData();
+    this.mw.time = 12;
+    this.mw.finished = true;
+    MazeSolver solver = new MazeSolver(this.mw.openings, 3, 3);
+    SearchResult result = solver.aStar(0, 8);
+    this.mw.startSearch("A* search", result, solver.compare(0, 8));
     t.checkExpect(this.mw.time, 0);
-    t.checkExpect(this.mw.mode, new TextImage("", 15, Color.BLACK));
-    t.checkExpect(this.mw.searching, false);
+    t.checkExpect(this.mw.mode, new TextImage("currently using A* search", 15, Color.BLACK));
+    t.checkExpect(this.mw.searching, true);
     t.checkExpect(this.mw.finished, false);
-    t.checkExpect(this.mw.alreadySeen, new LinkedList<Vertex>());
-    t.checkExpect(this.mw.alreadySeen2, new LinkedList<Vertex>());
-    t.checkExpect(this.mw.cameFromEdge, new HashMap<Vertex, Edge>());
-    t.checkExpect(this.mw.path, new ArrayList<Vertex>());
-    t.checkExpect(this.mw.path2, new ArrayList<Vertex>());
+    t.checkExpect(this.mw.solution, result);
+    t.checkExpect(this.mw.comparison, new TextImage(
+        "searched (wrong steps): BFS 7 (2), DFS 9 (4), A* 5 (0)", 10, Color.BLACK));
+    t.checkExpect(this.mw.vertexAt(0).color, Color.GREEN);
+    t.checkExpect(this.mw.vertexAt(4).color, Color.GRAY);
+    t.checkExpect(this.mw.vertexAt(8).color, Color.RED);
+  }
 
-    this.mw.onKeyEvent("v");
+  // test the MazeWorld onKeyEvent(String) method with A* search
+  void testOnKeyEventAStar(Tester t) {
+    this.initData();
+    this.mw.onKeyEvent("a");
+    t.checkExpect(this.mw.mode, new TextImage("currently using A* search", 15, Color.BLACK));
+    t.checkExpect(this.mw.searching, true);
+    t.checkExpect(this.mw.solution.visitOrder, new int[] {0, 3, 4, 5, 8});
+    for (int i = 0; i < 5; i++) {
+      this.mw.onTick();
+    }
+    t.checkExpect(this.mw.searching, false);
+    t.checkExpect(this.mw.finished, true);
+    t.checkExpect(this.mw.searched, 5);
+    t.checkExpect(this.mw.path.length, 5);
+  }
 
-    t.checkExpect(this.mw.length, 3);
-    t.checkExpect(this.mw.width, 3);
-    t.checkExpect(this.mw.edges.size(), 12);
-    t.checkExpect(this.mw.mst.size(), 8);
-    t.checkExpect(this.mw.maze.size(), 3);
-    t.checkExpect(this.mw.maze.get(0).size(), 3);
-    t.checkExpect(this.mw.maze.get(1).size(), 3);
-    t.checkExpect(this.mw.maze.get(2).size(), 3);
-    t.checkExpect(this.mw.representatives.size(), 9);
+  // test the MazeSolver bidirectional(int, int) method
+  void testBidirectional(Tester t) {
+    this.initData();
+    MazeSolver solver = new MazeSolver(this.mw.openings, 3, 3);
+    SearchResult result = solver.bidirectional(0, 8);
+    t.checkExpect(result.visitOrder, new int[] {0, 3, 8, 5, 4});
+    t.checkExpect(result.path, new int[] {0, 3, 4, 5, 8});
+    t.checkExpect(result.wrongSteps, 0);
+    t.checkExpect(solver.bidirectional(8, 0).path, new int[] {8, 5, 4, 3, 0});
+    t.checkExpect(solver.bidirectional(0, 3).visitOrder, new int[] {0, 3});
+    t.checkExpect(solver.bidirectional(0, 3).path, new int[] {0, 3});
+    t.checkExpect(solver.bidirectional(4, 4).path, new int[] {4});
+    t.checkExpect(new MazeSolver(new WallGrid(2, 2), 2, 2).bidirectional(0, 3).path,
+        new int[0]);
+
+    // the two searches always join into the path breadth-first search finds,
+    // searching each cell at most once
+    MazeWorld big = new MazeWorld(23, 17, new Random(6));
+    MazeSolver bigSolver = new MazeSolver(big.openings, 23, 17);
+    boolean same = true;
+    for (int goal = 0; goal < 23 * 17; goal += 7) {
+      SearchResult both = bigSolver.bidirectional(5, goal);
+      int[] sorted = Arrays.copyOf(both.visitOrder, both.searched);
+      Arrays.sort(sorted);
+      for (int i = 1; i < sorted.length; i++) {
+        same = same && sorted[i] != sorted[i - 1];
+      }
+      same = same && Arrays.equals(both.path, bigSolver.breadthFirst(5, goal).path);
+    }
+    t.checkExpect(same, true);
+  }
 
-    t.checkExpect(this.mw.maze.get(0).get(0), this.v1);
-    t.checkExpect(this.mw.maze.get(0).get(1), this.v2);
-    t.checkExpect(this.mw.maze.get(0).get(2), this.v3);
-    t.checkExpect(this.mw.maze.get(1).get(0), this.v4);
-    t.checkExpect(this.mw.maze.get(1).get(1), this.v5);
-    t.checkExpect(this.mw.maze.get(1).get(2), this.v6);
-    t.checkExpect(this.mw.maze.get(2).get(0), this.v7);
-    t.checkExpect(this.mw.maze.get(2).get(1), this.v8);
-    t.checkExpect(this.mw.maze.get(2).get(2), this.v9);
+  // test the MazeSolver joinedPath(int, int, int, int) method
+  void testJoinedPath(Tester t) {
+    this.initData();
+    MazeSolver solver = new MazeSolver(this.mw.openings, 3, 3);
+    solver.parent[0] = 0;
+    solver.parent[3] = 0;
+    solver.child[8] = 8;
+    solver.child[5] = 8;
+    solver.child[4] = 5;
+    t.checkExpect(solver.joinedPath(0, 3, 4, 8), new int[] {0, 3, 4, 5, 8});
+    t.checkExpect(solver.joinedPath(0, 0, 8, 8), new int[] {0, 8});
+  }
 
-    Vertex onlyRep3 = this.mw.find(this.mw.maze.get(0).get(0), new ArrayList<Vertex>());
+  // test the MazeWorld onKeyEvent(String) method with two-way search
+  void testOnKeyEventBidirectional(Tester t) {
+    this.initData();
+    this.mw.onKeyEvent("t");
+    t.checkExpect(this.mw.mode,
+        new TextImage("currently using two-way breadth-first search", 15, Color.BLACK));
+    t.checkExpect(this.mw.searching, true);
+    t.checkExpect(this.mw.solution.visitOrder, new int[] {0, 3, 8, 5, 4});
+    for (int i = 0; i < 4; i++) {
+      this.mw.onTick();
+    }
+    t.checkExpect(this.mw.searching, true);
+    t.checkExpect(this.mw.path, new int[0]);
+    this.mw.onTick();
+    t.checkExpect(this.mw.finished, true);
+    t.checkExpect(this.mw.path, new int[] {0, 3, 4, 5, 8});
+    t.checkExpect(this.mw.pathColored, 0);
+  }
 
-    for (ArrayList<Vertex> a : this.mw.maze) {
-      for (Vertex v : a) {
-        t.checkExpect(this.mw.find(v, new ArrayList<Vertex>()), onlyRep3);
+  // test the MazeSolver distancesFrom(int) method
+  void testDistancesFrom(Tester t) {
+    this.initData();
+    MazeSolver solver = new MazeSolver(this.mw.openings, 3, 3);
+    t.checkExpect(solver.distancesFrom(0), new int[] {0, 5, 4, 1, 2, 3, 2, 3, 4});
+    t.checkExpect(solver.distancesFrom(4), new int[] {2, 3, 2, 1, 0, 1, 2, 1, 2});
+    t.checkExpect(new MazeSolver(new WallGrid(2, 1), 2, 1).distancesFrom(1), new int[] {-1, 0});
+  }
+
+  // test the MazeSolver addDistance(IIntCollection, int[], int, int) method
+  void testAddDistance(Tester t) {
+    this.initData();
+    MazeSolver solver = new MazeSolver(this.mw.openings, 3, 3);
+    IntQueue worklist = new IntQueue(4);
+    int[] distance = new int[] {0, -1, -1};
+    solver.addDistance(worklist, distance, 0, 1);
+    t.checkExpect(distance, new int[] {0, 1, -1});
+    t.checkExpect(worklist.remove(), 1);
+    solver.addDistance(worklist, distance, 1, 0);
+    t.checkExpect(distance, new int[] {0, 1, -1});
+    t.checkExpect(worklist.isEmpty(), true);
+  }
+
+  // test the ParallelSearch distancesFrom(int) method
+  void testParallelDistancesFrom(Tester t) {
+    this.initData();
+    ForkJoinPool pool = new ForkJoinPool(4);
+    ParallelSearch search = new ParallelSearch(pool, this.mw.openings, 3, 3);
+    t.checkExpect(search.distancesFrom(0), new int[] {0, 5, 4, 1, 2, 3, 2, 3, 4});
+    t.checkExpect(search.parent[5], 4);
+    t.checkExpect(search.parent[0], 0);
+    t.checkExpect(new ParallelSearch(pool, new WallGrid(2, 1), 2, 1).distancesFrom(0),
+        new int[] {0, -1});
+
+    // the same distances as searching on one thread, on a maze with levels wide
+    // enough to be split between tasks
+    WallGrid open = new WallGrid(300, 300);
+    for (int cell = 0; cell < 300 * 300; cell++) {
+      if (cell % 300 < 299) {
+        open.open(cell, EdgeList.RIGHT);
+      }
+      if (cell / 300 < 299) {
+        open.open(cell, EdgeList.DOWN);
       }
     }
+    IMaze indexed = open.indexed();
+    t.checkExpect(new ParallelSearch(pool, indexed, 300, 300).distancesFrom(150 * 300 + 150),
+        new MazeSolver(indexed, 300, 300).distancesFrom(150 * 300 + 150));
+    MazeWorld big = new MazeWorld(60, 45, new Random(9));
+    t.checkExpect(new ParallelSearch(pool, big.openings, 60, 45).distancesFrom(17),
+        new MazeSolver(big.openings, 60, 45).distancesFrom(17));
+    pool.shutdown();
+  }
 
-    ArrayList<Integer> actualWeights2 = new ArrayList<Integer>();
-    t.checkExpect(this.mw.edges.size(), 12);
-    t.checkExpect(this.mw.edges.size(), expectedWeights.size());
-    for (Edge e : this.mw.edges) {
-      t.checkExpect(expectedWeights.contains(e.weight), true);
-      actualWeights2.add(e.weight);
+  // test the ParallelSearch pathTo(int, int) method
+  void testParallelPathTo(Tester t) {
+    this.initData();
+    ForkJoinPool pool = new ForkJoinPool(2);
+    ParallelSearch search = new ParallelSearch(pool, this.mw.openings, 3, 3);
+    t.checkExpect(search.pathTo(0, 8), new int[] {0, 3, 4, 5, 8});
+    t.checkExpect(search.pathTo(2, 2), new int[] {2});
+    t.checkExpect(new ParallelSearch(pool, new WallGrid(2, 2), 2, 2).pathTo(0, 3), new int[0]);
+    MazeWorld big = new MazeWorld(60, 45, new Random(2));
+    t.checkExpect(new ParallelSearch(pool, big.openings, 60, 45).pathTo(0, 2699),
+        new MazeSolver(big.openings, 60, 45).breadthFirst(0, 2699).path);
+    pool.shutdown();
+  }
+
+  // test the ParallelSearch claim(int) method
+  void testClaim(Tester t) {
+    this.initData();
+    ParallelSearch search = new ParallelSearch(new ForkJoinPool(1), this.mw.openings, 3, 3);
+    t.checkExpect(search.claim(5), true);
+    t.checkExpect(search.claim(5), false);
+    t.checkExpect(search.claimed[0], 1L << 5);
+    t.checkExpect(search.claim(4), true);
+    t.checkExpect(search.claimed[0], 3L << 4);
+    search.pool.shutdown();
+  }
+
+  // test the LevelTask compute() method
+  void testLevelTask(Tester t) {
+    this.initData();
+    ForkJoinPool pool = new ForkJoinPool(4);
+    ParallelSearch search = new ParallelSearch(pool, this.mw.openings, 3, 3);
+    search.distancesFrom(0);
+    Arrays.fill(search.claimed, 0);
+    search.claim(3);
+    search.claim(4);
+    LevelTask small = new LevelTask(search, new int[] {3, 4}, 0, 2, 7);
+    small.compute();
+    t.checkExpect(Arrays.copyOf(small.next, small.size), new int[] {6, 0, 5, 7});
+    t.checkExpect(search.distance[6], 7);
+    t.checkExpect(search.parent[5], 4);
+
+    // a level longer than the threshold is split, and every cell it reaches is
+    // reached by exactly one task
+    WallGrid row = new WallGrid(9000, 1);
+    for (int cell = 0; cell < 8999; cell++) {
+      row.open(cell, EdgeList.RIGHT);
     }
-    for (Integer i : expectedWeights) {
-      t.checkExpect(actualWeights2.contains(i), true);
+    ParallelSearch long1 = new ParallelSearch(pool, row.indexed(), 9000, 1);
+    int[] evens = new int[4500];
+    for (int i = 0; i < 4500; i++) {
+      evens[i] = 2 * i;
+      long1.claim(2 * i);
     }
+    LevelTask split = new LevelTask(long1, evens, 0, 4500, 1);
+    pool.invoke(split);
+    int[] reached = Arrays.copyOf(split.next, split.size);
+    Arrays.sort(reached);
+    boolean odds = reached.length == 4500;
+    for (int i = 0; i < reached.length; i++) {
+      odds = odds && reached[i] == 2 * i + 1 && long1.distance[2 * i + 1] == 1
+          && Math.abs(long1.parent[2 * i + 1] - (2 * i + 1)) == 1;
+    }
+    t.checkExpect(odds, true);
+    pool.shutdown();
+  }
 
-    ArrayList<Edge> actualHorizontalEdges2 = new ArrayList<Edge>(
-        Arrays.asList(this.mw.edges.get(0), this.mw.edges.get(2), this.mw.edges.get(5),
-            this.mw.edges.get(7), this.mw.edges.get(10), this.mw.edges.get(11)));
-    ArrayList<Edge> actualVerticalEdges2 = new ArrayList<Edge>(
-        Arrays.asList(this.mw.edges.get(1), this.mw.edges.get(3), this.mw.edges.get(4),
-            this.mw.edges.get(6), this.mw.edges.get(8), this.mw.edges.get(9)));
+  // test the LevelTask reach(int, int) method
+  void testReach(Tester t) {
+    this.initData();
+    ParallelSearch search = new ParallelSearch(new ForkJoinPool(1), this.mw.openings, 3, 3);
+    LevelTask task = new LevelTask(search, new int[] {0}, 0, 1, 3);
+    task.next = new int[1];
+    task.reach(0, 3);
+    task.reach(4, 3);
+    task.reach(0, 1);
+    t.checkExpect(Arrays.copyOf(task.next, task.size), new int[] {3, 1});
+    t.checkExpect(search.parent[3], 0);
+    t.checkExpect(search.distance[1], 3);
+    search.pool.shutdown();
+  }
 
-    for (Edge e : actualHorizontalEdges2) {
-      t.checkExpect(upperWeights.contains(e.weight), true);
+  // test the IntStack add(int), remove(), size() and clear() methods
+  void testIntStack(Tester t) {
+    IntStack stack = new IntStack(2);
+    t.checkExpect(stack.isEmpty(), true);
+    t.checkExpect(stack.items.length, 8);
+    for (int i = 0; i < 20; i++) {
+      stack.add(i);
     }
-    for (Edge e : actualVerticalEdges2) {
-      t.checkExpect(lowerWeights.contains(e.weight), true);
+    t.checkExpect(stack.size(), 20);
+    t.checkExpect(stack.items.length, 32);
+    t.checkExpect(stack.remove(), 19);
+    t.checkExpect(stack.remove(), 18);
+    stack.add(7);
+    t.checkExpect(stack.remove(), 7);
+    t.checkExpect(stack.size(), 18);
+    stack.clear();
+    t.checkExpect(stack.isEmpty(), true);
+    t.checkExpect(stack.items.length, 32);
+  }
+
+  // test the IntQueue add(int), remove(), size() and clear() methods
+  void testIntQueue(Tester t) {
+    IntQueue queue = new IntQueue(9);
+    t.checkExpect(queue.items.length, 16);
+    t.checkExpect(new IntQueue(8).items.length, 8);
+    t.checkExpect(queue.isEmpty(), true);
+    for (int i = 0; i < 12; i++) {
+      queue.add(i);
     }
+    for (int i = 0; i < 10; i++) {
+      queue.remove();
+    }
+    // the ints wrap around the end of the ring and keep their order when it grows
+    for (int i = 12; i < 30; i++) {
+      queue.add(i);
+    }
+    t.checkExpect(queue.size(), 20);
+    t.checkExpect(queue.items.length, 32);
+    boolean inOrder = true;
+    for (int i = 10; i < 30; i++) {
+      inOrder = inOrder && queue.remove() == i;
+    }
+    t.checkExpect(inOrder, true);
+    t.checkExpect(queue.isEmpty(), true);
+    queue.add(5);
+    queue.clear();
+    t.checkExpect(queue.size(), 0);
+    t.checkExpect(queue.head, 0);
+  }
 
-    t.checkExpect(this.mw.time, 0);
-    t.checkExpect(this.mw.mode, new TextImage("", 15, Color.BLACK));
-    t.checkExpect(this.mw.searching, false);
-    t.checkExpect(this.mw.finished, false);
-    t.checkExpect(this.mw.alreadySeen, new LinkedList<Vertex>());
-    t.checkExpect(this.mw.alreadySeen2, new LinkedList<Vertex>());
-    t.checkExpect(this.mw.cameFromEdge, new HashMap<Vertex, Edge>());
-    t.checkExpect(this.mw.path, new ArrayList<Vertex>());
-    t.checkExpect(this.mw.path2, new ArrayList<Vertex>());
+  // test the IndexedHeap clear() method
+  void testIndexedHeapClear(Tester t) {
+    IndexedHeap heap = new IndexedHeap(5);
+    heap.add(1, 4);
+    heap.add(3, 2);
+    heap.clear();
+    t.checkExpect(heap.isEmpty(), true);
+    t.checkExpect(heap.contains(1), false);
+    t.checkExpect(heap.contains(3), false);
+    heap.add(1, 9);
+    t.checkExpect(heap.remove(), 1);
+  }
 
-    this.initData();
+  // test that a MazeSolver keeps its collections from one search to the next
+  void testMazeSolverReuse(Tester t) {
+    MazeWorld big = new MazeWorld(30, 30, new Random(3));
+    MazeSolver solver = new MazeSolver(big.openings, 30, 30);
+    SearchResult first = solver.breadthFirst(0, 899);
+    int[] queueItems = solver.queue.items;
+    int[] stackItems = solver.stack.items;
+    solver.depthFirst(0, 899);
+    solver.aStar(0, 899);
+    solver.bidirectional(0, 899);
+    solver.distancesFrom(0);
+    t.checkExpect(solver.breadthFirst(0, 899), first);
+    t.checkExpect(solver.queue.items == queueItems, true);
+    t.checkExpect(solver.stack.items == stackItems, true);
+  }
 
+  // test that MazeWorld makeScene() colors the correct path one cell a frame
+  void testMakeScenePath(Tester t) {
+    this.initData();
     this.mw.onKeyEvent("b");
+    for (int i = 0; i < 7; i++) {
+      this.mw.onTick();
+    }
+    this.mw.colored = 7;
+    this.mw.makeScene();
+    t.checkExpect(this.mw.pathColored, 1);
+    t.checkExpect(this.mw.vertexAt(0).color, Color.BLUE);
+    t.checkExpect(this.mw.vertexAt(3).color, Color.GRAY);
+    for (int i = 0; i < 6; i++) {
+      this.mw.makeScene();
+    }
+    t.checkExpect(this.mw.pathColored, 5);
+    t.checkExpect(this.mw.vertexAt(3).color, Color.BLUE);
+    t.checkExpect(this.mw.vertexAt(8).color, Color.BLUE);
+    t.checkExpect(this.mw.vertexAt(6).color, Color.GRAY);
+
+    // a long path is shown without copying it
+    MazeWorld big = new MazeWorld(200, 200, new Random(4));
+    big.onKeyEvent("d");
+    while (big.searching) {
+      big.onTick();
+    }
+    t.checkExpect(big.path == big.solution.path, true);
+    t.checkExpect(big.path[big.path.length - 1], 200 * 200 - 1);
+  }
 
-    t.checkExpect(this.mw.length, 3);
-    t.checkExpect(this.mw.width, 3);
-    t.checkExpect(this.mw.edges.size(), 12);
-    t.checkExpect(this.mw.mst.size(), 8);
-    t.checkExpect(this.mw.maze.size(), 3);
-    t.checkExpect(this.mw.maze.get(0).size(), 3);
-    t.checkExpect(this.mw.maze.get(1).size(), 3);
-    t.checkExpect(this.mw.maze.get(2).size(), 3);
-    t.checkExpect(this.mw.representatives.size(), 9);
+  // test the TreePaths walk(IMaze) method
+  void testTreePathsWalk(Tester t) {
+    this.initData();
+    TreePaths tree = new TreePaths(this.mw.openings, 3, 3);
+    t.checkExpect(tree.order, new int[] {0, 3, 6, 4, 7, 5, 2, 1, 8});
+    t.checkExpect(tree.position[4], 3);
+    t.checkExpect(tree.depth, new int[] {0, 5, 4, 1, 2, 3, 2, 3, 4});
+    t.checkExpect(tree.parent, new int[] {0, 2, 5, 0, 3, 4, 3, 4, 5});
+  }
 
-    t.checkExpect(this.mw.maze.get(0).get(0), this.v1);
-    t.checkExpect(this.mw.maze.get(0).get(1), this.v2);
-    t.checkExpect(this.mw.maze.get(0).get(2), this.v3);
-    t.checkExpect(this.mw.maze.get(1).get(0), this.v4);
-    t.checkExpect(this.mw.maze.get(1).get(1), this.v5);
-    t.checkExpect(this.mw.maze.get(1).get(2), this.v6);
-    t.checkExpect(this.mw.maze.get(2).get(0), this.v7);
-    t.checkExpect(this.mw.maze.get(2).get(1), this.v8);
-    t.checkExpect(this.mw.maze.get(2).get(2), this.v9);
+  // test the TreePaths blockTable() method
+  void testBlockTable(Tester t) {
+    this.initData();
+    TreePaths small = new TreePaths(this.mw.openings, 3, 3);
+    t.checkExpect(small.table.length, 1);
+    t.checkExpect(small.table[0], new int[] {0});
+
+    MazeWorld big = new MazeWorld(40, 40, new Random(7));
+    TreePaths tree = new TreePaths(big.openings, 40, 40);
+    t.checkExpect(tree.table.length, 6);
+    t.checkExpect(tree.table[0].length, 50);
+    t.checkExpect(tree.table[5].length, 19);
+    t.checkExpect(tree.table[0][3], tree.shallowest(96, 128));
+    t.checkExpect(tree.table[2][5], tree.shallowest(160, 288));
+    t.checkExpect(tree.table[5][18], tree.shallowest(576, 1600));
+  }
 
-    Vertex onlyRep4 = this.mw.find(this.mw.maze.get(0).get(0), new ArrayList<Vertex>());
+  // test the TreePaths shallower(int, int) and shallowest(int, int) methods
+  void testShallowest(Tester t) {
+    this.initData();
+    TreePaths tree = new TreePaths(this.mw.openings, 3, 3);
+    t.checkExpect(tree.shallower(8, 3), 3);
+    t.checkExpect(tree.shallower(4, 6), 4);
+    t.checkExpect(tree.shallower(6, 4), 6);
+    t.checkExpect(tree.shallowest(2, 9), 6);
+    t.checkExpect(tree.shallowest(4, 8), 7);
+    t.checkExpect(tree.shallowest(7, 8), 1);
+  }
 
-    for (ArrayList<Vertex> a : this.mw.maze) {
-      for (Vertex v : a) {
-        t.checkExpect(this.mw.find(v, new ArrayList<Vertex>()), onlyRep4);
-      }
+  // test the TreePaths shallowestBetween(int, int) method
+  void testShallowestBetween(Tester t) {
+    this.initData();
+    TreePaths small = new TreePaths(this.mw.openings, 3, 3);
+    t.checkExpect(small.shallowestBetween(4, 9), 7);
+
+    MazeWorld big = new MazeWorld(50, 30, new Random(2));
+    TreePaths tree = new TreePaths(big.openings, 50, 30);
+    Random rand = new Random(6);
+    boolean same = true;
+    for (int i = 0; i < 500; i++) {
+      int from = rand.nextInt(1499);
+      int to = from + 1 + rand.nextInt(1500 - from);
+      same = same && tree.depth[tree.shallowestBetween(from, to)]
+          == tree.depth[tree.shallowest(from, to)];
     }
+    t.checkExpect(same, true);
+  }
 
-    t.checkExpect(this.mw.time, 0);
-    t.checkExpect(this.mw.mode,
-        new TextImage("currently using breadth-first search", 15, Color.BLACK));
-    t.checkExpect(this.mw.searching, true);
-    t.checkExpect(this.mw.finished, false);
-    Queue<Vertex> wl = new Queue<Vertex>();
-    wl.add(this.v1);
-    t.checkExpect(this.mw.worklist, wl);
-    HashMap<Vertex, Edge> cfe = new HashMap<Vertex, Edge>();
-    cfe.put(this.v1, new Edge(0, this.v1, this.v1));
-    t.checkExpect(this.mw.alreadySeen, new LinkedList<Vertex>());
-    t.checkExpect(this.mw.alreadySeen2, new LinkedList<Vertex>());
-    t.checkExpect(this.mw.worklist, wl);
-    t.checkExpect(this.mw.cameFromEdge, cfe);
-    t.checkExpect(this.mw.path, new ArrayList<Vertex>());
-    t.checkExpect(this.mw.path2, new ArrayList<Vertex>());
-    t.checkExpect(this.mw.maze.get(0).get(0).color, Color.GREEN);
-    t.checkExpect(this.mw.maze.get(0).get(1).color, Color.GRAY);
-    t.checkExpect(this.mw.maze.get(0).get(2).color, Color.GRAY);
-    t.checkExpect(this.mw.maze.get(1).get(0).color, Color.GRAY);
-    t.checkExpect(this.mw.maze.get(1).get(1).color, Color.GRAY);
-    t.checkExpect(this.mw.maze.get(1).get(2).color, Color.GRAY);
-    t.checkExpect(this.mw.maze.get(2).get(0).color, Color.GRAY);
-    t.checkExpect(this.mw.maze.get(2).get(1).color, Color.GRAY);
-    t.checkExpect(this.mw.maze.get(2).get(2).color, Color.RED);
-
-    this.mw.onKeyEvent("r");
+  // test the TreePaths ancestor(int, int) method
+  void testAncestor(Tester t) {
+    this.initData();
+    TreePaths tree = new TreePaths(this.mw.openings, 3, 3);
+    t.checkExpect(tree.ancestor(1, 8), 5);
+    t.checkExpect(tree.ancestor(8, 1), 5);
+    t.checkExpect(tree.ancestor(6, 7), 3);
+    t.checkExpect(tree.ancestor(2, 4), 4);
+    t.checkExpect(tree.ancestor(0, 8), 0);
+    t.checkExpect(tree.ancestor(7, 7), 7);
+  }
 
-    t.checkExpect(this.mw.length, 3);
-    t.checkExpect(this.mw.width, 3);
-    t.checkExpect(this.mw.edges.size(), 12);
-    t.checkExpect(this.mw.mst.size(), 8);
-    t.checkExpect(this.mw.maze.size(), 3);
-    t.checkExpect(this.mw.maze.get(0).size(), 3);
-    t.checkExpect(this.mw.maze.get(1).size(), 3);
-    t.checkExpect(this.mw.maze.get(2).size(), 3);
-    t.checkExpect(this.mw.representatives.size(), 9);
+  // test the TreePaths distance(int, int) method
+  void testTreeDistance(Tester t) {
+    this.initData();
+    TreePaths tree = new TreePaths(this.mw.openings, 3, 3);
+    t.checkExpect(tree.distance(1, 8), 3);
+    t.checkExpect(tree.distance(0, 8), 4);
+    t.checkExpect(tree.distance(6, 1), 5);
+    t.checkExpect(tree.distance(2, 2), 0);
+  }
 
-    t.checkExpect(this.mw.maze.get(0).get(0), this.v1);
-    t.checkExpect(this.mw.maze.get(0).get(1), this.v2);
-    t.checkExpect(this.mw.maze.get(0).get(2), this.v3);
-    t.checkExpect(this.mw.maze.get(1).get(0), this.v4);
-    t.checkExpect(this.mw.maze.get(1).get(1), this.v5);
-    t.checkExpect(this.mw.maze.get(1).get(2), this.v6);
-    t.checkExpect(this.mw.maze.get(2).get(0), this.v7);
-    t.checkExpect(this.mw.maze.get(2).get(1), this.v8);
-    t.checkExpect(this.mw.maze.get(2).get(2), this.v9);
+  // test the TreePaths path(int, int) method
+  void testTreePath(Tester t) {
+    this.initData();
+    TreePaths tree = new TreePaths(this.mw.openings, 3, 3);
+    t.checkExpect(tree.path(1, 8), new int[] {1, 2, 5, 8});
+    t.checkExpect(tree.path(6, 7), new int[] {6, 3, 4, 7});
+    t.checkExpect(tree.path(0, 8), new int[] {0, 3, 4, 5, 8});
+    t.checkExpect(tree.path(8, 0), new int[] {8, 5, 4, 3, 0});
+    t.checkExpect(tree.path(4, 4), new int[] {4});
+
+    // every path is the one breadth-first search finds
+    MazeWorld big = new MazeWorld(70, 45, new Random(3));
+    TreePaths bigTree = new TreePaths(big.openings, 70, 45);
+    MazeSolver solver = new MazeSolver(big.openings, 70, 45);
+    Random rand = new Random(1);
+    boolean same = true;
+    for (int i = 0; i < 200; i++) {
+      int a = rand.nextInt(70 * 45);
+      int b = rand.nextInt(70 * 45);
+      int[] path = solver.breadthFirst(a, b).path;
+      same = same && Arrays.equals(bigTree.path(a, b), path)
+          && bigTree.distance(a, b) == path.length - 1;
+    }
+    t.checkExpect(same, true);
+  }
 
-    Vertex onlyRep5 = this.mw.find(this.mw.maze.get(0).get(0), new ArrayList<Vertex>());
+  // a 4x3 maze with a loop around the middle and dead ends off it:
+  // the top row and bottom row are open all the way along, and the two end
+  // columns join them, with a spur down from cell 1 and a spur up from cell 10
+  WallGrid loopMaze() {
+    WallGrid grid = new WallGrid(4, 3);
+    grid.open(0, EdgeList.RIGHT);
+    grid.open(1, EdgeList.RIGHT);
+    grid.open(2, EdgeList.RIGHT);
+    grid.open(8, EdgeList.RIGHT);
+    grid.open(9, EdgeList.RIGHT);
+    grid.open(10, EdgeList.RIGHT);
+    grid.open(0, EdgeList.DOWN);
+    grid.open(4, EdgeList.DOWN);
+    grid.open(3, EdgeList.DOWN);
+    grid.open(7, EdgeList.DOWN);
+    grid.open(1, EdgeList.DOWN);
+    grid.open(6, EdgeList.DOWN);
+    return grid;
+  }
 
-    for (ArrayList<Vertex> a : this.mw.maze) {
-      for (Vertex v : a) {
-        t.checkExpect(this.mw.find(v, new ArrayList<Vertex>()), onlyRep5);
-      }
+  // returns true if the given path goes from the given start to the given goal
+  // through open sides of the given maze with the given length
+  boolean walks(IMaze maze, int length, int[] path, int start, int goal) {
+    boolean walks = path.length > 0 && path[0] == start && path[path.length - 1] == goal;
+    for (int i = 0; walks && i < path.length - 1; i++) {
+      int low = Math.min(path[i], path[i + 1]);
+      int high = Math.max(path[i], path[i + 1]);
+      walks = (high - low == 1 && maze.isOpen(low, EdgeList.RIGHT))
+          || (high - low == length && maze.isOpen(low, EdgeList.DOWN));
     }
+    return walks;
+  }
 
-    t.checkExpect(this.mw.time, 0);
-    t.checkExpect(this.mw.mode, new TextImage("", 15, Color.BLACK));
-    t.checkExpect(this.mw.searching, false);
-    t.checkExpect(this.mw.finished, false);
-    t.checkExpect(this.mw.alreadySeen, new LinkedList<Vertex>());
-    t.checkExpect(this.mw.alreadySeen2, new LinkedList<Vertex>());
-    t.checkExpect(this.mw.cameFromEdge, new HashMap<Vertex, Edge>());
-    t.checkExpect(this.mw.path, new ArrayList<Vertex>());
-    t.checkExpect(this.mw.path2, new ArrayList<Vertex>());
-    t.checkExpect(this.mw.maze.get(0).get(0).color, Color.GREEN);
-    t.checkExpect(this.mw.maze.get(0).get(1).color, Color.GRAY);
-    t.checkExpect(this.mw.maze.get(0).get(2).color, Color.GRAY);
-    t.checkExpect(this.mw.maze.get(1).get(0).color, Color.GRAY);
-    t.checkExpect(this.mw.maze.get(1).get(1).color, Color.GRAY);
-    t.checkExpect(this.mw.maze.get(1).get(2).color, Color.GRAY);
-    t.checkExpect(this.mw.maze.get(2).get(0).color, Color.GRAY);
-    t.checkExpect(this.mw.maze.get(2).get(1).color, Color.GRAY);
-    t.checkExpect(this.mw.maze.get(2).get(2).color, Color.RED);
+  // test the JunctionGraph findJunctions(IMaze) and walk(IMaze, long[], int, int)
+  // methods
+  void testFindJunctions(Tester t) {
+    this.initData();
+    JunctionGraph graph = new JunctionGraph(this.mw.openings, 3, 3);
+    t.checkExpect(graph.nodeOf, new int[] {0, 1, -1, 2, 3, 4, 5, 6, 7});
+    t.checkExpect(graph.deadEnds, 5);
+
+    // the loop keeps the cells with three ways out, and its spurs
+    JunctionGraph loop = new JunctionGraph(this.loopMaze(), 4, 3);
+    t.checkExpect(loop.nodes, new int[] {1, 5, 6, 10});
+    t.checkExpect(loop.deadEnds, 2);
+
+    // a loop with no junction on it gets one
+    WallGrid ring = new WallGrid(2, 2);
+    ring.open(0, EdgeList.RIGHT);
+    ring.open(0, EdgeList.DOWN);
+    ring.open(1, EdgeList.DOWN);
+    ring.open(2, EdgeList.RIGHT);
+    JunctionGraph round = new JunctionGraph(ring, 2, 2);
+    t.checkExpect(round.nodes, new int[] {0});
+    t.checkExpect(round.corridor, new int[] {1, 3, 2, 2, 3, 1});
+
+    // walking stops at a junction or a cell reached before
+    long[] reached = new long[1];
+    graph.walk(this.mw.openings, reached, 1, 2);
+    t.checkExpect(reached[0], 4L);
+    graph.walk(this.mw.openings, reached, 4, 2);
+    t.checkExpect(reached[0], 4L);
+  }
 
-    this.mw.onKeyEvent("d");
+  // test the JunctionGraph onward(IMaze, int, int) method
+  void testOnward(Tester t) {
+    this.initData();
+    JunctionGraph graph = new JunctionGraph(this.mw.openings, 3, 3);
+    t.checkExpect(graph.onward(this.mw.openings, 2, 1), 5);
+    t.checkExpect(graph.onward(this.mw.openings, 2, 5), 1);
+    t.checkExpect(graph.onward(this.mw.openings, 2, -1), 5);
+    t.checkExpect(graph.onward(this.mw.openings, 4, 3), 5);
+  }
 
-    t.checkExpect(this.mw.length, 3);
-    t.checkExpect(this.mw.width, 3);
-    t.checkExpect(this.mw.edges.size(), 12);
-    t.checkExpect(this.mw.mst.size(), 8);
-    t.checkExpect(this.mw.maze.size(), 3);
-    t.checkExpect(this.mw.maze.get(0).size(), 3);
-    t.checkExpect(this.mw.maze.get(1).size(), 3);
-    t.checkExpect(this.mw.maze.get(2).size(), 3);
-    t.checkExpect(this.mw.representatives.size(), 9);
+  // test the JunctionGraph contract(IMaze) method
+  void testContract(Tester t) {
+    this.initData();
+    JunctionGraph graph = new JunctionGraph(this.mw.openings, 3, 3);
+    t.checkExpect(graph.nodes, new int[] {0, 1, 3, 4, 5, 6, 7, 8});
+    t.checkExpect(graph.firstEdge, new int[] {0, 1, 2, 5, 8, 11, 12, 13, 14});
+    t.checkExpect(graph.edgeFrom, new int[] {0, 1, 2, 2, 2, 3, 3, 3, 4, 4, 4, 5, 6, 7});
+    t.checkExpect(graph.edgeTo, new int[] {2, 4, 3, 5, 0, 4, 6, 2, 7, 3, 1, 2, 3, 4});
+    t.checkExpect(graph.edgeWeight, new int[] {1, 2, 1, 1, 1, 1, 1, 1, 1, 1, 2, 1, 1, 1});
+    t.checkExpect(graph.firstCell, new int[] {0, 0, 1, 1, 1, 1, 1, 1, 1, 1, 1, 2, 2, 2, 2});
+    t.checkExpect(graph.corridor, new int[] {2, 2});
+    t.checkExpect(graph.placeOf, new int[] {-1, -1, 0, -1, -1, -1, -1, -1, -1});
+
+    // the loop keeps both ways around it between its two junctions with three
+    // ways out, each way along
+    JunctionGraph loop = new JunctionGraph(this.loopMaze(), 4, 3);
+    t.checkExpect(loop.edgeTo, new int[] {3, 1, 3, 0, 3, 0, 0, 2});
+    t.checkExpect(loop.edgeWeight, new int[] {5, 1, 5, 1, 1, 5, 5, 1});
+    t.checkExpect(loop.corridor, new int[] {2, 3, 7, 11, 0, 4, 8, 9, 11, 7, 3, 2, 9, 8, 4, 0});
+    t.checkExpect(loop.placeOf[0], 4);
+    t.checkExpect(loop.placeOf[11], 3);
+  }
+
+  // test the JunctionGraph follow(IMaze, int, int, int) method
+  void testFollow(Tester t) {
+    this.initData();
+    JunctionGraph graph = new JunctionGraph(this.mw.openings, 3, 3);
+    graph.corridor = new int[2];
+    Arrays.fill(graph.placeOf, -1);
+    graph.follow(this.mw.openings, 10, 5, 2);
+    t.checkExpect(graph.corridor, new int[] {0, 2});
+    t.checkExpect(graph.placeOf[2], 1);
+    t.checkExpect(graph.edgeFrom[10], 4);
+    t.checkExpect(graph.edgeTo[10], 1);
+    t.checkExpect(graph.edgeWeight[10], 2);
+    t.checkExpect(graph.firstCell[11], 2);
+
+    // a cell already placed keeps its place
+    graph.follow(this.mw.openings, 1, 1, 2);
+    t.checkExpect(graph.corridor, new int[] {2, 2});
+    t.checkExpect(graph.placeOf[2], 1);
+  }
+
+  // test the JunctionGraph compression() and report() methods
+  void testCompression(Tester t) {
+    this.initData();
+    JunctionGraph graph = new JunctionGraph(this.mw.openings, 3, 3);
+    t.checkExpect(graph.compression(), 1.125);
+    t.checkExpect(graph.report(), "9 cells, 8 junctions (5 dead ends), 7 corridors (1.1x smaller)");
+    t.checkExpect(new JunctionGraph(this.loopMaze(), 4, 3).compression(), 3.0);
+
+    // every cell is a junction or inside exactly one corridor
+    MazeWorld big = new MazeWorld(100, 100, new Random(2));
+    JunctionGraph bigGraph = big.junctionGraph();
+    t.checkExpect(bigGraph.nodes.length + bigGraph.corridor.length / 2, 10000);
+    t.checkExpect(bigGraph.edgeTo.length / 2, bigGraph.nodes.length - 1);
+    t.checkExpect(bigGraph.compression() > 1.5, true);
+  }
+
+  // test the JunctionGraph edgeAt(int) and twin(int) methods
+  void testJunctionTwin(Tester t) {
+    this.initData();
+    JunctionGraph graph = new JunctionGraph(this.mw.openings, 3, 3);
+    t.checkExpect(graph.edgeAt(0), 1);
+    t.checkExpect(graph.edgeAt(1), 10);
+    t.checkExpect(graph.twin(1), 10);
+    t.checkExpect(graph.twin(10), 1);
+    JunctionGraph loop = new JunctionGraph(this.loopMaze(), 4, 3);
+    t.checkExpect(loop.edgeAt(5), 2);
+    t.checkExpect(loop.edgeAt(15), 6);
+    t.checkExpect(loop.twin(0), 5);
+    t.checkExpect(loop.twin(6), 2);
+  }
+
+  // test the JunctionGraph attach(int, int), place(int, int), part(int, int, int,
+  // int) and kept(int) methods
+  void testJunctionAttach(Tester t) {
+    this.initData();
+    JunctionGraph graph = new JunctionGraph(this.mw.openings, 3, 3);
+    graph.attach(0, 8);
+    t.checkExpect(graph.startNode, 0);
+    t.checkExpect(graph.goalNode, 7);
+    t.checkExpect(graph.cut, new int[] {-1, -1, -1, -1});
+
+    // a start inside a corridor is a junction of its own, with a part each way
+    // along its corridor, and the edges along it are searched as parts up to it
+    graph.attach(2, 8);
+    t.checkExpect(graph.startNode, 8);
+    t.checkExpect(graph.cut, new int[] {1, 10, -1, -1});
+    t.checkExpect(graph.cutPlace[0], 0);
+    t.checkExpect(graph.cutPlace[1], 1);
+    t.checkExpect(graph.partTo[0], 4);
+    t.checkExpect(graph.partWeight[0], 1);
+    t.checkExpect(graph.partTo[1], 1);
+    t.checkExpect(graph.partWeight[1], 1);
+    t.checkExpect(graph.partFrom[2], 1);
+    t.checkExpect(graph.partTo[2], 8);
+    t.checkExpect(graph.partTo[3], 8);
+    t.checkExpect(graph.kept(1), true);
+    t.checkExpect(graph.kept(4), true);
+    t.checkExpect(graph.kept(7), true);
+    t.checkExpect(graph.kept(2), false);
+
+    // a start and a goal in the same corridor are joined along it
+    JunctionGraph loop = new JunctionGraph(this.loopMaze(), 4, 3);
+    loop.attach(4, 9);
+    t.checkExpect(loop.startNode, 4);
+    t.checkExpect(loop.goalNode, 5);
+    t.checkExpect(loop.partTo[0], 5);
+    t.checkExpect(loop.partFirst[0], 6);
+    t.checkExpect(loop.partLast[0], 7);
+    t.checkExpect(loop.partWeight[0], 2);
+    t.checkExpect(loop.partTo[1], 0);
+    t.checkExpect(loop.partTo[2], 4);
+    t.checkExpect(loop.partTo[3], 5);
+    loop.attach(9, 9);
+    t.checkExpect(loop.goalNode, loop.startNode);
+  }
 
-    t.checkExpect(this.mw.maze.get(0).get(0), this.v1);
-    t.checkExpect(this.mw.maze.get(0).get(1), this.v2);
-    t.checkExpect(this.mw.maze.get(0).get(2), this.v3);
-    t.checkExpect(this.mw.maze.get(1).get(0), this.v4);
-    t.checkExpect(this.mw.maze.get(1).get(1), this.v5);
-    t.checkExpect(this.mw.maze.get(1).get(2), this.v6);
-    t.checkExpect(this.mw.maze.get(2).get(0), this.v7);
-    t.checkExpect(this.mw.maze.get(2).get(1), this.v8);
-    t.checkExpect(this.mw.maze.get(2).get(2), this.v9);
+  // test the JunctionGraph prune() method
+  void testJunctionPrune(Tester t) {
+    this.initData();
+    JunctionGraph graph = new JunctionGraph(this.mw.openings, 3, 3);
+
+    // on a perfect maze only the junctions on the way are left
+    graph.attach(0, 8);
+    t.checkExpect(graph.pruned[0], 2L + 32L + 64L);
+    graph.attach(1, 6);
+    t.checkExpect(graph.pruned[0], 1L + 64L + 128L);
+
+    // the loop is never pruned, only its spurs
+    JunctionGraph loop = new JunctionGraph(this.loopMaze(), 4, 3);
+    loop.attach(0, 11);
+    t.checkExpect(loop.pruned[0], 2L + 4L);
+    loop.attach(0, 5);
+    t.checkExpect(loop.pruned[0], 4L);
+
+    // the junctions at the ends of a corridor with the start or goal are kept
+    MazeWorld big = new MazeWorld(60, 40, new Random(5));
+    JunctionGraph bigGraph = big.junctionGraph();
+    int kept = 0;
+    bigGraph.attach(0, 2399);
+    for (int node = 0; node < bigGraph.nodes.length; node++) {
+      if ((bigGraph.pruned[node >>> 6] & (1L << node)) == 0) {
+        kept++;
+      }
+    }
+    t.checkExpect(kept < bigGraph.nodes.length / 4, true);
+  }
 
-    Vertex onlyRep6 = this.mw.find(this.mw.maze.get(0).get(0), new ArrayList<Vertex>());
+  // test the JunctionGraph ways(int), way(int, int), from(int), to(int),
+  // weight(int), firstOf(int), lastOf(int) and cellOf(int) methods
+  void testJunctionWays(Tester t) {
+    this.initData();
+    JunctionGraph graph = new JunctionGraph(this.mw.openings, 3, 3);
+    graph.attach(2, 8);
+    t.checkExpect(graph.ways(2), 3);
+    t.checkExpect(graph.ways(8), 2);
+    t.checkExpect(graph.way(8, 1), 15);
+    t.checkExpect(graph.way(2, 1), 3);
+    t.checkExpect(graph.way(1, 0), 16);
+    t.checkExpect(graph.way(4, 2), 17);
+    t.checkExpect(graph.from(3), 2);
+    t.checkExpect(graph.from(16), 1);
+    t.checkExpect(graph.to(3), 5);
+    t.checkExpect(graph.to(16), 8);
+    t.checkExpect(graph.weight(10), 2);
+    t.checkExpect(graph.weight(16), 1);
+    t.checkExpect(graph.firstOf(10), 1);
+    t.checkExpect(graph.lastOf(10), 2);
+    t.checkExpect(graph.firstOf(14), 1);
+    t.checkExpect(graph.lastOf(14), 1);
+    t.checkExpect(graph.cellOf(3), 4);
+    t.checkExpect(graph.cellOf(8), 2);
+    t.checkExpect(graph.cellOf(9), 8);
+  }
 
-    for (ArrayList<Vertex> a : this.mw.maze) {
-      for (Vertex v : a) {
-        t.checkExpect(this.mw.find(v, new ArrayList<Vertex>()), onlyRep6);
+  // test the JunctionGraph breadthFirst(int, int), depthFirst(int, int) and
+  // search(IIntCollection) methods
+  void testJunctionSearch(Tester t) {
+    this.initData();
+    JunctionGraph graph = new JunctionGraph(this.mw.openings, 3, 3);
+    SearchResult result = graph.breadthFirst(0, 8);
+    t.checkExpect(result.visitOrder, new int[] {0, 3, 4, 5, 8});
+    t.checkExpect(result.path, new int[] {0, 3, 4, 5, 8});
+    t.checkExpect(result.wrongSteps, 0);
+    t.checkExpect(graph.depthFirst(0, 8).path, new int[] {0, 3, 4, 5, 8});
+    t.checkExpect(graph.search(new IntQueue(1)).visitOrder, new int[] {0, 3, 4, 5, 8});
+    t.checkExpect(graph.breadthFirst(2, 8).visitOrder, new int[] {2, 5, 1, 8});
+    t.checkExpect(graph.breadthFirst(2, 8).path, new int[] {2, 5, 8});
+    t.checkExpect(graph.breadthFirst(8, 2).path, new int[] {8, 5, 2});
+    t.checkExpect(graph.breadthFirst(4, 4).path, new int[] {4});
+    t.checkExpect(graph.breadthFirst(2, 2).path, new int[] {2});
+    t.checkExpect(new JunctionGraph(new WallGrid(2, 2), 2, 2).breadthFirst(0, 3).path,
+        new int[0]);
+
+    // the same graph answers searches between any two cells: on perfect mazes
+    // the path is the one searching every cell finds
+    MazeWorld small = new MazeWorld(7, 5, new Random(5));
+    JunctionGraph smallGraph = small.junctionGraph();
+    MazeSolver smallSolver = new MazeSolver(small.openings, 7, 5);
+    boolean same = true;
+    for (int a = 0; a < 35; a++) {
+      for (int b = 0; b < 35; b++) {
+        int[] path = smallSolver.breadthFirst(a, b).path;
+        same = same && Arrays.equals(smallGraph.breadthFirst(a, b).path, path)
+            && Arrays.equals(smallGraph.depthFirst(a, b).path, path)
+            && Arrays.equals(smallGraph.aStar(a, b).path, path);
+      }
+    }
+    t.checkExpect(same, true);
+    MazeWorld big = new MazeWorld(60, 40, new Random(5));
+    JunctionGraph bigGraph = big.junctionGraph();
+    MazeSolver solver = new MazeSolver(big.openings, 60, 40);
+    Random rand = new Random(3);
+    for (int i = 0; i < 20; i++) {
+      int a = rand.nextInt(2400);
+      int b = rand.nextInt(2400);
+      int[] path = solver.breadthFirst(a, b).path;
+      same = same && Arrays.equals(bigGraph.breadthFirst(a, b).path, path)
+          && Arrays.equals(bigGraph.depthFirst(a, b).path, path);
+    }
+    t.checkExpect(same, true);
+
+    // on a maze with loops every search finds a way between any two cells
+    JunctionGraph loop = new JunctionGraph(this.loopMaze(), 4, 3);
+    boolean walks = true;
+    for (int a = 0; a < 12; a++) {
+      for (int b = 0; b < 12; b++) {
+        walks = walks && this.walks(this.loopMaze(), 4, loop.breadthFirst(a, b).path, a, b)
+            && this.walks(this.loopMaze(), 4, loop.depthFirst(a, b).path, a, b);
+      }
+    }
+    t.checkExpect(walks, true);
+  }
+
+  // test the JunctionGraph aStar(int, int) and priority(int) methods
+  void testJunctionAStar(Tester t) {
+    this.initData();
+    JunctionGraph graph = new JunctionGraph(this.mw.openings, 3, 3);
+    t.checkExpect(graph.aStar(0, 8).path, new int[] {0, 3, 4, 5, 8});
+    graph.distance[0] = 0;
+    t.checkExpect(graph.priority(0), 4L);
+    graph.distance[7] = 4;
+    t.checkExpect(graph.priority(7), 4L);
+
+    // A* weighs the corridors by their length, so on a maze with loops it finds
+    // a shortest path between any two cells, which breadth-first search of the
+    // junctions need not
+    WallGrid grid = new WallGrid(30, 20);
+    for (int cell = 0; cell < 600; cell++) {
+      if (cell % 30 < 29 && cell % 14 != 0) {
+        grid.open(cell, EdgeList.RIGHT);
       }
+      if (cell / 30 < 19) {
+        grid.open(cell, EdgeList.DOWN);
+      }
+    }
+    IMaze indexed = grid.indexed();
+    JunctionGraph loops = new JunctionGraph(indexed, 30, 20);
+    MazeSolver solver = new MazeSolver(indexed, 30, 20);
+    int shortest = solver.breadthFirst(29, 570).path.length;
+    t.checkExpect(loops.aStar(29, 570).path.length, shortest);
+    t.checkExpect(loops.breadthFirst(29, 570).path.length > shortest, true);
+    Random rand = new Random(4);
+    boolean shortestEach = true;
+    for (int i = 0; i < 50; i++) {
+      int a = rand.nextInt(600);
+      int b = rand.nextInt(600);
+      int[] path = loops.aStar(a, b).path;
+      shortestEach = shortestEach && this.walks(indexed, 30, path, a, b)
+          && path.length == solver.breadthFirst(a, b).path.length;
     }
+    t.checkExpect(shortestEach, true);
+  }
 
-    t.checkExpect(this.mw.time, 0);
+  // test the JunctionGraph record(int, int) and path() methods
+  void testJunctionPath(Tester t) {
+    this.initData();
+    JunctionGraph graph = new JunctionGraph(this.mw.openings, 3, 3);
+    graph.attach(2, 8);
+    graph.parentEdge[8] = -1;
+    graph.parentEdge[4] = 14;
+    graph.parentEdge[7] = 8;
+    t.checkExpect(graph.record(8, 0), 1);
+    t.checkExpect(graph.record(4, 1), 2);
+    t.checkExpect(graph.record(7, 2), 3);
+    t.checkExpect(Arrays.copyOf(graph.order, 3), new int[] {2, 5, 8});
+    t.checkExpect(graph.path(), new int[] {2, 5, 8});
+
+    // corridors are recorded cell by cell
+    graph.attach(1, 8);
+    graph.parentEdge[1] = -1;
+    graph.parentEdge[4] = 1;
+    t.checkExpect(graph.record(4, 1), 3);
+    t.checkExpect(Arrays.copyOf(graph.order, 3), new int[] {2, 2, 5});
+    t.checkExpect(graph.path(), new int[] {1, 2, 5, 8});
+  }
+
+  // test the MazeWorld junctionGraph() method
+  void testJunctionGraph(Tester t) {
+    this.initData();
+    JunctionGraph graph = this.mw.junctionGraph();
+    t.checkExpect(graph.nodes, new int[] {0, 1, 3, 4, 5, 6, 7, 8});
+    t.checkExpect(this.mw.junctionGraph() == graph, true);
+    this.mw.useWalls(new WallGrid(3, 3));
+    t.checkExpect(this.mw.junctions, null);
+    t.checkExpect(this.mw.junctionGraph() == graph, false);
+  }
+
+  // test the MazeWorld onKeyEvent(String) method with the junctions
+  void testOnKeyEventJunctions(Tester t) {
+    this.initData();
+    t.checkExpect(this.mw.onJunctions, false);
+    this.mw.onKeyEvent("j");
+    t.checkExpect(this.mw.onJunctions, true);
+    t.checkExpect(this.mw.mode, new TextImage(
+        "junctions: 9 cells, 8 junctions (5 dead ends), 7 corridors (1.1x smaller)", 15,
+        Color.BLACK));
+    this.mw.onKeyEvent("b");
     t.checkExpect(this.mw.mode,
-        new TextImage("currently using depth-first search", 15, Color.BLACK));
-    t.checkExpect(this.mw.searching, true);
-    t.checkExpect(this.mw.finished, false);
-    Stack<Vertex> wl2 = new Stack<Vertex>();
-    wl2.add(this.v1);
-    t.checkExpect(this.mw.worklist, wl2);
-    HashMap<Vertex, Edge> cfe2 = new HashMap<Vertex, Edge>();
-    cfe2.put(this.v1, new Edge(0, this.v1, this.v1));
-    t.checkExpect(this.mw.alreadySeen, new LinkedList<Vertex>());
-    t.checkExpect(this.mw.alreadySeen2, new LinkedList<Vertex>());
-    t.checkExpect(this.mw.worklist, wl2);
-    t.checkExpect(this.mw.cameFromEdge, cfe2);
-    t.checkExpect(this.mw.path, new ArrayList<Vertex>());
-    t.checkExpect(this.mw.path2, new ArrayList<Vertex>());
-    t.checkExpect(this.mw.maze.get(0).get(0).color, Color.GREEN);
-    t.checkExpect(this.mw.maze.get(0).get(1).color, Color.GRAY);
-    t.checkExpect(this.mw.maze.get(0).get(2).color, Color.GRAY);
-    t.checkExpect(this.mw.maze.get(1).get(0).color, Color.GRAY);
-    t.checkExpect(this.mw.maze.get(1).get(1).color, Color.GRAY);
-    t.checkExpect(this.mw.maze.get(1).get(2).color, Color.GRAY);
-    t.checkExpect(this.mw.maze.get(2).get(0).color, Color.GRAY);
-    t.checkExpect(this.mw.maze.get(2).get(1).color, Color.GRAY);
-    t.checkExpect(this.mw.maze.get(2).get(2).color, Color.RED);
+        new TextImage("currently using breadth-first search of junctions", 15, Color.BLACK));
+    t.checkExpect(this.mw.solution.visitOrder, new int[] {0, 3, 4, 5, 8});
+    this.mw.onKeyEvent("d");
+    t.checkExpect(this.mw.mode,
+        new TextImage("currently using depth-first search of junctions", 15, Color.BLACK));
+    t.checkExpect(this.mw.solution.searched, 5);
+    this.mw.onKeyEvent("a");
+    t.checkExpect(this.mw.mode,
+        new TextImage("currently using A* search of junctions", 15, Color.BLACK));
+    for (int i = 0; i < 5; i++) {
+      this.mw.onTick();
+    }
+    t.checkExpect(this.mw.finished, true);
+    t.checkExpect(this.mw.path, new int[] {0, 3, 4, 5, 8});
+    this.mw.onKeyEvent("j");
+    t.checkExpect(this.mw.onJunctions, false);
+    t.checkExpect(this.mw.mode, new TextImage("searching every cell", 15, Color.BLACK));
+    this.mw.onKeyEvent("b");
+    t.checkExpect(this.mw.solution.searched, 7);
+  }
 
-    this.mw.onKeyEvent("n");
+  // test the MappedMaze class
+  void testMappedMaze(Tester t) {
+    try {
+      Path file = Files.createTempFile("maze", ".rows");
+      OutputStream out = Files.newOutputStream(file);
+      new EllerRows(40, 7, new Random(6)).writeTo(out);
+      out.close();
+      MappedMaze mapped = new MappedMaze(file, 40, 7);
+      Files.delete(file);
+      WallGrid grid = new WallGrid(40, 7);
+      new EllerRows(40, 7, new Random(6)).fill(grid);
+      boolean same = true;
+      for (int cell = 0; cell < 40 * 7; cell++) {
+        same = same && mapped.openDirections(cell) == grid.openDirections(cell)
+            && mapped.isOpen(cell, EdgeList.RIGHT) == grid.isOpen(cell, EdgeList.RIGHT)
+            && mapped.isOpen(cell, EdgeList.DOWN) == grid.isOpen(cell, EdgeList.DOWN);
+      }
+      t.checkExpect(same, true);
+      t.checkExpect(mapped.rowLongs, 2);
+      t.checkExpect(mapped.isOpen(39, EdgeList.RIGHT), false);
+      t.checkExpect(mapped.isOpen(6 * 40 + 3, EdgeList.DOWN), false);
+      t.checkExpect(mapped.indexed() == mapped, true);
+      t.checkExpect(mapped.windows.length, 1);
+      t.checkExpect(mapped.openDirections(6L * 40 + 3), mapped.openDirections(6 * 40 + 3));
+    }
+    catch (IOException e) {
+      t.checkExpect(e, null);
+    }
+  }
 
-    t.checkExpect(this.mw.length, 3);
-    t.checkExpect(this.mw.width, 3);
-    t.checkExpect(this.mw.edges.size(), 12);
-    t.checkExpect(this.mw.mst.size(), 8);
-    t.checkExpect(this.mw.maze.size(), 3);
-    t.checkExpect(this.mw.maze.get(0).size(), 3);
-    t.checkExpect(this.mw.maze.get(1).size(), 3);
-    t.checkExpect(this.mw.maze.get(2).size(), 3);
-    t.checkExpect(this.mw.representatives.size(), 9);
+  // test the MappedMaze class mapping a file in several windows
+  void testMappedMazeWindows(Tester t) {
+    try {
+      Path file = Files.createTempFile("maze", ".rows");
+      OutputStream out = Files.newOutputStream(file);
+      new EllerRows(40, 7, new Random(6)).writeTo(out);
+      out.close();
+      MappedMaze windowed = new MappedMaze(file, 40, 7, 32);
+      MappedMaze tiny = new MappedMaze(file, 40, 7, 1);
+      Files.delete(file);
+      WallGrid grid = new WallGrid(40, 7);
+      new EllerRows(40, 7, new Random(6)).fill(grid);
+      t.checkExpect(windowed.rowsPerWindow, 2L);
+      t.checkExpect(windowed.windows.length, 4);
+      t.checkExpect(windowed.windows[3].capacity(), 16);
+      t.checkExpect(tiny.rowsPerWindow, 1L);
+      t.checkExpect(tiny.windows.length, 7);
+      boolean same = true;
+      for (int cell = 0; cell < 40 * 7; cell++) {
+        same = same && windowed.openDirections(cell) == grid.openDirections(cell)
+            && tiny.openDirections((long) cell) == grid.openDirections(cell);
+      }
+      t.checkExpect(same, true);
+    }
+    catch (IOException e) {
+      t.checkExpect(e, null);
+    }
+  }
 
-    t.checkExpect(this.mw.maze.get(0).get(0), this.v1);
-    t.checkExpect(this.mw.maze.get(0).get(1), this.v2);
-    t.checkExpect(this.mw.maze.get(0).get(2), this.v3);
-    t.checkExpect(this.mw.maze.get(1).get(0), this.v4);
-    t.checkExpect(this.mw.maze.get(1).get(1), this.v5);
-    t.checkExpect(this.mw.maze.get(1).get(2), this.v6);
-    t.checkExpect(this.mw.maze.get(2).get(0), this.v7);
-    t.checkExpect(this.mw.maze.get(2).get(1), this.v8);
-    t.checkExpect(this.mw.maze.get(2).get(2), this.v9);
+  // test the MappedMaze constructor rejecting sizes it cannot map
+  void testMappedMazeBounds(Tester t) {
+    try {
+      Path file = Files.createTempFile("maze", ".rows");
+      OutputStream out = Files.newOutputStream(file);
+      new EllerRows(40, 7, new Random(6)).writeTo(out);
+      out.close();
+      String wrongSize = "";
+      try {
+        new MappedMaze(file, 40, 8);
+      }
+      catch (IllegalArgumentException e) {
+        wrongSize = e.getMessage();
+      }
+      String empty = "";
+      try {
+        new MappedMaze(file, 0, 7);
+      }
+      catch (IllegalArgumentException e) {
+        empty = e.getMessage();
+      }
+      String tooBig = "";
+      try {
+        new MappedMaze(file, 40, Long.MAX_VALUE / 20);
+      }
+      catch (IllegalArgumentException e) {
+        tooBig = e.getMessage();
+      }
+      Files.delete(file);
+      t.checkExpect(wrongSize,
+          "the file has 112 bytes, but a maze of 40 by 8 cells takes 128");
+      t.checkExpect(empty, "a maze needs at least one row and one column, not 0 by 7");
+      t.checkExpect(tooBig, "a maze of 40 by " + Long.MAX_VALUE / 20
+          + " cells has more cells than a long can number");
+    }
+    catch (IOException e) {
+      t.checkExpect(e, null);
+    }
+  }
 
-    Vertex onlyRep7 = this.mw.find(this.mw.maze.get(0).get(0), new ArrayList<Vertex>());
+  // test a MappedMaze and WallFollower on a sparse file with more cells than an
+  // int can number, whose rows are all open downward except the last
+  void testMappedMazePastInt(Tester t) {
+    long width = (1L << 25) + 1;
+    try {
+      Path file = Files.createTempFile("maze", ".rows");
+      FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE);
+      ByteBuffer marker = ByteBuffer.allocate(8);
+      marker.putLong(0, -1L);
+      channel.write(marker, (width - 3) * 16 + 8);
+      marker.putLong(0, 0L);
+      marker.rewind();
+      channel.write(marker, width * 16 - 8);
+      channel.close();
+      MappedMaze mapped = new MappedMaze(file, 64, width);
+      Files.delete(file);
+      t.checkExpect(64L * width > Integer.MAX_VALUE, true);
+      t.checkExpect(mapped.windows.length, 1);
+      t.checkExpect(mapped.openDirections(64L * (width - 3) + 40), 8);
+      t.checkExpect(mapped.openDirections(64L * (width - 2) + 40), 7);
+      t.checkExpect(mapped.openDirections(64L * width - 1), 12);
+      WallFollower follower = new WallFollower(mapped, 64, width, true, false);
+      t.checkExpect(follower.steps(0, 64L * width - 1), width - 1 + 63);
+      String tooMany = "";
+      try {
+        follower.solve(0, 1);
+      }
+      catch (IllegalArgumentException e) {
+        tooMany = e.getMessage();
+      }
+      t.checkExpect(tooMany.isEmpty(), false);
+    }
+    catch (IOException e) {
+      t.checkExpect(e, null);
+    }
+  }
 
-    for (ArrayList<Vertex> a : this.mw.maze) {
-      for (Vertex v : a) {
-        t.checkExpect(this.mw.find(v, new ArrayList<Vertex>()), onlyRep7);
+  // test WallFollower steps(long, long) method
+  void testWallFollowerSteps(Tester t) {
+    this.initData();
+    t.checkExpect(new WallFollower(this.mw.openings, 3, 3, true, false).steps(0, 8), 8L);
+    t.checkExpect(new WallFollower(this.mw.openings, 3, 3, false, false).steps(0, 8), 8L);
+    t.checkExpect(new WallFollower(this.mw.openings, 3, 3, true, true).steps(0, 8), 8L);
+    t.checkExpect(new WallFollower(this.mw.openings, 3, 3, true, false).steps(4, 4), 0L);
+
+    // with no walls inside the maze, a wall follower only walks around the border
+    WallGrid open = new WallGrid(4, 4);
+    for (int cell = 0; cell < 16; cell++) {
+      if (cell % 4 < 3) {
+        open.open(cell, EdgeList.RIGHT);
+      }
+      if (cell < 12) {
+        open.open(cell, EdgeList.DOWN);
       }
     }
+    t.checkExpect(new WallFollower(open, 4, 4, true, false).steps(0, 5), -1L);
+    t.checkExpect(new WallFollower(open, 4, 4, false, false).steps(0, 5), -1L);
+    t.checkExpect(new WallFollower(open, 4, 4, true, true).steps(0, 5), 14L);
+    t.checkExpect(new WallFollower(open, 4, 4, false, true).steps(0, 5), 14L);
+
+    WallGrid closed = new WallGrid(2, 2);
+    t.checkExpect(new WallFollower(closed, 2, 2, true, false).steps(0, 3), -1L);
+    t.checkExpect(new WallFollower(closed, 2, 2, true, true).steps(0, 3), -1L);
+  }
 
-    t.checkExpect(this.mw.time, 0);
-    t.checkExpect(this.mw.mode, new TextImage("", 15, Color.BLACK));
-    t.checkExpect(this.mw.searching, false);
-    t.checkExpect(this.mw.finished, false);
-    t.checkExpect(this.mw.alreadySeen, new LinkedList<Vertex>());
-    t.checkExpect(this.mw.alreadySeen2, new LinkedList<Vertex>());
-    t.checkExpect(this.mw.cameFromEdge, new HashMap<Vertex, Edge>());
-    t.checkExpect(this.mw.path, new ArrayList<Vertex>());
-    t.checkExpect(this.mw.path2, new ArrayList<Vertex>());
-    t.checkExpect(this.mw.maze.get(0).get(0).color, Color.GREEN);
-    t.checkExpect(this.mw.maze.get(0).get(1).color, Color.GRAY);
-    t.checkExpect(this.mw.maze.get(0).get(2).color, Color.GRAY);
-    t.checkExpect(this.mw.maze.get(1).get(0).color, Color.GRAY);
-    t.checkExpect(this.mw.maze.get(1).get(1).color, Color.GRAY);
-    t.checkExpect(this.mw.maze.get(1).get(2).color, Color.GRAY);
-    t.checkExpect(this.mw.maze.get(2).get(0).color, Color.GRAY);
-    t.checkExpect(this.mw.maze.get(2).get(1).color, Color.GRAY);
-    t.checkExpect(this.mw.maze.get(2).get(2).color, Color.RED);
+  // test WallFollower solve(int, int) method
+  void testWallFollowerSolve(Tester t) {
+    this.initData();
+    SearchResult right = new WallFollower(this.mw.openings, 3, 3, true, false).solve(0, 8);
+    t.checkExpect(right.visitOrder, new int[] {0, 3, 6, 4, 7, 5, 8});
+    t.checkExpect(right.path, new int[] {0, 3, 4, 5, 8});
+    t.checkExpect(right.wrongSteps, 2);
+    SearchResult left = new WallFollower(this.mw.openings, 3, 3, false, true).solve(0, 8);
+    t.checkExpect(left.visitOrder, new int[] {0, 3, 4, 5, 2, 1, 8});
+    t.checkExpect(left.path, new int[] {0, 3, 4, 5, 8});
+
+    WallGrid open = new WallGrid(4, 4);
+    for (int cell = 0; cell < 16; cell++) {
+      if (cell % 4 < 3) {
+        open.open(cell, EdgeList.RIGHT);
+      }
+      if (cell < 12) {
+        open.open(cell, EdgeList.DOWN);
+      }
+    }
+    SearchResult lost = new WallFollower(open, 4, 4, true, false).solve(0, 5);
+    t.checkExpect(lost.visitOrder, new int[] {0, 4, 8, 12, 13, 14, 15, 11, 7, 3, 2, 1});
+    t.checkExpect(lost.path, new int[0]);
+    SearchResult marked = new WallFollower(open, 4, 4, true, true).solve(0, 5);
+    t.checkExpect(marked.visitOrder, new int[] {0, 4, 8, 12, 13, 14, 15, 11, 7, 3, 2, 1, 5});
+    t.checkExpect(marked.path, new int[] {0, 1, 5});
+  }
 
+  // test WallFollower walk(long, long, boolean) method
+  void testWallFollowerWalk(Tester t) {
     this.initData();
+    WallFollower follower = new WallFollower(this.mw.openings, 3, 3, true, true);
+    follower.mark(0, 1);
+    t.checkExpect(follower.walk(0, 8, false), 8L);
+    t.checkExpect(follower.marksOf(0, 1), 1);
+    t.checkExpect(follower.marksOf(4, 1), 2);
+    t.checkExpect(follower.marksOf(2, 2), 0);
+  }
 
-    this.mw.onKeyEvent("b");
-    this.mw.onKeyEvent("p");
+  // test WallFollower follow(long, int) method
+  void testWallFollowerFollow(Tester t) {
+    this.initData();
+    WallFollower right = new WallFollower(this.mw.openings, 3, 3, true, false);
+    WallFollower left = new WallFollower(this.mw.openings, 3, 3, false, false);
+    t.checkExpect(right.follow(3, 1), 1);
+    t.checkExpect(left.follow(3, 1), 0);
+    t.checkExpect(right.follow(6, 1), 3);
+    t.checkExpect(right.follow(4, 0), 1);
+    t.checkExpect(left.follow(4, 0), 0);
+    t.checkExpect(new WallFollower(new WallGrid(2, 2), 2, 2, true, false).follow(0, 0), -1);
+  }
 
-    MazeWorld current = this.mw;
+  // test WallFollower choose(long, int, boolean) method
+  void testWallFollowerChoose(Tester t) {
+    this.initData();
+    WallFollower follower = new WallFollower(this.mw.openings, 3, 3, true, true);
+    t.checkExpect(follower.choose(0, 0, false), 1);
+    follower.mark(3, 0);
+    t.checkExpect(follower.choose(4, 0, true), 1);
+    follower.mark(4, 0);
+    t.checkExpect(follower.choose(4, 0, true), 2);
+    follower.mark(4, 2);
+    follower.mark(4, 1);
+    follower.mark(4, 1);
+    t.checkExpect(follower.choose(4, 0, true), 0);
+    follower.mark(4, 0);
+    t.checkExpect(follower.choose(4, 0, true), -1);
+  }
 
-    t.checkExpect(this.mw.paused, true);
-    t.checkExpect(this.mw.pause, new TextImage("the search is paused", 15, Color.BLACK));
-    t.checkExpect(this.mw.searching, true);
+  // test WallFollower turn(int, int) method
+  void testWallFollowerTurn(Tester t) {
+    this.initData();
+    WallFollower right = new WallFollower(this.mw.openings, 3, 3, true, false);
+    WallFollower left = new WallFollower(this.mw.openings, 3, 3, false, false);
+    t.checkExpect(right.turn(0, 0), 1);
+    t.checkExpect(right.turn(0, 1), 0);
+    t.checkExpect(right.turn(0, 2), 3);
+    t.checkExpect(right.turn(0, 3), 2);
+    t.checkExpect(left.turn(1, 0), 0);
+    t.checkExpect(left.turn(1, 1), 1);
+    t.checkExpect(left.turn(1, 2), 2);
+    t.checkExpect(left.turn(1, 3), 3);
+  }
 
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
+  // test WallFollower next(long, int) and passage(long, int) methods
+  void testWallFollowerNext(Tester t) {
+    this.initData();
+    WallFollower follower = new WallFollower(this.mw.openings, 3, 3, true, true);
+    t.checkExpect(follower.next(4, 0), 5L);
+    t.checkExpect(follower.next(4, 1), 7L);
+    t.checkExpect(follower.next(4, 2), 3L);
+    t.checkExpect(follower.next(4, 3), 1L);
+    t.checkExpect(follower.passage(4, 0), 16L);
+    t.checkExpect(follower.passage(4, 1), 18L);
+    t.checkExpect(follower.passage(4, 2), 12L);
+    t.checkExpect(follower.passage(4, 3), 6L);
+  }
 
-    t.checkExpect(this.mw, current);
+  // test WallFollower mark(long, int) and marksOf(long, int) methods
+  void testWallFollowerMark(Tester t) {
+    this.initData();
+    WallFollower follower = new WallFollower(this.mw.openings, 3, 3, true, true);
+    t.checkExpect(follower.marks.length, 1);
+    follower.mark(3, 0);
+    t.checkExpect(follower.marksOf(3, 0), 1);
+    t.checkExpect(follower.marksOf(4, 2), 1);
+    follower.mark(4, 2);
+    follower.mark(4, 2);
+    t.checkExpect(follower.marksOf(3, 0), 2);
+    t.checkExpect(follower.marksOf(3, 1), 0);
+    t.checkExpect(follower.marks[0], 2L << 12);
+    t.checkExpect(new WallFollower(this.mw.openings, 3, 3, true, false).marks, null);
   }
 
-  // test the void reconstruct(Vertex, Vertex) method
-  void testReconstruct(Tester t) {
+  // test WallFollower arrive(int) method
+  void testWallFollowerArrive(Tester t) {
     this.initData();
+    WallFollower follower = new WallFollower(this.mw.openings, 3, 3, true, false);
+    follower.seen = new long[1];
+    follower.order = new int[9];
+    follower.count = 0;
+    follower.trail = new IntStack(4);
+    follower.position = new int[9];
+    Arrays.fill(follower.position, -1);
+    follower.arrive(0);
+    follower.arrive(3);
+    follower.arrive(4);
+    follower.arrive(3);
+    t.checkExpect(follower.count, 3);
+    t.checkExpect(Arrays.copyOf(follower.order, 3), new int[] {0, 3, 4});
+    t.checkExpect(Arrays.copyOf(follower.trail.items, follower.trail.size), new int[] {0, 3});
+    t.checkExpect(follower.position[4], -1);
+    t.checkExpect(follower.position[3], 1);
+  }
 
-    HashMap<Vertex, Edge> cfe = new HashMap<Vertex, Edge>();
-    ArrayList<Vertex> mwPath = new ArrayList<Vertex>();
+  // test the MazeWorld onKeyEvent(String) method with the wall followers
+  void testOnKeyEventWallFollower(Tester t) {
+    this.initData();
+    this.mw.onKeyEvent("w");
+    t.checkExpect(this.mw.mode,
+        new TextImage("currently using wall follower", 15, Color.BLACK));
+    t.checkExpect(this.mw.searching, true);
+    t.checkExpect(this.mw.solution.visitOrder, new int[] {0, 3, 6, 4, 7, 5, 8});
+    t.checkExpect(this.mw.solution.path, new int[] {0, 3, 4, 5, 8});
+    this.mw.onKeyEvent("m");
+    t.checkExpect(this.mw.mode,
+        new TextImage("currently using wall follower with Tremaux marking", 15, Color.BLACK));
+    t.checkExpect(this.mw.solution.path, new int[] {0, 3, 4, 5, 8});
+  }
 
-    t.checkExpect(this.mw.cameFromEdge, cfe);
-    t.checkExpect(this.mw.path, mwPath);
+  // test MazeWorld moreSteps(int, long) method
+  void testMoreSteps(Tester t) {
+    this.initData();
+    t.checkExpect(this.mw.moreSteps(0, System.nanoTime()), true);
+    t.checkExpect(this.mw.moreSteps(1, System.nanoTime()), false);
+    this.mw.stepsPerTick = 4;
+    t.checkExpect(this.mw.moreSteps(3, System.nanoTime()), true);
+    t.checkExpect(this.mw.moreSteps(4, System.nanoTime()), false);
+    this.mw.tickBudget = MazeWorld.FRAME_BUDGET;
+    t.checkExpect(this.mw.moreSteps(100, System.nanoTime()), true);
+    t.checkExpect(this.mw.moreSteps(100, System.nanoTime() - MazeWorld.FRAME_BUDGET), false);
+    t.checkExpect(this.mw.moreSteps(0, System.nanoTime() - MazeWorld.FRAME_BUDGET), true);
+  }
 
+  // test the MazeWorld onTick() and makeScene() methods searching several cells
+  // each tick
+  void testOnTickSteps(Tester t) {
+    this.initData();
+    this.mw.stepsPerTick = 4;
     this.mw.onKeyEvent("b");
-
     this.mw.onTick();
+    t.checkExpect(this.mw.searched, 4);
+    t.checkExpect(Arrays.copyOf(this.mw.visitOrder, 4), new int[] {0, 3, 4, 6});
+    this.mw.makeScene();
+    t.checkExpect(this.mw.colored, 4);
+    t.checkExpect(this.mw.vertexAt(6).color, Color.CYAN);
+    t.checkExpect(this.mw.vertexAt(5).color, Color.GRAY);
+    this.mw.onTick();
+    t.checkExpect(this.mw.searched, 7);
+    t.checkExpect(this.mw.searching, false);
+    t.checkExpect(this.mw.finished, true);
+    this.mw.makeScene();
+    t.checkExpect(this.mw.colored, 7);
+    t.checkExpect(this.mw.pathColored, 4);
+    t.checkExpect(this.mw.vertexAt(5).color, Color.BLUE);
+    t.checkExpect(this.mw.vertexAt(8).color, Color.CYAN);
+    this.mw.makeScene();
+    t.checkExpect(this.mw.pathColored, 5);
+    t.checkExpect(this.mw.vertexAt(8).color, Color.BLUE);
+
+    // a big maze is replayed in the same order in one tick with the budget
+    MazeWorld big = new MazeWorld(100, 100, new Random(4));
+    big.tickBudget = 1000 * MazeWorld.FRAME_BUDGET;
+    big.onKeyEvent("b");
+    big.onTick();
+    t.checkExpect(big.searching, false);
+    t.checkExpect(Arrays.copyOf(big.visitOrder, big.searched), big.solution.visitOrder);
+    big.makeScene();
+    t.checkExpect(big.colored, big.searched);
+    t.checkExpect(big.pathColored, big.path.length);
+  }
 
-    cfe.put(this.v1, new Edge(0, this.v1, this.v1));
-    cfe.put(this.v4, new Edge(1, this.v1, this.v4));
+  // test MazeWorld showSpeed() method
+  void testShowSpeed(Tester t) {
+    this.initData();
+    this.mw.showSpeed();
+    t.checkExpect(this.mw.mode, new TextImage("speed: 1 cells a tick", 15, Color.BLACK));
+    this.mw.tickBudget = MazeWorld.FRAME_BUDGET;
+    this.mw.showSpeed();
+    t.checkExpect(this.mw.mode,
+        new TextImage("speed: as many cells as fit in 20 ms a tick", 15, Color.BLACK));
+  }
+
+  // test the MazeWorld onKeyEvent(String) method with the speed keys
+  void testOnKeyEventSpeed(Tester t) {
+    this.initData();
+    this.mw.onKeyEvent("=");
+    t.checkExpect(this.mw.stepsPerTick, 2);
+    t.checkExpect(this.mw.mode, new TextImage("speed: 2 cells a tick", 15, Color.BLACK));
+    this.mw.onKeyEvent("=");
+    this.mw.onKeyEvent("=");
+    this.mw.onKeyEvent("=");
+    t.checkExpect(this.mw.stepsPerTick, 9);
+    this.mw.onKeyEvent("-");
+    t.checkExpect(this.mw.stepsPerTick, 4);
+    this.mw.onKeyEvent("0");
+    t.checkExpect(this.mw.tickBudget, MazeWorld.FRAME_BUDGET);
+    t.checkExpect(this.mw.stepsPerTick, 4);
+    this.mw.onKeyEvent("0");
+    t.checkExpect(this.mw.tickBudget, 0L);
+    this.mw.onKeyEvent("0");
+    this.mw.onKeyEvent("-");
+    t.checkExpect(this.mw.tickBudget, 0L);
+    this.mw.onKeyEvent("-");
+    this.mw.onKeyEvent("-");
+    this.mw.onKeyEvent("-");
+    t.checkExpect(this.mw.stepsPerTick, 1);
+
+    // the speed lasts from one search to the next
+    this.mw.onKeyEvent("=");
+    this.mw.onKeyEvent("d");
+    t.checkExpect(this.mw.stepsPerTick, 2);
+  }
 
-    t.checkExpect(this.mw.cameFromEdge, cfe);
-    t.checkExpect(this.mw.path, mwPath);
+  // test DirectExecutor execute(Runnable) method
+  void testDirectExecutor(Tester t) {
+    this.initData();
+    SearchJob job = new SearchJob(this.mw, "b");
+    new DirectExecutor().execute(job);
+    t.checkExpect(job.done, true);
+  }
 
+  // test MazeWorld lendSolver(AMazeJob) method
+  void testLendSolver(Tester t) {
     this.initData();
+    t.checkExpect(this.mw.solver, null);
 
+    // searching again and again searches with the same MazeSolver
     this.mw.onKeyEvent("b");
+    MazeSolver kept = this.mw.solver;
+    t.checkExpect(kept.maze == this.mw.openings, true);
+    this.mw.onKeyEvent("d");
+    this.mw.onKeyEvent("a");
+    this.mw.onKeyEvent("t");
+    t.checkExpect(this.mw.solver == kept, true);
+    t.checkExpect(this.mw.borrower.ended, true);
+
+    // a job still running keeps it to itself
+    SearchJob running = new SearchJob(this.mw, "b");
+    t.checkExpect(running.solver == kept, true);
+    t.checkExpect(this.mw.borrower == running, true);
+    SearchJob other = new SearchJob(this.mw, "d");
+    t.checkExpect(other.solver == kept, false);
+    t.checkExpect(this.mw.borrower == running, true);
+    running.cancel();
+    running.run();
+    t.checkExpect(new SearchJob(this.mw, "a").solver == kept, true);
+
+    // new walls need a new MazeSolver
+    this.mw.generateWith(new PrimGenerator());
+    t.checkExpect(this.mw.solver, null);
+    t.checkExpect(this.mw.borrower, null);
+    t.checkExpect(new SearchJob(this.mw, "a").solver.maze == this.mw.openings, true);
+  }
 
-    // After this many ticks, reconstruct gets called on the MazeWorld
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
+  // test AMazeJob run() method
+  void testAMazeJobRun(Tester t) {
+    this.initData();
+    SearchJob job = new SearchJob(this.mw, "b");
+    t.checkExpect(job.stage, 0);
+    t.checkExpect(job.done, false);
+    t.checkExpect(job.ended, false);
+    job.run();
+    t.checkExpect(job.stage, 4);
+    t.checkExpect(job.done, true);
+    t.checkExpect(job.ended, true);
+    t.checkExpect(job.failure, null);
+
+    // a cancelled job stops before its next stage and is never done
+    SearchJob cancelled = new SearchJob(this.mw, "b");
+    cancelled.cancel();
+    cancelled.run();
+    t.checkExpect(cancelled.stage, 0);
+    t.checkExpect(cancelled.done, false);
+    t.checkExpect(cancelled.ended, true);
+    t.checkExpect(cancelled.solution, null);
+
+    // a job that fails keeps the exception for the MazeWorld to show
+    SearchJob failing = new SearchJob(this.mw, "b");
+    failing.solver = null;
+    failing.run();
+    t.checkExpect(failing.stage, 0);
+    t.checkExpect(failing.done, true);
+    t.checkExpect(failing.failure instanceof NullPointerException, true);
+  }
 
-    mwPath.add(this.v1);
-    mwPath.add(this.v4);
-    mwPath.add(this.v5);
-    mwPath.add(this.v6);
-    mwPath.add(this.v9);
+  // test AMazeJob cancel() and progress() methods
+  void testAMazeJobProgress(Tester t) {
+    this.initData();
+    SearchJob job = new SearchJob(this.mw, "d");
+    t.checkExpect(job.progress(), "depth-first search: 0 of 4 stages done");
+    job.runStage(0);
+    job.stage = 1;
+    t.checkExpect(job.progress(), "depth-first search: 1 of 4 stages done");
+    job.cancel();
+    t.checkExpect(job.cancelled, true);
+    t.checkExpect(new GenerateJob(this.mw, "n").progress(),
+        "making a new maze: 0 of 3 stages done");
+
+    // a search partway through a stage shows how far it has gone
+    MazeWorld big = new MazeWorld(100, 100, new Random(3));
+    SearchJob partway = new SearchJob(big, "b");
+    partway.solver.job = partway;
+    partway.solver.breadthFirst(0, 9999);
+    t.checkExpect(partway.steps > 0, true);
+    t.checkExpect(partway.progress(),
+        "breadth-first search: 0 of 4 stages done, " + partway.steps + " steps into the next");
+    partway.run();
+    t.checkExpect(partway.steps, 0L);
+    t.checkExpect(partway.progress(), "breadth-first search: 4 of 4 stages done");
+  }
 
-    t.checkExpect(this.mw.path, mwPath);
+  // test SearchJob nameOf(String, boolean) and searchesJunctions(String) methods
+  void testSearchJobNameOf(Tester t) {
+    t.checkExpect(SearchJob.nameOf("b", false), "breadth-first search");
+    t.checkExpect(SearchJob.nameOf("b", true), "breadth-first search of junctions");
+    t.checkExpect(SearchJob.nameOf("a", true), "A* search of junctions");
+    t.checkExpect(SearchJob.nameOf("t", true), "two-way breadth-first search");
+    t.checkExpect(SearchJob.nameOf("w", false), "wall follower");
+    t.checkExpect(SearchJob.nameOf("m", true), "wall follower with Tremaux marking");
+    t.checkExpect(SearchJob.searchesJunctions("d"), true);
+    t.checkExpect(SearchJob.searchesJunctions("t"), false);
+  }
 
+  // test SearchJob runStage(int) and solve(int) methods
+  void testSearchJobRunStage(Tester t) {
     this.initData();
+    SearchJob job = new SearchJob(this.mw, "b");
+    t.checkExpect(job.maze, this.mw.openings);
+    job.runStage(0);
+    t.checkExpect(job.solution.visitOrder, new int[] {0, 3, 4, 6, 5, 7, 8});
+    t.checkExpect(job.breadth, null);
+    job.runStage(1);
+    job.runStage(2);
+    job.runStage(3);
+    t.checkExpect(job.breadth.searched, 7);
+    t.checkExpect(job.depth.searched, 9);
+    t.checkExpect(job.best.searched, 5);
+    t.checkExpect(job.solve(8).path, new int[] {0, 3, 4, 5, 8});
+
+    SearchJob two = new SearchJob(this.mw, "t");
+    two.runStage(0);
+    t.checkExpect(two.solution.visitOrder, new int[] {0, 3, 8, 5, 4});
+    SearchJob marked = new SearchJob(this.mw, "m");
+    marked.runStage(0);
+    t.checkExpect(marked.solution.path, new int[] {0, 3, 4, 5, 8});
+
+    // the junctions are only made for the searches that can search them
+    this.mw.onJunctions = true;
+    SearchJob junctions = new SearchJob(this.mw, "a");
+    t.checkExpect(junctions.onJunctions, true);
+    junctions.runStage(0);
+    t.checkExpect(junctions.junctions == null, false);
+    t.checkExpect(junctions.solution.path, new int[] {0, 3, 4, 5, 8});
+    t.checkExpect(this.mw.junctions, null);
+    SearchJob wall = new SearchJob(this.mw, "w");
+    t.checkExpect(wall.onJunctions, false);
+    wall.runStage(0);
+    t.checkExpect(wall.junctions, null);
+  }
 
-    HashMap<Vertex, Edge> cfe1 = new HashMap<Vertex, Edge>();
-    ArrayList<Vertex> mwPath1 = new ArrayList<Vertex>();
+  // test SearchJob publish(MazeWorld) method
+  void testSearchJobPublish(Tester t) {
+    this.initData();
+    this.mw.onJunctions = true;
+    SearchJob job = new SearchJob(this.mw, "b");
+    job.run();
+    job.publish(this.mw);
+    t.checkExpect(this.mw.junctions == job.junctions, true);
+    t.checkExpect(this.mw.solution == job.solution, true);
+    t.checkExpect(this.mw.searching, true);
+    t.checkExpect(this.mw.mode,
+        new TextImage("currently using breadth-first search of junctions", 15, Color.BLACK));
+    t.checkExpect(this.mw.comparison, new TextImage(
+        "searched (wrong steps): BFS 7 (2), DFS 9 (4), A* 5 (0)", 10, Color.BLACK));
+
+    // junctions made for a maze that has since changed are not kept
+    SearchJob stale = new SearchJob(this.mw, "b");
+    stale.junctions = null;
+    stale.run();
+    this.mw.useWalls(this.mw.walls);
+    stale.publish(this.mw);
+    t.checkExpect(this.mw.junctions, null);
+    t.checkExpect(this.mw.solution == stale.solution, true);
+  }
 
-    t.checkExpect(this.mw.cameFromEdge, cfe1);
-    t.checkExpect(this.mw.path, mwPath1);
+  // test MazeSolver compare(SearchResult, SearchResult, SearchResult) method
+  void testCompareResults(Tester t) {
+    this.initData();
+    MazeSolver solver = new MazeSolver(this.mw.openings, 3, 3);
+    SearchResult one = new SearchResult(new int[] {0}, new int[] {0});
+    t.checkExpect(solver.compare(solver.breadthFirst(0, 8), one, solver.aStar(0, 8)),
+        "searched (wrong steps): BFS 7 (2), DFS 1 (0), A* 5 (0)");
+  }
 
-    this.mw.onKeyEvent("d");
+  // test GenerateJob runStage(int) and weighsEdges() methods
+  void testGenerateJobRunStage(Tester t) {
+    this.initData();
+    GenerateJob job = new GenerateJob(this.mw, "h");
+    t.checkExpect(job.weighsEdges(), true);
+    t.checkExpect(job.fresh.length, 3);
+    t.checkExpect(job.fresh.width, 3);
+    t.checkExpect(job.fresh.maze.size(), 0);
+    job.runStage(0);
+    t.checkExpect(job.fresh.maze.size(), 3);
+    job.runStage(1);
+    t.checkExpect(job.fresh.edges.size(), 12);
+    job.runStage(2);
+    t.checkExpect(job.fresh.mst.size(), 8);
+
+    this.mw.bias = 0.5;
+    GenerateJob biased = new GenerateJob(this.mw, "]");
+    biased.run();
+    t.checkExpect(biased.fresh.mode,
+        new TextImage("bias 0.50 with a uniform field", 15, Color.BLACK));
+    t.checkExpect(biased.fresh.mst.size(), 8);
+
+    GenerateJob prim = new GenerateJob(this.mw, "2");
+    t.checkExpect(prim.weighsEdges(), false);
+    prim.run();
+    t.checkExpect(prim.fresh.edges.size(), 0);
+    t.checkExpect(prim.fresh.mst.size(), 8);
+
+    GenerateJob chunked = new GenerateJob(this.mw, "7");
+    chunked.run();
+    t.checkExpect(chunked.fresh.walls instanceof ChunkedMaze, true);
+  }
 
+  // test GenerateJob publish(MazeWorld) and MazeWorld adopt(MazeWorld) methods
+  void testGenerateJobPublish(Tester t) {
+    this.initData();
+    this.mw.onKeyEvent("b");
     this.mw.onTick();
+    GenerateJob job = new GenerateJob(this.mw, "v");
+    job.run();
+    job.publish(this.mw);
+    t.checkExpect(this.mw.maze == job.fresh.maze, true);
+    t.checkExpect(this.mw.edges == job.fresh.edges, true);
+    t.checkExpect(this.mw.mst == job.fresh.mst, true);
+    t.checkExpect(this.mw.walls == job.fresh.walls, true);
+    t.checkExpect(this.mw.openings == job.fresh.openings, true);
+    t.checkExpect(this.mw.rand == job.fresh.rand, true);
+    t.checkExpect(this.mw.searching, false);
+    t.checkExpect(this.mw.searched, 0);
+    t.checkExpect(this.mw.time, 0);
+    t.checkExpect(this.mw.vertexAt(0).color, Color.GREEN);
+    t.checkExpect(this.mw.vertexAt(8).color, Color.RED);
+  }
 
-    cfe1.put(this.v1, new Edge(0, this.v1, this.v1));
-    cfe1.put(this.v4, new Edge(1, this.v1, this.v4));
-
-    t.checkExpect(this.mw.cameFromEdge, cfe1);
-    t.checkExpect(this.mw.path, mwPath1);
+  // test the MazeWorld constructor for a GenerateJob
+  void testMazeWorldForJob(Tester t) {
+    MazeWorld world = new MazeWorld(4, 2, 0.25, new RadialField());
+    t.checkExpect(world.maze.size(), 0);
+    t.checkExpect(world.bias, 0.25);
+    t.checkExpect(world.field, new RadialField());
+    t.checkExpect(world.visited.length, 0);
+    t.checkExpect(world.visitOrder.length, 0);
+    t.checkExpect(world.worker instanceof DirectExecutor, true);
+  }
 
+  // test MazeWorld showBias() method
+  void testShowBias(Tester t) {
     this.initData();
+    this.mw.bias = -0.75;
+    this.mw.showBias();
+    t.checkExpect(this.mw.mode,
+        new TextImage("bias -0.75 with a uniform field", 15, Color.BLACK));
+  }
 
-    this.mw.onKeyEvent("d");
+  // test MazeWorld startJob(AMazeJob), cancelJob() and collect() methods
+  void testStartJob(Tester t) {
+    this.initData();
+    // a MazeWorld made for testing hands the result over before startJob returns
+    SearchJob direct = new SearchJob(this.mw, "d");
+    this.mw.startJob(direct);
+    t.checkExpect(this.mw.job, null);
+    t.checkExpect(this.mw.solution == direct.solution, true);
+
+    // starting a job on a worker cancels the one in progress, which is never handed
+    // over
+    ExecutorService worker = Executors.newSingleThreadExecutor();
+    this.mw.worker = worker;
+    GenerateJob first = new GenerateJob(this.mw, "n");
+    this.mw.job = first;
+    SearchJob second = new SearchJob(this.mw, "a");
+    this.mw.startJob(second);
+    t.checkExpect(first.cancelled, true);
+    first.run();
+    t.checkExpect(first.done, false);
+    this.awaitJob(this.mw);
+    t.checkExpect(second.done, true);
+    t.checkExpect(this.mw.job, null);
+    t.checkExpect(this.mw.maze == first.fresh.maze, false);
+    t.checkExpect(this.mw.mode, new TextImage("currently using A* search", 15, Color.BLACK));
+    t.checkExpect(this.mw.searching, true);
 
-    // After this many ticks, reconstruct gets called on the MazeWorld
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
-    this.mw.onTick();
+    // resetting the board cancels the job in progress
+    SearchJob third = new SearchJob(this.mw, "b");
+    this.mw.job = third;
+    this.mw.onKeyEvent("r");
+    t.checkExpect(third.cancelled, true);
+    t.checkExpect(this.mw.job, null);
+    worker.execute(third);
+    worker.shutdown();
+    try {
+      t.checkExpect(worker.awaitTermination(10, TimeUnit.SECONDS), true);
+    }
+    catch (InterruptedException e) {
+      t.checkExpect(e, null);
+    }
     this.mw.onTick();
+    t.checkExpect(third.done, false);
+    t.checkExpect(this.mw.searching, false);
+
+    // a job that failed shows its exception instead of stopping the game
+    SearchJob failing = new SearchJob(this.mw, "b");
+    failing.solver = null;
+    failing.run();
+    this.mw.job = failing;
+    this.mw.collect();
+    t.checkExpect(this.mw.job, null);
+    t.checkExpect(this.mw.searching, false);
+    t.checkExpect(this.mw.mode, new TextImage("breadth-first search failed: "
+        + failing.failure, 15, Color.BLACK));
     this.mw.onTick();
+    t.checkExpect(this.mw.job, null);
+  }
+
+  // test the MazeWorld onKeyEvent(String) method making mazes and searching on a
+  // worker
+  void testOnKeyEventWorker(Tester t) {
+    MazeWorld world = new MazeWorld(60, 40);
+    t.checkExpect(world.worker == ForkJoinPool.commonPool(), true);
+    Object oldMaze = world.maze;
+    world.onKeyEvent("h");
+    this.awaitJob(world);
+    t.checkExpect(world.job, null);
+    t.checkExpect(world.maze == oldMaze, false);
+    t.checkExpect(world.mst.size(), 60 * 40 - 1);
+    world.onKeyEvent("b");
+    t.checkExpect(world.job == null || world.job.name.equals("breadth-first search"), true);
+    this.awaitJob(world);
+    t.checkExpect(world.mode,
+        new TextImage("currently using breadth-first search", 15, Color.BLACK));
+    t.checkExpect(world.solution.path[world.solution.path.length - 1], 60 * 40 - 1);
+    world.onKeyEvent("[");
+    this.awaitJob(world);
+    t.checkExpect(world.mode,
+        new TextImage("bias -0.25 with a uniform field", 15, Color.BLACK));
+  }
+
+  // test AMazeJob stopped(AMazeJob, long) method
+  void testAMazeJobStopped(Tester t) {
+    this.initData();
+    SearchJob job = new SearchJob(this.mw, "b");
+    t.checkExpect(AMazeJob.stopped(null, 0), false);
+    t.checkExpect(AMazeJob.stopped(job, 0), false);
+    job.cancel();
+    t.checkExpect(AMazeJob.stopped(job, 0), true);
+    t.checkExpect(AMazeJob.stopped(job, 2048), true);
+    t.checkExpect(job.steps, 2048L);
+    t.checkExpect(AMazeJob.stopped(job, 5), false);
+    t.checkExpect(job.steps, 2048L);
+  }
+
+  // test that the searches for a cancelled job stop partway
+  void testSearchesStopWhenCancelled(Tester t) {
+    MazeWorld big = new MazeWorld(100, 100, new Random(3));
+    SearchJob job = new SearchJob(big, "b");
+    MazeSolver solver = new MazeSolver(big.openings, 100, 100);
+    solver.job = job;
+    t.checkExpect(solver.breadthFirst(0, 9999).searched > 1024, true);
+    job.cancel();
+    t.checkExpect(solver.breadthFirst(0, 9999).searched, 0);
+    t.checkExpect(solver.depthFirst(0, 9999).path, new int[0]);
+    t.checkExpect(solver.aStar(0, 9999).searched, 0);
+    t.checkExpect(solver.bidirectional(0, 9999).path, new int[0]);
+
+    JunctionGraph graph = new JunctionGraph(new WallGrid(3, 3).indexed(), 3, 3);
+    graph.job = job;
+    t.checkExpect(graph.breadthFirst(0, 8).searched, 0);
+    t.checkExpect(graph.aStar(0, 8).searched, 0);
+
+    WallFollower follower = new WallFollower(big.openings, 100, 100, true, true);
+    follower.job = job;
+    t.checkExpect(follower.steps(0, 9999), -1L);
+    t.checkExpect(follower.solve(0, 9999).path, new int[0]);
+  }
+
+  // test the JunctionGraph constructor that shares another's junctions
+  void testJunctionGraphShared(Tester t) {
+    this.initData();
+    JunctionGraph graph = new JunctionGraph(this.mw.openings, 3, 3);
+    JunctionGraph shared = new JunctionGraph(graph);
+    t.checkExpect(shared.nodes == graph.nodes, true);
+    t.checkExpect(shared.corridor == graph.corridor, true);
+    t.checkExpect(shared.placeOf == graph.placeOf, true);
+    t.checkExpect(shared.visited == graph.visited, false);
+    t.checkExpect(shared.pruned == graph.pruned, false);
+    t.checkExpect(shared.cut == graph.cut, false);
+    t.checkExpect(shared.parentEdge == graph.parentEdge, false);
+    t.checkExpect(shared.order == graph.order, false);
+    t.checkExpect(shared.report(), graph.report());
+    t.checkExpect(shared.breadthFirst(2, 8), graph.breadthFirst(2, 8));
+    t.checkExpect(shared.aStar(0, 8), graph.aStar(0, 8));
+  }
+
+  // test JunctionGraph makeSearchSpace() method
+  void testMakeSearchSpace(Tester t) {
+    this.initData();
+    JunctionGraph graph = new JunctionGraph(this.mw.openings, 3, 3);
+    int[] before = graph.parentEdge;
+    graph.makeSearchSpace();
+    t.checkExpect(graph.parentEdge == before, false);
+    t.checkExpect(graph.parentEdge.length, 10);
+    t.checkExpect(graph.left.length, 8);
+    t.checkExpect(graph.cut, new int[] {-1, -1, -1, -1});
+    t.checkExpect(graph.order.length, 9);
+    t.checkExpect(graph.aStar(0, 8).path, new int[] {0, 3, 4, 5, 8});
+  }
+
+  // test that a SearchJob searches junctions with search space of its own
+  void testSearchJobJunctions(Tester t) {
+    this.initData();
+    this.mw.onJunctions = true;
+    JunctionGraph kept = this.mw.junctionGraph();
+    SearchJob job = new SearchJob(this.mw, "d");
+    job.runStage(0);
+    t.checkExpect(job.junctions == kept, false);
+    t.checkExpect(job.junctions.nodes == kept.nodes, true);
+    t.checkExpect(job.junctions.job == job, true);
+    t.checkExpect(job.solver.job == job, true);
+    t.checkExpect(job.solution.path, new int[] {0, 3, 4, 5, 8});
+    job.runStage(1);
+    job.runStage(2);
+    job.runStage(3);
+    job.publish(this.mw);
+    t.checkExpect(this.mw.junctions == job.junctions, true);
+    t.checkExpect(this.mw.junctions.job, null);
+  }
 
-    mwPath1.add(this.v1);
-    mwPath1.add(this.v4);
-    mwPath1.add(this.v5);
-    mwPath1.add(this.v6);
-    mwPath1.add(this.v9);
+  // test the JunctionJob class
+  void testJunctionJob(Tester t) {
+    this.initData();
+    JunctionJob job = new JunctionJob(this.mw);
+    t.checkExpect(job.progress(), "finding the junctions: 0 of 1 stages done");
+    job.run();
+    t.checkExpect(job.done, true);
+    t.checkExpect(job.junctions.report(),
+        "9 cells, 8 junctions (5 dead ends), 7 corridors (1.1x smaller)");
+    t.checkExpect(this.mw.junctions, null);
+    job.publish(this.mw);
+    t.checkExpect(this.mw.junctions == job.junctions, true);
+    t.checkExpect(this.mw.mode, new TextImage("", 15, Color.BLACK));
 
-    t.checkExpect(this.mw.path, mwPath1);
+    // junctions of a maze that has since changed are not kept
+    this.mw.onJunctions = true;
+    JunctionJob stale = new JunctionJob(this.mw);
+    stale.run();
+    this.mw.useWalls(this.mw.walls);
+    stale.publish(this.mw);
+    t.checkExpect(this.mw.junctions, null);
+    t.checkExpect(this.mw.mode, new TextImage(
+        "junctions: 9 cells, 8 junctions (5 dead ends), 7 corridors (1.1x smaller)", 15,
+        Color.BLACK));
   }
 
-}
\ No newline at end of file
+  // test the MazeWorld onKeyEvent(String) method finding junctions on a worker
+  void testOnKeyEventJunctionsWorker(Tester t) {
+    MazeWorld world = new MazeWorld(60, 40);
+    world.onKeyEvent("j");
+    t.checkExpect(world.onJunctions, true);
+    this.awaitJob(world);
+    t.checkExpect(world.junctions == null, false);
+    t.checkExpect(world.mode,
+        new TextImage("junctions: " + world.junctions.report(), 15, Color.BLACK));
+    world.onKeyEvent("j");
+    t.checkExpect(world.mode, new TextImage("searching every cell", 15, Color.BLACK));
+    JunctionGraph found = world.junctions;
+    world.onKeyEvent("j");
+    t.checkExpect(world.job, null);
+    t.checkExpect(world.junctions == found, true);
+  }
+}